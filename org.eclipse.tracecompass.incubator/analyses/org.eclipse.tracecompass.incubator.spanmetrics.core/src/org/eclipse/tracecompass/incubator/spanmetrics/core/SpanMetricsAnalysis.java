@@ -60,6 +60,8 @@ public class SpanMetricsAnalysis extends AbstractSegmentStoreAnalysisEventBasedM
      */
     public static final String ID = "org.eclipse.tracecompass.incubator.spanmetrics"; //$NON-NLS-1$
     private static final int VERSION = 1;
+    private static final String START_SPAN = "jaeger_ust:start_span"; //$NON-NLS-1$
+    private static final String END_SPAN = "jaeger_ust:end_span"; //$NON-NLS-1$
     Map<String, KernelMetrics> fkernelMap;
     long endTime1;
     long duration;
@@ -361,11 +363,14 @@ public class SpanMetricsAnalysis extends AbstractSegmentStoreAnalysisEventBasedM
         public SpanAnalysisRequest(ISegmentStore<@NonNull ISegment> sSegment, IProgressMonitor monitor) {
             super(sSegment);
             fMonitor = monitor;
+            /* Only the span events are handled, the trace readers skip the others */
+            setEventTypes(ImmutableList.of(START_SPAN, END_SPAN));
         }
 
         /*
          * Iterating trace events from start to end and fetch parameter's value
-         * from start and end of spans.
+         * from start and end of spans. Only the span events are handed to the
+         * request.
          */
         @Override
         public void handleData(final ITmfEvent event) {
@@ -373,55 +378,44 @@ public class SpanMetricsAnalysis extends AbstractSegmentStoreAnalysisEventBasedM
             super.handleData(event);
 
             ILttngUstEventLayout layout = ILttngUstEventLayout.DEFAULT_LAYOUT;
-            final String eventType = "jaeger_ust"; //$NON-NLS-1$
+            final String operationName = "op_name"; //$NON-NLS-1$
+            final String parentId = "parent_span_id"; //$NON-NLS-1$
+            final String traceId = "trace_id_low"; //$NON-NLS-1$
+            final String spanId = "span_id"; //$NON-NLS-1$
+            long startTime = event.getTimestamp().toNanos();
 
             String eventTypeValue = event.getType().getName();
+            String spanID = String.valueOf(event.getContent().getField(spanId).getValue());
 
-            if (event.getType().getName().contains(eventType)) {
-                final String operationName = "op_name"; //$NON-NLS-1$
-                final String parentId = "parent_span_id"; //$NON-NLS-1$
-                final String traceId = "trace_id_low"; //$NON-NLS-1$
-                final String spanId = "span_id"; //$NON-NLS-1$
-                final String startSpan = "jaeger_ust:start_span"; //$NON-NLS-1$
-                final String endSpan = "jaeger_ust:end_span"; //$NON-NLS-1$
-                long startTime = event.getTimestamp().toNanos();
+            if (eventTypeValue.equals(START_SPAN)) {
 
-                if (eventTypeValue.contains(startSpan) || eventTypeValue.contains(endSpan)) {
+                if (!fOngoingSpan.containsKey(spanID)) {
 
-                    String spanID = String.valueOf(event.getContent().getField(spanId).getValue());
+                    String opName = (String) event.getContent().getField(operationName).getValue();
+                    String pId = String.valueOf(event.getContent().getField(parentId).getValue());
+                    String trId = String.valueOf(event.getContent().getField(traceId).getValue());
+                    String treadid = event.getContent().getFieldValue(String.class, layout.contextVtid());
 
-                    if (eventTypeValue.equals(startSpan)) {
-
-                        if (!fOngoingSpan.containsKey(spanID)) {
-
-                            String opName = (String) event.getContent().getField(operationName).getValue();
-                            String pId = String.valueOf(event.getContent().getField(parentId).getValue());
-                            String trId = String.valueOf(event.getContent().getField(traceId).getValue());
-                            String treadid = event.getContent().getFieldValue(String.class, layout.contextVtid());
-
-                            Span.InitialInfo spanInfo = new Span.InitialInfo(startTime, opName, treadid, trId, spanID, pId);
-                            fOngoingSpan.put(spanID, spanInfo);
-                        }
-                    } else if (eventTypeValue.equals(endSpan)) {
-
-                        if (fOngoingSpan.containsKey(spanID)) {
+                    Span.InitialInfo spanInfo = new Span.InitialInfo(startTime, opName, treadid, trId, spanID, pId);
+                    fOngoingSpan.put(spanID, spanInfo);
+                }
+            } else if (eventTypeValue.equals(END_SPAN)) {
 
-                            Span.InitialInfo info = fOngoingSpan.remove(spanID);
+                if (fOngoingSpan.containsKey(spanID)) {
 
-                            if (info == null) {
-                                return;
-                            }
-                            long endTime = event.getTimestamp().toNanos();
+                    Span.InitialInfo info = fOngoingSpan.remove(spanID);
 
-                            Span spanW = new Span(info, endTime);
+                    if (info == null) {
+                        return;
+                    }
+                    long endTime = event.getTimestamp().toNanos();
 
-                            //spanW.setMetrics(getInterruptionMetrics(spanW.getTid(), spanW.getStart(), endTime));
-                            spanW.setMetrics(getMetrics(spanW.getTid(), spanW.getStart(), endTime));
+                    Span spanW = new Span(info, endTime);
 
-                            getSegmentStore().add(spanW);
+                    //spanW.setMetrics(getInterruptionMetrics(spanW.getTid(), spanW.getStart(), endTime));
+                    spanW.setMetrics(getMetrics(spanW.getTid(), spanW.getStart(), endTime));
 
-                        }
-                    }
+                    getSegmentStore().add(spanW);
 
                 }
             }
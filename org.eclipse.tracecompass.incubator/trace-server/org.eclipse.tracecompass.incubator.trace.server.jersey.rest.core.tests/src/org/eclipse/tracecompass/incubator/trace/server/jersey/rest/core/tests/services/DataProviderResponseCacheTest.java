@@ -0,0 +1,233 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderResponseCache;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceClosedSignal;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Test the {@link DataProviderResponseCache}
+ */
+public class DataProviderResponseCacheTest {
+
+    private static final UUID EXP_UUID = UUID.randomUUID();
+    private static final String OUTPUT_ID = "output";
+    private static final String ENDPOINT = "xy";
+    private static final String CLIENT_ID = "client";
+    private static final Map<String, Object> PARAMS = Collections.singletonMap("requested_times", ImmutableList.of(1, 2));
+    private static final Map<String, Object> OTHER_PARAMS = Collections.singletonMap("requested_times", ImmutableList.of(3, 4));
+
+    private final DataProviderResponseCache fCache = DataProviderResponseCache.getInstance();
+    private final AtomicInteger fComputed = new AtomicInteger();
+    private TmfExperiment fExperiment;
+    private ExecutorService fExecutor;
+
+    /**
+     * Create an empty experiment and clear the cache
+     */
+    @Before
+    public void setUp() {
+        fExperiment = new TmfExperiment(ITmfEvent.class, "experiment", new ITmfTrace[0], TmfExperiment.DEFAULT_INDEX_PAGE_SIZE, null);
+        fCache.invalidateAll();
+        fExecutor = Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Dispose the experiment
+     */
+    @After
+    public void tearDown() {
+        fExecutor.shutdownNow();
+        fExperiment.dispose();
+        fCache.invalidateAll();
+    }
+
+    /**
+     * Test that equivalent queries share the same response, whatever the
+     * order of their parameters and the type of their numbers
+     */
+    @Test
+    public void testEquivalentQueries() {
+        Map<String, Object> params = ImmutableMap.of("requested_times", ImmutableList.of(1, 2, 3), "requested_items", ImmutableList.of(4));
+        Map<String, Object> sameParams = ImmutableMap.of("requested_items", ImmutableList.of(4L), "requested_times", ImmutableList.of(1L, 2L, 3L));
+        Map<String, Object> before = fCache.getStatistics();
+        TmfModelResponse<String> response = fetch(params, ITmfResponse.Status.COMPLETED);
+        assertSame(response, fetch(sameParams, ITmfResponse.Status.COMPLETED));
+        assertEquals(1, fComputed.get());
+
+        fetch(ImmutableMap.of("requested_times", ImmutableList.of(3, 2, 1)), ITmfResponse.Status.COMPLETED);
+        fCache.get(fExperiment, EXP_UUID, OUTPUT_ID, "states", null, params, monitor -> compute(ITmfResponse.Status.COMPLETED));
+        assertEquals(3, fComputed.get());
+
+        Map<String, Object> statistics = fCache.getStatistics();
+        /* The hits and misses are counted since the server started */
+        assertEquals(1L, (long) statistics.get("hitCount") - (long) before.get("hitCount"));
+        assertEquals(3L, (long) statistics.get("missCount") - (long) before.get("missCount"));
+        assertEquals(3L, statistics.get("size"));
+    }
+
+    /**
+     * Test that the responses of a running analysis are not cached
+     */
+    @Test
+    public void testRunning() {
+        fetch(PARAMS, ITmfResponse.Status.RUNNING);
+        fetch(PARAMS, ITmfResponse.Status.COMPLETED);
+        fetch(PARAMS, ITmfResponse.Status.COMPLETED);
+        assertEquals(2, fComputed.get());
+    }
+
+    /**
+     * Test that the responses of an experiment are removed when it is closed
+     */
+    @Test
+    public void testTraceClosed() {
+        fetch(PARAMS, ITmfResponse.Status.COMPLETED);
+        fCache.traceClosed(new TmfTraceClosedSignal(this, fExperiment));
+        fetch(PARAMS, ITmfResponse.Status.COMPLETED);
+        assertEquals(2, fComputed.get());
+    }
+
+    /**
+     * Test that identical queries in flight share the same computation
+     *
+     * @throws Exception
+     *             If a query fails
+     */
+    @Test
+    public void testIdenticalQueriesInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<TmfModelResponse<String>> first = fExecutor.submit(() -> fCache.get(fExperiment, EXP_UUID, OUTPUT_ID, ENDPOINT, "first", PARAMS,
+                monitor -> block(started, release, monitor)));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        Future<TmfModelResponse<String>> second = fExecutor.submit(() -> fCache.get(fExperiment, EXP_UUID, OUTPUT_ID, ENDPOINT, "second", PARAMS,
+                monitor -> compute(ITmfResponse.Status.COMPLETED)));
+        waitForQueries(2);
+        /* Superseding one of the queries does not cancel the other one */
+        TmfModelResponse<String> other = fCache.get(fExperiment, EXP_UUID, OUTPUT_ID, ENDPOINT, "second", OTHER_PARAMS,
+                monitor -> compute(ITmfResponse.Status.COMPLETED));
+        release.countDown();
+
+        TmfModelResponse<String> response = first.get(10, TimeUnit.SECONDS);
+        assertEquals(ITmfResponse.Status.COMPLETED, response.getStatus());
+        assertSame(response, second.get(10, TimeUnit.SECONDS));
+        assertEquals(ITmfResponse.Status.COMPLETED, other.getStatus());
+        assertEquals(2, fComputed.get());
+    }
+
+    /**
+     * Test that a new query of a client cancels its previous query on the
+     * same output
+     *
+     * @throws Exception
+     *             If a query fails
+     */
+    @Test
+    public void testSupersededQuery() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        Future<TmfModelResponse<String>> first = fExecutor.submit(() -> fCache.get(fExperiment, EXP_UUID, OUTPUT_ID, ENDPOINT, CLIENT_ID, PARAMS,
+                monitor -> block(started, new CountDownLatch(1), monitor)));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        TmfModelResponse<String> second = fCache.get(fExperiment, EXP_UUID, OUTPUT_ID, ENDPOINT, CLIENT_ID, OTHER_PARAMS,
+                monitor -> compute(ITmfResponse.Status.COMPLETED));
+
+        assertEquals(ITmfResponse.Status.CANCELLED, first.get(10, TimeUnit.SECONDS).getStatus());
+        assertEquals(ITmfResponse.Status.COMPLETED, second.getStatus());
+
+        /* The cancelled response is not cached */
+        assertEquals(ITmfResponse.Status.COMPLETED, fetch(PARAMS, ITmfResponse.Status.COMPLETED).getStatus());
+    }
+
+    /**
+     * Test computing a response in the background
+     *
+     * @throws Exception
+     *             If the wait is interrupted
+     */
+    @Test
+    public void testPrefetch() throws Exception {
+        assertNull(fCache.getIfPresent(fExperiment, EXP_UUID, OUTPUT_ID, ENDPOINT, PARAMS));
+        fCache.prefetch(fExperiment, EXP_UUID, OUTPUT_ID, ENDPOINT, CLIENT_ID, PARAMS, monitor -> compute(ITmfResponse.Status.COMPLETED));
+        long deadline = System.currentTimeMillis() + 10000;
+        while (fCache.getIfPresent(fExperiment, EXP_UUID, OUTPUT_ID, ENDPOINT, PARAMS) == null) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+        /* Nothing is computed for a response in the cache */
+        fCache.prefetch(fExperiment, EXP_UUID, OUTPUT_ID, ENDPOINT, CLIENT_ID, PARAMS, monitor -> compute(ITmfResponse.Status.COMPLETED));
+        assertEquals(1, fComputed.get());
+    }
+
+    private void waitForQueries(int nbQueries) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!Integer.valueOf(nbQueries).equals(fCache.getStatistics().get("waiting"))) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Compute a response once released, or a cancelled response if the
+     * monitor is cancelled first
+     */
+    private TmfModelResponse<String> block(CountDownLatch started, CountDownLatch release, IProgressMonitor monitor) {
+        fComputed.incrementAndGet();
+        started.countDown();
+        try {
+            while (!release.await(10, TimeUnit.MILLISECONDS)) {
+                if (monitor.isCanceled()) {
+                    return new TmfModelResponse<>(null, ITmfResponse.Status.CANCELLED, "Cancelled");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return new TmfModelResponse<>("model", ITmfResponse.Status.COMPLETED, "Completed");
+    }
+
+    private TmfModelResponse<String> fetch(Map<String, Object> params, ITmfResponse.Status status) {
+        return fCache.get(fExperiment, EXP_UUID, OUTPUT_ID, ENDPOINT, null, params, monitor -> compute(status));
+    }
+
+    private TmfModelResponse<String> compute(ITmfResponse.Status status) {
+        fComputed.incrementAndGet();
+        return new TmfModelResponse<>("model", status, status.name());
+    }
+}
@@ -18,6 +18,8 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -37,6 +39,8 @@ import javax.ws.rs.core.Response;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.QueryParameters;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderService;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.ColumnarFrameDecoder;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.ColumnarFrameEncoder;
 import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.stubs.ColumnHeaderEntryStub;
 import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.stubs.DataProviderDescriptorStub;
 import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.stubs.EntryHeaderStub;
@@ -66,11 +70,14 @@ import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.st
 import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.utils.RestServerTest;
 import org.eclipse.tracecompass.internal.tmf.core.model.filters.FetchParametersUtils;
 import org.eclipse.tracecompass.tmf.core.model.filters.TimeQueryFilter;
+import org.eclipse.tracecompass.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterators;
+import com.google.common.primitives.Longs;
 
 /**
  * Test the {@link DataProviderService}
@@ -223,6 +230,22 @@ public class DataProviderServiceTest extends RestServerTest {
             assertFalse(xySeries.isEmpty());
             series.close();
 
+            // Test getting the same series as a binary frame
+            series = xySeriesEnpoint.request(ColumnarFrameEncoder.MEDIA_TYPE).post(Entity.json(new QueryParameters(parameters, Collections.emptyList())));
+            assertEquals("There should be a positive response for the data provider", 200, series.getStatus());
+            assertEquals(ColumnarFrameEncoder.MEDIA_TYPE, series.getMediaType().toString());
+            TmfModelResponse<?> frameResponse = new ColumnarFrameDecoder(series.readEntity(InputStream.class)).readResponse();
+            ITmfXyModel frameModel = (ITmfXyModel) frameResponse.getModel();
+            assertNotNull(frameModel);
+            Map<String, List<Long>> expectedXValues = new HashMap<>();
+            xySeries.forEach(serie -> expectedXValues.put(serie.getName(), serie.getXValues()));
+            Map<String, List<Long>> frameXValues = new HashMap<>();
+            frameModel.getSeriesData().forEach(serie -> frameXValues.put(serie.getName(), Longs.asList(serie.getXAxis())));
+            assertEquals(expectedXValues, frameXValues);
+            series.close();
+
+        } catch (IOException e) {
+            fail(e.getMessage());
         } catch (ProcessingException e) {
             // The failure from this exception alone is not helpful. Use the
             // suppressed exception's message be the failure message for more
@@ -410,6 +433,19 @@ public class DataProviderServiceTest extends RestServerTest {
             assertFalse(rows.isEmpty());
             statesResponse.close();
 
+            // Test getting the same rows as they are computed
+            statesResponse = tgStatesEnpoint.queryParam("stream", true).request().post(Entity.json(new QueryParameters(parameters, Collections.emptyList())));
+            assertEquals("There should be a positive response for the data provider", 200, statesResponse.getStatus());
+            TgStatesOutputResponseStub streamedResponse = statesResponse.readEntity(TgStatesOutputResponseStub.class);
+            assertNotNull(streamedResponse);
+            assertEquals(tgStateModelResponse.isCompleted(), streamedResponse.isCompleted());
+            Map<Long, Integer> expectedStates = new HashMap<>();
+            rows.forEach(r -> expectedStates.put(r.getEntryId(), r.getStates().size()));
+            Map<Long, Integer> streamedStates = new HashMap<>();
+            streamedResponse.getModel().getRows().forEach(r -> streamedStates.put(r.getEntryId(), r.getStates().size()));
+            assertEquals(expectedStates, streamedStates);
+            statesResponse.close();
+
             // Test getting the time graph tooltip for a state
             int callstackEntryIdForTooltip = findCallStackEntry(entries);
             TimeGraphRowStub row = null;
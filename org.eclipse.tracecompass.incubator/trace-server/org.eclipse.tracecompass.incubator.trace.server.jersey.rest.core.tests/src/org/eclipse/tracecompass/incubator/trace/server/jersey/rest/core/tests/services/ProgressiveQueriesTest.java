@@ -0,0 +1,117 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.services;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ProgressiveQueries;
+import org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils;
+import org.eclipse.tracecompass.tmf.core.model.SeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.TmfXyModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test the {@link ProgressiveQueries}
+ */
+public class ProgressiveQueriesTest {
+
+    private static Map<String, Object> timesParameters(int nbTimes) {
+        List<Long> times = new ArrayList<>();
+        for (int i = 0; i < nbTimes; i++) {
+            times.add(100L + 10L * i);
+        }
+        return Collections.singletonMap(DataProviderParameterUtils.REQUESTED_TIME_KEY, times);
+    }
+
+    /**
+     * Test the times of the coarse queries
+     */
+    @Test
+    public void testCoarseParameters() {
+        assertNull(ProgressiveQueries.getCoarseParameters(timesParameters(ProgressiveQueries.COARSE_TIMES)));
+        assertNull(ProgressiveQueries.getCoarseParameters(Collections.emptyMap()));
+
+        Map<String, Object> coarse = ProgressiveQueries.getCoarseParameters(timesParameters(1000));
+        assertNotNull(coarse);
+        List<Long> times = DataProviderParameterUtils.extractTimeRequested(coarse);
+        assertNotNull(times);
+        /* One time every 16, and the last one */
+        assertEquals(64, times.size());
+        assertEquals(100L, (long) times.get(0));
+        assertEquals(260L, (long) times.get(1));
+        assertEquals(100L + 10L * 999, (long) times.get(times.size() - 1));
+    }
+
+    /**
+     * Test that only the providers of instantaneous values are progressive
+     */
+    @Test
+    public void testProgressiveProviders() {
+        Map<String, Object> parameters = timesParameters(1000);
+        assertTrue(ProgressiveQueries.isProgressiveXY("org.eclipse.tracecompass.analysis.os.linux.core.cpuusage.CpuUsageDataProvider", parameters));
+        assertTrue(ProgressiveQueries.isProgressiveXY("org.eclipse.tracecompass.analysis.os.linux.core.kernelmemoryusage", parameters));
+        /* Counts and deltas grow with the time between the requested times */
+        assertFalse(ProgressiveQueries.isProgressiveXY("org.eclipse.tracecompass.internal.tmf.core.histogram.HistogramDataProvider", parameters));
+        assertFalse(ProgressiveQueries.isProgressiveXY("org.eclipse.tracecompass.analysis.counters.core.CounterDataProvider", parameters));
+        assertFalse(ProgressiveQueries.isProgressiveXY("org.eclipse.tracecompass.tmf.analysis.xml.core.module.XmlXYDataProvider:xml.analysis", parameters));
+
+        Map<String, Object> cumulative = new HashMap<>(parameters);
+        cumulative.put("isCumulative", true);
+        assertTrue(ProgressiveQueries.isProgressiveXY("org.eclipse.tracecompass.analysis.counters.core.CounterDataProvider", cumulative));
+    }
+
+    /**
+     * Test expanding a coarse XY model to the requested times
+     */
+    @Test
+    public void testExpandXY() {
+        Map<String, Object> parameters = timesParameters(6);
+        ISeriesModel series = new SeriesModel(1, "series", new long[] { 100, 130, 150 }, new double[] { 1.0, 2.0, 3.0 });
+        TmfModelResponse<ITmfXyModel> coarse = new TmfModelResponse<>(new TmfXyModel("title", ImmutableList.of(series)), ITmfResponse.Status.COMPLETED, "Completed");
+
+        TmfModelResponse<ITmfXyModel> response = ProgressiveQueries.expandXY(coarse, parameters);
+        assertEquals(ITmfResponse.Status.RUNNING, response.getStatus());
+        ITmfXyModel model = response.getModel();
+        assertNotNull(model);
+        assertEquals("title", model.getTitle());
+        ISeriesModel expanded = model.getSeriesData().iterator().next();
+        assertEquals(1, expanded.getId());
+        assertArrayEquals(new long[] { 100, 110, 120, 130, 140, 150 }, expanded.getXAxis());
+        assertArrayEquals(new double[] { 1.0, 2.0, 2.0, 2.0, 3.0, 3.0 }, expanded.getData(), 0.0);
+    }
+
+    /**
+     * Test that failed coarse responses are returned as is
+     */
+    @Test
+    public void testFailed() {
+        TmfModelResponse<ITmfXyModel> failed = new TmfModelResponse<>(null, ITmfResponse.Status.FAILED, "Failed");
+        assertSame(failed, ProgressiveQueries.expandXY(failed, timesParameters(100)));
+    }
+}
@@ -0,0 +1,185 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.ColumnarFrameDecoder;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.ColumnarFrameEncoder;
+import org.eclipse.tracecompass.tmf.core.model.OutputElementStyle;
+import org.eclipse.tracecompass.tmf.core.model.SeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.StyleProperties;
+import org.eclipse.tracecompass.tmf.core.model.TmfXyModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel.DisplayType;
+import org.eclipse.tracecompass.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Test the binary frames of {@link ColumnarFrameEncoder} and
+ * {@link ColumnarFrameDecoder}
+ */
+public class ColumnarFrameTest {
+
+    private static final long START = 1412670961211260539L;
+
+    /**
+     * Test encoding and decoding an XY model
+     *
+     * @throws IOException
+     *             If the frame cannot be written or read
+     */
+    @Test
+    public void testXY() throws IOException {
+        int nbTimes = 1000;
+        long[] xValues = new long[nbTimes];
+        double[] yValues = new double[nbTimes];
+        for (int i = 0; i < nbTimes; i++) {
+            xValues[i] = START + i * 6000000L;
+            yValues[i] = Math.sin(i) * 1e6;
+        }
+        List<ISeriesModel> series = ImmutableList.of(
+                new SeriesModel.SeriesModelBuilder(3, "cpu0", xValues, yValues).build(),
+                new SeriesModel.SeriesModelBuilder(-2, "cpu1", xValues, new double[nbTimes]).seriesDisplayType(DisplayType.SCATTER).build());
+        TmfModelResponse<?> response = roundTrip(new TmfModelResponse<>(new TmfXyModel("CPU usage", series), ITmfResponse.Status.RUNNING, "Running"));
+
+        assertEquals(ITmfResponse.Status.RUNNING, response.getStatus());
+        assertEquals("Running", response.getStatusMessage());
+        ITmfXyModel model = (ITmfXyModel) response.getModel();
+        assertNotNull(model);
+        assertEquals("CPU usage", model.getTitle());
+        assertEquals(series.size(), model.getSeriesData().size());
+        Iterator<ISeriesModel> expected = series.iterator();
+        for (ISeriesModel actual : model.getSeriesData()) {
+            ISeriesModel serie = expected.next();
+            assertEquals(serie.getId(), actual.getId());
+            assertEquals(serie.getName(), actual.getName());
+            assertEquals(serie.getDisplayType(), actual.getDisplayType());
+            assertArrayEquals(serie.getXAxis(), actual.getXAxis());
+            assertArrayEquals(serie.getData(), actual.getData(), 0.0);
+        }
+    }
+
+    /**
+     * Test that the frame of a large XY model is much smaller than its JSON
+     * document
+     *
+     * @throws IOException
+     *             If the frame cannot be written
+     */
+    @Test
+    public void testXYSize() throws IOException {
+        int nbTimes = 10000;
+        long[] xValues = new long[nbTimes];
+        double[] yValues = new double[nbTimes];
+        for (int i = 0; i < nbTimes; i++) {
+            xValues[i] = START + i * 6000000L;
+            yValues[i] = i;
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ColumnarFrameEncoder(output).writeResponse(new TmfModelResponse<>(new TmfXyModel("title",
+                Collections.singletonList(new SeriesModel(0, "series", xValues, yValues))), ITmfResponse.Status.COMPLETED, "Completed"));
+        /* A JSON timestamp alone is 20 characters */
+        assertTrue(String.valueOf(output.size()), output.size() < nbTimes * 20);
+    }
+
+    /**
+     * Test encoding and decoding a time graph model, row by row
+     *
+     * @throws IOException
+     *             If the frame cannot be written or read
+     */
+    @Test
+    public void testStates() throws IOException {
+        TimeGraphState withStyle = new TimeGraphState(START + 10, 5, "label", new OutputElementStyle("key",
+                ImmutableMap.of(StyleProperties.COLOR, "#ff0000", StyleProperties.HEIGHT, 0.5f, StyleProperties.BORDER_WIDTH, 2)));
+        withStyle.setActiveProperties(1);
+        List<ITimeGraphRowModel> rows = new ArrayList<>();
+        rows.add(new TimeGraphRowModel(1, ImmutableList.of(new TimeGraphState(START, 10, 4), withStyle, new TimeGraphState(START + 20, 5, Integer.MIN_VALUE))));
+        rows.add(new TimeGraphRowModel(2, Collections.emptyList()));
+        rows.add(new TimeGraphRowModel(3, ImmutableList.of(new TimeGraphState(START, 10, 4, "label"))));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ColumnarFrameEncoder encoder = new ColumnarFrameEncoder(output);
+        encoder.startRows();
+        for (ITimeGraphRowModel row : rows) {
+            encoder.writeRow(row);
+        }
+        encoder.endRows(new TmfModelResponse<>(null, ITmfResponse.Status.COMPLETED, "Completed"));
+        TmfModelResponse<?> response = new ColumnarFrameDecoder(new ByteArrayInputStream(output.toByteArray())).readResponse();
+
+        assertEquals(ITmfResponse.Status.COMPLETED, response.getStatus());
+        TimeGraphModel model = (TimeGraphModel) response.getModel();
+        assertNotNull(model);
+        assertEquals(rows.size(), model.getRows().size());
+        for (int i = 0; i < rows.size(); i++) {
+            ITimeGraphRowModel row = rows.get(i);
+            ITimeGraphRowModel actual = model.getRows().get(i);
+            assertEquals(row.getEntryID(), actual.getEntryID());
+            assertEquals(row.getStates().size(), actual.getStates().size());
+            for (int j = 0; j < row.getStates().size(); j++) {
+                ITimeGraphState state = row.getStates().get(j);
+                ITimeGraphState actualState = actual.getStates().get(j);
+                assertEquals(state.getStartTime(), actualState.getStartTime());
+                assertEquals(state.getDuration(), actualState.getDuration());
+                assertEquals(state.getLabel(), actualState.getLabel());
+                assertEquals(state.getActiveProperties(), actualState.getActiveProperties());
+            }
+        }
+        List<ITimeGraphState> states = model.getRows().get(0).getStates();
+        /* The value is a style, as in JSON */
+        assertEquals(new OutputElementStyle("4"), states.get(0).getStyle());
+        assertEquals(new OutputElementStyle("key", ImmutableMap.of(StyleProperties.COLOR, "#ff0000", StyleProperties.HEIGHT, 0.5, StyleProperties.BORDER_WIDTH, 2L)), states.get(1).getStyle());
+        assertNull(states.get(2).getStyle());
+    }
+
+    /**
+     * Test a response without a model
+     *
+     * @throws IOException
+     *             If the frame cannot be written or read
+     */
+    @Test
+    public void testNoModel() throws IOException {
+        TmfModelResponse<?> response = roundTrip(new TmfModelResponse<>(null, ITmfResponse.Status.FAILED, "Failed"));
+        assertEquals(ITmfResponse.Status.FAILED, response.getStatus());
+        assertEquals("Failed", response.getStatusMessage());
+        assertNull(response.getModel());
+    }
+
+    private static TmfModelResponse<?> roundTrip(TmfModelResponse<?> response) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ColumnarFrameEncoder(output).writeResponse(response);
+        return new ColumnarFrameDecoder(new ByteArrayInputStream(output.toByteArray())).readResponse();
+    }
+}
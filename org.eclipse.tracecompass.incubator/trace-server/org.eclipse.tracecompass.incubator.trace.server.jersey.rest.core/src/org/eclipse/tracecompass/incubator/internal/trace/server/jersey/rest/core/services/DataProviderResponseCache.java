@@ -0,0 +1,480 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+import org.eclipse.tracecompass.tmf.core.signal.TmfSignalHandler;
+import org.eclipse.tracecompass.tmf.core.signal.TmfSignalManager;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceClosedSignal;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceUpdatedSignal;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Cache of the responses of the data providers, so that the same query on
+ * the same experiment, from one or many clients, is computed once.
+ *
+ * The responses are keyed by experiment, output, endpoint and query
+ * parameters, in a canonical form where the order of the keys and the type of
+ * the numbers do not matter. The key also has the number of events and end
+ * time of the experiment, so a trace that grows does not hit the responses of
+ * its previous version. Only the completed responses are cached: a response
+ * computed while the analysis is running is computed again until the analysis
+ * completes. The responses of an experiment are removed when it is closed or
+ * updated.
+ *
+ * The cache is bounded by the estimated size of the responses, in bytes, set
+ * with the <code>traceserver.responseCacheSize</code> system property in
+ * megabytes, and evicts the least recently used ones.
+ *
+ * The queries that are not in the cache are also tracked while they are
+ * computed: an identical query that arrives meanwhile waits for the same
+ * computation instead of starting another one, and a new query of a client on
+ * an output supersedes the previous one of that client on that output. The
+ * progress monitor of a computation is cancelled once all the queries that
+ * wait for it are superseded, as when a user pans or zooms a view. A response
+ * can also be computed in the background, for the progressive queries.
+ */
+public final class DataProviderResponseCache {
+
+    private static final String CACHE_SIZE_PROPERTY = "traceserver.responseCacheSize"; //$NON-NLS-1$
+    private static final long DEFAULT_CACHE_SIZE = 256;
+    private static final long MEGABYTE = 1L << 20;
+
+    /* Estimated sizes of the objects of the responses, in bytes */
+    private static final int RESPONSE_SIZE = 128;
+    private static final int ROW_SIZE = 48;
+    private static final int STATE_SIZE = 64;
+    private static final int SERIES_SIZE = 96;
+
+    private static final DataProviderResponseCache INSTANCE = new DataProviderResponseCache(Long.getLong(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE) * MEGABYTE);
+
+    static {
+        TmfSignalManager.register(INSTANCE);
+    }
+
+    private final Cache<Key, TmfModelResponse<?>> fCache;
+    private final Map<Key, Computation> fInFlight = new HashMap<>();
+    private final Map<ClientKey, Query> fLatest = new HashMap<>();
+    private final ExecutorService fExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+        Thread thread = new Thread(runnable, "Trace server background query"); //$NON-NLS-1$
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DataProviderResponseCache(long maxBytes) {
+        fCache = CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, TmfModelResponse<?> response) -> estimateSize(response))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get the instance of the cache
+     *
+     * @return The cache
+     */
+    public static DataProviderResponseCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the response of a query from the cache, or compute it
+     *
+     * @param experiment
+     *            The experiment that is queried
+     * @param expUUID
+     *            The UUID of the experiment
+     * @param outputId
+     *            The ID of the data provider
+     * @param endpoint
+     *            The name of the endpoint, as the same provider has many
+     *            kinds of responses
+     * @param clientId
+     *            The ID of the client, whose new query on this output
+     *            supersedes this one, or <code>null</code> if the query is
+     *            never superseded
+     * @param parameters
+     *            The query parameters
+     * @param compute
+     *            Computes the response when it is not in the cache, with the
+     *            monitor that is cancelled when the query is superseded
+     * @return The response, which is cancelled if the query was superseded
+     */
+    @SuppressWarnings("unchecked")
+    public <T> TmfModelResponse<T> get(TmfExperiment experiment, UUID expUUID, String outputId, String endpoint, @Nullable String clientId,
+            Map<String, Object> parameters, Function<IProgressMonitor, TmfModelResponse<T>> compute) {
+        Key key = new Key(experiment, expUUID, outputId, endpoint, parameters);
+        TmfModelResponse<?> cached = fCache.getIfPresent(key);
+        if (cached != null) {
+            return (TmfModelResponse<T>) cached;
+        }
+
+        Computation computation;
+        boolean owner = false;
+        Query query;
+        ClientKey clientKey = clientId == null ? null : new ClientKey(clientId, expUUID, outputId, endpoint);
+        synchronized (fInFlight) {
+            computation = fInFlight.get(key);
+            if (computation == null || computation.fMonitor.isCanceled()) {
+                computation = new Computation();
+                fInFlight.put(key, computation);
+                owner = true;
+            }
+            query = new Query(computation);
+            if (clientKey != null) {
+                Query previous = fLatest.put(clientKey, query);
+                if (previous != null) {
+                    previous.release();
+                }
+            }
+        }
+
+        try {
+            if (!owner) {
+                return (TmfModelResponse<T>) computation.fFuture.join();
+            }
+            try {
+                TmfModelResponse<T> response = compute.apply(computation.fMonitor);
+                if (response.getStatus() == ITmfResponse.Status.COMPLETED && response.getModel() != null) {
+                    fCache.put(key, response);
+                }
+                computation.fFuture.complete(response);
+                return response;
+            } catch (RuntimeException e) {
+                computation.fFuture.completeExceptionally(e);
+                throw e;
+            } finally {
+                synchronized (fInFlight) {
+                    fInFlight.remove(key, computation);
+                }
+            }
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+        } finally {
+            synchronized (fInFlight) {
+                query.release();
+                if (clientKey != null) {
+                    fLatest.remove(clientKey, query);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the response of a query if it is in the cache
+     *
+     * @param experiment
+     *            The experiment that is queried
+     * @param expUUID
+     *            The UUID of the experiment
+     * @param outputId
+     *            The ID of the data provider
+     * @param endpoint
+     *            The name of the endpoint
+     * @param parameters
+     *            The query parameters
+     * @return The cached response, or <code>null</code> if it is not cached
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable TmfModelResponse<T> getIfPresent(TmfExperiment experiment, UUID expUUID, String outputId, String endpoint,
+            Map<String, Object> parameters) {
+        return (TmfModelResponse<T>) fCache.getIfPresent(new Key(experiment, expUUID, outputId, endpoint, parameters));
+    }
+
+    /**
+     * Compute the response of a query in the background, so that it is in the
+     * cache when it is queried again. Nothing is done if the query is already
+     * computed or in the cache.
+     *
+     * @param experiment
+     *            The experiment that is queried
+     * @param expUUID
+     *            The UUID of the experiment
+     * @param outputId
+     *            The ID of the data provider
+     * @param endpoint
+     *            The name of the endpoint
+     * @param clientId
+     *            The ID of the client, whose new query on this output
+     *            supersedes this one, or <code>null</code>
+     * @param parameters
+     *            The query parameters
+     * @param compute
+     *            Computes the response, with the monitor that is cancelled
+     *            when the query is superseded
+     */
+    public <T> void prefetch(TmfExperiment experiment, UUID expUUID, String outputId, String endpoint, @Nullable String clientId,
+            Map<String, Object> parameters, Function<IProgressMonitor, TmfModelResponse<T>> compute) {
+        Key key = new Key(experiment, expUUID, outputId, endpoint, parameters);
+        if (fCache.asMap().containsKey(key)) {
+            return;
+        }
+        synchronized (fInFlight) {
+            Computation computation = fInFlight.get(key);
+            if (computation != null && !computation.fMonitor.isCanceled()) {
+                return;
+            }
+        }
+        fExecutor.execute(() -> get(experiment, expUUID, outputId, endpoint, clientId, parameters, compute));
+    }
+
+    /**
+     * Get the statistics of the cache
+     *
+     * @return The number of hits and misses, the hit rate, the number of
+     *         evicted responses, the number and estimated size of the cached
+     *         responses, and the number of computations in flight and of
+     *         queries waiting for them
+     */
+    public Map<String, Object> getStatistics() {
+        CacheStats stats = fCache.stats();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("hitCount", stats.hitCount()); //$NON-NLS-1$
+        statistics.put("missCount", stats.missCount()); //$NON-NLS-1$
+        statistics.put("hitRate", stats.hitRate()); //$NON-NLS-1$
+        statistics.put("evictionCount", stats.evictionCount()); //$NON-NLS-1$
+        statistics.put("size", fCache.size()); //$NON-NLS-1$
+        statistics.put("estimatedBytes", fCache.asMap().values().stream().mapToLong(DataProviderResponseCache::estimateSize).sum()); //$NON-NLS-1$
+        synchronized (fInFlight) {
+            statistics.put("inFlight", fInFlight.size()); //$NON-NLS-1$
+            statistics.put("waiting", fInFlight.values().stream().mapToInt(computation -> computation.fQueries).sum()); //$NON-NLS-1$
+        }
+        return statistics;
+    }
+
+    /**
+     * Remove all the responses
+     */
+    public void invalidateAll() {
+        fCache.invalidateAll();
+    }
+
+    /**
+     * Remove the responses of the experiments of a closed trace
+     *
+     * @param signal
+     *            The trace closed signal
+     */
+    @TmfSignalHandler
+    public void traceClosed(TmfTraceClosedSignal signal) {
+        invalidate(signal.getTrace());
+    }
+
+    /**
+     * Remove the responses of the experiments of an updated trace
+     *
+     * @param signal
+     *            The trace updated signal
+     */
+    @TmfSignalHandler
+    public void traceUpdated(TmfTraceUpdatedSignal signal) {
+        invalidate(signal.getTrace());
+    }
+
+    private void invalidate(ITmfTrace trace) {
+        fCache.asMap().keySet().removeIf(key -> key.fExperiment == trace || TmfTraceManager.getTraceSet(key.fExperiment).contains(trace));
+    }
+
+    private static int estimateSize(TmfModelResponse<?> response) {
+        long size = RESPONSE_SIZE;
+        Object model = response.getModel();
+        if (model instanceof TimeGraphModel) {
+            for (ITimeGraphRowModel row : ((TimeGraphModel) model).getRows()) {
+                size += ROW_SIZE;
+                for (ITimeGraphState state : row.getStates()) {
+                    String label = state.getLabel();
+                    size += STATE_SIZE + (label == null ? 0 : 2L * label.length());
+                }
+            }
+        } else if (model instanceof ITmfXyModel) {
+            for (ISeriesModel series : ((ITmfXyModel) model).getSeriesData()) {
+                size += SERIES_SIZE + (long) series.getXAxis().length * Long.BYTES + (long) series.getData().length * Double.BYTES;
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    /**
+     * Put the parameters in a form that is equal for equivalent queries:
+     * sorted map keys, and numbers that are equal whatever their type
+     */
+    private static @Nullable Object canonicalize(@Nullable Object value) {
+        if (value instanceof Map<?, ?>) {
+            Map<String, @Nullable Object> map = new TreeMap<>();
+            for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(String.valueOf(entry.getKey()), canonicalize(entry.getValue()));
+            }
+            return map;
+        }
+        if (value instanceof Collection<?>) {
+            List<@Nullable Object> list = new ArrayList<>();
+            for (Object element : (Collection<?>) value) {
+                list.add(canonicalize(element));
+            }
+            return list;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return value;
+    }
+
+    /**
+     * A computation of a response, that identical queries wait for
+     */
+    private static final class Computation {
+        private final IProgressMonitor fMonitor = new NullProgressMonitor();
+        private final CompletableFuture<TmfModelResponse<?>> fFuture = new CompletableFuture<>();
+        private int fQueries = 0;
+    }
+
+    /**
+     * A query waiting for a computation, accessed with the lock of the
+     * computations in flight
+     */
+    private static final class Query {
+        private final Computation fComputation;
+        private boolean fReleased = false;
+
+        public Query(Computation computation) {
+            fComputation = computation;
+            computation.fQueries++;
+        }
+
+        /**
+         * Stop waiting for the computation, and cancel it if no other query
+         * waits for it
+         */
+        public void release() {
+            if (fReleased) {
+                return;
+            }
+            fReleased = true;
+            fComputation.fQueries--;
+            if (fComputation.fQueries == 0 && !fComputation.fFuture.isDone()) {
+                fComputation.fMonitor.setCanceled(true);
+            }
+        }
+    }
+
+    private static final class ClientKey {
+        private final String fClientId;
+        private final UUID fExpUUID;
+        private final String fOutputId;
+        private final String fEndpoint;
+
+        public ClientKey(String clientId, UUID expUUID, String outputId, String endpoint) {
+            fClientId = clientId;
+            fExpUUID = expUUID;
+            fOutputId = outputId;
+            fEndpoint = endpoint;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fClientId, fExpUUID, fOutputId, fEndpoint);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ClientKey)) {
+                return false;
+            }
+            ClientKey other = (ClientKey) obj;
+            return fClientId.equals(other.fClientId)
+                    && fExpUUID.equals(other.fExpUUID)
+                    && fOutputId.equals(other.fOutputId)
+                    && fEndpoint.equals(other.fEndpoint);
+        }
+    }
+
+    private static final class Key {
+        private final TmfExperiment fExperiment;
+        private final UUID fExpUUID;
+        private final String fOutputId;
+        private final String fEndpoint;
+        private final @Nullable Object fParameters;
+        private final long fNbEvents;
+        private final long fEndTime;
+
+        public Key(TmfExperiment experiment, UUID expUUID, String outputId, String endpoint, Map<String, Object> parameters) {
+            fExperiment = experiment;
+            fExpUUID = expUUID;
+            fOutputId = outputId;
+            fEndpoint = endpoint;
+            fParameters = canonicalize(parameters);
+            fNbEvents = experiment.getNbEvents();
+            fEndTime = experiment.getTimeRange().getEndTime().toNanos();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fExpUUID, fOutputId, fEndpoint, fParameters, fNbEvents, fEndTime);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return fExpUUID.equals(other.fExpUUID)
+                    && fOutputId.equals(other.fOutputId)
+                    && fEndpoint.equals(other.fEndpoint)
+                    && Objects.equals(fParameters, other.fParameters)
+                    && fNbEvents == other.fNbEvents
+                    && fEndTime == other.fEndTime;
+        }
+    }
+}
@@ -12,6 +12,7 @@
 package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
 
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.ANN;
+import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.CLIENT_ID;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.COLUMNS;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.COLUMNS_EX;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.CONSISTENT_PARENT;
@@ -51,8 +52,10 @@ import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.re
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.NO_SUCH_TRACE;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.ONE_OF;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.OUTPUT_ID;
+import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.PROGRESSIVE;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.PROVIDER_NOT_FOUND;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.SERVER;
+import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.STREAM;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.STY;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.TABLE_TIMES;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.TERMS;
@@ -86,14 +89,19 @@ import java.util.logging.Logger;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Providers;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
@@ -125,6 +133,9 @@ import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.TableColumnHeader;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.TreeModelWrapper;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.VirtualTableModelWrapper;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.ColumnarFrameEncoder;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.JacksonObjectMapperProvider;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.TimeGraphStatesStreamingOutput;
 import org.eclipse.tracecompass.internal.analysis.timing.core.event.matching.EventMatchingLatencyAnalysis;
 import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.ITmfVirtualTableDataProvider;
 import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.ITmfVirtualTableModel;
@@ -166,6 +177,7 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
 import org.w3c.dom.Element;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
@@ -206,7 +218,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @SuppressWarnings("restriction")
 @Path("/experiments/{expUUID}/outputs")
 public class DataProviderService {
+
+    /**
+     * Header with the ID of the client, whose new query on an output cancels
+     * its previous query on that output
+     */
+    public static final String CLIENT_ID_HEADER = "X-Client-Id"; //$NON-NLS-1$
+
     private static final @NonNull Logger LOGGER = TraceCompassLog.getLogger(DataProviderService.class);
+    private static final MediaType FRAME_TYPE = MediaType.valueOf(ColumnarFrameEncoder.MEDIA_TYPE);
+    private static final String XY_ENDPOINT = "xy"; //$NON-NLS-1$
+    private static final String STATES_ENDPOINT = "states"; //$NON-NLS-1$
 
     private final DataProviderManager manager = DataProviderManager.getInstance();
 
@@ -356,13 +378,20 @@ public class DataProviderService {
      *            Output ID for the data provider to query
      * @param queryParameters
      *            Parameters to fetch XY as described by {@link QueryParameters}
+     * @param progressive
+     *            Whether to return a coarse model while the model at the
+     *            requested resolution is computed, only for the providers
+     *            whose values are instantaneous
+     * @param clientId
+     *            ID of the client, whose new query on this output cancels this
+     *            one
      * @return an {@link GenericView} with the results
      */
     @POST
     @Path("/XY/{outputId}/xy")
     @Tag(name = X_Y)
     @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({ MediaType.APPLICATION_JSON, ColumnarFrameEncoder.MEDIA_TYPE })
     @Operation(summary = "API to get the XY model", description = "Unique endpoint for all xy models, " +
             "ensures that the same template is followed for all endpoints.", responses = {
                     @ApiResponse(responseCode = "200", description = "Return the queried XYResponse", content = @Content(schema = @Schema(implementation = XYResponse.class))),
@@ -376,7 +405,9 @@ public class DataProviderService {
             @RequestBody(description = "Query parameters to fetch the XY model. " + TIMERANGE + " " + ITEMS_XY, content = {
                     @Content(examples = @ExampleObject("{\"parameters\":{" + TIMERANGE_EX + "," + ITEMS_EX +
                             "}}"), schema = @Schema(implementation = RequestedQueryParameters.class))
-            }, required = true) QueryParameters queryParameters) {
+            }, required = true) QueryParameters queryParameters,
+            @Parameter(description = PROGRESSIVE) @QueryParam("progressive") boolean progressive,
+            @Parameter(description = CLIENT_ID) @HeaderParam(CLIENT_ID_HEADER) @Nullable String clientId) {
 
         Response errorResponse = validateParameters(outputId, queryParameters);
         if (errorResponse != null) {
@@ -408,7 +439,21 @@ public class DataProviderService {
                 return Response.status(Status.BAD_REQUEST).entity(errorMessage).build();
             }
 
-            TmfModelResponse<@NonNull ITmfXyModel> response = provider.fetchXY(params, null);
+            ITmfTreeXYDataProvider<@NonNull ITmfTreeDataModel> xyProvider = provider;
+            DataProviderResponseCache cache = DataProviderResponseCache.getInstance();
+            Map<String, Object> coarseParams = progressive && ProgressiveQueries.isProgressiveXY(outputId, params) ? ProgressiveQueries.getCoarseParameters(params) : null;
+            if (coarseParams != null) {
+                TmfModelResponse<@NonNull ITmfXyModel> response = cache.getIfPresent(experiment, expUUID, outputId, XY_ENDPOINT, params);
+                if (response == null) {
+                    cache.prefetch(experiment, expUUID, outputId, XY_ENDPOINT, clientId, params, monitor -> xyProvider.fetchXY(params, monitor));
+                    TmfModelResponse<@NonNull ITmfXyModel> coarse = cache.get(experiment, expUUID, outputId, XY_ENDPOINT,
+                            null, coarseParams, monitor -> xyProvider.fetchXY(coarseParams, monitor));
+                    response = ProgressiveQueries.expandXY(coarse, params);
+                }
+                return Response.ok(response).build();
+            }
+            TmfModelResponse<@NonNull ITmfXyModel> response = cache.get(experiment, expUUID, outputId, XY_ENDPOINT,
+                    clientId, params, monitor -> xyProvider.fetchXY(params, monitor));
             return Response.ok(response).build();
         }
     }
@@ -485,13 +530,27 @@ public class DataProviderService {
      * @param queryParameters
      *            Parameters to fetch time graph states as described by
      *            {@link QueryParameters}
+     * @param stream
+     *            Whether to write the rows as they are computed instead of
+     *            once they are all fetched
+     * @param providers
+     *            The JAX-RS providers, to get the object mapper of the rows
+     * @param headers
+     *            The request headers, to stream binary frames if the client
+     *            prefers them
+     * @param progressive
+     *            Whether to return the states of a coarse query while the
+     *            states at the requested resolution are computed
+     * @param clientId
+     *            ID of the client, whose new query on this output cancels this
+     *            one
      * @return {@link GenericView} with the results
      */
     @POST
     @Path("/timeGraph/{outputId}/states")
     @Tag(name = TGR)
     @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({ MediaType.APPLICATION_JSON, ColumnarFrameEncoder.MEDIA_TYPE })
     @Operation(summary = "API to get the Time Graph states", description = "Unique entry point for all TimeGraph states, ensures that the same template is followed for all views", responses = {
             @ApiResponse(responseCode = "200", description = "Returns a list of time graph rows", content = @Content(schema = @Schema(implementation = TimeGraphStatesResponse.class))),
             @ApiResponse(responseCode = "400", description = MISSING_PARAMETERS, content = @Content(schema = @Schema(implementation = String.class))),
@@ -504,7 +563,12 @@ public class DataProviderService {
             @RequestBody(description = "Query parameters to fetch the timegraph states. " + TIMERANGE + " " + ITEMS, content = {
                     @Content(examples = @ExampleObject("{\"parameters\":{" + TIMERANGE_EX + "," + ITEMS_EX +
                             "}}"), schema = @Schema(implementation = RequestedQueryParameters.class))
-            }, required = true) QueryParameters queryParameters) {
+            }, required = true) QueryParameters queryParameters,
+            @Parameter(description = STREAM) @QueryParam("stream") boolean stream,
+            @Context Providers providers,
+            @Context HttpHeaders headers,
+            @Parameter(description = PROGRESSIVE) @QueryParam("progressive") boolean progressive,
+            @Parameter(description = CLIENT_ID) @HeaderParam(CLIENT_ID_HEADER) @Nullable String clientId) {
 
         Response errorResponse = validateParameters(outputId, queryParameters);
         if (errorResponse != null) {
@@ -530,7 +594,27 @@ public class DataProviderService {
                 return Response.status(Status.BAD_REQUEST).entity(errorMessage).build();
             }
 
-            TmfModelResponse<TimeGraphModel> response = provider.fetchRowModel(params, null);
+            if (stream) {
+                // The media types are sorted by preference, a wildcard means JSON
+                List<MediaType> accepted = headers.getAcceptableMediaTypes();
+                if (!accepted.isEmpty() && !accepted.get(0).isWildcardSubtype() && FRAME_TYPE.isCompatible(accepted.get(0))) {
+                    return Response.ok(new TimeGraphStatesStreamingOutput(provider, params), FRAME_TYPE).build();
+                }
+                return Response.ok(new TimeGraphStatesStreamingOutput(getObjectMapper(providers), provider, params), MediaType.APPLICATION_JSON).build();
+            }
+            DataProviderResponseCache cache = DataProviderResponseCache.getInstance();
+            Map<String, Object> coarseParams = progressive ? ProgressiveQueries.getCoarseParameters(params) : null;
+            if (coarseParams != null) {
+                TmfModelResponse<TimeGraphModel> response = cache.getIfPresent(experiment, expUUID, outputId, STATES_ENDPOINT, params);
+                if (response == null) {
+                    cache.prefetch(experiment, expUUID, outputId, STATES_ENDPOINT, clientId, params, monitor -> provider.fetchRowModel(params, monitor));
+                    response = ProgressiveQueries.toProgressiveResponse(cache.get(experiment, expUUID, outputId, STATES_ENDPOINT,
+                            null, coarseParams, monitor -> provider.fetchRowModel(coarseParams, monitor)));
+                }
+                return Response.ok(response).build();
+            }
+            TmfModelResponse<TimeGraphModel> response = cache.get(experiment, expUUID, outputId, STATES_ENDPOINT,
+                    clientId, params, monitor -> provider.fetchRowModel(params, monitor));
             return Response.ok(response).build();
         }
     }
@@ -1149,4 +1233,12 @@ public class DataProviderService {
         }
         return null;
     }
+
+    private static ObjectMapper getObjectMapper(Providers providers) {
+        ContextResolver<ObjectMapper> resolver = providers.getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE);
+        if (resolver != null) {
+            return resolver.getContext(ObjectMapper.class);
+        }
+        return new JacksonObjectMapperProvider().getContext(ObjectMapper.class);
+    }
 }
@@ -80,9 +80,12 @@ public final class EndpointConstants {
      * Swagger @Parameter description constants, named after their parameter
      * name; alphabetical order.
      */
+    static final String CLIENT_ID = "ID of the client, whose new query on the same output cancels its previous one if it is still computed"; //$NON-NLS-1$
     static final String EXP_UUID = "UUID of the experiment to query"; //$NON-NLS-1$
     static final String MARKER_SET_ID = "The optional requested marker set's id"; //$NON-NLS-1$
     static final String OUTPUT_ID = "ID of the output provider to query"; //$NON-NLS-1$
+    static final String PROGRESSIVE = "Whether a coarse model is returned with the running status while the model at the requested resolution is computed"; //$NON-NLS-1$
+    static final String STREAM = "Whether the rows are sent as they are computed, with chunked transfer encoding; the status then follows the rows"; //$NON-NLS-1$
     static final String TRACE_UUID = "UUID of the trace to query"; //$NON-NLS-1$
 
     /**
@@ -53,4 +53,21 @@ public class HealthService {
         // If the server can answer this call, it is up!!
         return Response.ok(ImmutableMap.of(STATUS_KEY, ServerStatus.Status.UP.name())).build();
     }
+
+    /**
+     * Getter for the statistics of the cache of the data provider responses
+     *
+     * @return The number of hits and misses, the hit rate, the number of
+     *         evictions, the number and estimated size of the cached
+     *         responses, and the number of queries in flight
+     */
+    @GET
+    @Path("/cache")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get the statistics of the cache of the data provider responses", responses = {
+            @ApiResponse(responseCode = "200", description = "The statistics of the response cache")
+    })
+    public Response getCacheStatistics() {
+        return Response.ok(DataProviderResponseCache.getInstance().getStatistics()).build();
+    }
 }
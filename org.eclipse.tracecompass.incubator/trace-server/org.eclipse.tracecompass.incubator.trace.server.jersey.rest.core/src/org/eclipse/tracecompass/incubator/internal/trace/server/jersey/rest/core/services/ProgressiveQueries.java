@@ -0,0 +1,191 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils;
+import org.eclipse.tracecompass.tmf.core.model.CommonStatusMessage;
+import org.eclipse.tracecompass.tmf.core.model.SeriesModel.SeriesModelBuilder;
+import org.eclipse.tracecompass.tmf.core.model.TmfXyModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Utility methods for the progressive queries, that first answer with a
+ * coarse model while the model at the requested resolution is computed.
+ *
+ * The coarse model is fetched for a subset of the requested times, so the
+ * data providers, whose cost grows with the number of queried times, answer
+ * it quickly. The coarse XY model is then expanded back to the requested
+ * times, so that the clients can draw it as any other response.
+ *
+ * A coarse point does not summarize the requested times it spans: its value
+ * only approximates the values at those times. This holds for the XY
+ * providers whose values are instantaneous, or a rate over the time since the
+ * previous requested time. It does not hold for the providers of counts or
+ * deltas, whose values grow with the time between the requested times, so the
+ * progressive queries are only enabled for the providers known to be
+ * instantaneous.
+ */
+public final class ProgressiveQueries {
+
+    /** Number of times of the coarse queries */
+    public static final int COARSE_TIMES = 64;
+
+    /** XY data providers whose values are instantaneous or rates */
+    private static final Set<String> INSTANTANEOUS_XY_PROVIDERS = ImmutableSet.of(
+            "org.eclipse.tracecompass.analysis.os.linux.core.cpuusage.CpuUsageDataProvider", //$NON-NLS-1$
+            "org.eclipse.tracecompass.analysis.os.linux.core.inputoutput.DisksIODataProvider", //$NON-NLS-1$
+            "org.eclipse.tracecompass.analysis.os.linux.core.kernelmemoryusage", //$NON-NLS-1$
+            "org.eclipse.tracecompass.lttng2.ust.core.analysis.memory.UstMemoryUsageDataProvider"); //$NON-NLS-1$
+
+    /** The counter provider returns deltas unless asked for cumulative values */
+    private static final String COUNTER_PROVIDER = "org.eclipse.tracecompass.analysis.counters.core.CounterDataProvider"; //$NON-NLS-1$
+    private static final String CUMULATIVE_COUNTER_KEY = "isCumulative"; //$NON-NLS-1$
+
+    private ProgressiveQueries() {
+        // Utility class
+    }
+
+    /**
+     * Get whether an XY query can be answered progressively, that is whether
+     * its expanded coarse model approximates the model at the requested
+     * resolution
+     *
+     * @param outputId
+     *            The ID of the XY data provider
+     * @param parameters
+     *            The query parameters
+     * @return Whether the values of the provider are instantaneous
+     */
+    public static boolean isProgressiveXY(String outputId, Map<String, Object> parameters) {
+        int separator = outputId.indexOf(':');
+        String providerId = separator < 0 ? outputId : outputId.substring(0, separator);
+        if (COUNTER_PROVIDER.equals(providerId)) {
+            return Boolean.TRUE.equals(DataProviderParameterUtils.extractBoolean(parameters, CUMULATIVE_COUNTER_KEY));
+        }
+        return INSTANTANEOUS_XY_PROVIDERS.contains(providerId);
+    }
+
+    /**
+     * Get the parameters of the coarse query
+     *
+     * @param parameters
+     *            The validated query parameters
+     * @return The parameters with a subset of the requested times, or
+     *         <code>null</code> if there are already few requested times
+     */
+    public static @Nullable Map<String, Object> getCoarseParameters(Map<String, Object> parameters) {
+        List<Long> times = DataProviderParameterUtils.extractTimeRequested(parameters);
+        if (times == null || times.size() <= COARSE_TIMES) {
+            return null;
+        }
+        List<Long> sorted = new ArrayList<>(times);
+        Collections.sort(sorted);
+        int step = (sorted.size() + COARSE_TIMES - 1) / COARSE_TIMES;
+        List<Long> coarse = new ArrayList<>(COARSE_TIMES + 1);
+        for (int i = 0; i < sorted.size(); i += step) {
+            coarse.add(sorted.get(i));
+        }
+        Long last = sorted.get(sorted.size() - 1);
+        if (!last.equals(coarse.get(coarse.size() - 1))) {
+            coarse.add(last);
+        }
+        Map<String, Object> coarseParameters = new HashMap<>(parameters);
+        coarseParameters.put(DataProviderParameterUtils.REQUESTED_TIME_KEY, coarse);
+        return coarseParameters;
+    }
+
+    /**
+     * Get the response to send while the model at the requested resolution is
+     * computed
+     *
+     * @param coarse
+     *            The response of the coarse query
+     * @return The same model, as a running response so the client fetches it
+     *         again, or the coarse response if it failed or was cancelled
+     */
+    public static <T> TmfModelResponse<T> toProgressiveResponse(TmfModelResponse<T> coarse) {
+        if (coarse.getStatus() == ITmfResponse.Status.FAILED || coarse.getStatus() == ITmfResponse.Status.CANCELLED) {
+            return coarse;
+        }
+        return new TmfModelResponse<>(coarse.getModel(), ITmfResponse.Status.RUNNING, CommonStatusMessage.RUNNING);
+    }
+
+    /**
+     * Expand a coarse XY model to the requested times. Each requested time
+     * takes the value of the first coarse point at or after it. Only use it
+     * for the providers for which {@link #isProgressiveXY} is true.
+     *
+     * @param coarse
+     *            The response of the coarse query
+     * @param parameters
+     *            The parameters of the query at the requested resolution
+     * @return The progressive response, with the same times as the response
+     *         at the requested resolution
+     */
+    public static TmfModelResponse<ITmfXyModel> expandXY(TmfModelResponse<ITmfXyModel> coarse, Map<String, Object> parameters) {
+        ITmfXyModel model = coarse.getModel();
+        List<Long> requested = DataProviderParameterUtils.extractTimeRequested(parameters);
+        if (model == null || requested == null) {
+            return toProgressiveResponse(coarse);
+        }
+        List<Long> sorted = new ArrayList<>(requested);
+        Collections.sort(sorted);
+        long[] times = new long[sorted.size()];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = sorted.get(i);
+        }
+        List<ISeriesModel> series = new ArrayList<>();
+        for (ISeriesModel coarseSeries : model.getSeriesData()) {
+            series.add(expandSeries(coarseSeries, times));
+        }
+        String title = model.getTitle();
+        return toProgressiveResponse(new TmfModelResponse<>(new TmfXyModel(title == null ? "" : title, series), coarse.getStatus(), coarse.getStatusMessage())); //$NON-NLS-1$
+    }
+
+    private static ISeriesModel expandSeries(ISeriesModel series, long[] times) {
+        long[] xValues = series.getXAxis();
+        double[] yValues = series.getData();
+        int[] properties = series.getProperties();
+        if (xValues.length == 0) {
+            return series;
+        }
+        double[] data = new double[times.length];
+        int[] expandedProperties = new int[times.length];
+        int j = 0;
+        for (int i = 0; i < times.length; i++) {
+            while (j < xValues.length - 1 && xValues[j] < times[i]) {
+                j++;
+            }
+            data[i] = yValues[j];
+            expandedProperties[i] = j < properties.length ? properties[j] : 0;
+        }
+        return new SeriesModelBuilder(series.getId(), series.getName(), times, data)
+                .xAxisDescription(series.getXAxisDescription())
+                .yAxisDescription(series.getYAxisDescription())
+                .seriesDisplayType(series.getDisplayType())
+                .setProperties(expandedProperties)
+                .build();
+    }
+}
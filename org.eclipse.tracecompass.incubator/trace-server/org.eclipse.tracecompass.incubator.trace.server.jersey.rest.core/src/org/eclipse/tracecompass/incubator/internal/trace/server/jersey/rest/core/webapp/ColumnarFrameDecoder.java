@@ -0,0 +1,195 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.model.OutputElementStyle;
+import org.eclipse.tracecompass.tmf.core.model.SeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.TmfXyModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel.DisplayType;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+
+/**
+ * Decodes the frames written by {@link ColumnarFrameEncoder} back into the
+ * responses of the data providers, for the Java clients of the server.
+ */
+public class ColumnarFrameDecoder {
+
+    private final DataInputStream fInput;
+    private final List<String> fStrings = new ArrayList<>();
+
+    /**
+     * Constructor
+     *
+     * @param input
+     *            The stream to read the frame from
+     */
+    public ColumnarFrameDecoder(InputStream input) {
+        fInput = new DataInputStream(new BufferedInputStream(input));
+    }
+
+    /**
+     * Read a frame
+     *
+     * @return The response, whose model is an {@link TmfXyModel}, a
+     *         {@link TimeGraphModel} or <code>null</code>
+     * @throws IOException
+     *             If the frame cannot be read or is not valid
+     */
+    public TmfModelResponse<?> readResponse() throws IOException {
+        if (fInput.readInt() != ColumnarFrameEncoder.MAGIC || fInput.readByte() != ColumnarFrameEncoder.VERSION) {
+            throw new IOException("Not a frame of this version"); //$NON-NLS-1$
+        }
+        int kind = fInput.readByte();
+        Object model;
+        switch (kind) {
+        case ColumnarFrameEncoder.KIND_NONE:
+            model = null;
+            break;
+        case ColumnarFrameEncoder.KIND_XY:
+            model = readXY();
+            break;
+        case ColumnarFrameEncoder.KIND_STATES:
+            model = readRows();
+            break;
+        default:
+            throw new IOException("Unknown frame kind " + kind); //$NON-NLS-1$
+        }
+        String status = readString();
+        String statusMessage = readString();
+        if (status == null) {
+            throw new IOException("Frame without status"); //$NON-NLS-1$
+        }
+        return new TmfModelResponse<>(model, ITmfResponse.Status.valueOf(status), String.valueOf(statusMessage));
+    }
+
+    private TmfXyModel readXY() throws IOException {
+        String title = String.valueOf(readString());
+        int nbSeries = (int) readUnsigned();
+        List<ISeriesModel> series = new ArrayList<>(nbSeries);
+        for (int i = 0; i < nbSeries; i++) {
+            long id = readSigned();
+            String name = String.valueOf(readString());
+            DisplayType type = DisplayType.valueOf(String.valueOf(readString()));
+            long[] xValues = new long[(int) readUnsigned()];
+            long previous = 0;
+            for (int j = 0; j < xValues.length; j++) {
+                previous += readSigned();
+                xValues[j] = previous;
+            }
+            double[] yValues = new double[(int) readUnsigned()];
+            for (int j = 0; j < yValues.length; j++) {
+                yValues[j] = fInput.readDouble();
+            }
+            series.add(new SeriesModel.SeriesModelBuilder(id, name, xValues, yValues).seriesDisplayType(type).build());
+        }
+        return new TmfXyModel(title, series);
+    }
+
+    private TimeGraphModel readRows() throws IOException {
+        List<ITimeGraphRowModel> rows = new ArrayList<>();
+        while (fInput.readByte() != 0) {
+            long entryId = readSigned();
+            int nbStates = (int) readUnsigned();
+            List<ITimeGraphState> states = new ArrayList<>(nbStates);
+            long previousEnd = 0;
+            for (int i = 0; i < nbStates; i++) {
+                long start = previousEnd + readSigned();
+                long duration = readSigned();
+                String label = readString();
+                OutputElementStyle style = readStyle();
+                TimeGraphState state = new TimeGraphState(start, duration, label, style);
+                state.setActiveProperties((int) readUnsigned());
+                states.add(state);
+                previousEnd = start + duration;
+            }
+            rows.add(new TimeGraphRowModel(entryId, states));
+        }
+        return new TimeGraphModel(rows);
+    }
+
+    private @Nullable OutputElementStyle readStyle() throws IOException {
+        if (fInput.readByte() == 0) {
+            return null;
+        }
+        String parentKey = readString();
+        int nbValues = (int) readUnsigned();
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < nbValues; i++) {
+            String key = String.valueOf(readString());
+            int type = fInput.readByte();
+            switch (type) {
+            case ColumnarFrameEncoder.VALUE_LONG:
+                values.put(key, readSigned());
+                break;
+            case ColumnarFrameEncoder.VALUE_DOUBLE:
+                values.put(key, fInput.readDouble());
+                break;
+            case ColumnarFrameEncoder.VALUE_STRING:
+                values.put(key, String.valueOf(readString()));
+                break;
+            default:
+                throw new IOException("Unknown style value type " + type); //$NON-NLS-1$
+            }
+        }
+        return new OutputElementStyle(parentKey, values);
+    }
+
+    private @Nullable String readString() throws IOException {
+        long ref = readUnsigned();
+        if (ref == 0) {
+            return null;
+        }
+        if (ref > 1) {
+            return fStrings.get((int) (ref - 2));
+        }
+        byte[] bytes = new byte[(int) readUnsigned()];
+        fInput.readFully(bytes);
+        String string = new String(bytes, StandardCharsets.UTF_8);
+        fStrings.add(string);
+        return string;
+    }
+
+    private long readSigned() throws IOException {
+        long value = readUnsigned();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readUnsigned() throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = fInput.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,274 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.model.OutputElementStyle;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+
+/**
+ * Encodes the XY and time graph states responses in a compact binary frame,
+ * an alternative to their JSON documents for the clients that can decode it.
+ * The times are written as variable length deltas and the values of the
+ * series as blocks of doubles, and each string is written once then referred
+ * to by its index.
+ *
+ * <pre>
+ * frame  := MAGIC VERSION kind body status statusMessage
+ * kind   := 0 (no model) | 1 (XY, body := xy) | 2 (states, body := row* 0)
+ * xy     := title nbSeries series*
+ * series := id name displayType nbX x* nbY y*
+ * row    := 1 entryId nbStates state*
+ * state  := start duration label style tags
+ * style  := 0 | 1 parentKey nbValues (key value)*
+ * value  := 0 string | 1 long | 2 double
+ * string := 0 (null) | 1 length utf8 (new) | index + 2 (already written)
+ * </pre>
+ *
+ * MAGIC is an int and VERSION a byte. The doubles are 8 bytes IEEE 754. All
+ * other numbers are variable length integers, zig-zag encoded when they can
+ * be negative. Series x values are deltas from the previous value, state
+ * starts are deltas from the end of the previous state of the row. The
+ * status is written last, so that the rows can be written as they are
+ * computed.
+ *
+ * @see ColumnarFrameDecoder
+ */
+public class ColumnarFrameEncoder {
+
+    /** Media type of the frames */
+    public static final String MEDIA_TYPE = "application/x-tracecompass-frame"; //$NON-NLS-1$
+
+    static final int MAGIC = 0x5443_4652; // "TCFR"
+    static final int VERSION = 1;
+
+    static final int KIND_NONE = 0;
+    static final int KIND_XY = 1;
+    static final int KIND_STATES = 2;
+
+    static final int VALUE_STRING = 0;
+    static final int VALUE_LONG = 1;
+    static final int VALUE_DOUBLE = 2;
+
+    private final DataOutputStream fOutput;
+    private final Map<String, Integer> fStrings = new HashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param output
+     *            The stream to write the frame to
+     */
+    public ColumnarFrameEncoder(OutputStream output) {
+        fOutput = new DataOutputStream(new BufferedOutputStream(output));
+    }
+
+    /**
+     * Write a whole response
+     *
+     * @param response
+     *            The response, whose model is an {@link ITmfXyModel}, a
+     *            {@link TimeGraphModel} or <code>null</code>
+     * @throws IOException
+     *             If the frame cannot be written
+     * @throws IllegalArgumentException
+     *             If the model has no binary encoding
+     */
+    public void writeResponse(TmfModelResponse<?> response) throws IOException {
+        Object model = response.getModel();
+        if (model instanceof ITmfXyModel) {
+            writeHeader(KIND_XY);
+            writeXY((ITmfXyModel) model);
+        } else if (model instanceof TimeGraphModel) {
+            writeHeader(KIND_STATES);
+            for (ITimeGraphRowModel row : ((TimeGraphModel) model).getRows()) {
+                writeRow(row);
+            }
+            fOutput.writeByte(0);
+        } else if (model == null) {
+            writeHeader(KIND_NONE);
+        } else {
+            throw new IllegalArgumentException("No binary frame for " + model.getClass().getName()); //$NON-NLS-1$
+        }
+        writeStatus(response);
+    }
+
+    /**
+     * Start a time graph states frame, whose rows are written one by one
+     * after with {@link #writeRow(ITimeGraphRowModel)}
+     *
+     * @throws IOException
+     *             If the frame cannot be written
+     */
+    public void startRows() throws IOException {
+        writeHeader(KIND_STATES);
+    }
+
+    /**
+     * Write a row of a time graph states frame
+     *
+     * @param row
+     *            The row
+     * @throws IOException
+     *             If the row cannot be written
+     */
+    public void writeRow(ITimeGraphRowModel row) throws IOException {
+        fOutput.writeByte(1);
+        writeSigned(row.getEntryID());
+        List<ITimeGraphState> states = row.getStates();
+        writeUnsigned(states.size());
+        long previousEnd = 0;
+        for (ITimeGraphState state : states) {
+            writeSigned(state.getStartTime() - previousEnd);
+            writeSigned(state.getDuration());
+            writeString(state.getLabel());
+            OutputElementStyle style = state.getStyle();
+            if (style == null && state.getValue() != Integer.MIN_VALUE) {
+                /* Same as the JSON serializer, the value is a style */
+                style = new OutputElementStyle(String.valueOf(state.getValue()));
+            }
+            writeStyle(style);
+            writeUnsigned(state.getActiveProperties());
+            previousEnd = state.getStartTime() + state.getDuration();
+        }
+    }
+
+    /**
+     * End a time graph states frame started with {@link #startRows()}
+     *
+     * @param response
+     *            The response with the status of the query
+     * @throws IOException
+     *             If the frame cannot be written
+     */
+    public void endRows(ITmfResponse response) throws IOException {
+        fOutput.writeByte(0);
+        writeStatus(response);
+    }
+
+    /**
+     * Flush the frame to the stream
+     *
+     * @throws IOException
+     *             If the frame cannot be written
+     */
+    public void flush() throws IOException {
+        fOutput.flush();
+    }
+
+    private void writeHeader(int kind) throws IOException {
+        fOutput.writeInt(MAGIC);
+        fOutput.writeByte(VERSION);
+        fOutput.writeByte(kind);
+    }
+
+    private void writeStatus(ITmfResponse response) throws IOException {
+        writeString(response.getStatus().name());
+        writeString(response.getStatusMessage());
+        fOutput.flush();
+    }
+
+    private void writeXY(ITmfXyModel model) throws IOException {
+        writeString(model.getTitle());
+        Collection<ISeriesModel> series = model.getSeriesData();
+        writeUnsigned(series.size());
+        for (ISeriesModel serie : series) {
+            writeSigned(serie.getId());
+            writeString(serie.getName());
+            writeString(serie.getDisplayType().name());
+            long[] xValues = serie.getXAxis();
+            writeUnsigned(xValues.length);
+            long previous = 0;
+            for (long x : xValues) {
+                writeSigned(x - previous);
+                previous = x;
+            }
+            double[] yValues = serie.getData();
+            writeUnsigned(yValues.length);
+            for (double y : yValues) {
+                fOutput.writeDouble(y);
+            }
+        }
+    }
+
+    private void writeStyle(@Nullable OutputElementStyle style) throws IOException {
+        if (style == null) {
+            fOutput.writeByte(0);
+            return;
+        }
+        fOutput.writeByte(1);
+        writeString(style.getParentKey());
+        Map<String, Object> values = style.getStyleValues();
+        writeUnsigned(values.size());
+        for (Entry<String, Object> entry : values.entrySet()) {
+            writeString(entry.getKey());
+            Object value = entry.getValue();
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                fOutput.writeByte(VALUE_LONG);
+                writeSigned(((Number) value).longValue());
+            } else if (value instanceof Number) {
+                fOutput.writeByte(VALUE_DOUBLE);
+                fOutput.writeDouble(((Number) value).doubleValue());
+            } else {
+                fOutput.writeByte(VALUE_STRING);
+                writeString(value == null ? null : String.valueOf(value));
+            }
+        }
+    }
+
+    private void writeString(@Nullable String string) throws IOException {
+        if (string == null) {
+            writeUnsigned(0);
+            return;
+        }
+        Integer index = fStrings.get(string);
+        if (index != null) {
+            writeUnsigned(index + 2L);
+            return;
+        }
+        fStrings.put(string, fStrings.size());
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeUnsigned(1);
+        writeUnsigned(bytes.length);
+        fOutput.write(bytes);
+    }
+
+    private void writeSigned(long value) throws IOException {
+        writeUnsigned((value << 1) ^ (value >> 63));
+    }
+
+    private void writeUnsigned(long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            fOutput.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        fOutput.writeByte((int) remaining);
+    }
+}
@@ -0,0 +1,51 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.NotAcceptableException;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+
+/**
+ * Writes the responses of the endpoints that produce
+ * {@link ColumnarFrameEncoder#MEDIA_TYPE} as binary frames, when the client
+ * accepts them rather than JSON.
+ */
+@Provider
+@Produces(ColumnarFrameEncoder.MEDIA_TYPE)
+public class ColumnarFrameMessageBodyWriter implements MessageBodyWriter<TmfModelResponse<?>> {
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return TmfModelResponse.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(TmfModelResponse<?> response, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+            MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        try {
+            new ColumnarFrameEncoder(entityStream).writeResponse(response);
+        } catch (IllegalArgumentException e) {
+            throw new NotAcceptableException(e.getMessage());
+        }
+    }
+}
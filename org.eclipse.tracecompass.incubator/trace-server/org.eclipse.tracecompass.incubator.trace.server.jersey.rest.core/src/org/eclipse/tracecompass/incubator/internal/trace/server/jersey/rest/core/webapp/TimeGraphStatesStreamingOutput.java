@@ -0,0 +1,130 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphDataProvider;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes the time graph states of a query as the data provider computes them,
+ * instead of serializing a whole {@link ITmfResponse} once it is built. The
+ * rows are written one by one with a streaming generator and the body is sent
+ * with chunked transfer encoding, so the client receives the first rows early
+ * and the server only holds the rows being computed.
+ *
+ * The JSON document is the same as the one of the time graph states
+ * response, except that the status is written after the rows, since it is
+ * only known once all of them are fetched. The rows can also be written as a
+ * binary frame of {@link ColumnarFrameEncoder}.
+ */
+public class TimeGraphStatesStreamingOutput implements StreamingOutput {
+
+    private final @Nullable ObjectMapper fMapper;
+    private final ITimeGraphDataProvider<?> fProvider;
+    private final Map<String, Object> fParameters;
+
+    /**
+     * Constructor
+     *
+     * @param mapper
+     *            The object mapper with the serializers of the rows
+     * @param provider
+     *            The data provider to query
+     * @param parameters
+     *            The query parameters
+     */
+    public TimeGraphStatesStreamingOutput(ObjectMapper mapper, ITimeGraphDataProvider<?> provider, Map<String, Object> parameters) {
+        fMapper = mapper;
+        fProvider = provider;
+        fParameters = parameters;
+    }
+
+    /**
+     * Constructor, to write the rows as a binary frame
+     *
+     * @param provider
+     *            The data provider to query
+     * @param parameters
+     *            The query parameters
+     */
+    public TimeGraphStatesStreamingOutput(ITimeGraphDataProvider<?> provider, Map<String, Object> parameters) {
+        fMapper = null;
+        fProvider = provider;
+        fParameters = parameters;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        ObjectMapper mapper = fMapper;
+        if (mapper == null) {
+            writeFrame(output);
+            return;
+        }
+        /* Let the buffers decide when to send a chunk, rather than each row */
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        NullProgressMonitor monitor = new NullProgressMonitor();
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(output)) {
+            gen.writeStartObject();
+            gen.writeObjectFieldStart("model"); //$NON-NLS-1$
+            gen.writeArrayFieldStart("rows"); //$NON-NLS-1$
+            ITmfResponse response = fProvider.fetchRowModel(fParameters, row -> {
+                try {
+                    writer.writeValue(gen, row);
+                } catch (IOException e) {
+                    /* The client went away, stop computing rows */
+                    monitor.setCanceled(true);
+                    throw new UncheckedIOException(e);
+                }
+            }, monitor);
+            gen.writeEndArray();
+            gen.writeEndObject();
+            gen.writeStringField("status", response.getStatus().name()); //$NON-NLS-1$
+            gen.writeStringField("statusMessage", response.getStatusMessage()); //$NON-NLS-1$
+            gen.writeEndObject();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeFrame(OutputStream output) throws IOException {
+        ColumnarFrameEncoder encoder = new ColumnarFrameEncoder(output);
+        NullProgressMonitor monitor = new NullProgressMonitor();
+        encoder.startRows();
+        try {
+            ITmfResponse response = fProvider.fetchRowModel(fParameters, row -> {
+                try {
+                    encoder.writeRow(row);
+                } catch (IOException e) {
+                    monitor.setCanceled(true);
+                    throw new UncheckedIOException(e);
+                }
+            }, monitor);
+            encoder.endRows(response);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -140,6 +140,7 @@ public class WebApplication {
         rc.register(XmlManagerService.class);
         rc.register(CORSFilter.class);
         rc.register(JacksonObjectMapperProvider.class);
+        rc.register(ColumnarFrameMessageBodyWriter.class);
         EncodingFilter.enableFor(rc, GZipEncoder.class);
         rc.register(OpenApiResource.class);
     }
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.opentracing.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.OpenTracingIndexingJob;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.OpenTracingSpanIndex;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.OpenTracingTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the index of the spans of an OpenTracing trace
+ */
+public class OpenTracingSpanIndexTest {
+
+    /* More than one chunk of spans, so that the chunks are merged */
+    private static final int NB_SPANS = 100000;
+    private static final int NB_TIMES = 1000;
+    private static final long FIRST_TIME = 1526674498419000L;
+
+    private File fTrace;
+    private File fIndex;
+
+    /**
+     * Write a trace with spans that are not sorted
+     *
+     * @throws IOException
+     *             If the trace cannot be written
+     */
+    @Before
+    public void setUp() throws IOException {
+        fTrace = File.createTempFile("spans", ".json");
+        fIndex = new File(fTrace.getPath() + ".idx");
+        try (PrintWriter writer = new PrintWriter(fTrace, StandardCharsets.UTF_8.name())) {
+            writer.print("{\"data\":[{\"traceID\":\"t\",\"spans\":[");
+            for (int i = 0; i < NB_SPANS; i++) {
+                if (i > 0) {
+                    writer.println(',');
+                }
+                /* Nested start times, brackets and quotes are not the span's */
+                writer.print("{\"traceID\":\"t\",\"spanID\":\"" + i + "\",\"operationName\":\"op \\\"}]\\\" " + i + "\",");
+                writer.print("\"tags\":[{\"key\":\"startTime\",\"value\":0}],\"meta\":{\"startTime\":0},");
+                writer.print("\"startTime\": " + (FIRST_TIME + (NB_TIMES - 1 - i % NB_TIMES)) + ",\"duration\":1,\"processID\":\"p1\"}");
+            }
+            writer.print("],\"processes\":{\"p1\":{\"serviceName\":\"service\",\"tags\":[]}}}]}");
+        }
+    }
+
+    /**
+     * Delete the trace and its index
+     */
+    @After
+    public void tearDown() {
+        fTrace.delete();
+        fIndex.delete();
+    }
+
+    /**
+     * Test that the index has all the spans sorted by start time, and that
+     * the spans that start at the same time keep the trace order
+     *
+     * @throws IOException
+     *             If the index cannot be read
+     * @throws InterruptedException
+     *             If the job is interrupted
+     */
+    @Test
+    public void testIndex() throws IOException, InterruptedException {
+        buildIndex();
+        try (OpenTracingSpanIndex index = OpenTracingSpanIndex.open(fIndex, fTrace);
+                RandomAccessFile file = new RandomAccessFile(fTrace, "r")) {
+            assertNotNull(index);
+            assertEquals(NB_SPANS, index.getNbSpans());
+            int previousId = -1;
+            for (long rank = 0; rank < NB_SPANS; rank++) {
+                long expectedTime = FIRST_TIME + rank / (NB_SPANS / NB_TIMES);
+                assertEquals(expectedTime, index.getStartTime(rank));
+
+                byte[] span = new byte[index.getLength(rank)];
+                file.seek(index.getOffset(rank));
+                file.readFully(span);
+                String json = new String(span, StandardCharsets.UTF_8);
+                assertTrue(json, json.startsWith("{\"traceID\"") && json.endsWith("\"p1\"}"));
+
+                int id = Integer.parseInt(json.substring(json.indexOf("spanID\":\"") + 9, json.indexOf("\",\"operationName")));
+                assertEquals(NB_TIMES - 1, id % NB_TIMES + expectedTime - FIRST_TIME);
+                if (rank % (NB_SPANS / NB_TIMES) != 0) {
+                    assertTrue("Stable order", id > previousId);
+                }
+                previousId = id;
+            }
+            assertEquals(0, index.getRank(FIRST_TIME));
+            assertEquals(NB_SPANS / NB_TIMES, index.getRank(FIRST_TIME + 1));
+            assertEquals(NB_SPANS, index.getRank(FIRST_TIME + NB_TIMES));
+        }
+    }
+
+    /**
+     * Test that an index of another version of the trace is not used
+     *
+     * @throws IOException
+     *             If the files cannot be written
+     * @throws InterruptedException
+     *             If the job is interrupted
+     */
+    @Test
+    public void testStaleIndex() throws IOException, InterruptedException {
+        buildIndex();
+        try (PrintWriter writer = new PrintWriter(fIndex.getPath() + ".json")) {
+            writer.print("{}");
+        }
+        File otherTrace = new File(fIndex.getPath() + ".json");
+        try {
+            assertNull(OpenTracingSpanIndex.open(fIndex, otherTrace));
+        } finally {
+            otherTrace.delete();
+        }
+    }
+
+    /**
+     * Test reading and seeking the trace through its index
+     *
+     * @throws TmfTraceException
+     *             If the trace cannot be opened
+     */
+    @Test
+    public void testTrace() throws TmfTraceException {
+        OpenTracingTrace trace = new OpenTracingTrace();
+        try {
+            trace.initTrace(null, fTrace.getPath(), ITmfEvent.class);
+            ITmfContext context = trace.seekEvent(TmfTimestamp.fromMicros(FIRST_TIME + 500));
+            assertEquals(NB_SPANS / 2, context.getRank());
+            ITmfEvent event = trace.getNext(context);
+            assertNotNull(event);
+            assertEquals(TmfTimestamp.fromMicros(FIRST_TIME + 500), event.getTimestamp());
+            assertEquals("service", event.getContent().getFieldValue(String.class, "processName"));
+
+            context = trace.seekEvent(NB_SPANS - 1);
+            event = trace.getNext(context);
+            assertNotNull(event);
+            assertEquals(TmfTimestamp.fromMicros(FIRST_TIME + NB_TIMES - 1), event.getTimestamp());
+            assertNull(trace.getNext(context));
+        } finally {
+            trace.dispose();
+        }
+    }
+
+    private void buildIndex() throws InterruptedException {
+        Job job = new OpenTracingIndexingJob(fTrace, fIndex, null);
+        job.schedule();
+        job.join();
+        IStatus result = job.getResult();
+        assertNotNull(result);
+        assertTrue(result.getMessage(), result.isOK());
+    }
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.opentracing.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingField;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.OpenTracingIndexingJob;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.OpenTracingSpanStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Test that the spans read from a {@link OpenTracingSpanStore} have the same
+ * fields as the spans parsed from the JSON trace
+ */
+public class OpenTracingSpanStoreTest {
+
+    private static final String TRACE = "traces/multiple_services.json";
+
+    private File fIndex;
+    private File fStore;
+
+    /**
+     * Convert the trace
+     *
+     * @throws IOException
+     *             If the temporary files cannot be created
+     * @throws InterruptedException
+     *             If the job is interrupted
+     */
+    @Before
+    public void setUp() throws IOException, InterruptedException {
+        fIndex = File.createTempFile("spans", ".idx");
+        fIndex.delete();
+        fStore = new File(fIndex.getPath() + ".store");
+        Job job = new OpenTracingIndexingJob(new File(TRACE), fIndex, fStore);
+        job.schedule();
+        job.join();
+        IStatus result = job.getResult();
+        assertNotNull(result);
+        assertTrue(result.getMessage(), result.isOK());
+    }
+
+    /**
+     * Delete the index and the store
+     */
+    @After
+    public void tearDown() {
+        fIndex.delete();
+        fStore.delete();
+    }
+
+    /**
+     * Test the fields of the spans
+     *
+     * @throws IOException
+     *             If the files cannot be read
+     */
+    @Test
+    public void testFields() throws IOException {
+        File trace = new File(TRACE);
+        Map<String, OpenTracingField> expectedFields = new HashMap<>();
+        try (FileReader reader = new FileReader(trace)) {
+            JsonObject data = new Gson().fromJson(reader, JsonObject.class).getAsJsonArray("data").get(0).getAsJsonObject();
+            JsonObject processes = data.getAsJsonObject("processes");
+            for (JsonElement span : data.getAsJsonArray("spans")) {
+                String json = new Gson().toJson(span);
+                String process = new Gson().toJson(processes.get(OpenTracingField.getProcess(json)));
+                OpenTracingField expected = OpenTracingField.parseJson(json, process);
+                assertNotNull(expected);
+                expectedFields.put(expected.getSpanId(), expected);
+            }
+        }
+        /* The index is only needed to write the store */
+        assertFalse(fIndex.exists());
+        try (OpenTracingSpanStore store = OpenTracingSpanStore.open(fStore, trace)) {
+            assertNotNull(store);
+            assertEquals(expectedFields.size(), store.getNbSpans());
+            for (long rank = 0; rank < store.getNbSpans(); rank++) {
+                OpenTracingField actual = store.getField(rank);
+                OpenTracingField expected = expectedFields.get(actual.getSpanId());
+                assertNotNull(expected);
+                assertEquals(expected.getName(), actual.getName());
+                assertEquals(expected.getStartTime(), actual.getStartTime());
+                assertEquals(expected.getDuration(), actual.getDuration());
+                assertEquals(expected.getProcessName(), actual.getProcessName());
+                assertEquals(expected.getTags(), actual.getTags());
+                assertEquals(expected.getProcessTags(), actual.getProcessTags());
+                assertEquals(expected.getContent().getValue(), actual.getContent().getValue());
+                assertEquals(expected.getStartTime().longValue(), store.getStartTime(rank));
+                if (rank > 0) {
+                    assertTrue(store.getStartTime(rank - 1) <= store.getStartTime(rank));
+                }
+            }
+            assertEquals("410a7dbc6d6cfeb6", store.getSpanId(0));
+            assertEquals(null, store.getParentId(0));
+            assertEquals("410a7dbc6d6cfeb6", store.getParentId(1));
+            assertEquals(store.getNbSpans(), store.getRank(Long.MAX_VALUE));
+        }
+    }
+}
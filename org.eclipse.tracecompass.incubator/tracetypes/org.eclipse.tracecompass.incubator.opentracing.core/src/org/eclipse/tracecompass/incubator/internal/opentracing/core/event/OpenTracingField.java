@@ -15,6 +15,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNull;
@@ -36,14 +37,17 @@ import com.google.gson.JsonObject;
 public class OpenTracingField {
 
     private final String fOperationName;
-    private final ITmfEventField fContent;
     private final String fSpanId;
     private final Long fStartTime;
     private final Long fDuration;
-    private final @Nullable Map<String, Object> fTags;
-    private final @Nullable Map<String, Object> fProcessTags;
     private String fProcessName;
 
+    /* The fields are decoded when they are first read */
+    private @Nullable Supplier<Map<String, Object>> fFields;
+    private @Nullable ITmfEventField fContent = null;
+    private @Nullable Map<String, Object> fTags = null;
+    private @Nullable Map<String, Object> fProcessTags = null;
+
     private static final Gson G_SON = new Gson();
 
     /**
@@ -226,15 +230,45 @@ public class OpenTracingField {
      * @param processName
      *            the span process name
      */
-    private OpenTracingField(String name, Map<String, Object> fields, String spanId, Long startTime, Long duration, String processName) {
+    public OpenTracingField(String name, Map<String, Object> fields, String spanId, Long startTime, Long duration, String processName) {
+        this(name, () -> fields, spanId, startTime, duration, processName);
+    }
+
+    /**
+     * Constructor with fields that are decoded only when they are read
+     *
+     * @param name
+     *            operation name
+     * @param fields
+     *            supplier of the span fields (arguments), called at most once
+     * @param spanId
+     *            the span id
+     * @param startTime
+     *            the span start time
+     * @param duration
+     *            the span duration
+     * @param processName
+     *            the span process name
+     */
+    public OpenTracingField(String name, Supplier<Map<String, Object>> fields, String spanId, Long startTime, Long duration, String processName) {
         fOperationName = name;
-        ITmfEventField[] array = fields.entrySet().stream()
-                .map(entry -> new TmfEventField(entry.getKey(), entry.getValue(), null))
-                .toArray(ITmfEventField[]::new);
-        fContent = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, fields, array);
+        fFields = fields;
         fSpanId = spanId;
         fStartTime = startTime;
         fDuration = duration;
+        fProcessName = processName;
+    }
+
+    private synchronized ITmfEventField decodeFields() {
+        ITmfEventField content = fContent;
+        if (content != null) {
+            return content;
+        }
+        Map<String, Object> fields = Objects.requireNonNull(fFields).get();
+        ITmfEventField[] array = fields.entrySet().stream()
+                .map(entry -> new TmfEventField(entry.getKey(), entry.getValue(), null))
+                .toArray(ITmfEventField[]::new);
+        content = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, fields, array);
         @SuppressWarnings("null")
         Map<@NonNull String, @NonNull Object> tags = fields.entrySet().stream()
                 .filter(entry -> {
@@ -249,7 +283,9 @@ public class OpenTracingField {
                 })
                 .collect(Collectors.toMap(entry -> entry.getKey().substring(12), Entry::getValue));
         fProcessTags = processTags.isEmpty() ? null : processTags;
-        fProcessName = processName;
+        fContent = content;
+        fFields = null;
+        return content;
     }
 
     /**
@@ -267,7 +303,7 @@ public class OpenTracingField {
      * @return the event content
      */
     public ITmfEventField getContent() {
-        return fContent;
+        return decodeFields();
     }
 
     /**
@@ -303,6 +339,7 @@ public class OpenTracingField {
      * @return a map of the tags and their field names
      */
     public @Nullable Map<String, Object> getTags() {
+        decodeFields();
         return fTags;
     }
 
@@ -313,6 +350,7 @@ public class OpenTracingField {
      */
     @Nullable
     public Map<String, Object> getProcessTags() {
+        decodeFields();
         return fProcessTags;
     }
 
@@ -0,0 +1,623 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.trace;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingField;
+import org.eclipse.tracecompass.internal.jsontrace.core.Messages;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Job that builds the {@link OpenTracingSpanIndex} of a Jaeger JSON trace,
+ * then converts the trace to an {@link OpenTracingSpanStore}.
+ *
+ * The trace is read once as a stream of bytes, without building its JSON
+ * tree: the scanner only follows the nesting of the objects to find where each
+ * span starts and ends and reads the value of its <code>startTime</code> key.
+ * The spans are grouped in chunks that are sorted by other threads while the
+ * scan goes on, then the sorted chunks are merged into the index file.
+ *
+ * The spans are then read in index order and parsed by other threads, in
+ * batches, to be written in the store. This is the only time the JSON of the
+ * spans is parsed. The index is deleted once the store is written, an index
+ * left by a conversion that did not complete is reused.
+ */
+public class OpenTracingIndexingJob extends Job {
+
+    private static final int CHUNK_SIZE = 65535;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int KB = 1024;
+    private static final byte[] START_TIME_KEY = "startTime".getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+    private static final String DATA_PREFIX = "{\"data\""; //$NON-NLS-1$
+    private static final int MAX_PREFIX_LENGTH = 46;
+
+    private final File fTrace;
+    private final File fIndex;
+    private final @Nullable File fStore;
+
+    /**
+     * Constructor
+     *
+     * @param trace
+     *            The trace file to index
+     * @param index
+     *            The index file to write
+     * @param store
+     *            The span store file to write, or <code>null</code> to only
+     *            write the index and keep it
+     */
+    public OpenTracingIndexingJob(File trace, File index, @Nullable File store) {
+        super(Messages.SortingJob_description);
+        fTrace = trace;
+        fIndex = index;
+        fStore = store;
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        SubMonitor subMonitor = SubMonitor.convert(monitor, Messages.SortingJob_sorting, 6);
+        int nbThreads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        try {
+            OpenTracingSpanIndex index = OpenTracingSpanIndex.open(fIndex, fTrace);
+            if (index == null) {
+                subMonitor.subTask(Messages.SortingJob_splitting);
+                List<SpanChunk> chunks = new ArrayList<>();
+                List<Future<?>> sorts = new ArrayList<>();
+                if (!scan(chunks, sorts, executor, subMonitor.split(2))) {
+                    return Status.CANCEL_STATUS;
+                }
+                for (Future<?> sort : sorts) {
+                    sort.get();
+                }
+                subMonitor.subTask(Messages.SortingJob_merging);
+                if (!merge(chunks, subMonitor.split(1))) {
+                    return Status.CANCEL_STATUS;
+                }
+                index = OpenTracingSpanIndex.open(fIndex, fTrace);
+                if (index == null) {
+                    return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Invalid span index " + fIndex); //$NON-NLS-1$
+                }
+            } else {
+                subMonitor.worked(3);
+            }
+            File store = fStore;
+            if (store == null) {
+                index.close();
+                return Status.OK_STATUS;
+            }
+            try {
+                if (!convert(index, store, executor, nbThreads, subMonitor.split(3))) {
+                    return Status.CANCEL_STATUS;
+                }
+            } finally {
+                index.close();
+            }
+            /* The store has the spans in order, the index is not read anymore */
+            Files.deleteIfExists(fIndex.toPath());
+            return Status.OK_STATUS;
+        } catch (IOException | ExecutionException e) {
+            return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Error indexing trace " + fTrace, e); //$NON-NLS-1$
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Status.CANCEL_STATUS;
+        } finally {
+            executor.shutdownNow();
+            subMonitor.done();
+        }
+    }
+
+    /**
+     * Scan the trace and sort each full chunk of spans in the executor
+     *
+     * @return false if the job was cancelled
+     */
+    private boolean scan(List<SpanChunk> chunks, List<Future<?>> sorts, ExecutorService executor, SubMonitor monitor) throws IOException {
+        monitor.setWorkRemaining((int) (fTrace.length() / KB) + 1);
+        long reported = 0;
+        try (SpanScanner scanner = openScanner()) {
+            SpanChunk chunk = new SpanChunk();
+            while (scanner.nextSpan()) {
+                chunk.add(scanner.getStartTime(), scanner.getOffset(), scanner.getLength());
+                if (chunk.isFull()) {
+                    chunks.add(chunk);
+                    sorts.add(executor.submit(chunk::sort));
+                    chunk = new SpanChunk();
+                    long position = scanner.getPosition() / KB;
+                    monitor.worked((int) (position - reported));
+                    reported = position;
+                    if (monitor.isCanceled()) {
+                        return false;
+                    }
+                }
+            }
+            if (chunk.size() > 0) {
+                chunk.sort();
+                chunks.add(chunk);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merge the sorted chunks into the index. The spans that start at the same
+     * time keep their order in the trace.
+     *
+     * @return false if the job was cancelled
+     */
+    private boolean merge(List<SpanChunk> chunks, SubMonitor monitor) throws IOException {
+        PriorityQueue<ChunkCursor> queue = new PriorityQueue<>(Math.max(1, chunks.size()),
+                Comparator.comparingLong(ChunkCursor::getStartTime).thenComparingInt(ChunkCursor::getChunkIndex));
+        for (int i = 0; i < chunks.size(); i++) {
+            queue.add(new ChunkCursor(chunks.get(i), i));
+        }
+        monitor.setWorkRemaining(chunks.size());
+        try (OpenTracingSpanIndex.Writer writer = new OpenTracingSpanIndex.Writer(fIndex, fTrace)) {
+            while (!queue.isEmpty()) {
+                ChunkCursor cursor = queue.poll();
+                cursor.write(writer);
+                if (cursor.next()) {
+                    queue.add(cursor);
+                } else {
+                    monitor.worked(1);
+                    if (monitor.isCanceled()) {
+                        return false;
+                    }
+                }
+            }
+            writer.commit();
+        }
+        return true;
+    }
+
+    /**
+     * Open a scanner positioned at the list of spans. A Jaeger export starts
+     * with <code>{"data":[{"traceID":"...","spans":[</code>, other files are
+     * read as a list of spans.
+     */
+    private SpanScanner openScanner() throws IOException {
+        SpanScanner scanner = new SpanScanner(new FileInputStream(fTrace));
+        StringBuilder prefix = new StringBuilder();
+        int val = scanner.read();
+        while (val != -1 && val != ':' && prefix.length() < MAX_PREFIX_LENGTH) {
+            if (!Character.isWhitespace(val)) {
+                prefix.append((char) val);
+            }
+            val = scanner.read();
+        }
+        if (prefix.toString().startsWith(DATA_PREFIX)) {
+            for (int nbBracket = 0; nbBracket < 2 && val != -1; nbBracket++) {
+                val = scanner.read();
+                while (val != '[' && val != -1) {
+                    val = scanner.read();
+                }
+            }
+            return scanner;
+        }
+        scanner.close();
+        return new SpanScanner(new FileInputStream(fTrace));
+    }
+
+    /**
+     * Write the spans in the store, in index order. The spans of a batch are
+     * read here and parsed in the executor, a few batches ahead of the writes.
+     *
+     * @return false if the job was cancelled
+     */
+    private boolean convert(OpenTracingSpanIndex index, File store, ExecutorService executor, int nbThreads, SubMonitor monitor)
+            throws IOException, InterruptedException, ExecutionException {
+        Map<String, String> processes = readProcesses(fTrace);
+        long nbSpans = index.getNbSpans();
+        monitor.setWorkRemaining((int) (nbSpans / CHUNK_SIZE) + 1);
+        Deque<Future<OpenTracingField[]>> batches = new ArrayDeque<>();
+        try (RandomAccessFile file = new RandomAccessFile(fTrace, "r"); //$NON-NLS-1$
+                OpenTracingSpanStore.Writer writer = new OpenTracingSpanStore.Writer(store, fTrace)) {
+            long next = 0;
+            while (next < nbSpans || !batches.isEmpty()) {
+                while (next < nbSpans && batches.size() <= nbThreads) {
+                    int count = (int) Math.min(CHUNK_SIZE, nbSpans - next);
+                    String[] spans = new String[count];
+                    for (int i = 0; i < count; i++) {
+                        byte[] span = new byte[index.getLength(next + i)];
+                        file.seek(index.getOffset(next + i));
+                        file.readFully(span);
+                        spans[i] = new String(span, StandardCharsets.UTF_8);
+                    }
+                    batches.add(executor.submit(() -> parse(spans, processes)));
+                    next += count;
+                }
+                for (OpenTracingField field : batches.remove().get()) {
+                    if (field != null) {
+                        writer.add(field);
+                    }
+                }
+                monitor.worked(1);
+                if (monitor.isCanceled()) {
+                    return false;
+                }
+            }
+            writer.commit();
+        }
+        return true;
+    }
+
+    private static OpenTracingField[] parse(String[] spans, Map<String, String> processes) {
+        OpenTracingField[] fields = new OpenTracingField[spans.length];
+        for (int i = 0; i < spans.length; i++) {
+            try {
+                fields[i] = OpenTracingField.parseJson(spans[i], processes.get(OpenTracingField.getProcess(spans[i])));
+            } catch (RuntimeException e) {
+                /* Like a span that is not valid, the span is skipped */
+                fields[i] = null;
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Read the processes of the first trace of a Jaeger export, skipping the
+     * spans and the other traces without building their JSON tree
+     *
+     * @return The JSON of the processes, by process ID
+     */
+    static Map<String, String> readProcesses(File trace) {
+        Map<String, String> processes = new HashMap<>();
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new FileInputStream(trace), StandardCharsets.UTF_8))) {
+            JsonObject jsonProcesses = readProcesses(reader);
+            if (jsonProcesses != null) {
+                Gson gson = new Gson();
+                for (Map.Entry<String, JsonElement> process : jsonProcesses.entrySet()) {
+                    processes.put(process.getKey(), gson.toJson(process.getValue()));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Nothing
+        }
+        return processes;
+    }
+
+    private static @Nullable JsonObject readProcesses(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            return null;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!"data".equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_ARRAY) { //$NON-NLS-1$
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            if (!reader.hasNext() || reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return null;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("processes".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_OBJECT) { //$NON-NLS-1$
+                    return new Gson().fromJson(reader, JsonObject.class);
+                }
+                reader.skipValue();
+            }
+            return null;
+        }
+        return null;
+    }
+
+    // ------------------------------------------------------------------------
+    // Scanner
+    // ------------------------------------------------------------------------
+
+    /**
+     * Reads the span objects of a list, one at a time. Only the nesting of the
+     * objects, arrays and strings is followed, the values are not parsed except
+     * for the start time of the span.
+     */
+    private static final class SpanScanner implements AutoCloseable {
+
+        private final InputStream fInput;
+        private final byte[] fBuffer = new byte[BUFFER_SIZE];
+        /* Position in the file of the first byte of the buffer */
+        private long fBufferPosition = 0;
+        private int fLimit = 0;
+        private int fIndex = 0;
+
+        private long fStartTime;
+        private long fOffset;
+        private int fLength;
+
+        public SpanScanner(InputStream input) {
+            fInput = input;
+        }
+
+        public int read() throws IOException {
+            if (fIndex >= fLimit) {
+                fBufferPosition += fLimit;
+                fIndex = 0;
+                fLimit = Math.max(0, fInput.read(fBuffer));
+                if (fLimit == 0) {
+                    return -1;
+                }
+            }
+            return fBuffer[fIndex++] & 0xff;
+        }
+
+        /* Only valid right after a read that did not reach the end */
+        private void unread() {
+            fIndex--;
+        }
+
+        public long getPosition() {
+            return fBufferPosition + fIndex;
+        }
+
+        public long getStartTime() {
+            return fStartTime;
+        }
+
+        public long getOffset() {
+            return fOffset;
+        }
+
+        public int getLength() {
+            return fLength;
+        }
+
+        /**
+         * Move to the next span of the list
+         *
+         * @return false at the end of the list or of the file
+         */
+        public boolean nextSpan() throws IOException {
+            int val = read();
+            while (val != -1 && val != '{') {
+                if (val == ']') {
+                    return false;
+                }
+                val = read();
+            }
+            if (val == -1) {
+                return false;
+            }
+            fOffset = getPosition() - 1;
+            fStartTime = -1;
+            int depth = 1;
+            boolean afterStartTimeKey = false;
+            while (depth > 0) {
+                val = read();
+                switch (val) {
+                case -1:
+                    /* Truncated span */
+                    return false;
+                case '"':
+                    afterStartTimeKey = readString(depth == 1);
+                    break;
+                case ':':
+                    if (afterStartTimeKey) {
+                        fStartTime = readTime();
+                    }
+                    afterStartTimeKey = false;
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    afterStartTimeKey = false;
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    afterStartTimeKey = false;
+                    break;
+                default:
+                    if (!Character.isWhitespace(val)) {
+                        afterStartTimeKey = false;
+                    }
+                    break;
+                }
+            }
+            long length = getPosition() - fOffset;
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Span at " + fOffset + " is too large"); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            fLength = (int) length;
+            return true;
+        }
+
+        /**
+         * Skip a string, the opening quote is already read
+         *
+         * @return whether the string is the start time key, if it is compared
+         */
+        private boolean readString(boolean compare) throws IOException {
+            boolean matches = compare;
+            int length = 0;
+            int val = read();
+            while (val != '"' && val != -1) {
+                if (val == '\\') {
+                    matches = false;
+                    read();
+                } else if (matches) {
+                    matches = length < START_TIME_KEY.length && START_TIME_KEY[length] == val;
+                }
+                length++;
+                val = read();
+            }
+            return matches && length == START_TIME_KEY.length;
+        }
+
+        /**
+         * Read the integer part of the value after the start time key, which
+         * may be quoted. The character after the value is not consumed.
+         *
+         * @return the value, or -1 if it is not a number
+         */
+        private long readTime() throws IOException {
+            int val = read();
+            while (val != -1 && Character.isWhitespace(val)) {
+                val = read();
+            }
+            boolean quoted = val == '"';
+            if (quoted) {
+                val = read();
+            }
+            boolean negative = val == '-';
+            if (negative) {
+                val = read();
+            }
+            long time = 0;
+            int nbDigits = 0;
+            while (val >= '0' && val <= '9') {
+                time = time * 10 + (val - '0');
+                nbDigits++;
+                val = read();
+            }
+            /* Skip the fraction and exponent, if any */
+            while (val == '.' || val == 'e' || val == 'E' || val == '+' || val == '-' || (val >= '0' && val <= '9')) {
+                val = read();
+            }
+            if (quoted) {
+                while (val != '"' && val != -1) {
+                    val = read();
+                }
+            } else if (val != -1) {
+                unread();
+            }
+            if (nbDigits == 0) {
+                return -1;
+            }
+            return negative ? -time : time;
+        }
+
+        @Override
+        public void close() throws IOException {
+            fInput.close();
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Chunks
+    // ------------------------------------------------------------------------
+
+    /**
+     * A chunk of consecutive spans of the trace, sorted by start time
+     */
+    private static final class SpanChunk {
+
+        private long[] fStartTimes = new long[CHUNK_SIZE];
+        private long[] fOffsets = new long[CHUNK_SIZE];
+        private int[] fLengths = new int[CHUNK_SIZE];
+        private int fSize = 0;
+
+        public void add(long startTime, long offset, int length) {
+            fStartTimes[fSize] = startTime;
+            fOffsets[fSize] = offset;
+            fLengths[fSize] = length;
+            fSize++;
+        }
+
+        public boolean isFull() {
+            return fSize == CHUNK_SIZE;
+        }
+
+        public int size() {
+            return fSize;
+        }
+
+        /**
+         * Sort the spans by start time. The sort is stable, so the spans with
+         * the same start time stay in the trace order.
+         */
+        public void sort() {
+            long[] startTimes = fStartTimes;
+            Integer[] order = new Integer[fSize];
+            for (int i = 0; i < fSize; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong(i -> startTimes[i]));
+            long[] sortedStartTimes = new long[fSize];
+            long[] sortedOffsets = new long[fSize];
+            int[] sortedLengths = new int[fSize];
+            for (int i = 0; i < fSize; i++) {
+                int index = order[i];
+                sortedStartTimes[i] = startTimes[index];
+                sortedOffsets[i] = fOffsets[index];
+                sortedLengths[i] = fLengths[index];
+            }
+            fStartTimes = sortedStartTimes;
+            fOffsets = sortedOffsets;
+            fLengths = sortedLengths;
+        }
+    }
+
+    /**
+     * Position in a sorted chunk during the merge
+     */
+    private static final class ChunkCursor {
+
+        private final SpanChunk fChunk;
+        private final int fChunkIndex;
+        private int fPosition = 0;
+
+        public ChunkCursor(SpanChunk chunk, int chunkIndex) {
+            fChunk = chunk;
+            fChunkIndex = chunkIndex;
+        }
+
+        public long getStartTime() {
+            return fChunk.fStartTimes[fPosition];
+        }
+
+        public int getChunkIndex() {
+            return fChunkIndex;
+        }
+
+        public void write(OpenTracingSpanIndex.Writer writer) throws IOException {
+            writer.add(fChunk.fStartTimes[fPosition], fChunk.fOffsets[fPosition], fChunk.fLengths[fPosition]);
+        }
+
+        public boolean next() {
+            fPosition++;
+            return fPosition < fChunk.size();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Index of the spans of a Jaeger JSON trace, sorted by start time. Each entry
+ * has the start time of a span and the position and length of its JSON object
+ * in the trace file, so the spans are read in order from the original file
+ * instead of from a sorted copy of it.
+ *
+ * The index file has a header (magic number, version, length of the trace
+ * file and number of spans) followed by the entries. It is memory mapped when
+ * opened.
+ */
+public final class OpenTracingSpanIndex implements AutoCloseable {
+
+    private static final int MAGIC = 0x4f54_5349; // "OTSI"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES;
+    private static final int ENTRY_SIZE = 2 * Long.BYTES + Integer.BYTES;
+    /* A mapped buffer is at most 2GB, the entries are spread over many */
+    private static final int ENTRIES_PER_BUFFER = Integer.MAX_VALUE / ENTRY_SIZE;
+
+    private final FileChannel fChannel;
+    private final ByteBuffer[] fBuffers;
+    private final long fNbSpans;
+
+    private OpenTracingSpanIndex(FileChannel channel, long nbSpans) throws IOException {
+        fChannel = channel;
+        fNbSpans = nbSpans;
+        int nbBuffers = (int) ((nbSpans + ENTRIES_PER_BUFFER - 1) / ENTRIES_PER_BUFFER);
+        fBuffers = new ByteBuffer[nbBuffers];
+        for (int i = 0; i < nbBuffers; i++) {
+            long first = (long) i * ENTRIES_PER_BUFFER;
+            long count = Math.min(ENTRIES_PER_BUFFER, nbSpans - first);
+            fBuffers[i] = channel.map(MapMode.READ_ONLY, HEADER_SIZE + first * ENTRY_SIZE, count * ENTRY_SIZE);
+        }
+    }
+
+    /**
+     * Open an existing index
+     *
+     * @param index
+     *            The index file
+     * @param trace
+     *            The trace file that was indexed
+     * @return The index, or <code>null</code> if the file is not a valid index
+     *         of this trace, in which case it has to be built again
+     * @throws IOException
+     *             If the index file cannot be read
+     */
+    public static @Nullable OpenTracingSpanIndex open(File index, File trace) throws IOException {
+        if (!index.isFile() || index.length() < HEADER_SIZE) {
+            return null;
+        }
+        FileChannel channel = FileChannel.open(index.toPath(), StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read the whole header
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION || header.getLong() != trace.length()) {
+                channel.close();
+                return null;
+            }
+            long nbSpans = header.getLong();
+            if (nbSpans < 0 || channel.size() != HEADER_SIZE + nbSpans * ENTRY_SIZE) {
+                channel.close();
+                return null;
+            }
+            return new OpenTracingSpanIndex(channel, nbSpans);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the number of spans in the index
+     *
+     * @return The number of spans
+     */
+    public long getNbSpans() {
+        return fNbSpans;
+    }
+
+    /**
+     * Get the start time of a span, as written in the trace
+     *
+     * @param rank
+     *            The rank of the span, in start time order
+     * @return The start time, or -1 if the span has none
+     */
+    public long getStartTime(long rank) {
+        return buffer(rank).getLong(position(rank));
+    }
+
+    /**
+     * Get the position of a span in the trace file
+     *
+     * @param rank
+     *            The rank of the span, in start time order
+     * @return The offset of the first character of the span object
+     */
+    public long getOffset(long rank) {
+        return buffer(rank).getLong(position(rank) + Long.BYTES);
+    }
+
+    /**
+     * Get the length of a span in the trace file
+     *
+     * @param rank
+     *            The rank of the span, in start time order
+     * @return The number of bytes of the span object
+     */
+    public int getLength(long rank) {
+        return buffer(rank).getInt(position(rank) + 2 * Long.BYTES);
+    }
+
+    /**
+     * Get the rank of the first span that starts at or after a time
+     *
+     * @param startTime
+     *            The start time, as written in the trace
+     * @return The rank, which is the number of spans if they all start before
+     */
+    public long getRank(long startTime) {
+        long low = 0;
+        long high = fNbSpans;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (getStartTime(mid) < startTime) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public void close() throws IOException {
+        fChannel.close();
+    }
+
+    private ByteBuffer buffer(long rank) {
+        if (rank < 0 || rank >= fNbSpans) {
+            throw new IndexOutOfBoundsException("Span " + rank + " of " + fNbSpans); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return fBuffers[(int) (rank / ENTRIES_PER_BUFFER)];
+    }
+
+    private static int position(long rank) {
+        return (int) (rank % ENTRIES_PER_BUFFER) * ENTRY_SIZE;
+    }
+
+    // ------------------------------------------------------------------------
+    // Writer
+    // ------------------------------------------------------------------------
+
+    /**
+     * Writes the entries of an index, which must be added in start time order
+     */
+    static final class Writer implements AutoCloseable {
+
+        private final File fTarget;
+        private final File fTemp;
+        private final long fTraceLength;
+        private final DataOutputStream fOutput;
+        private long fNbSpans = 0;
+        private boolean fCommitted = false;
+
+        /**
+         * Constructor. The entries are written in a temporary file that
+         * replaces the target when committed.
+         *
+         * @param target
+         *            The index file
+         * @param trace
+         *            The trace file that is indexed
+         * @throws IOException
+         *             If the file cannot be created
+         */
+        public Writer(File target, File trace) throws IOException {
+            fTarget = target;
+            fTemp = new File(target.getPath() + ".tmp"); //$NON-NLS-1$
+            fTraceLength = trace.length();
+            fOutput = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fTemp)));
+            /* The number of spans is only known at the end */
+            fOutput.writeInt(MAGIC);
+            fOutput.writeInt(VERSION);
+            fOutput.writeLong(fTraceLength);
+            fOutput.writeLong(0L);
+        }
+
+        /**
+         * Add a span
+         *
+         * @param startTime
+         *            The start time of the span
+         * @param offset
+         *            The position of the span in the trace file
+         * @param length
+         *            The length of the span in the trace file
+         * @throws IOException
+         *             If the entry cannot be written
+         */
+        public void add(long startTime, long offset, int length) throws IOException {
+            fOutput.writeLong(startTime);
+            fOutput.writeLong(offset);
+            fOutput.writeInt(length);
+            fNbSpans++;
+        }
+
+        /**
+         * Finish the index and move it to the target file
+         *
+         * @throws IOException
+         *             If the index cannot be written
+         */
+        public void commit() throws IOException {
+            fOutput.close();
+            try (FileChannel channel = FileChannel.open(fTemp.toPath(), StandardOpenOption.WRITE)) {
+                ByteBuffer count = ByteBuffer.allocate(Long.BYTES).putLong(0, fNbSpans);
+                channel.write(count, HEADER_SIZE - Long.BYTES);
+            }
+            if (fTarget.exists() && !fTarget.delete()) {
+                throw new IOException("Could not replace the index " + fTarget); //$NON-NLS-1$
+            }
+            if (!fTemp.renameTo(fTarget)) {
+                throw new IOException("Could not move the index to " + fTarget); //$NON-NLS-1$
+            }
+            fCommitted = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!fCommitted) {
+                fOutput.close();
+                fTemp.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,638 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.IOpenTracingConstants;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingField;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+
+/**
+ * Columnar binary copy of the spans of an OpenTracing trace, in start time
+ * order. The spans are parsed from JSON once, when the store is written, then
+ * the fields of a span are read from fixed-width columns of the memory mapped
+ * file.
+ *
+ * The file has a header with the number of elements of each section, then the
+ * sections:
+ * <ul>
+ * <li>one column per attribute of the spans: start time, duration, end of the
+ * span's tags and end of its logs (longs), trace ID, span ID, parent span ID,
+ * operation name, process name and flags (ints),</li>
+ * <li>the tags, process tags and references of all the spans, as pairs of key
+ * and value,</li>
+ * <li>the log fields of all the spans, as timestamp, key and value,</li>
+ * <li>the dictionary of the strings: the end of each string, then their UTF-8
+ * bytes.</li>
+ * </ul>
+ * All the strings, including the IDs and the names, are dictionary encoded as
+ * the index of the string in the dictionary.
+ */
+public final class OpenTracingSpanStore implements AutoCloseable {
+
+    private static final int MAGIC = 0x4f54_5353; // "OTSS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + 6 * Long.BYTES;
+    private static final int PAIR_SIZE = 2 * Integer.BYTES;
+    private static final int LOG_SIZE = Long.BYTES + 2 * Integer.BYTES;
+    /* Size of the mapped buffers, a multiple of the size of all elements */
+    private static final int BUFFER_SIZE = 1 << 30;
+    private static final int NO_STRING = -1;
+    private static final int NO_FLAGS = Integer.MIN_VALUE;
+    private static final String PARENT_KEY = IOpenTracingConstants.REFERENCES + "/CHILD_OF"; //$NON-NLS-1$
+
+    /* The columns, in file order */
+    private static final int START_TIME = 0;
+    private static final int DURATION = 1;
+    private static final int TAGS_END = 2;
+    private static final int LOGS_END = 3;
+    private static final int NB_LONG_COLUMNS = 4;
+    private static final int TRACE_ID = 0;
+    private static final int SPAN_ID = 1;
+    private static final int PARENT_ID = 2;
+    private static final int NAME = 3;
+    private static final int PROCESS = 4;
+    private static final int FLAGS = 5;
+    private static final int NB_INT_COLUMNS = 6;
+
+    private final FileChannel fChannel;
+    private final long fNbSpans;
+    private final Section[] fLongColumns = new Section[NB_LONG_COLUMNS];
+    private final Section[] fIntColumns = new Section[NB_INT_COLUMNS];
+    private final Section fTags;
+    private final Section fLogs;
+    private final Section fStringEnds;
+    private final Section fStrings;
+
+    private OpenTracingSpanStore(FileChannel channel, long nbSpans, long nbTags, long nbLogs, long nbStrings, long stringsSize) throws IOException {
+        fChannel = channel;
+        fNbSpans = nbSpans;
+        long position = HEADER_SIZE;
+        for (int i = 0; i < NB_LONG_COLUMNS; i++) {
+            fLongColumns[i] = new Section(channel, position, nbSpans * Long.BYTES);
+            position += nbSpans * Long.BYTES;
+        }
+        for (int i = 0; i < NB_INT_COLUMNS; i++) {
+            fIntColumns[i] = new Section(channel, position, nbSpans * Integer.BYTES);
+            position += nbSpans * Integer.BYTES;
+        }
+        fTags = new Section(channel, position, nbTags * PAIR_SIZE);
+        position += nbTags * PAIR_SIZE;
+        fLogs = new Section(channel, position, nbLogs * LOG_SIZE);
+        position += nbLogs * LOG_SIZE;
+        fStringEnds = new Section(channel, position, nbStrings * Long.BYTES);
+        position += nbStrings * Long.BYTES;
+        fStrings = new Section(channel, position, stringsSize);
+    }
+
+    /**
+     * Open an existing store
+     *
+     * @param store
+     *            The store file
+     * @param trace
+     *            The trace file that was converted
+     * @return The store, or <code>null</code> if the file is not a valid store
+     *         of this trace, in which case it has to be written again
+     * @throws IOException
+     *             If the store file cannot be read
+     */
+    public static @Nullable OpenTracingSpanStore open(File store, File trace) throws IOException {
+        if (!store.isFile() || store.length() < HEADER_SIZE) {
+            return null;
+        }
+        FileChannel channel = FileChannel.open(store.toPath(), StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read the whole header
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION || header.getLong() != trace.length()) {
+                channel.close();
+                return null;
+            }
+            long nbSpans = header.getLong();
+            long nbTags = header.getLong();
+            long nbLogs = header.getLong();
+            long nbStrings = header.getLong();
+            long stringsSize = header.getLong();
+            long size = HEADER_SIZE + nbSpans * (NB_LONG_COLUMNS * Long.BYTES + NB_INT_COLUMNS * Integer.BYTES)
+                    + nbTags * PAIR_SIZE + nbLogs * LOG_SIZE + nbStrings * Long.BYTES + stringsSize;
+            if (nbSpans < 0 || nbTags < 0 || nbLogs < 0 || nbStrings < 0 || stringsSize < 0 || channel.size() != size) {
+                channel.close();
+                return null;
+            }
+            return new OpenTracingSpanStore(channel, nbSpans, nbTags, nbLogs, nbStrings, stringsSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the number of spans in the store
+     *
+     * @return The number of spans
+     */
+    public long getNbSpans() {
+        return fNbSpans;
+    }
+
+    /**
+     * Get the start time of a span
+     *
+     * @param rank
+     *            The rank of the span
+     * @return The start time, in nanoseconds
+     */
+    public long getStartTime(long rank) {
+        return fLongColumns[START_TIME].getLong(checkRank(rank));
+    }
+
+    /**
+     * Get the duration of a span
+     *
+     * @param rank
+     *            The rank of the span
+     * @return The duration, in nanoseconds
+     */
+    public long getDuration(long rank) {
+        return fLongColumns[DURATION].getLong(checkRank(rank));
+    }
+
+    /**
+     * Get the ID of the trace of a span
+     *
+     * @param rank
+     *            The rank of the span
+     * @return The trace ID
+     */
+    public @Nullable String getTraceId(long rank) {
+        return getString(fIntColumns[TRACE_ID].getInt(checkRank(rank)));
+    }
+
+    /**
+     * Get the ID of a span
+     *
+     * @param rank
+     *            The rank of the span
+     * @return The span ID
+     */
+    public @Nullable String getSpanId(long rank) {
+        return getString(fIntColumns[SPAN_ID].getInt(checkRank(rank)));
+    }
+
+    /**
+     * Get the ID of the parent of a span, from its child of reference
+     *
+     * @param rank
+     *            The rank of the span
+     * @return The parent span ID, or <code>null</code> if it has no parent
+     */
+    public @Nullable String getParentId(long rank) {
+        return getString(fIntColumns[PARENT_ID].getInt(checkRank(rank)));
+    }
+
+    /**
+     * Get the operation name of a span
+     *
+     * @param rank
+     *            The rank of the span
+     * @return The operation name
+     */
+    public @Nullable String getName(long rank) {
+        return getString(fIntColumns[NAME].getInt(checkRank(rank)));
+    }
+
+    /**
+     * Get the name of the process, or service, of a span
+     *
+     * @param rank
+     *            The rank of the span
+     * @return The process name
+     */
+    public @Nullable String getProcessName(long rank) {
+        return getString(fIntColumns[PROCESS].getInt(checkRank(rank)));
+    }
+
+    /**
+     * Get the rank of the first span that starts at or after a time
+     *
+     * @param startTime
+     *            The start time, in nanoseconds
+     * @return The rank, which is the number of spans if they all start before
+     */
+    public long getRank(long startTime) {
+        Section startTimes = fLongColumns[START_TIME];
+        long low = 0;
+        long high = fNbSpans;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (startTimes.getLong(mid) < startTime) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Read a span. Its name, IDs and times are read now, its other fields
+     * only when they are first read from the returned field.
+     *
+     * @param rank
+     *            The rank of the span
+     * @return The field, like it was parsed from the trace
+     */
+    public OpenTracingField getField(long rank) {
+        checkRank(rank);
+        String name = String.valueOf(getName(rank));
+        String spanId = String.valueOf(getSpanId(rank));
+        String processName = String.valueOf(getProcessName(rank));
+        long startTime = getStartTime(rank);
+        long duration = getDuration(rank);
+        return new OpenTracingField(name, () -> readFields(rank, name, spanId, processName, startTime, duration),
+                spanId, startTime, duration, processName);
+    }
+
+    /**
+     * Read all the fields of a span
+     */
+    private Map<String, Object> readFields(long rank, String name, String spanId, String processName, long startTime, long duration) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(IOpenTracingConstants.OPERATION_NAME, name);
+        fields.put(IOpenTracingConstants.TRACE_ID, String.valueOf(getTraceId(rank)));
+        fields.put(IOpenTracingConstants.SPAN_ID, spanId);
+        fields.put(IOpenTracingConstants.START_TIME, startTime);
+        fields.put(IOpenTracingConstants.DURATION, duration);
+        fields.put(IOpenTracingConstants.PROCESS_NAME, processName);
+        int flags = fIntColumns[FLAGS].getInt(rank);
+        if (flags != NO_FLAGS) {
+            fields.put(IOpenTracingConstants.FLAGS, flags);
+        }
+        String parentId = getParentId(rank);
+        if (parentId != null) {
+            fields.put(PARENT_KEY, parentId);
+        }
+
+        long tagsEnd = fLongColumns[TAGS_END].getLong(rank);
+        for (long tag = (rank == 0) ? 0 : fLongColumns[TAGS_END].getLong(rank - 1); tag < tagsEnd; tag++) {
+            long position = tag * PAIR_SIZE;
+            fields.put(String.valueOf(getString(fTags.getIntAt(position))), String.valueOf(getString(fTags.getIntAt(position + Integer.BYTES))));
+        }
+
+        long logsEnd = fLongColumns[LOGS_END].getLong(rank);
+        long log = (rank == 0) ? 0 : fLongColumns[LOGS_END].getLong(rank - 1);
+        if (log < logsEnd) {
+            Map<Long, Map<String, String>> logs = new HashMap<>();
+            for (; log < logsEnd; log++) {
+                long position = log * LOG_SIZE;
+                Map<String, String> logFields = logs.computeIfAbsent(fLogs.getLongAt(position), timestamp -> new HashMap<>());
+                String key = getString(fLogs.getIntAt(position + Long.BYTES));
+                if (key != null) {
+                    logFields.put(key, String.valueOf(getString(fLogs.getIntAt(position + Long.BYTES + Integer.BYTES))));
+                }
+            }
+            fields.put(IOpenTracingConstants.LOGS, logs);
+        }
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        fChannel.close();
+    }
+
+    private long checkRank(long rank) {
+        if (rank < 0 || rank >= fNbSpans) {
+            throw new IndexOutOfBoundsException("Span " + rank + " of " + fNbSpans); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return rank;
+    }
+
+    private @Nullable String getString(int index) {
+        if (index == NO_STRING) {
+            return null;
+        }
+        long start = (index == 0) ? 0 : fStringEnds.getLong(index - 1);
+        long end = fStringEnds.getLong(index);
+        return new String(fStrings.getBytes(start, (int) (end - start)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Memory mapped section of the file, mapped in buffers of at most
+     * {@link #BUFFER_SIZE} bytes
+     */
+    private static final class Section {
+
+        private final ByteBuffer[] fBuffers;
+
+        public Section(FileChannel channel, long position, long size) throws IOException {
+            fBuffers = new ByteBuffer[(int) ((size + BUFFER_SIZE - 1) / BUFFER_SIZE)];
+            for (int i = 0; i < fBuffers.length; i++) {
+                long offset = (long) i * BUFFER_SIZE;
+                fBuffers[i] = channel.map(MapMode.READ_ONLY, position + offset, Math.min(BUFFER_SIZE, size - offset));
+            }
+        }
+
+        public long getLong(long index) {
+            return getLongAt(index * Long.BYTES);
+        }
+
+        public int getInt(long index) {
+            return getIntAt(index * Integer.BYTES);
+        }
+
+        public long getLongAt(long position) {
+            return fBuffers[(int) (position / BUFFER_SIZE)].getLong((int) (position % BUFFER_SIZE));
+        }
+
+        public int getIntAt(long position) {
+            return fBuffers[(int) (position / BUFFER_SIZE)].getInt((int) (position % BUFFER_SIZE));
+        }
+
+        public byte[] getBytes(long position, int length) {
+            byte[] bytes = new byte[length];
+            int copied = 0;
+            while (copied < length) {
+                long current = position + copied;
+                ByteBuffer buffer = fBuffers[(int) (current / BUFFER_SIZE)].duplicate();
+                buffer.position((int) (current % BUFFER_SIZE));
+                int count = Math.min(length - copied, buffer.remaining());
+                buffer.get(bytes, copied, count);
+                copied += count;
+            }
+            return bytes;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Writer
+    // ------------------------------------------------------------------------
+
+    /**
+     * Writes the spans of a store, in start time order. Each section is first
+     * written to its own temporary file, the sections are put together when
+     * the store is committed.
+     */
+    static final class Writer implements AutoCloseable {
+
+        private final File fTarget;
+        private final File fTrace;
+        private final List<File> fSectionFiles = new ArrayList<>();
+        private final DataOutputStream[] fLongColumns = new DataOutputStream[NB_LONG_COLUMNS];
+        private final DataOutputStream[] fIntColumns = new DataOutputStream[NB_INT_COLUMNS];
+        private final DataOutputStream fTags;
+        private final DataOutputStream fLogs;
+        private final Map<String, Integer> fDictionary = new HashMap<>();
+        private final List<String> fStrings = new ArrayList<>();
+        private long fNbSpans = 0;
+        private long fNbTags = 0;
+        private long fNbLogs = 0;
+        private boolean fCommitted = false;
+
+        /**
+         * Constructor
+         *
+         * @param target
+         *            The store file
+         * @param trace
+         *            The trace file that is converted
+         * @throws IOException
+         *             If the temporary files cannot be created
+         */
+        public Writer(File target, File trace) throws IOException {
+            fTarget = target;
+            fTrace = trace;
+            try {
+                for (int i = 0; i < NB_LONG_COLUMNS; i++) {
+                    fLongColumns[i] = createSection();
+                }
+                for (int i = 0; i < NB_INT_COLUMNS; i++) {
+                    fIntColumns[i] = createSection();
+                }
+                fTags = createSection();
+                fLogs = createSection();
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        private DataOutputStream createSection() throws IOException {
+            File file = new File(fTarget.getPath() + ".tmp" + fSectionFiles.size()); //$NON-NLS-1$
+            fSectionFiles.add(file);
+            return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        }
+
+        /**
+         * Add a span
+         *
+         * @param field
+         *            The field parsed from the JSON of the span
+         * @throws IOException
+         *             If the span cannot be written
+         */
+        public void add(OpenTracingField field) throws IOException {
+            int traceId = NO_STRING;
+            int parentId = NO_STRING;
+            int flags = NO_FLAGS;
+            Map<Long, Map<String, String>> logs = null;
+            for (ITmfEventField subField : field.getContent().getFields()) {
+                String key = subField.getName();
+                Object value = subField.getValue();
+                if (value == null) {
+                    continue;
+                }
+                switch (key) {
+                case IOpenTracingConstants.TRACE_ID:
+                    traceId = encode(String.valueOf(value));
+                    break;
+                case PARENT_KEY:
+                    parentId = encode(String.valueOf(value));
+                    break;
+                case IOpenTracingConstants.FLAGS:
+                    flags = ((Number) value).intValue();
+                    break;
+                case IOpenTracingConstants.LOGS:
+                    @SuppressWarnings("unchecked")
+                    Map<Long, Map<String, String>> logsValue = (Map<Long, Map<String, String>>) value;
+                    logs = logsValue;
+                    break;
+                case IOpenTracingConstants.OPERATION_NAME:
+                case IOpenTracingConstants.SPAN_ID:
+                case IOpenTracingConstants.START_TIME:
+                case IOpenTracingConstants.DURATION:
+                case IOpenTracingConstants.PROCESS_NAME:
+                    /* Written from the field's getters */
+                    break;
+                default:
+                    fTags.writeInt(encode(key));
+                    fTags.writeInt(encode(String.valueOf(value)));
+                    fNbTags++;
+                    break;
+                }
+            }
+            if (logs != null) {
+                for (Map.Entry<Long, Map<String, String>> log : logs.entrySet()) {
+                    if (log.getValue().isEmpty()) {
+                        writeLog(log.getKey(), NO_STRING, NO_STRING);
+                    }
+                    for (Map.Entry<String, String> logField : log.getValue().entrySet()) {
+                        writeLog(log.getKey(), encode(logField.getKey()), encode(logField.getValue()));
+                    }
+                }
+            }
+            fLongColumns[START_TIME].writeLong(field.getStartTime());
+            fLongColumns[DURATION].writeLong(field.getDuration());
+            fLongColumns[TAGS_END].writeLong(fNbTags);
+            fLongColumns[LOGS_END].writeLong(fNbLogs);
+            fIntColumns[TRACE_ID].writeInt(traceId);
+            fIntColumns[SPAN_ID].writeInt(encode(field.getSpanId()));
+            fIntColumns[PARENT_ID].writeInt(parentId);
+            fIntColumns[NAME].writeInt(encode(field.getName()));
+            fIntColumns[PROCESS].writeInt(encode(field.getProcessName()));
+            fIntColumns[FLAGS].writeInt(flags);
+            fNbSpans++;
+        }
+
+        private void writeLog(long timestamp, int key, int value) throws IOException {
+            fLogs.writeLong(timestamp);
+            fLogs.writeInt(key);
+            fLogs.writeInt(value);
+            fNbLogs++;
+        }
+
+        private int encode(String string) {
+            return fDictionary.computeIfAbsent(string, s -> {
+                fStrings.add(s);
+                return fStrings.size() - 1;
+            });
+        }
+
+        /**
+         * Finish the store and move it to the target file
+         *
+         * @throws IOException
+         *             If the store cannot be written
+         */
+        public void commit() throws IOException {
+            closeSections();
+            File temp = new File(fTarget.getPath() + ".tmp"); //$NON-NLS-1$
+            try {
+                List<byte[]> strings = new ArrayList<>(fStrings.size());
+                long stringsSize = 0;
+                for (String string : fStrings) {
+                    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                    strings.add(bytes);
+                    stringsSize += bytes.length;
+                }
+                try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                    output.writeInt(MAGIC);
+                    output.writeInt(VERSION);
+                    output.writeLong(fTrace.length());
+                    output.writeLong(fNbSpans);
+                    output.writeLong(fNbTags);
+                    output.writeLong(fNbLogs);
+                    output.writeLong(strings.size());
+                    output.writeLong(stringsSize);
+                    output.flush();
+                    WritableByteChannel target = Channels.newChannel(output);
+                    for (File section : fSectionFiles) {
+                        try (FileChannel channel = FileChannel.open(section.toPath(), StandardOpenOption.READ)) {
+                            long size = channel.size();
+                            long position = 0;
+                            while (position < size) {
+                                position += channel.transferTo(position, size - position, target);
+                            }
+                        }
+                    }
+                    long end = 0;
+                    for (byte[] bytes : strings) {
+                        end += bytes.length;
+                        output.writeLong(end);
+                    }
+                    for (byte[] bytes : strings) {
+                        output.write(bytes);
+                    }
+                }
+                if (fTarget.exists() && !fTarget.delete()) {
+                    throw new IOException("Could not replace the span store " + fTarget); //$NON-NLS-1$
+                }
+                if (!temp.renameTo(fTarget)) {
+                    throw new IOException("Could not move the span store to " + fTarget); //$NON-NLS-1$
+                }
+                fCommitted = true;
+            } finally {
+                temp.delete();
+            }
+        }
+
+        private void closeSections() throws IOException {
+            IOException exception = null;
+            List<DataOutputStream> outputs = new ArrayList<>();
+            for (DataOutputStream output : fLongColumns) {
+                outputs.add(output);
+            }
+            for (DataOutputStream output : fIntColumns) {
+                outputs.add(output);
+            }
+            outputs.add(fTags);
+            outputs.add(fLogs);
+            for (DataOutputStream output : outputs) {
+                if (output == null) {
+                    continue;
+                }
+                try {
+                    output.close();
+                } catch (IOException e) {
+                    exception = e;
+                }
+            }
+            if (exception != null) {
+                throw exception;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (!fCommitted) {
+                    closeSections();
+                }
+            } finally {
+                for (File section : fSectionFiles) {
+                    section.delete();
+                }
+            }
+        }
+    }
+}
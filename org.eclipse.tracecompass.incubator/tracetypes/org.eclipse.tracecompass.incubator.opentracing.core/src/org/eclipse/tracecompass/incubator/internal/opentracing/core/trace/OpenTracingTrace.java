@@ -12,12 +12,9 @@
 package org.eclipse.tracecompass.incubator.internal.opentracing.core.trace;
 
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IProject;
@@ -33,6 +30,8 @@ import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTr
 import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingEvent;
 import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingField;
 import org.eclipse.tracecompass.internal.provisional.jsontrace.core.trace.JsonTrace;
+import org.eclipse.tracecompass.internal.tmf.core.trace.indexer.BTree;
+import org.eclipse.tracecompass.internal.tmf.core.trace.indexer.FlatArray;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.ITmfLostEvent;
 import org.eclipse.tracecompass.tmf.core.event.aspect.ITmfEventAspect;
@@ -41,28 +40,34 @@ import org.eclipse.tracecompass.tmf.core.io.BufferedRandomAccessFile;
 import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.TmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
 import org.eclipse.tracecompass.tmf.core.trace.TraceValidationStatus;
+import org.eclipse.tracecompass.tmf.core.trace.indexer.ITmfTraceIndexer;
 import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
 
 import com.google.common.collect.Lists;
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.stream.JsonReader;
 
 /**
- * Open Tracing trace. Can read jaeger unsorted or sorted JSON traces.
+ * Open Tracing trace. Can read jaeger unsorted or sorted JSON traces. The
+ * trace is converted once to a {@link OpenTracingSpanStore}, saved with the
+ * supplementary files of the trace, from which the spans are read in start
+ * time order.
  *
  * @author Katherine Nadeau
  *
  */
 public class OpenTracingTrace extends JsonTrace {
 
+    private static final String INDEX_FILE_SUFFIX = ".spans.idx"; //$NON-NLS-1$
+    private static final String STORE_FILE_SUFFIX = ".spans.store"; //$NON-NLS-1$
+
     private final @NonNull Iterable<@NonNull ITmfEventAspect<?>> fEventAspects;
-    private final Map<String, String> fProcesses;
+    private @Nullable OpenTracingSpanStore fStore = null;
+    /* Rank of the span after the last one that was read */
+    private long fNextRank = 0;
 
     /**
      * Constructor
@@ -70,60 +75,57 @@ public class OpenTracingTrace extends JsonTrace {
     @SuppressWarnings("null")
     public OpenTracingTrace() {
         fEventAspects = Lists.newArrayList(OpenTracingAspects.getAspects());
-        fProcesses = new HashMap<>();
     }
 
     @Override
     public void initTrace(IResource resource, String path, Class<? extends ITmfEvent> type) throws TmfTraceException {
         super.initTrace(resource, path, type);
         fProperties.put("Type", "Open-Tracing"); //$NON-NLS-1$ //$NON-NLS-2$
+        fFile = new File(path);
         String dir = TmfTraceManager.getSupplementaryFileDir(this);
-        fFile = new File(dir + new File(path).getName());
-        if (!fFile.exists()) {
-            Job sortJob = new OpenTracingSortingJob(this, path);
-            sortJob.schedule();
-            while (sortJob.getResult() == null) {
-                try {
-                    sortJob.join();
-                } catch (InterruptedException e) {
-                    throw new TmfTraceException(e.getMessage(), e);
+        File indexFile = new File(dir + fFile.getName() + INDEX_FILE_SUFFIX);
+        File storeFile = new File(dir + fFile.getName() + STORE_FILE_SUFFIX);
+        try {
+            OpenTracingSpanStore store = OpenTracingSpanStore.open(storeFile, fFile);
+            if (store == null) {
+                Job indexJob = new OpenTracingIndexingJob(fFile, indexFile, storeFile);
+                indexJob.schedule();
+                while (indexJob.getResult() == null) {
+                    try {
+                        indexJob.join();
+                    } catch (InterruptedException e) {
+                        throw new TmfTraceException(e.getMessage(), e);
+                    }
+                }
+                IStatus result = indexJob.getResult();
+                if (!result.isOK()) {
+                    throw new TmfTraceException("Job failed " + result.getMessage()); //$NON-NLS-1$
+                }
+                store = OpenTracingSpanStore.open(storeFile, fFile);
+                if (store == null) {
+                    throw new TmfTraceException("Invalid span store " + storeFile); //$NON-NLS-1$
                 }
             }
-            IStatus result = sortJob.getResult();
-            if (!result.isOK()) {
-                throw new TmfTraceException("Job failed " + result.getMessage()); //$NON-NLS-1$
-            }
-        }
-        try {
-            fFileInput = new BufferedRandomAccessFile(fFile, "r"); //$NON-NLS-1$
-            goToCorrectStart(fFileInput);
-            registerProcesses(path);
+            fStore = store;
         } catch (IOException e) {
             throw new TmfTraceException(e.getMessage(), e);
         }
     }
 
-    /**
-     * Save the processes list
-     *
-     * @param path
-     *            trace file path
-     */
-    public void registerProcesses(String path) {
-        try (FileReader fileReader = new FileReader(path)) {
-            try (JsonReader reader = new JsonReader(fileReader);) {
-                Gson gson = new Gson();
-                JsonObject object = gson.fromJson(reader, JsonObject.class);
-                JsonElement trace = object.get("data").getAsJsonArray().get(0); //$NON-NLS-1$
-                JsonObject processes = trace.getAsJsonObject().get("processes").getAsJsonObject(); //$NON-NLS-1$
-                for (int i = 1; i <= processes.size(); i++) {
-                    String processName = "p" + i; //$NON-NLS-1$
-                    fProcesses.put(processName, gson.toJson(processes.get(processName)));
-                }
-            }
-        } catch (IOException e) {
-            // Nothing
+    @Override
+    protected ITmfTraceIndexer createIndexer(int interval) {
+        /*
+         * The previous versions read a sorted copy of the trace, and the
+         * checkpoints were positions in that copy instead of span ranks
+         */
+        String dir = TmfTraceManager.getSupplementaryFileDir(this);
+        File sortedCopy = new File(dir + new File(getPath()).getName());
+        if (sortedCopy.isFile()) {
+            sortedCopy.delete();
+            new File(dir + BTree.INDEX_FILE_NAME).delete();
+            new File(dir + FlatArray.INDEX_FILE_NAME).delete();
         }
+        return super.createIndexer(interval);
     }
 
     @Override
@@ -214,34 +216,111 @@ public class OpenTracingTrace extends JsonTrace {
         return fEventAspects;
     }
 
+    @Override
+    public synchronized void dispose() {
+        OpenTracingSpanStore store = fStore;
+        if (store != null) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                Activator.getInstance().logError("Error closing span store. File: " + getPath(), e); //$NON-NLS-1$
+            }
+            fStore = null;
+        }
+        super.dispose();
+    }
+
+    // ------------------------------------------------------------------------
+    // The locations are the ranks of the spans in the index
+    // ------------------------------------------------------------------------
+
+    @Override
+    public ITmfContext seekEvent(ITmfLocation location) {
+        long rank = 0;
+        if (location != null && !NULL_LOCATION.equals(location) && location.getLocationInfo() instanceof Long) {
+            rank = (Long) location.getLocationInfo();
+        }
+        return createContext(rank);
+    }
+
+    @Override
+    public synchronized ITmfContext seekEvent(long rank) {
+        return createContext(Math.max(0, rank));
+    }
+
+    @Override
+    public synchronized ITmfContext seekEvent(ITmfTimestamp timestamp) {
+        OpenTracingSpanStore store = fStore;
+        if (timestamp == null || store == null) {
+            return createContext(0);
+        }
+        long rank = store.getRank(timestamp.toNanos());
+        if (rank >= store.getNbSpans()) {
+            return new TmfContext(null, ITmfContext.UNKNOWN_RANK);
+        }
+        return createContext(rank);
+    }
+
+    @Override
+    public ITmfContext seekEvent(double ratio) {
+        return createContext((long) (ratio * getNbSpans()));
+    }
+
+    @Override
+    public double getLocationRatio(ITmfLocation location) {
+        long nbSpans = getNbSpans();
+        if (nbSpans == 0 || location == null || !(location.getLocationInfo() instanceof Long)) {
+            return 0;
+        }
+        return ((Long) location.getLocationInfo()).doubleValue() / nbSpans;
+    }
+
+    @Override
+    public synchronized ITmfLocation getCurrentLocation() {
+        return new TmfLongLocation(fNextRank);
+    }
+
     @Override
     public ITmfEvent parseEvent(ITmfContext context) {
         @Nullable
         ITmfLocation location = context.getLocation();
-        if (location instanceof TmfLongLocation) {
-            TmfLongLocation tmfLongLocation = (TmfLongLocation) location;
-            Long locationInfo = tmfLongLocation.getLocationInfo();
-            if (location.equals(NULL_LOCATION)) {
-                locationInfo = 0L;
-            }
-            try {
-                if (!locationInfo.equals(fFileInput.getFilePointer())) {
-                    fFileInput.seek(locationInfo);
-                }
-                String nextJson = readNextEventString(() -> fFileInput.read());
-                if (nextJson != null) {
-                    String process = fProcesses.get(OpenTracingField.getProcess(nextJson));
-                    OpenTracingField field = OpenTracingField.parseJson(nextJson, process);
-                    if (field == null) {
-                        return null;
-                    }
-                    return new OpenTracingEvent(this, context.getRank(), field);
-                }
-            } catch (IOException e) {
-                Activator.getInstance().logError("Error parsing event", e); //$NON-NLS-1$
+        if (!(location instanceof TmfLongLocation)) {
+            return null;
+        }
+        long rank = ((TmfLongLocation) location).getLocationInfo();
+        if (location.equals(NULL_LOCATION)) {
+            rank = 0;
+        }
+        OpenTracingField field;
+        synchronized (this) {
+            OpenTracingSpanStore store = fStore;
+            if (store == null || rank < 0 || rank >= store.getNbSpans()) {
+                return null;
             }
+            field = store.getField(rank);
+            fNextRank = rank + 1;
         }
-        return null;
+        return new OpenTracingEvent(this, context.getRank(), field);
+    }
+
+    @Override
+    public int size() {
+        long nbSpans = getNbSpans();
+        return nbSpans > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) nbSpans;
+    }
+
+    @Override
+    public synchronized int progress() {
+        return fNextRank > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) fNextRank;
+    }
+
+    private synchronized long getNbSpans() {
+        OpenTracingSpanStore store = fStore;
+        return store == null ? 0 : store.getNbSpans();
+    }
+
+    private static ITmfContext createContext(long rank) {
+        return new TmfContext(new TmfLongLocation(rank), rank);
     }
 
     @Override
@@ -14,7 +14,10 @@
 
 package org.eclipse.tracecompass.internal.analysis.os.linux.core.kernel;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelAnalysisEventLayout;
@@ -93,11 +96,10 @@ public class KernelStateProvider extends AbstractTmfStateProvider {
     // Fields
     // ------------------------------------------------------------------------
 
-    private final Map<String, KernelEventHandler> fEventNames;
     private final IKernelAnalysisEventLayout fLayout;
 
-    private final KernelEventHandler fSysEntryHandler;
-    private final KernelEventHandler fSysExitHandler;
+    /* Handlers, indexed by the ID of the event types they handle */
+    private final KernelEventHandler[] fHandlers;
 
     // ------------------------------------------------------------------------
     // Constructor
@@ -115,10 +117,7 @@ public class KernelStateProvider extends AbstractTmfStateProvider {
     public KernelStateProvider(ITmfTrace trace, IKernelAnalysisEventLayout layout) {
         super(trace, "Kernel"); //$NON-NLS-1$
         fLayout = layout;
-        fEventNames = buildEventNames(layout);
-
-        fSysEntryHandler = new SysEntryHandler(fLayout);
-        fSysExitHandler = new SysExitHandler(fLayout);
+        fHandlers = registerHandlers(buildEventNames(layout));
     }
 
     // ------------------------------------------------------------------------
@@ -161,6 +160,30 @@ public class KernelStateProvider extends AbstractTmfStateProvider {
         return builder.build();
     }
 
+    private KernelEventHandler[] registerHandlers(Map<String, KernelEventHandler> eventNames) {
+        List<KernelEventHandler> handlers = new ArrayList<>();
+        for (Entry<String, KernelEventHandler> entry : eventNames.entrySet()) {
+            addHandler(handlers, registerEventType(entry.getKey()), entry.getValue());
+        }
+        /* The system call prefixes are checked after the other event names */
+        KernelEventHandler sysExitHandler = new SysExitHandler(fLayout);
+        addHandler(handlers, registerEventTypePrefix(fLayout.eventSyscallExitPrefix()), sysExitHandler);
+        addHandler(handlers, registerEventTypePrefix(fLayout.eventCompatSyscallExitPrefix()), sysExitHandler);
+        KernelEventHandler sysEntryHandler = new SysEntryHandler(fLayout);
+        addHandler(handlers, registerEventTypePrefix(fLayout.eventSyscallEntryPrefix()), sysEntryHandler);
+        addHandler(handlers, registerEventTypePrefix(fLayout.eventCompatSyscallEntryPrefix()), sysEntryHandler);
+        return handlers.toArray(new KernelEventHandler[handlers.size()]);
+    }
+
+    private static void addHandler(List<KernelEventHandler> handlers, int id, KernelEventHandler handler) {
+        /* The IDs are given in order, starting at 0 */
+        if (id == handlers.size()) {
+            handlers.add(handler);
+        } else {
+            handlers.set(id, handler);
+        }
+    }
+
     // ------------------------------------------------------------------------
     // IStateChangeInput
     // ------------------------------------------------------------------------
@@ -181,24 +204,15 @@ public class KernelStateProvider extends AbstractTmfStateProvider {
             return;
         }
 
-        final String eventName = event.getName();
-
         try {
             final ITmfStateSystemBuilder ss = NonNullUtils.checkNotNull(getStateSystemBuilder());
             /*
              * Feed event to the history system if it's known to cause a state
              * transition.
              */
-            KernelEventHandler handler = fEventNames.get(eventName);
-            if (handler == null) {
-                if (isSyscallExit(eventName)) {
-                    handler = fSysExitHandler;
-                } else if (isSyscallEntry(eventName)) {
-                    handler = fSysEntryHandler;
-                }
-            }
-            if (handler != null) {
-                handler.handleEvent(ss, event);
+            int eventTypeId = getEventTypeId(event);
+            if (eventTypeId != UNKNOWN_EVENT_TYPE) {
+                fHandlers[eventTypeId].handleEvent(ss, event);
             }
 
         } catch (AttributeNotFoundException ae) {
@@ -225,14 +239,4 @@ public class KernelStateProvider extends AbstractTmfStateProvider {
         }
     }
 
-    private boolean isSyscallEntry(String eventName) {
-        return (eventName.startsWith(fLayout.eventSyscallEntryPrefix())
-                || eventName.startsWith(fLayout.eventCompatSyscallEntryPrefix()));
-    }
-
-    private boolean isSyscallExit(String eventName) {
-        return (eventName.startsWith(fLayout.eventSyscallExitPrefix()) ||
-                eventName.startsWith(fLayout.eventCompatSyscallExitPrefix()));
-    }
-
 }
@@ -636,6 +636,57 @@ public class AggregationTreeTest {
         cga.dispose();
     }
 
+    /**
+     * Test the flame graphs of many threads, aggregated in parallel, for the
+     * whole trace and for time ranges. Each thread calls a root function ten
+     * times, with one callee per call.
+     */
+    @Test
+    public void multiThreadTimeRangeTest() {
+        ITmfStateSystemBuilder fixture = createFixture();
+        int nbThreads = 40;
+        for (int thread = 1; thread <= nbThreads; thread++) {
+            int parentQuark = fixture.getQuarkAbsoluteAndAdd(PROCESS_PATH, Integer.toString(thread), CALLSTACK_PATH);
+            int rootQuark = fixture.getQuarkRelativeAndAdd(parentQuark, QUARK_0);
+            int calleeQuark = fixture.getQuarkRelativeAndAdd(parentQuark, QUARK_1);
+            for (int i = 0; i < 10; i++) {
+                fixture.modifyAttribute(i * 100, 1, rootQuark);
+                fixture.modifyAttribute(i * 100 + 10, 2, calleeQuark);
+                fixture.modifyAttribute(i * 100 + 20, NULL_STATE_VALUE, calleeQuark);
+                fixture.modifyAttribute(i * 100 + 50, NULL_STATE_VALUE, rootQuark);
+            }
+        }
+        fixture.closeHistory(1000);
+        CGAnalysis cga = new CGAnalysis();
+        setCga(cga, fixture);
+        assertTrue(cga.iterateOverStateSystem(fixture, new String[] { "*" }, PP, new NullProgressMonitor()));
+        assertEquals("Number of thread nodes Found", nbThreads, cga.getThreadNodes().size());
+        for (ThreadNode thread : cga.getThreadNodes()) {
+            assertRootCalls(thread, 10);
+        }
+
+        assertRootCalls(cga.getFlameGraph().iterator().next(), 10 * nbThreads);
+        assertRootCalls(cga.getFlameGraph(0, 1000).iterator().next(), 10 * nbThreads);
+        // Root calls starting at 300, 400, 500 and 600
+        assertRootCalls(cga.getFlameGraph(250, 649).iterator().next(), 4 * nbThreads);
+        // Root call starting at 300 only, inside a time slice
+        assertRootCalls(cga.getFlameGraph(299, 301).iterator().next(), nbThreads);
+        assertEquals(0, cga.getFlameGraph(101, 102).iterator().next().getChildren().size());
+        cga.dispose();
+    }
+
+    private static void assertRootCalls(AggregatedCalledFunction node, long nbCalls) {
+        assertEquals("Number of root functions", 1, node.getChildren().size());
+        AggregatedCalledFunction root = node.getChildren().iterator().next();
+        assertEquals("Root function's number of calls", nbCalls, root.getNbCalls());
+        assertEquals("Root function's duration", 50 * nbCalls, root.getDuration());
+        assertEquals("Root function's self time", 40 * nbCalls, root.getSelfTime());
+        assertEquals("Number of callees", 1, root.getChildren().size());
+        AggregatedCalledFunction callee = root.getChildren().iterator().next();
+        assertEquals("Callee's number of calls", nbCalls, callee.getNbCalls());
+        assertEquals("Callee's duration", 10 * nbCalls, callee.getDuration());
+    }
+
     /**
      * Gets the call graph analysis
      *
@@ -19,8 +19,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.profiling.core.callgraph.ICallGraphProvider;
@@ -60,6 +64,12 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
      */
     public static final String ID = "org.eclipse.tracecompass.internal.analysis.profiling.core.callgraph.callgraphanalysis"; //$NON-NLS-1$
 
+    /**
+     * Number of time slices of the aggregation, a flame graph of a time range
+     * only aggregates again the calls in the slices partially in the range
+     */
+    private static final int NB_SLICES = 64;
+
     // ------------------------------------------------------------------------
     // Attributes
     // ------------------------------------------------------------------------
@@ -70,6 +80,15 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
      */
     private List<ThreadNode> fThreadNodes = new ArrayList<>();
 
+    /**
+     * The root calls of all the threads, merged per time slice of their start
+     * time
+     */
+    private @Nullable ThreadNode[] fSliceRoots = new ThreadNode[0];
+    private @Nullable TimeSlices fSlices = null;
+    private List<ThreadAggregation> fThreads = new ArrayList<>();
+    private @Nullable ITmfStateSystem fStateSystem = null;
+
     private final @Nullable CallStackAnalysis fCallStackAnalysis;
 
     /**
@@ -161,7 +180,8 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
     @VisibleForTesting
     protected boolean iterateOverStateSystem(ITmfStateSystem ss, String[] threadsPattern, String[] processesPattern, IProgressMonitor monitor) {
         List<Integer> processQuarks = ss.getQuarks(processesPattern);
-        Map<ThreadNode, List<Integer>> mainAttribs = new HashMap<>();
+        TimeSlices slices = new TimeSlices(ss.getStartTime(), ss.getCurrentEndTime(), NB_SLICES);
+        List<ThreadAggregation> threads = new ArrayList<>();
         for (int processQuark : processQuarks) {
             int processId = getProcessId(ss, processQuark, ss.getCurrentEndTime());
             for (int threadQuark : ss.getQuarks(processQuark, threadsPattern)) {
@@ -178,13 +198,195 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
                 AbstractCalledFunction initSegment = CalledFunctionFactory.create(0, 0, -1, threadName, processId, null);
                 ThreadNode init = new ThreadNode(initSegment, 0, threadId);
                 fThreadNodes.add(init);
-                mainAttribs.put(init, subAttributes);
+                threads.add(new ThreadAggregation(initSegment, threadId, subAttributes, init, slices));
             }
         }
-        iterateOverCallStack2D(ss, mainAttribs, monitor);
+        @Nullable ThreadNode[] sliceRoots = aggregate(ss, threads, ss.getStartTime(), ss.getCurrentEndTime(), monitor);
+        if (sliceRoots == null) {
+            return false;
+        }
+        fStateSystem = ss;
+        fThreads = threads;
+        fSlices = slices;
+        fSliceRoots = sliceRoots;
         return true;
     }
 
+    /**
+     * Aggregate the calls of threads in parallel. The threads are split in
+     * batches, each aggregated by its own 2D query on a fork-join pool, and the
+     * root calls of the batches are then merged per time slice.
+     *
+     * @return The merged root calls per time slice, or <code>null</code> if
+     *         the aggregation was cancelled
+     */
+    private static @Nullable ThreadNode @Nullable [] aggregate(ITmfStateSystem ss, List<ThreadAggregation> threads, long start, long end, IProgressMonitor monitor) {
+        if (threads.isEmpty()) {
+            return new ThreadNode[0];
+        }
+        int batchSize = Math.max(1, threads.size() / (2 * ForkJoinPool.getCommonPoolParallelism()));
+        try {
+            return ForkJoinPool.commonPool().invoke(new AggregationTask(ss, threads, start, end, batchSize, monitor));
+        } catch (OperationCanceledException e) {
+            return null;
+        }
+    }
+
+    /** Aggregate the calls of a batch of threads, splitting large batches */
+    private static class AggregationTask extends RecursiveTask<@Nullable ThreadNode[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ITmfStateSystem fSs;
+        private final transient List<ThreadAggregation> fBatch;
+        private final long fStart;
+        private final long fEnd;
+        private final int fBatchSize;
+        private final transient IProgressMonitor fMonitor;
+
+        public AggregationTask(ITmfStateSystem ss, List<ThreadAggregation> batch, long start, long end, int batchSize, IProgressMonitor monitor) {
+            fSs = ss;
+            fBatch = batch;
+            fStart = start;
+            fEnd = end;
+            fBatchSize = batchSize;
+            fMonitor = monitor;
+        }
+
+        @Override
+        protected @Nullable ThreadNode[] compute() {
+            if (fBatch.size() > fBatchSize) {
+                int middle = fBatch.size() / 2;
+                AggregationTask left = new AggregationTask(fSs, fBatch.subList(0, middle), fStart, fEnd, fBatchSize, fMonitor);
+                AggregationTask right = new AggregationTask(fSs, fBatch.subList(middle, fBatch.size()), fStart, fEnd, fBatchSize, fMonitor);
+                left.fork();
+                @Nullable ThreadNode[] rightRoots = right.compute();
+                @Nullable ThreadNode[] leftRoots = left.join();
+                mergeSlices(leftRoots, rightRoots);
+                return leftRoots;
+            }
+            if (!iterateOverCallStack2D(fSs, fBatch, fStart, fEnd, fMonitor)) {
+                throw new OperationCanceledException();
+            }
+            @Nullable ThreadNode[] roots = new ThreadNode[fBatch.get(0).fSlices.fCount];
+            for (ThreadAggregation thread : fBatch) {
+                thread.complete(roots);
+            }
+            return roots;
+        }
+    }
+
+    private static void mergeSlices(@Nullable ThreadNode[] destination, @Nullable ThreadNode[] source) {
+        for (int i = 0; i < destination.length; i++) {
+            ThreadNode sourceRoot = source[i];
+            ThreadNode destinationRoot = destination[i];
+            if (destinationRoot == null) {
+                destination[i] = sourceRoot;
+            } else if (sourceRoot != null) {
+                AbstractCalledFunction initSegment = createInitSegment();
+                sourceRoot.getChildren().forEach(child -> destinationRoot.addChild(initSegment, child));
+            }
+        }
+    }
+
+    private static AbstractCalledFunction createInitSegment() {
+        return CalledFunctionFactory.create(0, 0, -1, "", 0, null); //$NON-NLS-1$
+    }
+
+    /** Time slices of a time range */
+    private static final class TimeSlices {
+        private final long fStart;
+        private final long fEnd;
+        private final long fWidth;
+        private final int fCount;
+
+        public TimeSlices(long start, long end, int count) {
+            fStart = start;
+            fEnd = end;
+            fWidth = Math.max(1, (end - start) / count + 1);
+            fCount = count;
+        }
+
+        /* Get the slice of a time, or -1 if it is not in the range */
+        public int getSlice(long time) {
+            if (time < fStart || time > fEnd) {
+                return -1;
+            }
+            return (int) ((time - fStart) / fWidth);
+        }
+
+        public long getSliceStart(int slice) {
+            return fStart + slice * fWidth;
+        }
+
+        public long getSliceEnd(int slice) {
+            return Math.min(fEnd, fStart + (slice + 1) * fWidth - 1);
+        }
+    }
+
+    /**
+     * The aggregation of the calls of a thread. The root calls are aggregated
+     * per time slice of their start time.
+     */
+    private static final class ThreadAggregation {
+        private final AbstractCalledFunction fInitSegment;
+        private final long fThreadId;
+        private final List<Integer> fAttributes;
+        private final @Nullable ThreadNode fThreadNode;
+        private final TimeSlices fSlices;
+        private final @Nullable ThreadNode[] fRoots;
+
+        public ThreadAggregation(AbstractCalledFunction initSegment, long threadId, List<Integer> attributes, @Nullable ThreadNode threadNode, TimeSlices slices) {
+            fInitSegment = initSegment;
+            fThreadId = threadId;
+            fAttributes = attributes;
+            fThreadNode = threadNode;
+            fSlices = slices;
+            fRoots = new ThreadNode[slices.fCount];
+        }
+
+        /* Get the parent of a root call, or null if it is not aggregated */
+        public @Nullable AggregatedCalledFunction getRoot(long start) {
+            int slice = fSlices.getSlice(start);
+            if (slice < 0) {
+                return null;
+            }
+            ThreadNode root = fRoots[slice];
+            if (root == null) {
+                root = new ThreadNode(fInitSegment, 0, fThreadId);
+                fRoots[slice] = root;
+            }
+            return root;
+        }
+
+        public int getProcessId() {
+            return fInitSegment.getProcessId();
+        }
+
+        /*
+         * Add copies of the root calls to the thread node, and move the root
+         * calls to the merged roots of all the threads
+         */
+        public void complete(@Nullable ThreadNode[] mergedRoots) {
+            ThreadNode threadNode = fThreadNode;
+            for (int i = 0; i < fRoots.length; i++) {
+                ThreadNode root = fRoots[i];
+                if (root == null) {
+                    continue;
+                }
+                if (threadNode != null) {
+                    root.getChildren().forEach(child -> threadNode.addChild(fInitSegment, child.clone()));
+                }
+                ThreadNode mergedRoot = mergedRoots[i];
+                if (mergedRoot == null) {
+                    mergedRoots[i] = root;
+                } else {
+                    root.getChildren().forEach(child -> mergedRoot.addChild(fInitSegment, child));
+                }
+                fRoots[i] = null;
+            }
+        }
+    }
+
     /** A class that represents a time range for an interval or function */
     private static class CallgraphRange {
         private final long fStart;
@@ -254,7 +456,7 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
     /** Represent a callgraph level in the algorithm */
     private static class CallGraphLevel {
 
-        private final ThreadNode fThreadNode;
+        private final ThreadAggregation fThread;
         private final List<CallgraphRange> fRanges = new ArrayList<>();
         private final Map<AggregatedCalledFunction, FunctionCall> fAggregated = new HashMap<>();
         private final List<ITmfStateInterval> fOrphanedIntervals = new ArrayList<>();
@@ -262,8 +464,8 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
         private final int fDepth;
         private @Nullable CallGraphLevel fChild = null;
 
-        public CallGraphLevel(ThreadNode threadNode, int depth, @Nullable CallGraphLevel parent) {
-            fThreadNode = threadNode;
+        public CallGraphLevel(ThreadAggregation thread, int depth, @Nullable CallGraphLevel parent) {
+            fThread = thread;
             fDepth = depth;
             fParent = parent;
         }
@@ -306,7 +508,7 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
         public @Nullable AggregatedCalledFunction findParentAggregated(CallgraphRange range) {
             CallGraphLevel parent = fParent;
             if (parent == null) {
-                return fThreadNode;
+                return fThread.getRoot(range.fStart);
             }
             return parent.findAggregated(range);
         }
@@ -350,7 +552,7 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
                  */
                 toRemove.add(interval);
                 CallgraphRange childRange = new CallgraphRange(interval.getStartTime(), interval.getEndTime());
-                AbstractCalledFunction childFunc = CalledFunctionFactory.create(childRange.fStart, childRange.fEnd + 1, fDepth + 1, Objects.requireNonNull(interval.getValue()), fThreadNode.getProcessId(), function);
+                AbstractCalledFunction childFunc = CalledFunctionFactory.create(childRange.fStart, childRange.fEnd + 1, fDepth + 1, Objects.requireNonNull(interval.getValue()), fThread.getProcessId(), function);
                 AggregatedCalledFunction childAgg = new AggregatedCalledFunction(childFunc, aggregated);
 
                 /*
@@ -434,26 +636,22 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
         }
 
         public int getProcessId() {
-            return fThreadNode.getProcessId();
+            return fThread.getProcessId();
         }
     }
 
-    private static boolean iterateOverCallStack2D(ITmfStateSystem ss, Map<ThreadNode, List<Integer>> parentAttribs, IProgressMonitor monitor) {
+    private static boolean iterateOverCallStack2D(ITmfStateSystem ss, List<ThreadAggregation> threads, long start, long end, IProgressMonitor monitor) {
         try {
-            long start = ss.getStartTime();
-            long end = ss.getCurrentEndTime();
-
             Map<Integer, CallGraphLevel> attribToLevel = new HashMap<>();
             List<Integer> attributes = new ArrayList<>();
 
-            // Create the levels for all the thread nodes and attributes
-            for (Entry<ThreadNode, List<Integer>> entry : parentAttribs.entrySet()) {
-                ThreadNode threadNode = entry.getKey();
-                List<Integer> subAttributes = entry.getValue();
+            // Create the levels for all the threads and attributes
+            for (ThreadAggregation thread : threads) {
+                List<Integer> subAttributes = thread.fAttributes;
                 attributes.addAll(subAttributes);
                 CallGraphLevel prevLevel = null;
                 for (int i = 0; i < subAttributes.size(); i++) {
-                    CallGraphLevel level = new CallGraphLevel(threadNode, i, prevLevel);
+                    CallGraphLevel level = new CallGraphLevel(thread, i, prevLevel);
                     if (prevLevel != null) {
                         prevLevel.setChild(level);
                     }
@@ -554,14 +752,107 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
      * @return the merged threadnodes
      */
     public Collection<ThreadNode> getFlameGraph() {
-        AbstractCalledFunction initSegment = CalledFunctionFactory.create(0, 0, -1, "", 0, null); //$NON-NLS-1$
+        AbstractCalledFunction initSegment = createInitSegment();
+        ThreadNode init = new ThreadNode(initSegment, 0, 0);
+        for (ThreadNode root : fSliceRoots) {
+            if (root != null) {
+                root.getChildren().forEach(child -> init.addChild(initSegment, child.clone()));
+            }
+        }
+        return Collections.singleton(init);
+    }
+
+    /**
+     * Merged threadnodes of the calls in a time range. A root call, and all
+     * the calls under it, are in the range if the root call starts in the
+     * range.
+     *
+     * The root calls were aggregated per time slice when the analysis ran, so
+     * only the calls of the slices partially in the range are aggregated
+     * again.
+     *
+     * @param start
+     *            The start of the time range
+     * @param end
+     *            The end of the time range
+     * @return the merged threadnodes
+     */
+    public Collection<ThreadNode> getFlameGraph(long start, long end) {
+        AbstractCalledFunction initSegment = createInitSegment();
         ThreadNode init = new ThreadNode(initSegment, 0, 0);
-        fThreadNodes.forEach(
-                tn -> tn.getChildren().forEach(
-                        child -> init.addChild(initSegment, child.clone())));
+        ITmfStateSystem ss = fStateSystem;
+        TimeSlices slices = fSlices;
+        if (ss == null || slices == null) {
+            return Collections.singleton(init);
+        }
+        long from = Math.max(start, slices.fStart);
+        long to = Math.min(end, slices.fEnd);
+        if (from > to) {
+            return Collections.singleton(init);
+        }
+        int first = slices.getSlice(from);
+        if (slices.getSliceStart(first) != from) {
+            first++;
+        }
+        int last = slices.getSlice(to);
+        if (slices.getSliceEnd(last) != to) {
+            last--;
+        }
+        List<ThreadNode> roots = new ArrayList<>();
+        if (first > last) {
+            roots.add(aggregateRange(ss, from, to));
+        } else {
+            for (int i = first; i <= last; i++) {
+                ThreadNode root = fSliceRoots[i];
+                if (root != null) {
+                    roots.add(root);
+                }
+            }
+            if (from < slices.getSliceStart(first)) {
+                roots.add(aggregateRange(ss, from, slices.getSliceStart(first) - 1));
+            }
+            if (slices.getSliceEnd(last) < to) {
+                roots.add(aggregateRange(ss, slices.getSliceEnd(last) + 1, to));
+            }
+        }
+        roots.forEach(root -> root.getChildren().forEach(child -> init.addChild(initSegment, child.clone())));
         return Collections.singleton(init);
     }
 
+    /* Aggregate the root calls that start in a time range, and their callees */
+    private ThreadNode aggregateRange(ITmfStateSystem ss, long start, long end) {
+        ThreadNode init = new ThreadNode(createInitSegment(), 0, 0);
+        TimeSlices slice = new TimeSlices(start, end, 1);
+        List<ThreadAggregation> threads = new ArrayList<>();
+        List<Integer> rootAttributes = new ArrayList<>();
+        for (ThreadAggregation thread : fThreads) {
+            threads.add(new ThreadAggregation(thread.fInitSegment, thread.fThreadId, thread.fAttributes, null, slice));
+            rootAttributes.add(thread.fAttributes.get(0));
+        }
+        try {
+            /* The callees of the root calls may end after the range */
+            long queryEnd = Long.MIN_VALUE;
+            for (ITmfStateInterval interval : ss.query2D(rootAttributes, start, end)) {
+                if (interval.getValue() != null && interval.getStartTime() >= start && interval.getStartTime() <= end) {
+                    queryEnd = Math.max(queryEnd, interval.getEndTime());
+                }
+            }
+            if (queryEnd == Long.MIN_VALUE) {
+                return init;
+            }
+            @Nullable ThreadNode[] roots = aggregate(ss, threads, start, queryEnd, new NullProgressMonitor());
+            if (roots != null && roots.length > 0) {
+                ThreadNode root = roots[0];
+                if (root != null) {
+                    return root;
+                }
+            }
+        } catch (StateSystemDisposedException e) {
+            // Return what was aggregated
+        }
+        return init;
+    }
+
     /**
      * List of thread nodes. Each thread has a virtual node having the root
      * functions called as children.
@@ -0,0 +1,152 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+package org.eclipse.tracecompass.analysis.timing.core.tests.segmentstore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+import org.eclipse.tracecompass.internal.analysis.timing.core.segmentstore.SegmentStoreSortedIndex;
+import org.eclipse.tracecompass.segmentstore.core.BasicSegment;
+import org.eclipse.tracecompass.segmentstore.core.ISegment;
+import org.eclipse.tracecompass.segmentstore.core.ISegmentStore;
+import org.eclipse.tracecompass.segmentstore.core.SegmentComparators;
+import org.eclipse.tracecompass.segmentstore.core.SegmentStoreFactory;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test the {@link SegmentStoreSortedIndex}
+ */
+public class SegmentStoreSortedIndexTest {
+
+    private static final Comparator<ISegment> DURATION_COMPARATOR = Comparator.comparingLong(ISegment::getLength);
+    private static final ToIntFunction<ISegment> KEY = System::identityHashCode;
+
+    private static List<ISegment> createSegments(int seed) {
+        Random random = new Random(seed);
+        ISegmentStore<ISegment> store = SegmentStoreFactory.createSegmentStore();
+        for (int i = 0; i < 5000; i++) {
+            /* Many segments have the same start and end */
+            long start = random.nextInt(10000);
+            store.add(new BasicSegment(start, start + random.nextInt(10)));
+        }
+        return ImmutableList.copyOf(store);
+    }
+
+    private static void assertIndex(List<ISegment> expected, SegmentStoreSortedIndex index) throws IOException {
+        assertEquals(expected.size(), index.size());
+        for (int rank = 0; rank < expected.size(); rank++) {
+            assertSame(expected.get(rank), index.get(rank));
+        }
+    }
+
+    /**
+     * Test that the index is sorted like a stable sort of the segments, with
+     * one run or with runs merged from the disk
+     *
+     * @throws IOException
+     *             If the file cannot be written or read
+     */
+    @Test
+    public void testBuild() throws IOException {
+        List<ISegment> store = createSegments(42);
+        List<Comparator<ISegment>> comparators = Arrays.asList(DURATION_COMPARATOR, SegmentComparators.INTERVAL_END_COMPARATOR.reversed());
+        Path file = Files.createTempFile("segments", ".idx");
+        try {
+            for (Comparator<ISegment> comparator : comparators) {
+                List<ISegment> expected = new ArrayList<>(store);
+                expected.sort(comparator);
+                for (int runSize : new int[] { 100000, 300 }) {
+                    try (SegmentStoreSortedIndex index = SegmentStoreSortedIndex.build(store, comparator, KEY, file, runSize)) {
+                        assertIndex(expected, index);
+                    }
+                }
+            }
+            try (SegmentStoreSortedIndex index = SegmentStoreSortedIndex.build(Collections.emptyList(), DURATION_COMPARATOR, KEY, file)) {
+                assertEquals(0, index.size());
+            }
+            /* The runs are deleted */
+            try (Stream<Path> files = Files.list(file.getParent())) {
+                assertEquals(0, files.filter(path -> path.getFileName().toString().startsWith(file.getFileName() + ".")).count());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Test reading an index back
+     *
+     * @throws IOException
+     *             If the file cannot be written or read
+     */
+    @Test
+    public void testLoad() throws IOException {
+        List<ISegment> store = createSegments(42);
+        List<ISegment> expected = new ArrayList<>(store);
+        expected.sort(DURATION_COMPARATOR);
+        Path file = Files.createTempFile("segments", ".idx");
+        try {
+            SegmentStoreSortedIndex.build(store, DURATION_COMPARATOR, KEY, file, 1000).close();
+            try (SegmentStoreSortedIndex loaded = SegmentStoreSortedIndex.load(store, DURATION_COMPARATOR, KEY, file)) {
+                assertNotNull(loaded);
+                assertIndex(expected, loaded);
+            }
+
+            /* The index is not read for other segments */
+            assertNull(SegmentStoreSortedIndex.load(createSegments(43), DURATION_COMPARATOR, KEY, file));
+            List<ISegment> larger = new ArrayList<>(store);
+            larger.add(new BasicSegment(0, 1));
+            assertNull(SegmentStoreSortedIndex.load(larger, DURATION_COMPARATOR, KEY, file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertNull(SegmentStoreSortedIndex.load(store, DURATION_COMPARATOR, KEY, file));
+    }
+
+    /**
+     * Test that the segments with the same start, end and key are each at
+     * their own rank
+     *
+     * @throws IOException
+     *             If the file cannot be written or read
+     */
+    @Test
+    public void testIdenticalSegments() throws IOException {
+        List<ISegment> segments = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            segments.add(new BasicSegment(i % 2, 10));
+        }
+        List<ISegment> expected = new ArrayList<>(segments);
+        expected.sort(SegmentComparators.INTERVAL_START_COMPARATOR);
+        Path file = Files.createTempFile("segments", ".idx");
+        try (SegmentStoreSortedIndex index = SegmentStoreSortedIndex.build(segments, SegmentComparators.INTERVAL_START_COMPARATOR, segment -> 0, file, 100)) {
+            assertIndex(expected, index);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
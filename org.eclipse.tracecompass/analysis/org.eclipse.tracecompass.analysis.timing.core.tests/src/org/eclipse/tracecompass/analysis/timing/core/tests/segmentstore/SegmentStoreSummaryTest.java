@@ -0,0 +1,198 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+package org.eclipse.tracecompass.analysis.timing.core.tests.segmentstore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.internal.analysis.timing.core.segmentstore.SegmentStoreSummary;
+import org.eclipse.tracecompass.internal.analysis.timing.core.segmentstore.SegmentStoreSummary.Interior;
+import org.eclipse.tracecompass.segmentstore.core.BasicSegment;
+import org.eclipse.tracecompass.segmentstore.core.ISegment;
+import org.eclipse.tracecompass.segmentstore.core.segment.interfaces.INamedSegment;
+import org.junit.Test;
+
+/**
+ * Test the {@link SegmentStoreSummary}
+ */
+public class SegmentStoreSummaryTest {
+
+    private static final long START = 1000;
+    private static final long END = 1000000;
+
+    private static class NamedSegment extends BasicSegment implements INamedSegment {
+        private static final long serialVersionUID = 1L;
+        private final @NonNull String fName;
+
+        public NamedSegment(long start, long end, @NonNull String name) {
+            super(start, end);
+            fName = name;
+        }
+
+        @Override
+        public @NonNull String getName() {
+            return fName;
+        }
+    }
+
+    private static List<ISegment> createSegments() {
+        return createSegments(20000);
+    }
+
+    private static List<ISegment> createSegments(int nbSegments) {
+        Random random = new Random(42);
+        List<ISegment> segments = new ArrayList<>();
+        for (int i = 0; i < nbSegments; i++) {
+            long start = START + (long) (random.nextDouble() * (END - START));
+            long length = (long) Math.exp(random.nextDouble() * 10) - 1;
+            segments.add(new NamedSegment(start, start + length, (i % 3 == 0) ? "read" : "write"));
+        }
+        return segments;
+    }
+
+    /**
+     * Test the bins of the duration histograms
+     */
+    @Test
+    public void testBins() {
+        assertEquals(0, SegmentStoreSummary.getBin(0));
+        for (long length = 1; length < 100000; length = length * 3 / 2 + 1) {
+            int bin = SegmentStoreSummary.getBin(length);
+            assertTrue(bin > 0 && bin < SegmentStoreSummary.NB_BINS);
+            assertTrue(length + " in bin " + bin, SegmentStoreSummary.getBinStart(bin) <= length && length < SegmentStoreSummary.getBinEnd(bin));
+        }
+        int bin = SegmentStoreSummary.getBin(Long.MAX_VALUE);
+        assertTrue(bin < SegmentStoreSummary.NB_BINS);
+        assertTrue(SegmentStoreSummary.getBinStart(bin) <= Long.MAX_VALUE);
+    }
+
+    /**
+     * Test the counts, maximum durations and histograms of the summary
+     * against the segments
+     */
+    @Test
+    public void testRanges() {
+        List<ISegment> segments = createSegments();
+        SegmentStoreSummary summary = new SegmentStoreSummary(segments);
+        long[][] ranges = { { START, END }, { 0, Long.MAX_VALUE }, { 123456, 654321 }, { 500000, 540000 } };
+        for (long[] range : ranges) {
+            for (int level = summary.getHistogramLevel(); level < summary.getHistogramLevel() + 4; level++) {
+                Interior interior = summary.getInterior(range[0], range[1], level);
+                assertNotNull(interior);
+                assertTrue(interior.getStart() >= range[0]);
+                assertTrue(interior.getEnd() - 1 <= range[1]);
+
+                long count = 0;
+                long max = -1;
+                long[] expected = new long[SegmentStoreSummary.NB_BINS];
+                for (ISegment segment : segments) {
+                    if (segment.getStart() >= interior.getStart() && segment.getStart() < interior.getEnd()) {
+                        count++;
+                        max = Math.max(max, segment.getLength());
+                        expected[SegmentStoreSummary.getBin(segment.getLength())]++;
+                    }
+                }
+                long[] histogram = new long[SegmentStoreSummary.NB_BINS];
+                summary.addHistogram(interior, histogram);
+                assertEquals(count, summary.getCount(interior));
+                assertEquals(max, summary.getMaxLength(interior));
+                for (int bin = 0; bin < SegmentStoreSummary.NB_BINS; bin++) {
+                    assertEquals(expected[bin], histogram[bin]);
+                }
+            }
+        }
+        /* No bucket is fully in a range narrower than a bucket */
+        assertNull(summary.getInterior(500000, 500001, 0));
+    }
+
+    /**
+     * Test the segments of minimum and maximum durations of the buckets
+     */
+    @Test
+    public void testExtremes() {
+        List<ISegment> segments = createSegments();
+        SegmentStoreSummary summary = new SegmentStoreSummary(segments);
+        int level = summary.getLevel((END - START) / 100);
+        assertTrue(level >= 0);
+        assertEquals(-1, summary.getLevel(0));
+        Interior interior = summary.getInterior(START, END, level);
+        assertNotNull(interior);
+
+        List<long[]> points = new ArrayList<>();
+        summary.forEachExtreme(interior, Collections.singleton("read"), (category, start, length) -> points.add(new long[] { start, length }));
+        assertTrue(points.size() > 1);
+        long previous = Long.MIN_VALUE;
+        long maxLength = 0;
+        for (long[] point : points) {
+            /* The points are actual segments, in order */
+            assertTrue(segments.stream().anyMatch(segment -> segment.getStart() == point[0] && segment.getLength() == point[1] && ((INamedSegment) segment).getName().equals("read")));
+            assertTrue(point[0] >= previous || point[0] >= interior.getStart());
+            previous = point[0];
+            maxLength = Math.max(maxLength, point[1]);
+        }
+        long expectedMax = segments.stream().filter(segment -> ((INamedSegment) segment).getName().equals("read")
+                && segment.getStart() >= interior.getStart() && segment.getStart() < interior.getEnd()).mapToLong(ISegment::getLength).max().orElse(-1);
+        assertEquals(expectedMax, maxLength);
+    }
+
+    /**
+     * Test that the levels of a summary of many segments are finer than the
+     * levels with histograms, so that zoomed in queries are answered too
+     */
+    @Test
+    public void testFineLevels() {
+        List<ISegment> segments = createSegments(200000);
+        SegmentStoreSummary summary = new SegmentStoreSummary(segments);
+        assertTrue(summary.getHistogramLevel() > 0);
+
+        /* A range of 1/4096 of the segments has buckets */
+        long resolution = (END - START) / 4096;
+        int level = summary.getLevel(resolution);
+        assertTrue(level >= 0 && level < summary.getHistogramLevel());
+        long start = 500000;
+        long end = start + 4 * resolution;
+        Interior interior = summary.getInterior(start, end, level);
+        assertNotNull(interior);
+        assertTrue(interior.getStart() >= start);
+        assertTrue(interior.getEnd() - 1 <= end);
+        long count = segments.stream().filter(segment -> segment.getStart() >= interior.getStart() && segment.getStart() < interior.getEnd()).count();
+        assertEquals(count, summary.getCount(interior));
+
+        /* There are no histograms at that level */
+        try {
+            summary.addHistogram(interior, new long[SegmentStoreSummary.NB_BINS]);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    /**
+     * Test the summary of no segment
+     */
+    @Test
+    public void testEmpty() {
+        SegmentStoreSummary summary = new SegmentStoreSummary(Collections.emptyList());
+        Interior interior = summary.getInterior(Long.MIN_VALUE / 2, Long.MAX_VALUE / 2, 0);
+        assertNotNull(interior);
+        assertEquals(0, summary.getCount(interior));
+        assertEquals(-1, summary.getMaxLength(interior));
+    }
+}
@@ -22,6 +22,7 @@ import java.util.stream.StreamSupport;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.timing.core.segmentstore.ISegmentStoreProvider;
+import org.eclipse.tracecompass.internal.analysis.timing.core.segmentstore.SegmentStoreSummary.Interior;
 import org.eclipse.tracecompass.internal.tmf.core.model.TmfXyResponseFactory;
 import org.eclipse.tracecompass.internal.tmf.core.model.filters.FetchParametersUtils;
 import org.eclipse.tracecompass.segmentstore.core.ISegment;
@@ -43,6 +44,7 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
+import com.google.common.collect.Iterables;
 
 /**
  * This data provider will return an XY model based on a query filter. The model
@@ -58,6 +60,11 @@ public class SegmentStoreDensityDataProvider extends AbstractTmfTraceDataProvide
      */
     public static final String ID = "org.eclipse.tracecompass.internal.analysis.timing.core.segmentstore.SegmentStoreDensityDataProvider"; //$NON-NLS-1$
     private static final AtomicLong TRACE_IDS = new AtomicLong();
+    /*
+     * Minimal number of segments per bin, on average, in the range of a query
+     * for the query to be answered from the summary of the segment store
+     */
+    private static final int MIN_SEGMENTS_PER_BIN = 64;
 
     private final String fID;
     private final String title = Objects.requireNonNull(Messages.SegmentStoreDensityDataProvider_title);
@@ -104,18 +111,46 @@ public class SegmentStoreDensityDataProvider extends AbstractTmfTraceDataProvide
         long startTraceTime = queryFilter.getStart();
         long endTraceTime = queryFilter.getEnd();
         int width = queryFilter.getTimesRequested().length;
-        Iterable<ISegment> displayData = segmentStore.getIntersectingElements(startTraceTime, endTraceTime);
 
         IAnalysisModule module = (fProvider instanceof IAnalysisModule) ? (IAnalysisModule) fProvider : null;
         boolean complete = module != null && module.isQueryable(queryFilter.getEnd());
 
+        /*
+         * Count the segments that start in the buckets of the summary that are
+         * in the range with their histogram, and iterate on the others
+         */
+        SegmentStoreSummary summary = complete ? SegmentStoreSummary.get(segmentStore) : null;
+        Interior interior = summary != null ? summary.getInterior(startTraceTime, endTraceTime, summary.getHistogramLevel()) : null;
+        if (summary == null || interior == null || summary.getCount(interior) < (long) width * MIN_SEGMENTS_PER_BIN) {
+            summary = null;
+            interior = null;
+        }
+        Iterable<ISegment> displayData = segmentStore.getIntersectingElements(startTraceTime, endTraceTime);
+        if (interior != null) {
+            long interiorStart = interior.getStart();
+            long interiorEnd = interior.getEnd();
+            Iterable<ISegment> before = Iterables.filter(segmentStore.getIntersectingElements(startTraceTime, Math.max(startTraceTime, interiorStart - 1)),
+                    segment -> segment.getStart() < interiorStart);
+            Iterable<ISegment> after = interiorEnd > endTraceTime ? Collections.emptyList()
+                    : Iterables.filter(segmentStore.getIntersectingElements(interiorEnd, endTraceTime), segment -> segment.getStart() >= interiorEnd);
+            displayData = Iterables.concat(before, after);
+        }
+
         Optional<ISegment> maxSegment = StreamSupport.stream(displayData.spliterator(), false).max(SegmentComparators.INTERVAL_LENGTH_COMPARATOR);
         long maxLength = 1;
         if (maxSegment.isPresent()) {
             maxLength = maxSegment.get().getLength();
         }
+        if (summary != null && interior != null) {
+            maxLength = maxSegment.isPresent() ? Math.max(maxLength, summary.getMaxLength(interior)) : summary.getMaxLength(interior);
+        }
 
         double[] yValues = getYValues(displayData, width, maxLength);
+        if (summary != null && interior != null) {
+            long[] histogram = new long[SegmentStoreSummary.NB_BINS];
+            summary.addHistogram(interior, histogram);
+            addHistogram(yValues, histogram, maxLength);
+        }
         long[] xValues = getXValues(width, maxLength);
         ImmutableList.Builder<IYModel> builder = ImmutableList.builder();
         String totalName = getTrace().getName() + '/' + Messages.SegmentStoreDensity_TotalLabel;
@@ -133,6 +168,36 @@ public class SegmentStoreDensityDataProvider extends AbstractTmfTraceDataProvide
         return xValues;
     }
 
+    /**
+     * Add the counts of a logarithmic duration histogram to the linear bins,
+     * spreading the count of each bin on the linear bins it overlaps
+     */
+    private static void addHistogram(double[] yValues, long[] histogram, long maxLength) {
+        int width = yValues.length;
+        double scale = width / (maxLength + 1.0);
+        for (int bin = 0; bin < histogram.length; bin++) {
+            long count = histogram[bin];
+            if (count == 0) {
+                continue;
+            }
+            double low = SegmentStoreSummary.getBinStart(bin) * scale;
+            double high = Math.min(SegmentStoreSummary.getBinEnd(bin), maxLength + 1.0) * scale;
+            if (bin == 0 || (int) low == (int) Math.min(high, width - 1)) {
+                /* The segments of null duration, or a bin in a single x */
+                add(yValues, Math.min(width - 1, (int) low), count);
+                continue;
+            }
+            for (int x = (int) low; x < width && x < high; x++) {
+                double overlap = Math.min(high, x + 1.0) - Math.max(low, x);
+                add(yValues, x, count * overlap / (high - low));
+            }
+        }
+    }
+
+    private static void add(double[] yValues, int x, double count) {
+        yValues[x] = (yValues[x] == Double.MIN_VALUE) ? count : yValues[x] + count;
+    }
+
     private static double[] getYValues(Iterable<ISegment> displayData, int width, long maxLength) {
         double maxFactor = 1.0 / (maxLength + 1.0);
         double[] yValues = new double[width];
@@ -31,6 +31,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.timing.core.segmentstore.IGroupingSegmentAspect;
 import org.eclipse.tracecompass.analysis.timing.core.segmentstore.ISegmentStoreProvider;
 import org.eclipse.tracecompass.internal.analysis.timing.core.Activator;
+import org.eclipse.tracecompass.internal.analysis.timing.core.segmentstore.SegmentStoreSummary.Interior;
 import org.eclipse.tracecompass.internal.tmf.core.model.TmfXyResponseFactory;
 import org.eclipse.tracecompass.internal.tmf.core.model.filters.FetchParametersUtils;
 import org.eclipse.tracecompass.segmentstore.core.ISegment;
@@ -91,6 +92,12 @@ public class SegmentStoreScatterDataProvider extends AbstractTmfTraceDataProvide
     private static final String DEFAULT_CATEGORY = "default"; //$NON-NLS-1$
     private static final String GROUP_PREFIX = "group"; //$NON-NLS-1$
     private static final AtomicLong ENTRY_ID = new AtomicLong();
+    /*
+     * Minimal number of segments per pixel, on average, in the range of a
+     * query for the query to be answered from the summary of the segment
+     * store
+     */
+    private static final int MIN_SEGMENTS_PER_PIXEL = 16;
 
     private final ISegmentStoreProvider fProvider;
     private final String fId;
@@ -366,21 +373,75 @@ public class SegmentStoreScatterDataProvider extends AbstractTmfTraceDataProvide
             // this would return an empty map even if we did the queries.
             return TmfXyResponseFactory.create(Objects.requireNonNull(Messages.SegmentStoreScatterGraphViewer_title), Collections.emptyList(), true);
         }
-        long pixelSize = Math.max(1, (end - start) / filter.getTimesRequested().length);
-        final Iterable<ISegment> intersectingElements = Iterables.filter(segStore.getIntersectingElements(start, end, SegmentComparators.INTERVAL_START_COMPARATOR), segment -> {
-            CheckSegmentType cs = new CheckSegmentType(prefix, types.keySet());
-            return cs.test(segment);
-        });
-        final Iterable<ISegment> displayData = compactList(start, intersectingElements, pixelSize);
+        int nbTimes = filter.getTimesRequested().length;
+        long pixelSize = Math.max(1, (end - start) / nbTimes);
+        CheckSegmentType cs = new CheckSegmentType(prefix, types.keySet());
 
         IAnalysisModule module = (fProvider instanceof IAnalysisModule) ? (IAnalysisModule) fProvider : null;
         boolean complete = module == null || module.isQueryable(filter.getEnd());
 
-        // For each visible segments, add start time to x value and duration for
-        // y value
+        /*
+         * When zoomed out on many segments, the segments that start in the
+         * buckets of the summary that are in the range are drawn from the
+         * segments of minimum and maximum duration of each bucket. The
+         * filters need the segments, so they are never answered from the
+         * summary.
+         */
+        SegmentStoreSummary summary = (complete && predicates.isEmpty()) ? SegmentStoreSummary.get(segStore) : null;
+        int level = summary != null ? summary.getLevel(pixelSize) : -1;
+        Interior interior = (summary != null && level >= 0) ? summary.getInterior(start, end, level) : null;
+        if (summary == null || interior == null || summary.getCount(interior) < (long) nbTimes * MIN_SEGMENTS_PER_PIXEL) {
+            final Iterable<ISegment> intersectingElements = Iterables.filter(segStore.getIntersectingElements(start, end, SegmentComparators.INTERVAL_START_COMPARATOR), cs::test);
+            if (!addPoints(compactList(start, intersectingElements, pixelSize), prefix, types, predicates, monitor)) {
+                return TmfXyResponseFactory.createCancelledResponse(CommonStatusMessage.TASK_CANCELLED);
+            }
+        } else {
+            long interiorStart = interior.getStart();
+            long interiorEnd = interior.getEnd();
+            Iterable<ISegment> before = Iterables.filter(segStore.getIntersectingElements(start, Math.max(start, interiorStart - 1), SegmentComparators.INTERVAL_START_COMPARATOR),
+                    segment -> segment.getStart() < interiorStart && cs.test(segment));
+            if (!addPoints(compactList(start, before, pixelSize), prefix, types, predicates, monitor)) {
+                return TmfXyResponseFactory.createCancelledResponse(CommonStatusMessage.TASK_CANCELLED);
+            }
+            List<String> categories = new ArrayList<>();
+            for (String name : types.keySet()) {
+                categories.add(name.substring(prefix.length()));
+            }
+            summary.forEachExtreme(interior, categories, (category, segmentStart, length) -> {
+                Series series = types.get(prefix + category);
+                if (series != null) {
+                    series.addPoint(segmentStart, length, 0);
+                }
+            });
+            if (interiorEnd <= end) {
+                Iterable<ISegment> after = Iterables.filter(segStore.getIntersectingElements(interiorEnd, end, SegmentComparators.INTERVAL_START_COMPARATOR),
+                        segment -> segment.getStart() >= interiorEnd && cs.test(segment));
+                if (!addPoints(compactList(interiorEnd, after, pixelSize), prefix, types, predicates, monitor)) {
+                    return TmfXyResponseFactory.createCancelledResponse(CommonStatusMessage.TASK_CANCELLED);
+                }
+            }
+        }
+
+        List<ISeriesModel> seriesModelMap = new ArrayList<>();
+        for (Entry<String, Series> entry : types.entrySet()) {
+            SeriesModel seriesModel = entry.getValue().build();
+            seriesModelMap.add(seriesModel);
+        }
+        return TmfXyResponseFactory.create(Objects.requireNonNull(Messages.SegmentStoreScatterGraphViewer_title),
+                seriesModelMap, complete);
+    }
+
+    /**
+     * For each visible segments, add start time to x value and duration for y
+     * value
+     *
+     * @return false if the query was cancelled
+     */
+    private boolean addPoints(Iterable<ISegment> displayData, String prefix, Map<String, Series> types,
+            Map<Integer, Predicate<Multimap<String, Object>>> predicates, @Nullable IProgressMonitor monitor) {
         for (ISegment segment : displayData) {
             if (monitor != null && monitor.isCanceled()) {
-                return TmfXyResponseFactory.createCancelledResponse(CommonStatusMessage.TASK_CANCELLED);
+                return false;
             }
 
             String name = prefix + getSegmentName(segment);
@@ -393,14 +454,7 @@ public class SegmentStoreScatterDataProvider extends AbstractTmfTraceDataProvide
 
             addPoint(thisSeries, segment, predicates);
         }
-
-        List<ISeriesModel> seriesModelMap = new ArrayList<>();
-        for (Entry<String, Series> entry : types.entrySet()) {
-            SeriesModel seriesModel = entry.getValue().build();
-            seriesModelMap.add(seriesModel);
-        }
-        return TmfXyResponseFactory.create(Objects.requireNonNull(Messages.SegmentStoreScatterGraphViewer_title),
-                seriesModelMap, complete);
+        return true;
     }
 
     private static String getSegmentName(ISegment segment) {
@@ -0,0 +1,340 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.internal.analysis.timing.core.segmentstore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToIntFunction;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.segmentstore.core.ISegment;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Secondary index of a list of segments, sorted by a comparator. The index is
+ * a file that holds, for each rank in the sorted order, the position of the
+ * segment in the list and a key of the segment. A segment is found by its
+ * rank with one read of the file and one access to the list, so the list
+ * should be random access, like a snapshot of a segment store in its
+ * iteration order.
+ *
+ * The index is built with an external sort: the segments are sorted by runs
+ * of bounded size, and the runs are merged into the index file. The file can
+ * be read back in a later session, as long as the segments did not change.
+ * The keys are only used to check that the file was saved for the same
+ * segments.
+ */
+public final class SegmentStoreSortedIndex implements AutoCloseable {
+
+    private static final int MAGIC = 0x53534958; // "SSIX"
+    private static final int VERSION = 3;
+    /* Magic number, version and number of segments */
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+    /* Position and key of a segment */
+    private static final int RECORD_SIZE = 2 * Integer.BYTES;
+    /* Number of segments sorted in memory at once */
+    private static final int RUN_SIZE = 100000;
+    /* Number of ranks checked when an index is read back */
+    private static final int NB_SAMPLES = 16;
+
+    private final List<ISegment> fSegments;
+    private final FileChannel fChannel;
+    private final long fSize;
+    private final ByteBuffer fRecord = ByteBuffer.allocate(RECORD_SIZE);
+
+    private SegmentStoreSortedIndex(List<ISegment> segments, FileChannel channel, long size) {
+        fSegments = segments;
+        fChannel = channel;
+        fSize = size;
+    }
+
+    /**
+     * Sort segments and save the index to a file. Segments that are equal for
+     * the comparator keep their order in the list.
+     *
+     * @param segments
+     *            The segments, in the order of their positions
+     * @param comparator
+     *            The comparator of the index
+     * @param key
+     *            The key of the segments, saved to check the index when it is
+     *            read back
+     * @param file
+     *            The file of the index
+     * @return The sorted index
+     * @throws IOException
+     *             If the file cannot be written
+     */
+    public static SegmentStoreSortedIndex build(List<ISegment> segments, Comparator<ISegment> comparator, ToIntFunction<ISegment> key, Path file) throws IOException {
+        return build(segments, comparator, key, file, RUN_SIZE);
+    }
+
+    /**
+     * Sort segments with runs of a given size, see
+     * {@link #build(List, Comparator, ToIntFunction, Path)}
+     *
+     * @param segments
+     *            The segments, in the order of their positions
+     * @param comparator
+     *            The comparator of the index
+     * @param key
+     *            The key of the segments
+     * @param file
+     *            The file of the index
+     * @param runSize
+     *            The number of segments sorted in memory at once
+     * @return The sorted index
+     * @throws IOException
+     *             If the file cannot be written
+     */
+    @VisibleForTesting
+    public static SegmentStoreSortedIndex build(List<ISegment> segments, Comparator<ISegment> comparator, ToIntFunction<ISegment> key, Path file, int runSize) throws IOException {
+        /* Write to a temporary file, so a partial index is never read */
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+        List<Path> runs = new ArrayList<>();
+        try {
+            int size = segments.size();
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeLong(size);
+                if (size <= runSize) {
+                    /* All the segments fit in one run */
+                    writeRecords(output, sortRun(segments, comparator, 0, size), segments, key);
+                } else {
+                    for (int from = 0; from < size; from += runSize) {
+                        Path runFile = file.resolveSibling(file.getFileName() + ".run" + runs.size()); //$NON-NLS-1$
+                        runs.add(runFile);
+                        try (DataOutputStream runOutput = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(runFile)))) {
+                            writeRecords(runOutput, sortRun(segments, comparator, from, Math.min(size, from + runSize)), segments, key);
+                        }
+                    }
+                    merge(segments, comparator, runs, runSize, output);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            return new SegmentStoreSortedIndex(segments, FileChannel.open(file, StandardOpenOption.READ), size);
+        } finally {
+            for (Path runFile : runs) {
+                Files.deleteIfExists(runFile);
+            }
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Sort the positions of a run of segments, with a stable sort
+     */
+    private static Integer[] sortRun(List<ISegment> segments, Comparator<ISegment> comparator, int from, int to) {
+        Integer[] positions = new Integer[to - from];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = from + i;
+        }
+        Arrays.sort(positions, (position1, position2) -> comparator.compare(segments.get(position1), segments.get(position2)));
+        return positions;
+    }
+
+    private static void writeRecords(DataOutputStream output, Integer[] positions, List<ISegment> segments, ToIntFunction<ISegment> key) throws IOException {
+        for (int position : positions) {
+            output.writeInt(position);
+            output.writeInt(key.applyAsInt(segments.get(position)));
+        }
+    }
+
+    /**
+     * Merge the sorted runs into the index. The segment at the head of each
+     * run is read from the list to be compared.
+     */
+    private static void merge(List<ISegment> segments, Comparator<ISegment> comparator, List<Path> runs, int runSize, DataOutputStream output) throws IOException {
+        /* Ties are taken from the first run, to keep the order of the list */
+        PriorityQueue<RunHead> heads = new PriorityQueue<>(runs.size(), (head1, head2) -> {
+            int cmp = comparator.compare(segments.get(head1.fPosition), segments.get(head2.fPosition));
+            return cmp != 0 ? cmp : Integer.compare(head1.fRun, head2.fRun);
+        });
+        List<DataInputStream> inputs = new ArrayList<>();
+        try {
+            for (int i = 0; i < runs.size(); i++) {
+                DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(runs.get(i))));
+                inputs.add(input);
+                RunHead head = new RunHead(input, i, Math.min(runSize, segments.size() - i * runSize));
+                if (head.next()) {
+                    heads.add(head);
+                }
+            }
+            while (!heads.isEmpty()) {
+                RunHead head = heads.poll();
+                output.writeInt(head.fPosition);
+                output.writeInt(head.fKey);
+                if (head.next()) {
+                    heads.add(head);
+                }
+            }
+        } finally {
+            for (DataInputStream input : inputs) {
+                input.close();
+            }
+        }
+    }
+
+    /**
+     * The next record of a sorted run
+     */
+    private static class RunHead {
+        private final DataInputStream fInput;
+        private final int fRun;
+        private int fRemaining;
+        private int fPosition;
+        private int fKey;
+
+        public RunHead(DataInputStream input, int run, int size) {
+            fInput = input;
+            fRun = run;
+            fRemaining = size;
+        }
+
+        public boolean next() throws IOException {
+            if (fRemaining == 0) {
+                return false;
+            }
+            fRemaining--;
+            fPosition = fInput.readInt();
+            fKey = fInput.readInt();
+            return true;
+        }
+    }
+
+    /**
+     * Read an index saved by
+     * {@link #build(List, Comparator, ToIntFunction, Path)}. The index is
+     * checked against the number of segments and a sample of its ranks,
+     * rather than against all the segments.
+     *
+     * @param segments
+     *            The segments, in the order of their positions
+     * @param comparator
+     *            The comparator of the index
+     * @param key
+     *            The key of the segments
+     * @param file
+     *            The file of the index
+     * @return The index, or <code>null</code> if the file does not exist or
+     *         was saved for other segments
+     * @throws IOException
+     *             If the file cannot be read
+     */
+    public static @Nullable SegmentStoreSortedIndex load(List<ISegment> segments, Comparator<ISegment> comparator, ToIntFunction<ISegment> key, Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        SegmentStoreSortedIndex index = null;
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read the whole header
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                return null;
+            }
+            long size = header.getLong();
+            if (size != segments.size() || channel.size() != HEADER_SIZE + size * RECORD_SIZE) {
+                return null;
+            }
+            SegmentStoreSortedIndex loaded = new SegmentStoreSortedIndex(segments, channel, size);
+            if (loaded.isSampleValid(comparator, key)) {
+                index = loaded;
+            }
+            return index;
+        } finally {
+            if (index == null) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Check that a sample of the ranks have the keys of their segments, in
+     * order
+     */
+    private boolean isSampleValid(Comparator<ISegment> comparator, ToIntFunction<ISegment> key) throws IOException {
+        ISegment previous = null;
+        for (int i = 0; i < NB_SAMPLES && i < fSize; i++) {
+            readRecord(fSize * i / Math.min(NB_SAMPLES, fSize));
+            int position = fRecord.getInt();
+            if (position < 0 || position >= fSize) {
+                return false;
+            }
+            ISegment segment = fSegments.get(position);
+            if (key.applyAsInt(segment) != fRecord.getInt() || (previous != null && comparator.compare(previous, segment) > 0)) {
+                return false;
+            }
+            previous = segment;
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of segments of the index
+     *
+     * @return The number of segments
+     */
+    public long size() {
+        return fSize;
+    }
+
+    /**
+     * Get the segment at a rank
+     *
+     * @param rank
+     *            The rank in the sorted order, between 0 and {@link #size()}
+     *            exclusively
+     * @return The segment
+     * @throws IOException
+     *             If the index file cannot be read
+     */
+    public synchronized ISegment get(long rank) throws IOException {
+        readRecord(rank);
+        return fSegments.get(fRecord.getInt());
+    }
+
+    private void readRecord(long rank) throws IOException {
+        fRecord.clear();
+        long position = HEADER_SIZE + rank * RECORD_SIZE;
+        while (fRecord.hasRemaining()) {
+            if (fChannel.read(fRecord, position + fRecord.position()) < 0) {
+                throw new IOException("Truncated segment store index"); //$NON-NLS-1$
+            }
+        }
+        fRecord.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        fChannel.close();
+    }
+}
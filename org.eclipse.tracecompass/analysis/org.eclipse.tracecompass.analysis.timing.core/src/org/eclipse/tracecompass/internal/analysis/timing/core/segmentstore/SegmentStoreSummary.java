@@ -0,0 +1,457 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.internal.analysis.timing.core.segmentstore;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.segmentstore.core.ISegment;
+import org.eclipse.tracecompass.segmentstore.core.ISegmentStore;
+import org.eclipse.tracecompass.segmentstore.core.segment.interfaces.INamedSegment;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Multi-resolution summary of a segment store, built once, to answer the
+ * scatter and density queries of zoomed out views without iterating on all
+ * the segments.
+ *
+ * The segments are put in time buckets by their start time. The number of
+ * buckets of the finest level grows with the number of segments, and each
+ * other level merges the buckets of the level below two by two. Each bucket
+ * has the number of segments, their maximum duration and, per segment
+ * category, the segments of minimum and maximum duration. The buckets of the
+ * levels with at most {@link #NB_HISTOGRAM_BUCKETS} buckets also have a
+ * histogram of the durations, on a logarithmic scale with
+ * {@link #BINS_PER_OCTAVE} bins per power of two.
+ *
+ * The summary only covers the buckets that are fully in a query range, the
+ * segments at the edges of the range are read from the segment store.
+ */
+public final class SegmentStoreSummary {
+
+    /** Number of buckets of the finest level that has duration histograms */
+    public static final int NB_HISTOGRAM_BUCKETS = 1024;
+
+    /** Number of bins of the duration histograms per power of two */
+    public static final int BINS_PER_OCTAVE = 4;
+
+    /**
+     * Number of bins of the duration histograms, the first one is for the
+     * segments of null duration
+     */
+    public static final int NB_BINS = 1 + Long.SIZE * BINS_PER_OCTAVE;
+
+    /* Average number of segments per bucket of the finest level */
+    private static final int SEGMENTS_PER_BUCKET = 16;
+    private static final int MAX_BUCKETS = 1 << 20;
+    /* Maximum number of buckets of the finest level times categories */
+    private static final int MAX_EXTREMES = 1 << 20;
+    private static final String DEFAULT_CATEGORY = "default"; //$NON-NLS-1$
+
+    private static final Cache<ISegmentStore<ISegment>, SegmentStoreSummary> SUMMARIES = CacheBuilder.newBuilder().weakKeys().build();
+
+    /**
+     * Consumer of the segments of a category in a bucket
+     */
+    @FunctionalInterface
+    public interface IExtremeConsumer {
+        /**
+         * Consume a segment
+         *
+         * @param category
+         *            The category of the segment
+         * @param start
+         *            The start time of the segment
+         * @param length
+         *            The duration of the segment
+         */
+        void accept(String category, long start, long length);
+    }
+
+    /**
+     * The buckets of a level that are fully in a time range
+     */
+    public static final class Interior {
+        private final int fLevel;
+        private final int fFrom;
+        private final int fTo;
+        private final long fStart;
+        private final long fEnd;
+
+        private Interior(int level, int from, int to, long start, long end) {
+            fLevel = level;
+            fFrom = from;
+            fTo = to;
+            fStart = start;
+            fEnd = end;
+        }
+
+        /**
+         * Get the start time of the first bucket
+         *
+         * @return The start time, inclusive
+         */
+        public long getStart() {
+            return fStart;
+        }
+
+        /**
+         * Get the end time of the last bucket
+         *
+         * @return The end time, exclusive
+         */
+        public long getEnd() {
+            return fEnd;
+        }
+    }
+
+    /* Per category extremes, per level, per bucket */
+    private static final class Extremes {
+        private final long[][] fMinStart;
+        private final long[][] fMinLength;
+        private final long[][] fMaxStart;
+        private final long[][] fMaxLength;
+
+        public Extremes(int nbLevels) {
+            fMinStart = new long[nbLevels][];
+            fMinLength = new long[nbLevels][];
+            fMaxStart = new long[nbLevels][];
+            fMaxLength = new long[nbLevels][];
+            int finest = 1 << (nbLevels - 1);
+            for (int level = 0; level < nbLevels; level++) {
+                int nbBuckets = finest >> level;
+                fMinLength[level] = new long[nbBuckets];
+                fMaxLength[level] = new long[nbBuckets];
+                fMinStart[level] = new long[nbBuckets];
+                fMaxStart[level] = new long[nbBuckets];
+                Arrays.fill(fMinLength[level], Long.MAX_VALUE);
+                Arrays.fill(fMaxLength[level], -1);
+            }
+        }
+
+        public void add(int level, int bucket, long start, long length) {
+            if (length < fMinLength[level][bucket] || (length == fMinLength[level][bucket] && start < fMinStart[level][bucket])) {
+                fMinLength[level][bucket] = length;
+                fMinStart[level][bucket] = start;
+            }
+            if (length > fMaxLength[level][bucket] || (length == fMaxLength[level][bucket] && start < fMaxStart[level][bucket])) {
+                fMaxLength[level][bucket] = length;
+                fMaxStart[level][bucket] = start;
+            }
+        }
+
+        public void merge(int level, int bucket) {
+            for (int child = 2 * bucket; child <= 2 * bucket + 1; child++) {
+                if (fMaxLength[level - 1][child] >= 0) {
+                    add(level, bucket, fMinStart[level - 1][child], fMinLength[level - 1][child]);
+                    add(level, bucket, fMaxStart[level - 1][child], fMaxLength[level - 1][child]);
+                }
+            }
+        }
+    }
+
+    private final long fStart;
+    private final long fBucketWidth;
+    private final int fNbBuckets;
+    private final int fNbLevels;
+    private final int fHistogramLevel;
+    private final long[][] fCounts;
+    private final long[][] fMaxLengths;
+    private final long[][] fHistograms;
+    private final Map<String, Extremes> fExtremes = new HashMap<>();
+
+    /**
+     * Get the summary of a segment store, building it the first time. The
+     * segment store should be complete.
+     *
+     * @param segmentStore
+     *            The segment store
+     * @return The summary
+     */
+    public static SegmentStoreSummary get(ISegmentStore<ISegment> segmentStore) {
+        try {
+            return SUMMARIES.get(segmentStore, () -> new SegmentStoreSummary(segmentStore));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Build the summary of segments
+     *
+     * @param segments
+     *            The segments
+     */
+    public SegmentStoreSummary(Iterable<? extends ISegment> segments) {
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        long nbSegments = 0;
+        Set<String> categories = new HashSet<>();
+        for (ISegment segment : segments) {
+            start = Math.min(start, segment.getStart());
+            end = Math.max(end, segment.getStart());
+            nbSegments++;
+            categories.add(getCategory(segment));
+        }
+        if (start > end) {
+            start = 0;
+            end = 0;
+        }
+        /*
+         * Refine the finest level with the number of segments, as long as the
+         * extremes of all the categories stay bounded
+         */
+        long nbBuckets = Math.min(nbSegments / SEGMENTS_PER_BUCKET, MAX_EXTREMES / Math.max(1, categories.size()));
+        fNbBuckets = Math.max(NB_HISTOGRAM_BUCKETS, Integer.highestOneBit((int) Math.min(MAX_BUCKETS, nbBuckets)));
+        fNbLevels = Integer.numberOfTrailingZeros(fNbBuckets) + 1;
+        fHistogramLevel = Integer.numberOfTrailingZeros(fNbBuckets / NB_HISTOGRAM_BUCKETS);
+        fStart = start;
+        fBucketWidth = Math.max(1, (end - start) / fNbBuckets + 1);
+
+        fCounts = new long[fNbLevels][];
+        fMaxLengths = new long[fNbLevels][];
+        fHistograms = new long[fNbLevels][];
+        for (int level = 0; level < fNbLevels; level++) {
+            int levelBuckets = fNbBuckets >> level;
+            fCounts[level] = new long[levelBuckets];
+            fMaxLengths[level] = new long[levelBuckets];
+            Arrays.fill(fMaxLengths[level], -1);
+            fHistograms[level] = level >= fHistogramLevel ? new long[levelBuckets * NB_BINS] : new long[0];
+        }
+        for (ISegment segment : segments) {
+            int bucket = (int) ((segment.getStart() - fStart) / fBucketWidth);
+            long length = segment.getLength();
+            fCounts[0][bucket]++;
+            fMaxLengths[0][bucket] = Math.max(fMaxLengths[0][bucket], length);
+            fHistograms[fHistogramLevel][(bucket >> fHistogramLevel) * NB_BINS + getBin(length)]++;
+            fExtremes.computeIfAbsent(getCategory(segment), c -> new Extremes(fNbLevels)).add(0, bucket, segment.getStart(), length);
+        }
+        for (int level = 1; level < fNbLevels; level++) {
+            for (int bucket = 0; bucket < (fNbBuckets >> level); bucket++) {
+                fCounts[level][bucket] = fCounts[level - 1][2 * bucket] + fCounts[level - 1][2 * bucket + 1];
+                fMaxLengths[level][bucket] = Math.max(fMaxLengths[level - 1][2 * bucket], fMaxLengths[level - 1][2 * bucket + 1]);
+                if (level > fHistogramLevel) {
+                    for (int bin = 0; bin < NB_BINS; bin++) {
+                        fHistograms[level][bucket * NB_BINS + bin] = fHistograms[level - 1][2 * bucket * NB_BINS + bin] + fHistograms[level - 1][(2 * bucket + 1) * NB_BINS + bin];
+                    }
+                }
+                for (Extremes extremes : fExtremes.values()) {
+                    extremes.merge(level, bucket);
+                }
+            }
+        }
+    }
+
+    private static String getCategory(ISegment segment) {
+        return (segment instanceof INamedSegment) ? ((INamedSegment) segment).getName() : DEFAULT_CATEGORY;
+    }
+
+    /**
+     * Get the duration histogram bin of a duration
+     *
+     * @param length
+     *            The duration
+     * @return The bin
+     */
+    public static int getBin(long length) {
+        if (length <= 0) {
+            return 0;
+        }
+        int octave = Long.SIZE - 1 - Long.numberOfLeadingZeros(length);
+        int shift = octave - Integer.numberOfTrailingZeros(BINS_PER_OCTAVE);
+        long sub = (shift >= 0 ? length >> shift : length << -shift) & (BINS_PER_OCTAVE - 1);
+        return 1 + octave * BINS_PER_OCTAVE + (int) sub;
+    }
+
+    /**
+     * Get the smallest duration of a bin
+     *
+     * @param bin
+     *            The bin
+     * @return The smallest duration, inclusive
+     */
+    public static double getBinStart(int bin) {
+        if (bin == 0) {
+            return 0;
+        }
+        int octave = (bin - 1) / BINS_PER_OCTAVE;
+        int sub = (bin - 1) % BINS_PER_OCTAVE;
+        return Math.scalb((double) (BINS_PER_OCTAVE + sub) / BINS_PER_OCTAVE, octave);
+    }
+
+    /**
+     * Get the largest duration of a bin
+     *
+     * @param bin
+     *            The bin
+     * @return The largest duration, exclusive
+     */
+    public static double getBinEnd(int bin) {
+        if (bin == 0) {
+            return 1;
+        }
+        return getBinStart(bin) + Math.scalb(1.0 / BINS_PER_OCTAVE, (bin - 1) / BINS_PER_OCTAVE);
+    }
+
+    /**
+     * Get the finest level whose buckets are at least as wide as a duration
+     *
+     * @param resolution
+     *            The duration
+     * @return The level, or -1 if the buckets of the finest level are wider
+     *         than the duration
+     */
+    public int getLevel(long resolution) {
+        int level = -1;
+        while (level + 1 < fNbLevels && (fBucketWidth << (level + 1)) <= resolution) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Get the finest level whose buckets have duration histograms
+     *
+     * @return The level
+     */
+    public int getHistogramLevel() {
+        return fHistogramLevel;
+    }
+
+    /**
+     * Get the buckets of a level that are fully in a time range
+     *
+     * @param start
+     *            The start of the range, inclusive
+     * @param end
+     *            The end of the range, inclusive
+     * @param level
+     *            The level
+     * @return The buckets, or <code>null</code> if no bucket is in the range
+     */
+    public @Nullable Interior getInterior(long start, long end, int level) {
+        long width = fBucketWidth << level;
+        long from = Math.max(0, Math.floorDiv(start - fStart + width - 1, width));
+        long to = Math.min(fNbBuckets >> level, Math.floorDiv(end - fStart + 1, width));
+        if (from >= to) {
+            return null;
+        }
+        return new Interior(level, (int) from, (int) to, fStart + from * width, fStart + to * width);
+    }
+
+    /**
+     * Get the number of segments in buckets
+     *
+     * @param interior
+     *            The buckets
+     * @return The number of segments that start in the buckets
+     */
+    public long getCount(Interior interior) {
+        long count = 0;
+        for (int bucket = interior.fFrom; bucket < interior.fTo; bucket++) {
+            count += fCounts[interior.fLevel][bucket];
+        }
+        return count;
+    }
+
+    /**
+     * Get the maximum duration of the segments in buckets
+     *
+     * @param interior
+     *            The buckets
+     * @return The maximum duration, or -1 if there is no segment
+     */
+    public long getMaxLength(Interior interior) {
+        long max = -1;
+        for (int bucket = interior.fFrom; bucket < interior.fTo; bucket++) {
+            max = Math.max(max, fMaxLengths[interior.fLevel][bucket]);
+        }
+        return max;
+    }
+
+    /**
+     * Add the duration histogram of the segments in buckets
+     *
+     * @param interior
+     *            The buckets, of a level not finer than
+     *            {@link #getHistogramLevel()}
+     * @param histogram
+     *            The histogram of {@link #NB_BINS} bins to add to
+     */
+    public void addHistogram(Interior interior, long[] histogram) {
+        if (interior.fLevel < fHistogramLevel) {
+            throw new IllegalArgumentException("No histogram at level " + interior.fLevel); //$NON-NLS-1$
+        }
+        /* Use the coarsest buckets that are in the range */
+        int from = interior.fFrom;
+        int to = interior.fTo;
+        for (int level = interior.fLevel; from < to; level++) {
+            if ((from & 1) != 0) {
+                addBucketHistogram(level, from++, histogram);
+            }
+            if ((to & 1) != 0) {
+                addBucketHistogram(level, --to, histogram);
+            }
+            from >>= 1;
+            to >>= 1;
+        }
+    }
+
+    private void addBucketHistogram(int level, int bucket, long[] histogram) {
+        for (int bin = 0; bin < NB_BINS; bin++) {
+            histogram[bin] += fHistograms[level][bucket * NB_BINS + bin];
+        }
+    }
+
+    /**
+     * Get the segments of minimum and maximum duration of each bucket, in
+     * order of bucket
+     *
+     * @param interior
+     *            The buckets
+     * @param categories
+     *            The categories of the segments to get
+     * @param consumer
+     *            The consumer of the segments
+     */
+    public void forEachExtreme(Interior interior, Iterable<String> categories, IExtremeConsumer consumer) {
+        int level = interior.fLevel;
+        for (int bucket = interior.fFrom; bucket < interior.fTo; bucket++) {
+            for (String category : categories) {
+                Extremes extremes = fExtremes.get(category);
+                if (extremes == null || extremes.fMaxLength[level][bucket] < 0) {
+                    continue;
+                }
+                long minStart = extremes.fMinStart[level][bucket];
+                long maxStart = extremes.fMaxStart[level][bucket];
+                long minLength = extremes.fMinLength[level][bucket];
+                long maxLength = extremes.fMaxLength[level][bucket];
+                if (minStart == maxStart && minLength == maxLength) {
+                    consumer.accept(category, minStart, minLength);
+                } else if (minStart <= maxStart) {
+                    consumer.accept(category, minStart, minLength);
+                    consumer.accept(category, maxStart, maxLength);
+                } else {
+                    consumer.accept(category, maxStart, maxLength);
+                    consumer.accept(category, minStart, minLength);
+                }
+            }
+        }
+    }
+}
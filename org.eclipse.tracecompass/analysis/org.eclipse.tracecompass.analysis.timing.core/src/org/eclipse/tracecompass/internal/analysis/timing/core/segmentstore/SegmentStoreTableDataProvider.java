@@ -14,6 +14,9 @@
 
 package org.eclipse.tracecompass.internal.analysis.timing.core.segmentstore;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.DecimalFormat;
 import java.text.Format;
 import java.util.ArrayList;
@@ -51,7 +54,6 @@ import org.eclipse.tracecompass.internal.tmf.core.model.AbstractTmfTableDataProv
 import org.eclipse.tracecompass.internal.tmf.core.model.filters.FetchParametersUtils;
 import org.eclipse.tracecompass.segmentstore.core.ISegment;
 import org.eclipse.tracecompass.segmentstore.core.ISegmentStore;
-import org.eclipse.tracecompass.segmentstore.core.SegmentComparators;
 import org.eclipse.tracecompass.tmf.core.TmfStrings;
 import org.eclipse.tracecompass.tmf.core.analysis.IAnalysisModule;
 import org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils;
@@ -63,13 +65,14 @@ import org.eclipse.tracecompass.tmf.core.model.tree.TmfTreeModel;
 import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
 import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
 import org.eclipse.tracecompass.tmf.core.segment.ISegmentAspect;
-import org.eclipse.tracecompass.tmf.core.segment.SegmentDurationAspect;
 import org.eclipse.tracecompass.tmf.core.segment.SegmentEndTimeAspect;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
+import com.google.common.collect.ImmutableList;
 
 /**
  * This data provider will return a virtual table model (wrapped in a response)
@@ -80,77 +83,6 @@ import com.google.common.collect.HashBiMap;
  */
 public class SegmentStoreTableDataProvider extends AbstractTmfTableDataProvider implements ITmfVirtualTableDataProvider<TmfTreeDataModel, VirtualTableLine> {
 
-    /**
-     * A simple class to create checkpoints to index the segments of a segment
-     * store
-     */
-    private static class SegmentStoreIndex {
-        private long fCounter;
-        private long fStartTimestamp;
-        private long fLength;
-
-        public SegmentStoreIndex(long startTimeStamp, long counter, long length) {
-            fStartTimestamp = startTimeStamp;
-            fCounter = counter;
-            fLength = length;
-        }
-
-        public long getStartTimestamp() {
-            return fStartTimestamp;
-        }
-
-        public long getCounter() {
-            return fCounter;
-        }
-
-        public long getLength() {
-            return fLength;
-        }
-    }
-
-    /**
-     * A predicate implementation that is used to evaluate if a segment is the
-     * first of the checkpoint.
-     *
-     * @author Kyrollos Bekhet.
-     */
-    private static class SegmentPredicate implements Predicate<ISegment> {
-        private final long fStartTime;
-        private long fCount;
-        private long fLength;
-        private boolean fDurationComparator;
-
-        public SegmentPredicate(SegmentStoreIndex segmentIndex, String aspectName) {
-            fStartTime = segmentIndex.getStartTimestamp();
-            fCount = segmentIndex.getCounter();
-            fLength = segmentIndex.getLength();
-            fDurationComparator = aspectName.equals(SegmentDurationAspect.SEGMENT_DURATION_ASPECT.getName());
-        }
-
-        @Override
-        public boolean test(ISegment segment) {
-            if (isDurationValid(segment.getLength())) {
-                if (segment.getStart() > fStartTime) {
-                    return true;
-                }
-                if (segment.getStart() == fStartTime) {
-                    if (fCount == 0) {
-                        return true;
-                    }
-                    fCount--;
-                }
-            }
-            return false;
-        }
-
-        private boolean isDurationValid(long segmentLength) {
-            if (!fDurationComparator) {
-                return true;
-            }
-            return segmentLength == fLength;
-        }
-    }
-
     /**
      * A placeholder class to wrap a segment and its rank.
      *
@@ -174,62 +106,22 @@ public class SegmentStoreTableDataProvider extends AbstractTmfTableDataProvider
         }
     }
 
-    /**
-     * A wrapper class to encapsulate the indexes with the comparator that was
-     * used to create the indexes.
-     *
-     * @author Kyrollos Bekhet
-     */
-    private static final class SegmentIndexesComparatorWrapper {
-        private final List<SegmentStoreIndex> fIndexes;
-        private final Comparator<ISegment> fComparator;
-        private final String fAspectName;
-
-        @SuppressWarnings("null")
-        public SegmentIndexesComparatorWrapper() {
-            fComparator = SegmentComparators.INTERVAL_START_COMPARATOR.thenComparing(Comparator.comparingLong(ISegment::getLength));
-            fIndexes = new ArrayList<>();
-            fAspectName = StringUtils.EMPTY;
-        }
-
-        public SegmentIndexesComparatorWrapper(List<SegmentStoreIndex> indexes, Comparator<ISegment> comparator, String aspectName) {
-            fIndexes = indexes;
-            fComparator = comparator;
-            fAspectName = aspectName;
-        }
-
-        public SegmentStoreIndex getIndex(int rank) {
-            return fIndexes.get(rank);
-        }
-
-        public int getIndexesSize() {
-            return fIndexes.size();
-        }
-
-        public Comparator<ISegment> getComparator() {
-            return fComparator;
-        }
-
-        public String getAspectName() {
-            return fAspectName;
-        }
-    }
-
     /**
      * The id of the data provider
      */
     public static final String ID = "org.eclipse.tracecompass.analysis.timing.core.segmentstore.SegmentStoreTableDataProvider"; //$NON-NLS-1$
     private static BiMap<ISegmentAspect, Long> fAspectToIdMap = HashBiMap.create();
     private static final Format FORMATTER = new DecimalFormat("###,###.##"); //$NON-NLS-1$
-    private static final int STEP = 1000;
     private static final Logger LOGGER = TraceCompassLog.getLogger(SegmentStoreTableDataProvider.class);
     private static final String TABLE_COMPARATOR_EXPRESSION_KEY = "table_comparator_expression"; //$NON-NLS-1$
+    private static final String INDEX_FILE_EXTENSION = ".idx"; //$NON-NLS-1$
 
-    private Map<Long, SegmentIndexesComparatorWrapper> fAllIndexes;
-    private SegmentIndexesComparatorWrapper fDefaultWrapper;
+    private Map<Long, SegmentStoreSortedIndex> fAllIndexes;
+    private @Nullable SegmentStoreSortedIndex fDefaultIndex;
+    /* Snapshot of the segment store that the indexes resolve positions in */
+    private @Nullable List<ISegment> fSegments;
     private final String fId;
     private ISegmentStoreProvider fSegmentProvider;
-    private boolean fIsFirstAspect;
     private int fSegmentStoreSize;
 
     /**
@@ -248,24 +140,35 @@ public class SegmentStoreTableDataProvider extends AbstractTmfTableDataProvider
         super(trace);
         TraceCompassLogUtils.traceObjectCreation(LOGGER, Level.FINE, this);
         fId = analysisId;
-        fIsFirstAspect = true;
         fAllIndexes = new HashMap<>();
-        fDefaultWrapper = new SegmentIndexesComparatorWrapper();
         fSegmentProvider = segmentProvider;
     }
 
     @Override
     public void dispose() {
+        synchronized (fAllIndexes) {
+            for (SegmentStoreSortedIndex index : fAllIndexes.values()) {
+                try {
+                    index.close();
+                } catch (IOException e) {
+                    TraceCompassLogUtils.traceInstant(LOGGER, Level.WARNING, "error closing index", e.getMessage()); //$NON-NLS-1$
+                }
+            }
+            fAllIndexes.clear();
+            fDefaultIndex = null;
+            fSegments = null;
+        }
         TraceCompassLogUtils.traceObjectDestruction(LOGGER, Level.FINE, this, 10);
     }
 
     /**
-     * Build the indexes which will act like checkpoints for the data provider.
+     * Build the sorted index of an aspect, or read it from the supplementary
+     * files if it was saved in a previous session.
      *
      * @param id
      *            the id of the aspect in the {@link fAspectToIdMap}.
      * @param comparator
-     *            The comparator used to build the indexes array
+     *            The comparator used to sort the index
      * @param aspectName
      *            The name of the aspect.
      */
@@ -278,14 +181,17 @@ public class SegmentStoreTableDataProvider extends AbstractTmfTableDataProvider
             synchronized (fAllIndexes) {
                 try (FlowScopeLog scope = new FlowScopeLogBuilder(LOGGER, Level.FINE, "SegmentStoreTableDataProvider#buildIndex.buildingIndexes").build()) { //$NON-NLS-1$
                     TraceCompassLogUtils.traceObjectCreation(LOGGER, Level.FINE, fAllIndexes);
-                    Iterable<ISegment> sortedSegmentStore = segStore.iterator(comparator);
-                    List<SegmentStoreIndex> indexes = getIndexes(sortedSegmentStore);
-                    if (fIsFirstAspect) {
-                        fDefaultWrapper = new SegmentIndexesComparatorWrapper(indexes, comparator, aspectName);
-                        fIsFirstAspect = false;
-                        fAllIndexes.put(id, fDefaultWrapper);
-                    } else {
-                        fAllIndexes.put(id, new SegmentIndexesComparatorWrapper(indexes, comparator, aspectName));
+                    List<ISegment> segments = fSegments;
+                    if (segments == null) {
+                        segments = ImmutableList.copyOf(segStore);
+                        fSegments = segments;
+                    }
+                    SegmentStoreSortedIndex index = getSortedIndex(segments, comparator, aspectName);
+                    if (index != null) {
+                        if (fDefaultIndex == null) {
+                            fDefaultIndex = index;
+                        }
+                        fAllIndexes.put(id, index);
                     }
                 } catch (Exception ex) {
                     TraceCompassLogUtils.traceInstant(LOGGER, Level.SEVERE, "error build index", ex.getMessage()); //$NON-NLS-1$
@@ -296,24 +202,34 @@ public class SegmentStoreTableDataProvider extends AbstractTmfTableDataProvider
         }
     }
 
-    private static List<SegmentStoreIndex> getIndexes(Iterable<ISegment> segmentStore) {
-        long counter = 0;
-        long i = 0;
-        long previousTimestamp = Long.MAX_VALUE;
-        List<SegmentStoreIndex> indexes = new ArrayList<>();
-        for (ISegment segment : segmentStore) {
-            if (segment.getStart() == previousTimestamp) {
-                counter++;
-            } else {
-                previousTimestamp = segment.getStart();
-                counter = 0;
-            }
-            if (i % STEP == 0) {
-                indexes.add(new SegmentStoreIndex(segment.getStart(), counter, segment.getLength()));
+    private @Nullable SegmentStoreSortedIndex getSortedIndex(List<ISegment> segments, Comparator<ISegment> comparator, String aspectName) {
+        Path file = Paths.get(TmfTraceManager.getSupplementaryFileDir(getTrace()), fId + '.' + aspectName.replaceAll("\\W", "_") + INDEX_FILE_EXTENSION); //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            SegmentStoreSortedIndex index = SegmentStoreSortedIndex.load(segments, comparator, this::getSegmentKey, file);
+            if (index != null) {
+                return index;
             }
-            i++;
+        } catch (IOException e) {
+            TraceCompassLogUtils.traceInstant(LOGGER, Level.WARNING, "error reading index", e.getMessage()); //$NON-NLS-1$
+        }
+        try {
+            return SegmentStoreSortedIndex.build(segments, comparator, this::getSegmentKey, file);
+        } catch (IOException e) {
+            TraceCompassLogUtils.traceInstant(LOGGER, Level.WARNING, "error building index", e.getMessage()); //$NON-NLS-1$
+        }
+        return null;
+    }
+
+    /**
+     * Get the key of a segment in the sorted indexes, which checks that a
+     * saved index matches the segments
+     */
+    private int getSegmentKey(ISegment segment) {
+        int key = 1;
+        for (ISegmentAspect aspect : fSegmentProvider.getSegmentAspects()) {
+            key = 31 * key + String.valueOf(aspect.resolve(segment)).hashCode();
         }
-        return indexes;
+        return key;
     }
 
     @Override
@@ -364,7 +280,6 @@ public class SegmentStoreTableDataProvider extends AbstractTmfTableDataProvider
         if (queryFilter == null) {
             return new TmfModelResponse<>(null, ITmfResponse.Status.FAILED, CommonStatusMessage.INCORRECT_QUERY_PARAMETERS);
         }
-        SegmentIndexesComparatorWrapper indexesComparatorWrapper = getIndexesComparatorOrDefault(fetchParameters);
         Map<Long, ISegmentAspect> aspects = getAspectsFromColumnId(queryFilter.getColumnsId(), monitor);
         if (aspects.isEmpty()) {
             return new TmfModelResponse<>(new TmfVirtualTableModel<>(Collections.emptyList(), Collections.emptyList(), queryFilter.getIndex(), 0), ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
@@ -381,7 +296,10 @@ public class SegmentStoreTableDataProvider extends AbstractTmfTableDataProvider
             synchronized (fAllIndexes) {
                 try (FlowScopeLog scope = new FlowScopeLogBuilder(LOGGER, Level.FINE, "SegmentStoreTableDataProvider#fetchLines").build()) { //$NON-NLS-1$
                     TraceCompassLogUtils.traceObjectCreation(LOGGER, Level.FINER, fAllIndexes);
-                    return extractRequestedLines(queryFilter, fetchParameters, segStore, aspects, indexesComparatorWrapper);
+                    SegmentStoreSortedIndex index = getIndexOrDefault(fetchParameters);
+                    if (index != null) {
+                        return extractRequestedLines(queryFilter, fetchParameters, index, aspects);
+                    }
                 } catch (Exception ex) {
                     TraceCompassLogUtils.traceInstant(LOGGER, Level.SEVERE, "error fetching lines ", ex.getMessage()); //$NON-NLS-1$
                 } finally {
@@ -392,20 +310,11 @@ public class SegmentStoreTableDataProvider extends AbstractTmfTableDataProvider
         return new TmfModelResponse<>(null, ITmfResponse.Status.FAILED, CommonStatusMessage.INCORRECT_QUERY_PARAMETERS);
     }
 
-    private static TmfModelResponse<ITmfVirtualTableModel<VirtualTableLine>> extractRequestedLines(VirtualTableQueryFilter queryFilter, Map<String, Object> fetchParameters, ISegmentStore<ISegment> segmentStore, Map<Long, ISegmentAspect> aspects,
-            SegmentIndexesComparatorWrapper indexesComparatorWrapper) {
+    private static TmfModelResponse<ITmfVirtualTableModel<VirtualTableLine>> extractRequestedLines(VirtualTableQueryFilter queryFilter, Map<String, Object> fetchParameters, SegmentStoreSortedIndex index, Map<Long, ISegmentAspect> aspects) throws IOException {
         List<Long> columnIds = new ArrayList<>(aspects.keySet());
         List<VirtualTableLine> lines = new ArrayList<>();
 
-        int startIndexRank = (int) (queryFilter.getIndex() / STEP);
-        int actualStartQueryIndex = (int) (queryFilter.getIndex() % STEP);
-        SegmentStoreIndex segIndex = indexesComparatorWrapper.getIndex(startIndexRank);
-        SegmentPredicate filter = new SegmentPredicate(segIndex, indexesComparatorWrapper.getAspectName());
-        long start = segIndex.getStartTimestamp();
-
-        int endIndexRank = (int) ((queryFilter.getIndex() + queryFilter.getCount() + STEP - 1) / STEP);
-        long end = getEndTimestamp(endIndexRank, indexesComparatorWrapper);
-
+        long startRank = queryFilter.getIndex();
         VirtualTableQueryFilter localQueryFilter = queryFilter;
         @Nullable Predicate<ISegment> searchFilter = generateFilter(fetchParameters);
 
@@ -423,56 +332,46 @@ public class SegmentStoreTableDataProvider extends AbstractTmfTableDataProvider
             }
             @Nullable WrappedSegment segment = null;
             if (direction == Direction.NEXT) {
-                segment = getNextWrappedSegmentMatching(searchFilter, startIndexRank, actualStartQueryIndex, segmentStore, indexesComparatorWrapper, lines, aspects, queryFilter.getCount());
+                segment = getNextWrappedSegmentMatching(searchFilter, startRank, index, lines, aspects, queryFilter.getCount());
             } else {
-                segment = getPreviousWrappedSegmentMatching(searchFilter, startIndexRank, actualStartQueryIndex, segmentStore, indexesComparatorWrapper, lines, aspects, queryFilter.getCount());
+                segment = getPreviousWrappedSegmentMatching(searchFilter, startRank, index, lines, aspects, queryFilter.getCount());
             }
             if (segment != null) {
                 localQueryFilter = new VirtualTableQueryFilter(queryFilter.getColumnsId(), segment.getRank(), queryFilter.getCount());
-                long nextSegmentRank = segment.getRank() + 1;
-                startIndexRank = (int) (nextSegmentRank / STEP);
-                actualStartQueryIndex = (int) (nextSegmentRank % STEP);
-                segIndex = indexesComparatorWrapper.getIndex(startIndexRank);
-                start = segIndex.getStartTimestamp();
-                endIndexRank = (int) ((nextSegmentRank + localQueryFilter.getCount() + STEP - 1) / STEP);
-                end = getEndTimestamp(endIndexRank, indexesComparatorWrapper);
+                startRank = segment.getRank() + 1;
             }
             if ((queryFilter.getCount() == 1) || (segment == null)) {
-                return new TmfModelResponse<>(new TmfVirtualTableModel<>(columnIds, lines, localQueryFilter.getIndex(), segmentStore.size()), ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+                return new TmfModelResponse<>(new TmfVirtualTableModel<>(columnIds, lines, localQueryFilter.getIndex(), index.size()), ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
             }
         }
 
-        List<ISegment> newSegStore = segmentStore.getIntersectingElements(start, end, indexesComparatorWrapper.getComparator(), filter);
-        for (int i = actualStartQueryIndex; i < newSegStore.size(); i++) {
+        for (long rank = startRank; rank < index.size(); rank++) {
             if (queryFilter.getCount() == lines.size()) {
                 break;
             }
-            long lineNumber = localQueryFilter.getIndex() + lines.size();
-            VirtualTableLine newLine = buildSegmentStoreTableLine(aspects, newSegStore.get(i), lineNumber, searchFilter);
+            ISegment segment = index.get(rank);
+            VirtualTableLine newLine = buildSegmentStoreTableLine(aspects, segment, rank, searchFilter);
             lines.add(newLine);
         }
-        return new TmfModelResponse<>(new TmfVirtualTableModel<>(columnIds, lines, localQueryFilter.getIndex(), segmentStore.size()), ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+        return new TmfModelResponse<>(new TmfVirtualTableModel<>(columnIds, lines, localQueryFilter.getIndex(), index.size()), ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
     }
 
-    private SegmentIndexesComparatorWrapper getIndexesComparatorOrDefault(Map<String, Object> fetchParameters) {
+    private @Nullable SegmentStoreSortedIndex getIndexOrDefault(Map<String, Object> fetchParameters) {
         @Nullable Long key = extractColumnId(fetchParameters.get(TABLE_COMPARATOR_EXPRESSION_KEY));
-        return fAllIndexes.getOrDefault(key, fDefaultWrapper);
+        SegmentStoreSortedIndex index = fAllIndexes.get(key);
+        return index != null ? index : fDefaultIndex;
     }
 
     /**
-     * Retrieve from a segment store the next segment starting from a given
-     * index, matching the given predicate.
+     * Retrieve from a sorted index the next segment starting from a given
+     * rank, matching the given predicate.
      *
      * @param searchFilter
      *            The predicate to match.
-     * @param startIndexRank
-     *            The initial start-time index rank to search from.
-     * @param startQueryIndex
-     *            The initial start index to query from.
-     * @param segmentStore
-     *            The segment store from where the segments will be fetched.
-     * @param indexesComparatorWrapper
-     *            The segment indexes comparator wrapper to use.
+     * @param startRank
+     *            The rank to search from.
+     * @param index
+     *            The sorted index of the segments.
      * @param lines
      *            The virtual table lines to add the found segments to.
      * @param aspects
@@ -482,46 +381,36 @@ public class SegmentStoreTableDataProvider extends AbstractTmfTableDataProvider
      *
      * @return A {@link WrappedSegment} that contains the matching next segment
      *         found after a given index.
+     * @throws IOException
+     *             If the index cannot be read
      */
-    private static @Nullable WrappedSegment getNextWrappedSegmentMatching(Predicate<ISegment> searchFilter, int startIndexRank, int startQueryIndex, ISegmentStore<ISegment> segmentStore,
-            SegmentIndexesComparatorWrapper indexesComparatorWrapper, List<VirtualTableLine> lines, Map<Long, ISegmentAspect> aspects, int count) {
+    private static @Nullable WrappedSegment getNextWrappedSegmentMatching(Predicate<ISegment> searchFilter, long startRank, SegmentStoreSortedIndex index,
+            List<VirtualTableLine> lines, Map<Long, ISegmentAspect> aspects, int count) throws IOException {
         WrappedSegment first = null;
-        int startTimeIndexRank = startIndexRank;
-        int actualStartQueryIndex = startQueryIndex;
-        while (startTimeIndexRank < indexesComparatorWrapper.getIndexesSize()) {
-            List<ISegment> segments = getIntersectingElements(segmentStore, indexesComparatorWrapper, startTimeIndexRank);
-            for (int i = actualStartQueryIndex; i < segments.size(); i++) {
-                ISegment segment = segments.get(i);
-                if (searchFilter.test(segment)) {
-                    long rank = ((long) startTimeIndexRank * STEP) + i;
-                    WrappedSegment wrapped = new WrappedSegment(segment, rank);
-                    lines.add(buildSegmentStoreTableLine(aspects, wrapped.getOriginalSegment(), wrapped.getRank(), searchFilter));
-                    first = (first == null ? wrapped : first);
-                    if (lines.size() == count) {
-                        return first;
-                    }
+        for (long rank = startRank; rank < index.size(); rank++) {
+            ISegment segment = index.get(rank);
+            if (searchFilter.test(segment)) {
+                WrappedSegment wrapped = new WrappedSegment(segment, rank);
+                lines.add(buildSegmentStoreTableLine(aspects, wrapped.getOriginalSegment(), wrapped.getRank(), searchFilter));
+                first = (first == null ? wrapped : first);
+                if (lines.size() == count) {
+                    return first;
                 }
             }
-            actualStartQueryIndex = 0;
-            startTimeIndexRank++;
         }
         return first;
     }
 
     /**
-     * Retrieve from a segment store the previous segment starting from a given
-     * index, matching the given predicate.
+     * Retrieve from a sorted index the previous segment starting from a given
+     * rank, matching the given predicate.
      *
      * @param searchFilter
      *            The predicate to match.
-     * @param startIndexRank
-     *            The initial start-time index rank to search from.
-     * @param startQueryIndex
-     *            The initial start index to query from.
-     * @param segmentStore
-     *            The segment store from where the segments will be fetched.
-     * @param indexesComparatorWrapper
-     *            The segment indexes comparator wrapper to use.
+     * @param startRank
+     *            The rank to search from.
+     * @param index
+     *            The sorted index of the segments.
      * @param lines
      *            The virtual table lines to add the found segments to.
      * @param aspects
@@ -531,40 +420,26 @@ public class SegmentStoreTableDataProvider extends AbstractTmfTableDataProvider
      *
      * @return A {@link WrappedSegment} that contains the matching previous
      *         segment found before a given index.
+     * @throws IOException
+     *             If the index cannot be read
      */
-    private static @Nullable WrappedSegment getPreviousWrappedSegmentMatching(Predicate<ISegment> searchFilter, int startIndexRank, int startQueryIndex, ISegmentStore<ISegment> segmentStore,
-            SegmentIndexesComparatorWrapper indexesComparatorWrapper, List<VirtualTableLine> lines, Map<Long, ISegmentAspect> aspects, int count) {
+    private static @Nullable WrappedSegment getPreviousWrappedSegmentMatching(Predicate<ISegment> searchFilter, long startRank, SegmentStoreSortedIndex index,
+            List<VirtualTableLine> lines, Map<Long, ISegmentAspect> aspects, int count) throws IOException {
         WrappedSegment first = null;
-        int startTimeIndexRank = startIndexRank;
-        int actualStartQueryIndex = startQueryIndex;
-        while (startTimeIndexRank >= 0) {
-            List<ISegment> segments = getIntersectingElements(segmentStore, indexesComparatorWrapper, startTimeIndexRank);
-            for (int i = Math.min(segments.size() - 1, actualStartQueryIndex); i >= 0; i--) {
-                ISegment segment = segments.get(i);
-                if (searchFilter.test(segment)) {
-                    long rank = ((long) startTimeIndexRank * STEP) + i;
-                    WrappedSegment wrapped = new WrappedSegment(segment, rank);
-                    lines.add(buildSegmentStoreTableLine(aspects, wrapped.getOriginalSegment(), wrapped.getRank(), searchFilter));
-                    first = (first == null ? wrapped : first);
-                    if (lines.size() == count) {
-                        return first;
-                    }
+        for (long rank = Math.min(startRank, index.size() - 1); rank >= 0; rank--) {
+            ISegment segment = index.get(rank);
+            if (searchFilter.test(segment)) {
+                WrappedSegment wrapped = new WrappedSegment(segment, rank);
+                lines.add(buildSegmentStoreTableLine(aspects, wrapped.getOriginalSegment(), wrapped.getRank(), searchFilter));
+                first = (first == null ? wrapped : first);
+                if (lines.size() == count) {
+                    return first;
                 }
             }
-            actualStartQueryIndex = STEP;
-            startTimeIndexRank--;
         }
         return first;
     }
 
-    private static List<ISegment> getIntersectingElements(ISegmentStore<ISegment> segmentStore, SegmentIndexesComparatorWrapper indexesComparatorWrapper, int startTimeIndexRank) {
-        int endTimeIndexRank = startTimeIndexRank + 1;
-        SegmentStoreIndex segIndex = indexesComparatorWrapper.getIndex(startTimeIndexRank);
-        SegmentPredicate filter = new SegmentPredicate(segIndex, indexesComparatorWrapper.getAspectName());
-        long end = getEndTimestamp(endTimeIndexRank, indexesComparatorWrapper);
-        return segmentStore.getIntersectingElements(segIndex.getStartTimestamp(), end, indexesComparatorWrapper.getComparator(), filter);
-    }
-
     /**
      * Generates a predicate filter based on the search map found in the given
      * query parameters.
@@ -713,15 +588,4 @@ public class SegmentStoreTableDataProvider extends AbstractTmfTableDataProvider
         }
         return aspectParsed;
     }
-
-    private static long getEndTimestamp(int position, SegmentIndexesComparatorWrapper indexComparatorWrapper) {
-        if (position >= indexComparatorWrapper.getIndexesSize()) {
-            boolean isEndTimeComparatorUsed = indexComparatorWrapper.getAspectName().equals(SegmentEndTimeAspect.SEGMENT_END_TIME_ASPECT.getName());
-            if (isEndTimeComparatorUsed) {
-                return 0;
-            }
-            return Long.MAX_VALUE;
-        }
-        return indexComparatorWrapper.getIndex(position).getStartTimestamp();
-    }
 }
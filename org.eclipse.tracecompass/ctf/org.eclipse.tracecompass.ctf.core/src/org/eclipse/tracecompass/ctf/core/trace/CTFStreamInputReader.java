@@ -20,7 +20,9 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -33,6 +35,7 @@ import org.eclipse.tracecompass.ctf.core.event.types.IDeclaration;
 import org.eclipse.tracecompass.ctf.core.event.types.StructDeclaration;
 import org.eclipse.tracecompass.internal.ctf.core.Activator;
 import org.eclipse.tracecompass.internal.ctf.core.SafeMappedByteBuffer;
+import org.eclipse.tracecompass.internal.ctf.core.event.EventDeclaration;
 import org.eclipse.tracecompass.internal.ctf.core.trace.CTFPacketReader;
 import org.eclipse.tracecompass.internal.ctf.core.trace.NullPacketReader;
 
@@ -84,6 +87,11 @@ public class CTFStreamInputReader implements AutoCloseable {
      */
     private boolean fLive = false;
 
+    /**
+     * IDs of the events whose contexts and payload are not read
+     */
+    private @Nullable BitSet fSkippedEvents = null;
+
     // ------------------------------------------------------------------------
     // Constructors
     // ------------------------------------------------------------------------
@@ -142,7 +150,9 @@ public class CTFStreamInputReader implements AutoCloseable {
             bitBuffer.position(packet.getPayloadStartBits());
             IDeclaration eventHeaderDeclaration = getStreamInput().getStream().getEventHeaderDeclaration();
             CTFTrace trace = getStreamInput().getStream().getTrace();
-            ctfPacketReader = new CTFPacketReader(bitBuffer, packet, getEventDeclarations(), eventHeaderDeclaration, getStreamEventContextDecl(), trace.getPacketHeaderDef(), trace);
+            CTFPacketReader packetReader = new CTFPacketReader(bitBuffer, packet, getEventDeclarations(), eventHeaderDeclaration, getStreamEventContextDecl(), trace.getPacketHeaderDef(), trace);
+            packetReader.setSkippedEvents(fSkippedEvents);
+            ctfPacketReader = packetReader;
         }
         return ctfPacketReader;
     }
@@ -272,6 +282,40 @@ public class CTFStreamInputReader implements AutoCloseable {
         return fLive;
     }
 
+    /**
+     * Only read the contexts and payload of some events. The other events are
+     * still read, with their header and timestamp, but without their fields
+     * when they are of a fixed size.
+     *
+     * @param eventNames
+     *            The names of the events to read completely, or
+     *            <code>null</code> to read all the events completely
+     * @since 4.2
+     */
+    public void setEventFilter(@Nullable Set<String> eventNames) {
+        BitSet skippedEvents = null;
+        if (eventNames != null) {
+            skippedEvents = new BitSet();
+            StructDeclaration streamEventContextDecl = getStreamEventContextDecl();
+            List<@Nullable IEventDeclaration> declarations = getEventDeclarations();
+            for (int i = 0; i < declarations.size(); i++) {
+                IEventDeclaration declaration = declarations.get(i);
+                if (declaration instanceof EventDeclaration && !eventNames.contains(declaration.getName())
+                        && ((EventDeclaration) declaration).canSkip(streamEventContextDecl)) {
+                    skippedEvents.set(i);
+                }
+            }
+            if (skippedEvents.isEmpty()) {
+                skippedEvents = null;
+            }
+        }
+        fSkippedEvents = skippedEvents;
+        IPacketReader packetReader = fPacketReader;
+        if (packetReader instanceof CTFPacketReader) {
+            ((CTFPacketReader) packetReader).setSkippedEvents(skippedEvents);
+        }
+    }
+
     /**
      * Get the event context of the stream
      *
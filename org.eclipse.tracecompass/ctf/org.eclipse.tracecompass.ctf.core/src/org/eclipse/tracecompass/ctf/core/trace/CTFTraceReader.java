@@ -26,6 +26,7 @@ import java.util.Objects;
 import java.util.PriorityQueue;
 import java.util.Set;
 
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.ctf.core.CTFException;
 import org.eclipse.tracecompass.ctf.core.event.IEventDeclaration;
 import org.eclipse.tracecompass.ctf.core.event.IEventDefinition;
@@ -84,6 +85,11 @@ public class CTFTraceReader implements AutoCloseable {
      */
     private boolean fClosed = false;
 
+    /**
+     * Names of the events to read completely, null for all
+     */
+    private @Nullable Set<String> fEventFilter = null;
+
     // ------------------------------------------------------------------------
     // Constructors
     // ------------------------------------------------------------------------
@@ -254,6 +260,7 @@ public class CTFTraceReader implements AutoCloseable {
                 try (CTFStreamInputReader streamInputReader = new CTFStreamInputReader(checkNotNull(streamInput))) {
                     if (!fStreamInputReaders.contains(streamInputReader)) {
                         CTFStreamInputReader streamInputReaderToAdd = new CTFStreamInputReader(checkNotNull(streamInput));
+                        streamInputReaderToAdd.setEventFilter(fEventFilter);
                         streamInputReaderToAdd.readNextEvent();
                         fStreamInputReaders.add(streamInputReaderToAdd);
                         readers.add(streamInputReaderToAdd);
@@ -542,6 +549,26 @@ public class CTFTraceReader implements AutoCloseable {
         }
     }
 
+    /**
+     * Only read the contexts and payload of some events. The other events are
+     * still returned in order, but without their fields when these are of a
+     * fixed size. This saves the decoding of the events a reader is not
+     * interested in.
+     *
+     * @param eventNames
+     *            The names of the events to read completely, or
+     *            <code>null</code> to read all the events completely
+     * @since 4.2
+     */
+    public void setEventFilter(@Nullable Set<String> eventNames) {
+        fEventFilter = eventNames;
+        synchronized (fStreamInputReaders) {
+            for (CTFStreamInputReader reader : fStreamInputReaders) {
+                reader.setEventFilter(eventNames);
+            }
+        }
+    }
+
     /**
      * Get if the trace is to read live or not
      *
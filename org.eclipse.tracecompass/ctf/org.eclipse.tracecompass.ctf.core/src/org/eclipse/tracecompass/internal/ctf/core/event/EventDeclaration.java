@@ -40,6 +40,7 @@ import org.eclipse.tracecompass.ctf.core.trace.CTFIOException;
 import org.eclipse.tracecompass.ctf.core.trace.CTFStreamInputReader;
 import org.eclipse.tracecompass.ctf.core.trace.CTFTrace;
 import org.eclipse.tracecompass.ctf.core.trace.ICTFPacketDescriptor;
+import org.eclipse.tracecompass.internal.ctf.core.event.types.DeclarationSkipper;
 import org.eclipse.tracecompass.internal.ctf.core.event.types.composite.EventHeaderDefinition;
 import org.eclipse.tracecompass.internal.ctf.core.trace.CTFStream;
 
@@ -143,6 +144,68 @@ public class EventDeclaration implements IEventDeclaration {
                 packetDescriptor);
     }
 
+    /**
+     * Check if the context and payload of this event can be skipped, that is
+     * if they are of a fixed size
+     *
+     * @param streamEventContextDecl
+     *            event context of the stream
+     * @return if {@link #skipDefinition} can be used for this event
+     */
+    public boolean canSkip(@Nullable StructDeclaration streamEventContextDecl) {
+        return DeclarationSkipper.canSkip(streamEventContextDecl) && DeclarationSkipper.canSkip(fContext) && DeclarationSkipper.canSkip(fFields);
+    }
+
+    /**
+     * Creates an instance of EventDefinition corresponding to this
+     * declaration, without reading the contexts and payload of the event. The
+     * input is moved past them. This can only be used when
+     * {@link #canSkip(StructDeclaration)} is true.
+     *
+     * @param streamEventContextDecl
+     *            event context
+     * @param packetDescriptor
+     *            current packet
+     * @param packetContext
+     *            packet context
+     * @param eventHeaderDef
+     *            The event header definition
+     * @param input
+     *            the bitbuffer input source
+     * @param prevTimestamp
+     *            The timestamp when the event was taken
+     * @return A new EventDefinition without fields, or <code>null</code> if
+     *         the timestamp is not in the event header, in which case the input
+     *         is not moved
+     * @throws CTFException
+     *             As a bitbuffer is used to read, it could have wrapped
+     *             IOExceptions.
+     */
+    public @Nullable EventDefinition skipDefinition(StructDeclaration streamEventContextDecl, ICTFPacketDescriptor packetDescriptor, ICompositeDefinition packetContext, ICompositeDefinition eventHeaderDef, @NonNull BitBuffer input, long prevTimestamp)
+            throws CTFException {
+        boolean hasTimestamp = (eventHeaderDef instanceof EventHeaderDefinition) ||
+                (eventHeaderDef instanceof StructDefinition && ((StructDefinition) eventHeaderDef).lookupDefinition(CTFStrings.TIMESTAMP) instanceof IntegerDefinition);
+        if (!hasTimestamp) {
+            return null;
+        }
+        DeclarationSkipper.skip(streamEventContextDecl, input);
+        DeclarationSkipper.skip(fContext, input);
+        DeclarationSkipper.skip(fFields, input);
+        long timestamp = calculateTimestamp(eventHeaderDef, prevTimestamp, null, null);
+
+        int cpu = (int) packetDescriptor.getTargetId();
+        return new EventDefinition(
+                this,
+                cpu,
+                timestamp,
+                eventHeaderDef,
+                null,
+                null,
+                packetContext,
+                null,
+                packetDescriptor);
+    }
+
     private static long calculateTimestamp(@Nullable ICompositeDefinition eventHeaderDef, long prevTimestamp, StructDefinition eventPayload, StructDefinition eventContext) throws CTFIOException {
         long timestamp = 0;
         Definition def = null;
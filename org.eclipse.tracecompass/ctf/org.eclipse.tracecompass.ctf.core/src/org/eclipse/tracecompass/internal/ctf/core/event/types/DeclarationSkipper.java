@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.internal.ctf.core.event.types;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.ctf.core.CTFException;
+import org.eclipse.tracecompass.ctf.core.event.io.BitBuffer;
+import org.eclipse.tracecompass.ctf.core.event.types.EnumDeclaration;
+import org.eclipse.tracecompass.ctf.core.event.types.FloatDeclaration;
+import org.eclipse.tracecompass.ctf.core.event.types.IDeclaration;
+import org.eclipse.tracecompass.ctf.core.event.types.IntegerDeclaration;
+import org.eclipse.tracecompass.ctf.core.event.types.StructDeclaration;
+
+/**
+ * Moves a {@link BitBuffer} past the data of a declaration without creating
+ * its definition. Only the declarations whose size does not depend on the data
+ * can be skipped, that is integers, enums, floats and the arrays and structs
+ * made of them.
+ *
+ * The position after the skip is the same as after a call to
+ * createDefinition(), alignment included.
+ */
+public final class DeclarationSkipper {
+
+    private static final int FLOAT_32 = 32;
+    private static final int FLOAT_64 = 64;
+
+    private DeclarationSkipper() {
+    }
+
+    /**
+     * Check if a declaration can be skipped
+     *
+     * @param declaration
+     *            the declaration, <code>null</code> if absent
+     * @return if the declaration is absent or of a fixed size
+     */
+    public static boolean canSkip(@Nullable IDeclaration declaration) {
+        if (declaration == null || declaration instanceof IntegerDeclaration) {
+            return true;
+        }
+        if (declaration instanceof EnumDeclaration) {
+            return canSkip(((EnumDeclaration) declaration).getContainerType());
+        }
+        if (declaration instanceof FloatDeclaration) {
+            int size = ((FloatDeclaration) declaration).getExponent() + ((FloatDeclaration) declaration).getMantissa();
+            return size == FLOAT_32 || size == FLOAT_64;
+        }
+        if (declaration instanceof ArrayDeclaration) {
+            return canSkip(((ArrayDeclaration) declaration).getElementType());
+        }
+        if (declaration instanceof StructDeclaration) {
+            StructDeclaration struct = (StructDeclaration) declaration;
+            for (String field : struct.getFieldsList()) {
+                if (!canSkip(struct.getField(field))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skip the data of a declaration. The declaration must be skippable, see
+     * {@link #canSkip(IDeclaration)}.
+     *
+     * @param declaration
+     *            the declaration, <code>null</code> if absent
+     * @param input
+     *            the buffer, positioned at the start of the data
+     * @throws CTFException
+     *             if the data goes past the end of the buffer
+     */
+    public static void skip(@Nullable IDeclaration declaration, @NonNull BitBuffer input) throws CTFException {
+        if (declaration == null) {
+            return;
+        }
+        if (declaration instanceof IntegerDeclaration) {
+            align(declaration, input);
+            input.position(input.position() + ((IntegerDeclaration) declaration).getLength());
+        } else if (declaration instanceof EnumDeclaration) {
+            align(declaration, input);
+            skip(((EnumDeclaration) declaration).getContainerType(), input);
+        } else if (declaration instanceof FloatDeclaration) {
+            align(declaration, input);
+            input.position(input.position() + ((FloatDeclaration) declaration).getExponent() + ((FloatDeclaration) declaration).getMantissa());
+        } else if (declaration instanceof ArrayDeclaration) {
+            ArrayDeclaration array = (ArrayDeclaration) declaration;
+            align(declaration, input);
+            for (int i = 0; i < array.getLength(); i++) {
+                skip(array.getElementType(), input);
+            }
+        } else if (declaration instanceof StructDeclaration) {
+            StructDeclaration struct = (StructDeclaration) declaration;
+            align(declaration, input);
+            for (String field : struct.getFieldsList()) {
+                skip(struct.getField(field), input);
+            }
+        } else {
+            throw new IllegalArgumentException("Cannot skip declaration " + declaration); //$NON-NLS-1$
+        }
+    }
+
+    private static void align(IDeclaration declaration, BitBuffer input) throws CTFException {
+        long mask = declaration.getAlignment() - 1;
+        long pos = input.position();
+        if (mask > 0 && (pos & mask) != 0) {
+            input.position((pos + mask) & ~mask);
+        }
+    }
+}
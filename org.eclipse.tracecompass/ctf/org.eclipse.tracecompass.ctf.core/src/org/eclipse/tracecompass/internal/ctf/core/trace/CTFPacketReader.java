@@ -14,6 +14,7 @@
 
 package org.eclipse.tracecompass.internal.ctf.core.trace;
 
+import java.util.BitSet;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -79,6 +80,8 @@ public final class CTFPacketReader implements IPacketReader, IDefinitionScope {
 
     private long fPosition;
 
+    private @Nullable BitSet fSkippedEvents = null;
+
     /**
      * Constructor
      *
@@ -189,7 +192,14 @@ public final class CTFPacketReader implements IPacketReader, IDefinitionScope {
             throw new CTFIOException("Invalid event id : " + eventID); //$NON-NLS-1$
         }
         EventDeclaration declaration = (EventDeclaration) eventDeclaration;
-        EventDefinition eventDef = declaration.createDefinition(fStreamContext, fPacketContext, fTracePacketHeader, fEventHeader, fInput, fLastTimestamp);
+        EventDefinition eventDef = null;
+        BitSet skippedEvents = fSkippedEvents;
+        if (skippedEvents != null && skippedEvents.get(eventID)) {
+            eventDef = declaration.skipDefinition(fStreamContext, fPacketContext, fTracePacketHeader, fEventHeader, fInput, fLastTimestamp);
+        }
+        if (eventDef == null) {
+            eventDef = declaration.createDefinition(fStreamContext, fPacketContext, fTracePacketHeader, fEventHeader, fInput, fLastTimestamp);
+        }
         fLastTimestamp = eventDef.getTimestamp();
         /*
          * Set the event timestamp using the timestamp calculated by updateTimestamp.
@@ -235,6 +245,19 @@ public final class CTFPacketReader implements IPacketReader, IDefinitionScope {
                 fPacketContext);
     }
 
+    /**
+     * Set the events whose contexts and payload are not read. These events are
+     * still returned, but without their fields.
+     *
+     * @param skippedEvents
+     *            The IDs of the events to skip, the declarations of these
+     *            events must be skippable. <code>null</code> to read all the
+     *            events.
+     */
+    public void setSkippedEvents(@Nullable BitSet skippedEvents) {
+        fSkippedEvents = skippedEvents;
+    }
+
     @Override
     public ILexicalScope getScopePath() {
         return ILexicalScope.PACKET;
@@ -95,7 +95,7 @@ public class CtfTmfLostEventStatisticsTest {
         assertNotNull(totalsSS);
         assertNotNull(eventTypesSS);
 
-        fStats = new TmfStateStatistics(totalsSS, eventTypesSS);
+        fStats = new TmfStateStatistics(totalsSS, fEventTypesMod);
     }
 
     /**
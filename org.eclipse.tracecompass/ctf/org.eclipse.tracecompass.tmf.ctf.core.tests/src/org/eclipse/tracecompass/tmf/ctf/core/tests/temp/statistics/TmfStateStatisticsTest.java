@@ -70,7 +70,7 @@ public class TmfStateStatisticsTest extends TmfStatisticsTest {
         assertNotNull(totalsSS);
         assertNotNull(eventTypesSS);
 
-        backend = new TmfStateStatistics(totalsSS, eventTypesSS);
+        backend = new TmfStateStatistics(totalsSS, fEventTypesMod);
     }
 
     /**
@@ -0,0 +1,208 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.tmf.ctf.core.tests.trace.indexer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.internal.tmf.ctf.core.trace.indexer.CtfParallelTraceIndexer;
+import org.eclipse.tracecompass.testtraces.ctf.CtfTestTrace;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.signal.TmfSignalHandler;
+import org.eclipse.tracecompass.tmf.core.signal.TmfSignalManager;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceUpdatedSignal;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.eclipse.tracecompass.tmf.core.trace.indexer.ITmfTraceIndexer;
+import org.eclipse.tracecompass.tmf.core.trace.indexer.TmfBTreeTraceIndexer;
+import org.eclipse.tracecompass.tmf.core.trace.indexer.checkpoint.ITmfCheckpoint;
+import org.eclipse.tracecompass.tmf.core.trace.indexer.checkpoint.ITmfCheckpointIndex;
+import org.eclipse.tracecompass.tmf.ctf.core.event.CtfTmfEvent;
+import org.eclipse.tracecompass.tmf.ctf.core.tests.shared.CtfTmfTestTraceUtils;
+import org.eclipse.tracecompass.tmf.ctf.core.trace.CtfTmfTrace;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test the {@link CtfParallelTraceIndexer} against an index built by reading
+ * the trace sequentially
+ */
+public class CtfParallelTraceIndexerTest {
+
+    private static final @NonNull CtfTestTrace TEST_TRACE = CtfTestTrace.TRACE2;
+    private static final int INTERVAL = 1000;
+
+    private static class SequentialIndexer extends TmfBTreeTraceIndexer {
+        public SequentialIndexer(ITmfTrace trace) {
+            super(trace, INTERVAL);
+        }
+
+        public ITmfCheckpointIndex getCheckpoints() {
+            return getTraceIndex();
+        }
+    }
+
+    private static class ParallelIndexer extends CtfParallelTraceIndexer {
+        public ParallelIndexer(CtfTmfTrace trace) {
+            super(trace, INTERVAL);
+        }
+
+        @Override
+        protected boolean canBuildCheckpoints() {
+            /* Also on a single processor */
+            return true;
+        }
+
+        public ITmfCheckpointIndex getCheckpoints() {
+            return getTraceIndex();
+        }
+    }
+
+    private static class TestTrace extends CtfTmfTrace {
+        private final boolean fParallel;
+
+        public TestTrace(boolean parallel) {
+            fParallel = parallel;
+        }
+
+        @Override
+        protected ITmfTraceIndexer createIndexer(int interval) {
+            return fParallel ? new ParallelIndexer(this) : new SequentialIndexer(this);
+        }
+
+        public ITmfCheckpointIndex getCheckpoints() {
+            ITmfTraceIndexer indexer = getIndexer();
+            return fParallel ? ((ParallelIndexer) indexer).getCheckpoints() : ((SequentialIndexer) indexer).getCheckpoints();
+        }
+    }
+
+    /**
+     * Listener of the updates of the trace published by the parallel indexer
+     */
+    public static class UpdateListener {
+        private final List<TmfTraceUpdatedSignal> fSignals = new ArrayList<>();
+
+        /**
+         * @param signal
+         *            the trace updated signal
+         */
+        @TmfSignalHandler
+        public synchronized void traceUpdated(TmfTraceUpdatedSignal signal) {
+            if (signal.getSource() instanceof ParallelIndexer) {
+                fSignals.add(signal);
+            }
+        }
+
+        /**
+         * @return the signals sent by the parallel indexer
+         */
+        public synchronized List<TmfTraceUpdatedSignal> getSignals() {
+            return new ArrayList<>(fSignals);
+        }
+    }
+
+    private TestTrace fTrace;
+
+    /**
+     * Dispose the trace and delete its index
+     */
+    @After
+    public void tearDown() {
+        disposeTrace();
+        CtfTmfTestTraceUtils.dispose(TEST_TRACE);
+    }
+
+    private TestTrace indexTrace(boolean parallel) throws TmfTraceException {
+        TestTrace trace = new TestTrace(parallel);
+        trace.initTrace(null, CtfTmfTestTraceUtils.getTrace(TEST_TRACE).getPath(), CtfTmfEvent.class);
+        fTrace = trace;
+        trace.indexTrace(true);
+        return trace;
+    }
+
+    private void disposeTrace() {
+        TestTrace trace = fTrace;
+        if (trace != null) {
+            trace.dispose();
+            TmfTraceManager.deleteSupplementaryFiles(trace);
+            fTrace = null;
+        }
+    }
+
+    /**
+     * Test that the checkpoints, number of events and time range are the same
+     * as when the trace is indexed sequentially
+     *
+     * @throws TmfTraceException
+     *             If the trace cannot be opened
+     */
+    @Test
+    public void testIndexing() throws TmfTraceException {
+        TestTrace trace = indexTrace(false);
+        long nbEvents = trace.getNbEvents();
+        String timeRange = trace.getTimeRange().toString();
+        ITmfCheckpointIndex checkpoints = trace.getCheckpoints();
+        List<ITmfCheckpoint> expected = new ArrayList<>();
+        for (int i = 0; i < checkpoints.size(); i++) {
+            expected.add(checkpoints.get(i));
+        }
+        disposeTrace();
+
+        trace = indexTrace(true);
+        assertEquals(nbEvents, trace.getNbEvents());
+        assertEquals(timeRange, trace.getTimeRange().toString());
+        checkpoints = trace.getCheckpoints();
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), checkpoints.size());
+        for (int i = 0; i < expected.size(); i++) {
+            ITmfCheckpoint checkpoint = checkpoints.get(i);
+            assertEquals(expected.get(i).getLocation(), checkpoint.getLocation());
+            assertEquals(expected.get(i).getTimestamp(), checkpoint.getTimestamp());
+            assertEquals(i, checkpoint.getCheckpointRank());
+        }
+        assertEquals(nbEvents, checkpoints.getNbEvents());
+    }
+
+    /**
+     * Test that the number of events and time range of the regions are
+     * published to the trace while it is indexed
+     *
+     * @throws TmfTraceException
+     *             If the trace cannot be opened
+     */
+    @Test
+    public void testPublishedRegions() throws TmfTraceException {
+        UpdateListener listener = new UpdateListener();
+        TmfSignalManager.register(listener);
+        try {
+            TestTrace trace = indexTrace(true);
+            List<TmfTraceUpdatedSignal> signals = listener.getSignals();
+            assertFalse(signals.isEmpty());
+            long previous = 0;
+            for (TmfTraceUpdatedSignal signal : signals) {
+                assertTrue(signal.getNbEvents() > previous);
+                assertEquals(trace.getStartTime(), signal.getRange().getStartTime());
+                previous = signal.getNbEvents();
+            }
+            TmfTraceUpdatedSignal last = signals.get(signals.size() - 1);
+            assertEquals(trace.getNbEvents(), last.getNbEvents());
+            assertEquals(trace.getEndTime(), last.getRange().getEndTime());
+        } finally {
+            TmfSignalManager.deregister(listener);
+        }
+    }
+}
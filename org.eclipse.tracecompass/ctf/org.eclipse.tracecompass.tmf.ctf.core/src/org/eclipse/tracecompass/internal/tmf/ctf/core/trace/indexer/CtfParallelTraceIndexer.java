@@ -0,0 +1,303 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.internal.tmf.ctf.core.trace.indexer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.tracecompass.ctf.core.CTFException;
+import org.eclipse.tracecompass.internal.tmf.ctf.core.Activator;
+import org.eclipse.tracecompass.internal.tmf.ctf.core.trace.iterator.CtfIterator;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceUpdatedSignal;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimeRange;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.indexer.TmfBTreeTraceIndexer;
+import org.eclipse.tracecompass.tmf.core.trace.indexer.checkpoint.ITmfCheckpoint;
+import org.eclipse.tracecompass.tmf.core.trace.indexer.checkpoint.ITmfCheckpointIndex;
+import org.eclipse.tracecompass.tmf.core.trace.indexer.checkpoint.TmfCheckpoint;
+import org.eclipse.tracecompass.tmf.ctf.core.context.CtfLocation;
+import org.eclipse.tracecompass.tmf.ctf.core.context.CtfLocationInfo;
+import org.eclipse.tracecompass.tmf.ctf.core.trace.CtfTmfTrace;
+
+/**
+ * Indexer of CTF traces that builds the checkpoints in parallel. The trace is
+ * split in time regions, which are read with their own iterator. Since a CTF
+ * location is a time stamp and the index of the event among the events at
+ * that time stamp, the locations read in a region are the same as when the
+ * trace is read from the start.
+ *
+ * The ranks of the events of a region are only known once the previous
+ * regions are read, so the regions record the locations of their events at a
+ * finer interval than the checkpoints, and each checkpoint is then found by
+ * reading a few events from the location before it.
+ *
+ * The number of events and the time range of the regions that are read from
+ * the start of the trace are published to the trace as the regions finish.
+ */
+public class CtfParallelTraceIndexer extends TmfBTreeTraceIndexer {
+
+    /**
+     * Number of regions per thread, so that regions with more events do not
+     * keep a single thread busy
+     */
+    private static final int REGIONS_PER_THREAD = 4;
+
+    /**
+     * Number of locations recorded per checkpoint interval while reading the
+     * regions
+     */
+    private static final int LOCATIONS_PER_INTERVAL = 16;
+
+    private final CtfTmfTrace fCtfTrace;
+    /* Number of events of the regions published to the trace */
+    private long fPublishedEvents;
+
+    /**
+     * Constructor
+     *
+     * @param trace
+     *            the trace to index
+     * @param interval
+     *            the checkpoints interval
+     */
+    public CtfParallelTraceIndexer(CtfTmfTrace trace, int interval) {
+        super(trace, interval);
+        fCtfTrace = trace;
+    }
+
+    @Override
+    protected boolean canBuildCheckpoints() {
+        /* A live trace is indexed as it is read */
+        return fCtfTrace.isComplete() && Runtime.getRuntime().availableProcessors() > 1;
+    }
+
+    @Override
+    protected boolean buildCheckpoints(IProgressMonitor monitor) {
+        int nbThreads = Runtime.getRuntime().availableProcessors();
+        int interval = getCheckpointInterval();
+        int step = Math.max(1, interval / LOCATIONS_PER_INTERVAL);
+        ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        try {
+            List<Region> regions = createRegions(nbThreads * REGIONS_PER_THREAD);
+            if (regions.isEmpty()) {
+                return false;
+            }
+
+            /* Read the regions, counting their events */
+            invokeAll(executor, regions, region -> {
+                region.read(step, monitor);
+                if (!monitor.isCanceled()) {
+                    publishReadRegions(regions, region);
+                }
+            });
+
+            /* Stitch the regions */
+            long offset = 0;
+            for (Region region : regions) {
+                region.fOffset = offset;
+                offset += region.fNbEvents;
+            }
+
+            /* Find the checkpoints of each region */
+            invokeAll(executor, regions, region -> region.locateCheckpoints(interval, step, monitor));
+            if (monitor.isCanceled()) {
+                return false;
+            }
+
+            /* Insert like updateIndex() and read like seekIndex() */
+            synchronized (this) {
+                ITmfCheckpointIndex index = getTraceIndex();
+                for (Region region : regions) {
+                    for (ITmfCheckpoint checkpoint : region.fCheckpoints) {
+                        index.insert(checkpoint);
+                    }
+                }
+            }
+            return true;
+        } catch (CTFException | ExecutionException e) {
+            Activator.getDefault().logError("Error building the checkpoints of " + fCtfTrace.getName(), e); //$NON-NLS-1$
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Split the trace in regions of equal durations, starting at the location
+     * of an event. Regions that would start at the same location are merged.
+     */
+    private List<Region> createRegions(int nbRegions) throws CTFException {
+        ITmfContext context = fCtfTrace.createIterator();
+        if (!(context instanceof CtfIterator)) {
+            return Collections.emptyList();
+        }
+        try (CtfIterator iterator = (CtfIterator) context) {
+            if (!iterator.hasMoreEvents()) {
+                return Collections.emptyList();
+            }
+            long start = iterator.getCurrentTimestamp();
+            iterator.goToLastEvent();
+            long end = iterator.getEndTime();
+
+            List<Long> starts = new ArrayList<>();
+            starts.add(start);
+            for (int i = 1; i < nbRegions; i++) {
+                long time = start + (long) ((end - start) * ((double) i / nbRegions));
+                if (!iterator.seek(new CtfLocationInfo(time, 0L))) {
+                    break;
+                }
+                long regionStart = iterator.getCurrentTimestamp();
+                if (regionStart > starts.get(starts.size() - 1)) {
+                    starts.add(regionStart);
+                }
+            }
+
+            List<Region> regions = new ArrayList<>();
+            for (int i = 0; i < starts.size(); i++) {
+                long regionEnd = (i + 1 < starts.size()) ? starts.get(i + 1) : Long.MAX_VALUE;
+                regions.add(new Region(starts.get(i), regionEnd));
+            }
+            return regions;
+        }
+    }
+
+    /**
+     * Mark a region as read, and update the number of events and the time
+     * range of the trace if the regions from the start of the trace are all
+     * read
+     */
+    private void publishReadRegions(List<Region> regions, Region read) {
+        synchronized (regions) {
+            read.fRead = true;
+            long nbEvents = 0;
+            long end = regions.get(0).fStart;
+            for (Region region : regions) {
+                if (!region.fRead) {
+                    break;
+                }
+                nbEvents += region.fNbEvents;
+                if (region.fNbEvents > 0) {
+                    end = region.fLastTimestamp;
+                }
+            }
+            if (nbEvents > fPublishedEvents) {
+                fPublishedEvents = nbEvents;
+                TmfTimeRange range = new TmfTimeRange(fCtfTrace.createTimestamp(regions.get(0).fStart), fCtfTrace.createTimestamp(end));
+                fCtfTrace.broadcast(new TmfTraceUpdatedSignal(this, fCtfTrace, range, nbEvents));
+            }
+        }
+    }
+
+    private static void invokeAll(ExecutorService executor, List<Region> regions, RegionTask task) throws InterruptedException, ExecutionException {
+        List<Future<?>> futures = new ArrayList<>();
+        for (Region region : regions) {
+            futures.add(executor.submit(() -> {
+                task.run(region);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private CtfIterator createIterator(CtfLocationInfo location) throws CTFException {
+        ITmfContext context = fCtfTrace.createIterator(location, 0);
+        if (!(context instanceof CtfIterator)) {
+            throw new CTFException("Cannot read the trace at " + location); //$NON-NLS-1$
+        }
+        return (CtfIterator) context;
+    }
+
+    @FunctionalInterface
+    private interface RegionTask {
+        void run(Region region) throws CTFException;
+    }
+
+    /**
+     * A time region of the trace, read independently of the other regions
+     */
+    private final class Region {
+        /** Time stamp of the location of the first event */
+        private final long fStart;
+        /** Time stamp of the location of the first event of the next region */
+        private final long fEnd;
+        /** Locations of the events whose rank in the region is a multiple of the step */
+        private final List<CtfLocationInfo> fLocations = new ArrayList<>();
+        private final List<ITmfCheckpoint> fCheckpoints = new ArrayList<>();
+        private long fNbEvents;
+        /** Time stamp of the location of the last event */
+        private long fLastTimestamp;
+        /** Whether the region is read, guarded by the list of regions */
+        private boolean fRead;
+        private long fOffset;
+
+        private Region(long start, long end) {
+            fStart = start;
+            fEnd = end;
+        }
+
+        private void read(int step, IProgressMonitor monitor) throws CTFException {
+            try (CtfIterator iterator = createIterator(new CtfLocationInfo(fStart, 0L))) {
+                long nbEvents = 0;
+                while (!monitor.isCanceled()) {
+                    CtfLocationInfo location = iterator.getLocation().getLocationInfo();
+                    if (CtfLocation.INVALID_LOCATION.equals(location) || location.getTimestamp() >= fEnd) {
+                        break;
+                    }
+                    if (nbEvents % step == 0) {
+                        fLocations.add(location);
+                    }
+                    fLastTimestamp = location.getTimestamp();
+                    nbEvents++;
+                    if (!iterator.advance()) {
+                        break;
+                    }
+                }
+                fNbEvents = nbEvents;
+            }
+        }
+
+        private void locateCheckpoints(int interval, int step, IProgressMonitor monitor) throws CTFException {
+            long end = fOffset + fNbEvents;
+            long first = (fOffset + interval - 1) / interval * interval;
+            if (first >= end) {
+                return;
+            }
+            try (CtfIterator iterator = createIterator(new CtfLocationInfo(fStart, 0L))) {
+                for (long rank = first; rank < end && !monitor.isCanceled(); rank += interval) {
+                    long regionRank = rank - fOffset;
+                    CtfLocationInfo location = fLocations.get((int) (regionRank / step));
+                    long skip = regionRank % step;
+                    if (skip > 0) {
+                        iterator.seek(location);
+                        for (long i = 0; i < skip; i++) {
+                            iterator.advance();
+                        }
+                        location = iterator.getLocation().getLocationInfo();
+                    }
+                    /* The time stamp of the event, as read by the trace */
+                    fCheckpoints.add(new TmfCheckpoint(fCtfTrace.createTimestamp(location.getTimestamp()), new CtfLocation(location), rank / interval));
+                }
+            }
+        }
+    }
+}
@@ -117,6 +117,7 @@ public class CtfIteratorManager {
                      */
                     iter = replaceRandomElement(context);
                 }
+                iter.setEventFilter(context.getEventFilter());
                 if (context.getLocation() != null) {
                     final CtfLocationInfo location = (CtfLocationInfo) context.getLocation().getLocationInfo();
                     iter.seek(location);
@@ -15,6 +15,8 @@
 
 package org.eclipse.tracecompass.tmf.ctf.core.context;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.internal.tmf.ctf.core.trace.iterator.CtfIterator;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
@@ -39,6 +41,8 @@ public class CtfTmfContext implements ITmfContext {
 
     private final CtfTmfTrace fTrace;
 
+    private @Nullable Set<String> fEventFilter = null;
+
     // -------------------------------------------
     // Constructor
     // -------------------------------------------
@@ -118,6 +122,42 @@ public class CtfTmfContext implements ITmfContext {
         return fTrace;
     }
 
+    /**
+     * Gets the names of the events whose fields are read by this context
+     *
+     * @return the event names, or <code>null</code> if all the events are read
+     * @since 4.5
+     */
+    public @Nullable Set<String> getEventFilter() {
+        return fEventFilter;
+    }
+
+    /**
+     * Sets the names of the events whose fields are read by this context. The
+     * other events are still returned, but without their fields, when their
+     * fields can be skipped.
+     *
+     * @param eventNames
+     *            the event names, or <code>null</code> to read all the events
+     * @since 4.5
+     */
+    public synchronized void setEventFilter(@Nullable Set<String> eventNames) {
+        fEventFilter = eventNames;
+        CtfIterator iterator = getIterator();
+        if (iterator != null) {
+            iterator.setEventFilter(eventNames);
+        }
+    }
+
+    /**
+     * The fields of the events of the other types are not read, when they can
+     * be skipped.
+     */
+    @Override
+    public void setEventTypes(@Nullable Set<String> eventTypes) {
+        setEventFilter(eventTypes);
+    }
+
     /**
      * Gets the current event. Wrapper to help CtfTmfTrace
      *
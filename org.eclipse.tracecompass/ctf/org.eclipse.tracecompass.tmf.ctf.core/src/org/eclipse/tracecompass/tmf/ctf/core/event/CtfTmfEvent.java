@@ -261,13 +261,21 @@ public class CtfTmfEvent extends TmfEvent
     public synchronized ITmfEventType getType() {
         CtfTmfEventType type = fEventType;
         if (type == null) {
-            type = new CtfTmfEventType(fEventName, getContent());
-
             /*
-             * Register the event type in the owning trace, but only if there is
-             * one
+             * Share the type of the trace's events of the same name, so that
+             * the content of this event does not have to be read
              */
-            getTrace().registerEventType(type);
+            CtfTmfTrace trace = getTrace();
+            type = trace.getContainedEventType(fEventName);
+            if (type == null) {
+                type = new CtfTmfEventType(fEventName, getContent());
+
+                /*
+                 * Register the event type in the owning trace, but only if
+                 * there is one
+                 */
+                trace.registerEventType(type);
+            }
             fEventType = type;
         }
         return type;
@@ -56,6 +56,7 @@ import org.eclipse.tracecompass.internal.tmf.ctf.core.event.aspect.CtfEventConte
 import org.eclipse.tracecompass.internal.tmf.ctf.core.event.aspect.CtfPacketContextAspect;
 import org.eclipse.tracecompass.internal.tmf.ctf.core.event.aspect.CtfPacketHeaderAspect;
 import org.eclipse.tracecompass.internal.tmf.ctf.core.event.aspect.CtfStreamContextAspect;
+import org.eclipse.tracecompass.internal.tmf.ctf.core.trace.indexer.CtfParallelTraceIndexer;
 import org.eclipse.tracecompass.internal.tmf.ctf.core.trace.iterator.CtfIterator;
 import org.eclipse.tracecompass.internal.tmf.ctf.core.trace.iterator.CtfIteratorManager;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
@@ -76,7 +77,6 @@ import org.eclipse.tracecompass.tmf.core.trace.TmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.TraceValidationStatus;
 import org.eclipse.tracecompass.tmf.core.trace.indexer.ITmfPersistentlyIndexable;
 import org.eclipse.tracecompass.tmf.core.trace.indexer.ITmfTraceIndexer;
-import org.eclipse.tracecompass.tmf.core.trace.indexer.TmfBTreeTraceIndexer;
 import org.eclipse.tracecompass.tmf.core.trace.indexer.checkpoint.ITmfCheckpoint;
 import org.eclipse.tracecompass.tmf.core.trace.indexer.checkpoint.TmfCheckpoint;
 import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
@@ -645,6 +645,19 @@ public class CtfTmfTrace extends TmfTrace
         return ImmutableSet.copyOf(fContainedEventTypes.values());
     }
 
+    /**
+     * Get the declared or registered event type of a given name
+     *
+     * @param eventName
+     *            The name of the event type
+     * @return The event type, or <code>null</code> if this trace has no event
+     *         type of this name
+     * @since 4.5
+     */
+    public @Nullable CtfTmfEventType getContainedEventType(String eventName) {
+        return fContainedEventTypes.get(eventName);
+    }
+
     /**
      * Register an event type to this trace.
      *
@@ -780,7 +793,7 @@ public class CtfTmfTrace extends TmfTrace
 
     @Override
     protected ITmfTraceIndexer createIndexer(int interval) {
-        return new TmfBTreeTraceIndexer(this, interval);
+        return new CtfParallelTraceIndexer(this, interval);
     }
 
     @Override
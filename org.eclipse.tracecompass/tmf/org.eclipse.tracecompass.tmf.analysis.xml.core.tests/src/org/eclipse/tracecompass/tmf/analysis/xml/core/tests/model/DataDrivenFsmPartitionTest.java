@@ -0,0 +1,184 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.tmf.analysis.xml.core.tests.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenAction;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenCondition;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenCondition.DataDrivenRegexCondition;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenFsm;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenFsmSimpleState;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenFsmStateTransition;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenMappingGroup;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenPatternEventHandler;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime.DataDrivenPartitionWorkers;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime.DataDrivenRuntimeData;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime.DataDrivenRuntimeFsm;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime.DataDrivenScenarioHistoryBuilder;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.values.DataDrivenValueEventField;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.values.DataDrivenValueEventName;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.module.IAnalysisDataContainer;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
+import org.eclipse.tracecompass.statesystem.core.StateSystemFactory;
+import org.eclipse.tracecompass.statesystem.core.backend.StateHistoryBackendFactory;
+import org.eclipse.tracecompass.statesystem.core.statevalue.ITmfStateValue;
+import org.eclipse.tracecompass.tmf.analysis.xml.core.module.TmfXmlStrings;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventType;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Test the state machines whose scenarios are partitioned by a key
+ */
+@SuppressWarnings("nls")
+public class DataDrivenFsmPartitionTest {
+
+    private static final @NonNull String TID = "tid";
+    /** The value of the status attribute of a matched scenario */
+    private static final int MATCHED = 2;
+
+    private static class Container implements IAnalysisDataContainer {
+
+        private final ITmfStateSystemBuilder fStateSystem = StateSystemFactory.newStateSystem(StateHistoryBackendFactory.createInMemoryBackend("test", 0));
+
+        @Override
+        public ITmfStateSystem getStateSystem() {
+            return fStateSystem;
+        }
+
+        @Override
+        public DataDrivenMappingGroup getMappingGroup(String id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static @NonNull DataDrivenFsmStateTransition transition(@NonNull String eventName, @NonNull String target) {
+        DataDrivenCondition condition = new DataDrivenRegexCondition(Pattern.compile(eventName), new DataDrivenValueEventName(null));
+        return new DataDrivenFsmStateTransition(condition, DataDrivenCondition.TRUE_CONDITION, target, Collections.emptyList());
+    }
+
+    /**
+     * Create a state machine for a 'entry' event followed by an 'exit' event
+     */
+    private static @NonNull DataDrivenFsm createFsm(boolean partitioned, boolean multiple) {
+        DataDrivenFsmSimpleState idle = new DataDrivenFsmSimpleState("idle", ImmutableList.of(transition("entry", "busy")), DataDrivenAction.NO_ACTION, DataDrivenAction.NO_ACTION);
+        DataDrivenFsmSimpleState busy = new DataDrivenFsmSimpleState("busy", ImmutableList.of(transition("exit", "done")), DataDrivenAction.NO_ACTION, DataDrivenAction.NO_ACTION);
+        DataDrivenFsmSimpleState done = DataDrivenFsmSimpleState.createFinalState("done");
+        return new DataDrivenFsm("fsm", idle, ImmutableMap.of("idle", idle, "busy", busy, "done", done), DataDrivenCondition.TRUE_CONDITION, true, multiple,
+                partitioned ? new DataDrivenValueEventField(null, ITmfStateValue.Type.NULL, TID) : null);
+    }
+
+    private static @NonNull ITmfEvent createEvent(long time, @NonNull String name, int tid) {
+        ITmfEventField content = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, null, new ITmfEventField[] { new TmfEventField(TID, tid, null) });
+        return new TmfEvent(null, time, TmfTimestamp.fromNanos(time), new TmfEventType(name, null), content);
+    }
+
+    /**
+     * Handle events, and get the status of the scenarios in the state system
+     */
+    private static List<Object> handleEvents(DataDrivenFsm fsm, DataDrivenRuntimeData runtimeData, List<@NonNull ITmfEvent> events) {
+        DataDrivenPatternEventHandler handler = new DataDrivenPatternEventHandler(Collections.singletonList(fsm), Collections.emptyList());
+        Container container = new Container();
+        for (ITmfEvent event : events) {
+            handler.handleEvent(event, container, runtimeData);
+        }
+        handler.waitForPartitions(runtimeData);
+        ITmfStateSystem ss = container.getStateSystem();
+        List<Object> statuses = new ArrayList<>();
+        int fsmQuark = ss.optQuarkAbsolute(TmfXmlStrings.SCENARIOS, "fsm");
+        for (int quark : ss.getSubAttributes(fsmQuark, false)) {
+            statuses.add(ss.queryOngoing(ss.optQuarkRelative(quark, DataDrivenScenarioHistoryBuilder.STATUS)));
+        }
+        return statuses;
+    }
+
+    /**
+     * Get the keys of the partitions left once the events are handled
+     */
+    private static Set<String> getPartitionKeys(DataDrivenFsm fsm, DataDrivenRuntimeData runtimeData) {
+        Set<String> keys = new HashSet<>();
+        DataDrivenPartitionWorkers workers = runtimeData.getRuntimeForFsm(fsm).optWorkers();
+        assertNotNull(workers);
+        for (DataDrivenRuntimeFsm partitions : workers.getPartitions()) {
+            keys.addAll(partitions.getPartitionKeys());
+        }
+        return keys;
+    }
+
+    private static List<@NonNull ITmfEvent> createThreadEvents() {
+        return ImmutableList.of(createEvent(1, "entry", 1), createEvent(2, "entry", 2), createEvent(3, "exit", 2), createEvent(4, "exit", 1));
+    }
+
+    /**
+     * Test that a single instance state machine matches one sequence of
+     * events, and one sequence by key when its scenarios are partitioned
+     */
+    @Test
+    public void testPartitions() {
+        DataDrivenFsm fsm = createFsm(false, false);
+        DataDrivenRuntimeData runtimeData = new DataDrivenRuntimeData();
+        /* The 'exit' event of thread 2 completes the scenario of thread 1 */
+        assertEquals(ImmutableList.of(MATCHED), handleEvents(fsm, runtimeData, createThreadEvents()));
+        assertNull(runtimeData.getRuntimeForFsm(fsm).optWorkers());
+        fsm.dispose(runtimeData);
+
+        fsm = createFsm(true, false);
+        runtimeData = new DataDrivenRuntimeData();
+        assertEquals(ImmutableList.of(MATCHED, MATCHED), handleEvents(fsm, runtimeData, createThreadEvents()));
+        DataDrivenRuntimeFsm runtimeFsm = runtimeData.getRuntimeForFsm(fsm);
+        assertTrue(runtimeFsm.getActiveScenarios().isEmpty());
+        /* The partitions are removed once their scenario is matched */
+        assertEquals(Collections.emptySet(), getPartitionKeys(fsm, runtimeData));
+        fsm.dispose(runtimeData);
+    }
+
+    /**
+     * Test that the partitions of many keys are removed once their scenarios
+     * are matched, and that the scenario quarks are reused
+     */
+    @Test
+    public void testPartitionRemoval() {
+        DataDrivenFsm fsm = createFsm(true, true);
+        DataDrivenRuntimeData runtimeData = new DataDrivenRuntimeData();
+        List<@NonNull ITmfEvent> events = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            events.add(createEvent(2 * i + 1, "entry", i));
+            events.add(createEvent(2 * i + 2, "exit", i));
+        }
+        /* The open scenario of the last thread is left in progress */
+        events.add(createEvent(3000, "entry", 1000));
+        List<Object> statuses = handleEvents(fsm, runtimeData, events);
+        assertTrue(statuses.size() < 1000);
+        assertEquals(Collections.singleton("1000"), getPartitionKeys(fsm, runtimeData));
+        fsm.dispose(runtimeData);
+    }
+}
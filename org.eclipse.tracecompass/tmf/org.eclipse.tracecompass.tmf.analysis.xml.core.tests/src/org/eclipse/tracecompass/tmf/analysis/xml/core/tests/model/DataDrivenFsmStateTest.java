@@ -0,0 +1,147 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.tmf.analysis.xml.core.tests.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenAction;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenCondition;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenCondition.DataDrivenNotCondition;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenCondition.DataDrivenOrCondition;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenCondition.DataDrivenRegexCondition;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenFsm;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenFsmSimpleState;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenFsmState;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenFsmStateTransition;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenMappingGroup;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime.DataDrivenScenarioHistoryBuilder.ScenarioStatusType;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime.DataDrivenScenarioInfo;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.values.DataDrivenValueEventField;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.values.DataDrivenValueEventName;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.module.IAnalysisDataContainer;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.statevalue.ITmfStateValue;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventType;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Test the dispatch of the events to the transitions of the data-driven state
+ * machine states
+ */
+@SuppressWarnings("nls")
+public class DataDrivenFsmStateTest {
+
+    private static final @NonNull IAnalysisDataContainer CONTAINER = new IAnalysisDataContainer() {
+
+        @Override
+        public ITmfStateSystem getStateSystem() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public DataDrivenMappingGroup getMappingGroup(String id) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private static @NonNull DataDrivenCondition eventNameCondition(@NonNull String regex) {
+        return new DataDrivenRegexCondition(Pattern.compile(regex), new DataDrivenValueEventName(null));
+    }
+
+    private static @NonNull ITmfEvent createEvent(@NonNull String name) {
+        return new TmfEvent(null, 0, TmfTimestamp.fromNanos(1), new TmfEventType(name, null), null);
+    }
+
+    /**
+     * Test which conditions depend only on the event name
+     */
+    @Test
+    public void testEventNameConditions() {
+        DataDrivenCondition eventName = eventNameCondition("sys_.*");
+        DataDrivenCondition mapped = new DataDrivenRegexCondition(Pattern.compile("sys_.*"), new DataDrivenValueEventName("group"));
+        DataDrivenCondition field = new DataDrivenRegexCondition(Pattern.compile("1"), new DataDrivenValueEventField(null, ITmfStateValue.Type.NULL, "cpu"));
+
+        assertTrue(DataDrivenCondition.TRUE_CONDITION.dependsOnEventNameOnly());
+        assertTrue(eventName.dependsOnEventNameOnly());
+        assertFalse(mapped.dependsOnEventNameOnly());
+        assertFalse(field.dependsOnEventNameOnly());
+        assertTrue(new DataDrivenOrCondition(ImmutableList.of(eventName, eventNameCondition("sched_.*"))).dependsOnEventNameOnly());
+        assertFalse(new DataDrivenOrCondition(ImmutableList.of(eventName, field)).dependsOnEventNameOnly());
+        assertTrue(new DataDrivenNotCondition(eventName).dependsOnEventNameOnly());
+        DataDrivenCondition custom = (e, s, c) -> true;
+        assertFalse(custom.dependsOnEventNameOnly());
+    }
+
+    /**
+     * Test that the transitions are taken as when all the conditions are
+     * tested, and that the additional conditions are tested only for the
+     * events whose name matches the transition
+     */
+    @Test
+    public void testTakeTransition() {
+        AtomicInteger syscallTests = new AtomicInteger();
+        AtomicInteger otherTests = new AtomicInteger();
+        DataDrivenCondition syscallCondition = (e, s, c) -> {
+            syscallTests.incrementAndGet();
+            return true;
+        };
+        DataDrivenCondition otherCondition = (e, s, c) -> {
+            otherTests.incrementAndGet();
+            return e.getName().equals("irq");
+        };
+
+        DataDrivenFsmSimpleState syscall = DataDrivenFsmSimpleState.createFinalState("syscall");
+        DataDrivenFsmSimpleState sched = DataDrivenFsmSimpleState.createFinalState("sched");
+        DataDrivenFsmSimpleState other = DataDrivenFsmSimpleState.createFinalState("other");
+        DataDrivenFsmSimpleState initial = new DataDrivenFsmSimpleState("initial", ImmutableList.of(
+                new DataDrivenFsmStateTransition(eventNameCondition("sys_.*"), syscallCondition, "syscall", Collections.emptyList()),
+                new DataDrivenFsmStateTransition(eventNameCondition("sched_.*"), DataDrivenCondition.TRUE_CONDITION, "sched", Collections.emptyList()),
+                /* An event condition that does not depend only on the name */
+                new DataDrivenFsmStateTransition(otherCondition, DataDrivenCondition.TRUE_CONDITION, "other", Collections.emptyList())),
+                DataDrivenAction.NO_ACTION, DataDrivenAction.NO_ACTION);
+        DataDrivenFsm fsm = new DataDrivenFsm("fsm", initial, ImmutableMap.of("initial", initial, "syscall", syscall, "sched", sched, "other", other),
+                DataDrivenCondition.TRUE_CONDITION, false, true);
+        DataDrivenScenarioInfo scenarioInfo = new DataDrivenScenarioInfo(initial, ScenarioStatusType.IN_PROGRESS, -1, -1, fsm);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(syscall, initial.takeTransition(createEvent("sys_open"), scenarioInfo, CONTAINER));
+            assertEquals(sched, initial.takeTransition(createEvent("sched_switch"), scenarioInfo, CONTAINER));
+            assertEquals(other, initial.takeTransition(createEvent("irq"), scenarioInfo, CONTAINER));
+            assertNull(initial.takeTransition(createEvent("softirq"), scenarioInfo, CONTAINER));
+        }
+        assertEquals(3, syscallTests.get());
+        /* Tested for every event not taking a previous transition */
+        assertEquals(6, otherTests.get());
+
+        assertTrue(initial.mayTakeTransition(createEvent("softirq"), CONTAINER));
+        DataDrivenFsmState indexed = new DataDrivenFsmSimpleState("indexed", ImmutableList.of(
+                new DataDrivenFsmStateTransition(eventNameCondition("sys_.*"), syscallCondition, "syscall", Collections.emptyList())),
+                DataDrivenAction.NO_ACTION, DataDrivenAction.NO_ACTION);
+        assertTrue(indexed.mayTakeTransition(createEvent("sys_open"), CONTAINER));
+        assertFalse(indexed.mayTakeTransition(createEvent("softirq"), CONTAINER));
+        assertFalse(syscall.mayTakeTransition(createEvent("sys_open"), CONTAINER));
+    }
+}
@@ -26,6 +26,8 @@ import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDri
 import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenFsmSimpleState;
 import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenFsmState;
 import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.DataDrivenFsmStateTransition;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.values.DataDrivenValueEventField;
+import org.eclipse.tracecompass.statesystem.core.statevalue.ITmfStateValue;
 import org.eclipse.tracecompass.tmf.analysis.xml.core.module.TmfXmlStrings;
 import org.eclipse.tracecompass.tmf.analysis.xml.core.module.TmfXmlUtils;
 import org.w3c.dom.Element;
@@ -48,6 +50,7 @@ public abstract class TmfXmlFsmStateCu implements IDataDrivenCompilationUnit {
         private final TmfXmlConditionCu fPreCondition;
         private final boolean fConsuming;
         private final boolean fMultipleInstances;
+        private final String fPartitionKey;
 
         /**
          * Constructor
@@ -66,14 +69,19 @@ public abstract class TmfXmlFsmStateCu implements IDataDrivenCompilationUnit {
          *            parallel
          * @param preCondition
          *            The preconditions for this FSM
+         * @param partitionKey
+         *            The name of the event field that partitions the
+         *            scenarios, or an empty string if the scenarios are not
+         *            partitioned
          */
-        private TmfXmlFsmCu(String id, TmfXmlFsmStateCu initialStateCu, Collection<TmfXmlFsmSimpleStateCu> states, boolean consuming, boolean instanceMultipleEnabled, TmfXmlConditionCu preCondition) {
+        private TmfXmlFsmCu(String id, TmfXmlFsmStateCu initialStateCu, Collection<TmfXmlFsmSimpleStateCu> states, boolean consuming, boolean instanceMultipleEnabled, TmfXmlConditionCu preCondition, String partitionKey) {
             super(id);
             fInitialState = initialStateCu;
             fStates = states;
             fPreCondition = preCondition;
             fConsuming = consuming;
             fMultipleInstances = instanceMultipleEnabled;
+            fPartitionKey = partitionKey;
         }
 
         @Override
@@ -82,7 +90,8 @@ public abstract class TmfXmlFsmStateCu implements IDataDrivenCompilationUnit {
                     .map(TmfXmlFsmSimpleStateCu::generate)
                     .collect(Collectors.toMap(DataDrivenFsmState::getId, state -> state));
 
-            return new DataDrivenFsm(getId(), fInitialState.generate(), states, fPreCondition.generate(), fConsuming, fMultipleInstances);
+            return new DataDrivenFsm(getId(), fInitialState.generate(), states, fPreCondition.generate(), fConsuming, fMultipleInstances,
+                    fPartitionKey.isEmpty() ? null : new DataDrivenValueEventField(null, ITmfStateValue.Type.NULL, fPartitionKey));
         }
 
     }
@@ -172,6 +181,7 @@ public abstract class TmfXmlFsmStateCu implements IDataDrivenCompilationUnit {
         String multipleInstancesStr = element.getAttribute(TmfXmlStrings.MULTIPLE);
         boolean consuming = consumingStr.isEmpty() ? true : Boolean.parseBoolean(consumingStr);
         boolean instanceMultipleEnabled = multipleInstancesStr.isEmpty() ? true : Boolean.parseBoolean(multipleInstancesStr);
+        String partitionKey = element.getAttribute(TmfXmlStrings.PARTITION_KEY);
 
         Map<String, TmfXmlFsmSimpleStateCu> states = new HashMap<>();
         // Create the FSM states, without transitions yet
@@ -284,7 +294,7 @@ public abstract class TmfXmlFsmStateCu implements IDataDrivenCompilationUnit {
         }
         TmfXmlConditionCu preCondition = TmfXmlConditionCu.createOrCondition(preConditions);
 
-        TmfXmlFsmCu fsm = new TmfXmlFsmCu(id, initialStateCu, states.values(), consuming, instanceMultipleEnabled, preCondition);
+        TmfXmlFsmCu fsm = new TmfXmlFsmCu(id, initialStateCu, states.values(), consuming, instanceMultipleEnabled, preCondition, partitionKey);
         analysisData.addFsm(id, fsm);
         return fsm;
     }
@@ -304,6 +304,11 @@ public interface DataDrivenCondition extends IDataDrivenRuntimeObject {
             return Objects.equals(fCondition, other.fCondition);
         }
 
+        @Override
+        public boolean dependsOnEventNameOnly() {
+            return fCondition.dependsOnEventNameOnly();
+        }
+
         @Override
         public String toString() {
             return "NOT: " + fCondition.toString(); //$NON-NLS-1$
@@ -352,6 +357,11 @@ public interface DataDrivenCondition extends IDataDrivenRuntimeObject {
             return Objects.equals(fConditions, other.fConditions);
         }
 
+        @Override
+        public boolean dependsOnEventNameOnly() {
+            return dependOnEventNameOnly(fConditions);
+        }
+
         @Override
         public String toString() {
             return "AND: " + fConditions.toString(); //$NON-NLS-1$
@@ -400,6 +410,11 @@ public interface DataDrivenCondition extends IDataDrivenRuntimeObject {
             return Objects.equals(fConditions, other.fConditions);
         }
 
+        @Override
+        public boolean dependsOnEventNameOnly() {
+            return dependOnEventNameOnly(fConditions);
+        }
+
         @Override
         public String toString() {
             return "OR: " + fConditions.toString(); //$NON-NLS-1$
@@ -454,6 +469,11 @@ public interface DataDrivenCondition extends IDataDrivenRuntimeObject {
                     Objects.equals(fValue, other.fValue);
         }
 
+        @Override
+        public boolean dependsOnEventNameOnly() {
+            return fValue.dependsOnEventNameOnly();
+        }
+
         @Override
         public String toString() {
             return fValue.toString() + " matches " + fPattern; //$NON-NLS-1$
@@ -475,4 +495,33 @@ public interface DataDrivenCondition extends IDataDrivenRuntimeObject {
      */
     boolean test(ITmfEvent event, DataDrivenScenarioInfo scenarioInfo, IAnalysisDataContainer container);
 
+    /**
+     * Get whether the result of this condition depends only on the name of the
+     * event, so that it can be computed once for all the events of a given
+     * name
+     *
+     * @return <code>true</code> if this condition depends only on the event
+     *         name
+     */
+    default boolean dependsOnEventNameOnly() {
+        return this == TRUE_CONDITION;
+    }
+
+    /**
+     * Get whether all the conditions of a list depend only on the event name
+     *
+     * @param conditions
+     *            The conditions
+     * @return <code>true</code> if all the conditions depend only on the event
+     *         name
+     */
+    static boolean dependOnEventNameOnly(List<DataDrivenCondition> conditions) {
+        for (DataDrivenCondition condition : conditions) {
+            if (!condition.dependsOnEventNameOnly()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
 }
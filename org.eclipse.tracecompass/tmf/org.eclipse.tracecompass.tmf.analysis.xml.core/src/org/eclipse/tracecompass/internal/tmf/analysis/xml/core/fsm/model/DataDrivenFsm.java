@@ -15,13 +15,17 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime.DataDrivenPartitionWorkers;
 import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime.DataDrivenRuntimeData;
 import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime.DataDrivenRuntimeFsm;
 import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime.DataDrivenScenario;
 import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime.DataDrivenScenarioInfo;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.values.DataDrivenValue;
 import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.module.IAnalysisDataContainer;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 
 /**
@@ -37,6 +41,12 @@ public class DataDrivenFsm extends DataDrivenFsmState {
     private final DataDrivenCondition fPrecondition;
     private final boolean fConsuming;
     private final boolean fMultipleInstances;
+    private final @Nullable DataDrivenValue fPartitionKey;
+    /**
+     * Whether a transition of any state may be taken for the events of a name.
+     * It is filled as the events are handled.
+     */
+    private final Map<String, Boolean> fHandledEventNames = new ConcurrentHashMap<>();
 
     /**
      * Constructor
@@ -58,12 +68,44 @@ public class DataDrivenFsm extends DataDrivenFsmState {
      *            Whether multiple scenarios are allowed for this state machine
      */
     public DataDrivenFsm(String id, DataDrivenFsmState initial, Map<String, DataDrivenFsmSimpleState> states, DataDrivenCondition preCondition, boolean consuming, boolean multipleInstances) {
+        this(id, initial, states, preCondition, consuming, multipleInstances, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param id
+     *            The ID of this FSM
+     * @param initial
+     *            The initial state
+     * @param states
+     *            The map of states for this state machine
+     * @param preCondition
+     *            The precondition that should be matched for this state machine
+     *            to be considered
+     * @param consuming
+     *            Whether the state machine is consuming, ie if a transition is
+     *            taken from any one scenario, then the other scenarios will not
+     *            be considered
+     * @param multipleInstances
+     *            Whether multiple scenarios are allowed for this state machine
+     * @param partitionKey
+     *            The value that partitions the scenarios, or <code>null</code>
+     *            if all the scenarios handle all the events. An event with a
+     *            key is handled only by the scenarios of its partition, and the
+     *            'multiple' and 'consuming' attributes apply to each partition.
+     *            An event without a key is handled by all the scenarios. The
+     *            partitions are processed by worker threads, and a partition
+     *            is removed once it has no scenario in progress.
+     */
+    public DataDrivenFsm(String id, DataDrivenFsmState initial, Map<String, DataDrivenFsmSimpleState> states, DataDrivenCondition preCondition, boolean consuming, boolean multipleInstances, @Nullable DataDrivenValue partitionKey) {
         super(id);
         fInitial = initial;
         fStates = states;
         fPrecondition = preCondition;
         fConsuming = consuming;
         fMultipleInstances = multipleInstances;
+        fPartitionKey = partitionKey;
     }
 
     /**
@@ -80,9 +122,61 @@ public class DataDrivenFsm extends DataDrivenFsmState {
      */
     public void createScenario(ITmfEvent event, boolean force, DataDrivenRuntimeData executionData, IAnalysisDataContainer container) {
         DataDrivenRuntimeFsm runtimeFsm = executionData.getRuntimeForFsm(this);
-        if (force || isNewScenarioAllowed(runtimeFsm)) {
-            runtimeFsm.addPendingScenario(new DataDrivenScenario(event, this, fInitial, container, executionData));
+        if (fPartitionKey != null) {
+            // The other scenarios are created by the workers, see handleEvent
+            if (!force) {
+                return;
+            }
+            runtimeFsm.setStarted();
+            String key = getPartitionKey(event, container);
+            if (key != null) {
+                getWorkers(runtimeFsm, executionData).execute(key, (partitions, data) -> partitions.getPartition(key).addPendingScenario(new DataDrivenScenario(event, this, fInitial, container, data)));
+            }
+            return;
         }
+        if (!(force || isNewScenarioAllowed(runtimeFsm))) {
+            return;
+        }
+        runtimeFsm.addPendingScenario(new DataDrivenScenario(event, this, fInitial, container, executionData));
+    }
+
+    /**
+     * Return whether this finite state machine can support an additional
+     * scenario for an event. For a partitioned state machine, the new
+     * scenarios are created by the worker of their partition when it handles
+     * the event, so this returns <code>false</code>.
+     *
+     * @param event
+     *            The event
+     * @param executionData
+     *            The execution data
+     * @param container
+     *            The parent analysis container
+     * @return <code>true</code> if this state machine can have a new scenario
+     */
+    public boolean isNewScenarioAllowed(ITmfEvent event, DataDrivenRuntimeData executionData, IAnalysisDataContainer container) {
+        if (fPartitionKey != null) {
+            return false;
+        }
+        return isNewScenarioAllowed(executionData.getRuntimeForFsm(this));
+    }
+
+    private DataDrivenPartitionWorkers getWorkers(DataDrivenRuntimeFsm runtimeFsm, DataDrivenRuntimeData executionData) {
+        return runtimeFsm.getWorkers("XML pattern " + getId(), executionData.getHistoryBuilder()); //$NON-NLS-1$
+    }
+
+    /**
+     * Get the partition of the scenarios that handle an event
+     *
+     * @return The partition key, or <code>null</code> if the event has no key
+     */
+    private @Nullable String getPartitionKey(ITmfEvent event, IAnalysisDataContainer container) {
+        DataDrivenValue partitionKey = fPartitionKey;
+        if (partitionKey == null) {
+            return null;
+        }
+        Object key = partitionKey.getValue(event, ITmfStateSystem.ROOT_ATTRIBUTE, DataDrivenScenarioInfo.DUMMY_SCENARIO, container);
+        return key == null ? null : String.valueOf(key);
     }
 
     /**
@@ -109,6 +203,11 @@ public class DataDrivenFsm extends DataDrivenFsmState {
      *            The analysis data container
      */
     public void handleEvent(ITmfEvent event, DataDrivenRuntimeData executionData, IAnalysisDataContainer container) {
+        // Skip the events that cannot make any scenario move
+        if (!isEventHandled(event, container)) {
+            return;
+        }
+
         // First validate the precondition
         // Preconditions should be stateless, so we don't need specific scenario
         // infos
@@ -117,6 +216,58 @@ public class DataDrivenFsm extends DataDrivenFsmState {
         }
 
         DataDrivenRuntimeFsm runtimeFsm = executionData.getRuntimeForFsm(this);
+        if (fPartitionKey == null) {
+            handleEvent(event, runtimeFsm, container);
+            return;
+        }
+        DataDrivenPartitionWorkers workers = getWorkers(runtimeFsm, executionData);
+        String key = getPartitionKey(event, container);
+        if (key == null) {
+            // An event without a key is handled by all the partitions
+            workers.executeAll((partitions, data) -> {
+                for (String partitionKey : new ArrayList<>(partitions.getPartitionKeys())) {
+                    handlePartitionEvent(event, partitions, partitionKey, container);
+                }
+            });
+            return;
+        }
+        workers.execute(key, (partitions, data) -> {
+            DataDrivenRuntimeFsm partition = partitions.optPartition(key);
+            // The first scenario of a partition, once the FSM is started
+            if (partition == null ? runtimeFsm.isStarted() : isNewScenarioAllowed(partition)) {
+                partitions.getPartition(key).addPendingScenario(new DataDrivenScenario(event, this, fInitial, container, data));
+            }
+            handlePartitionEvent(event, partitions, key, container);
+        });
+    }
+
+    /**
+     * Handle an event in a partition, on the thread of the partition. The
+     * partition is removed if it has no scenario in progress after the event.
+     * Its pending scenario, if any, is discarded: the next event of the key
+     * creates a new one.
+     */
+    private void handlePartitionEvent(ITmfEvent event, DataDrivenRuntimeFsm partitions, String key, IAnalysisDataContainer container) {
+        DataDrivenRuntimeFsm partition = partitions.optPartition(key);
+        if (partition == null) {
+            return;
+        }
+        handleEvent(event, partition, container);
+        for (DataDrivenScenario scenario : new ArrayList<>(partition.getActiveScenarios())) {
+            if (!scenario.isActive()) {
+                partition.removeScenario(scenario);
+            }
+        }
+        if (partition.getActiveScenarios().isEmpty()) {
+            DataDrivenScenario pending = partition.getPendingScenario();
+            if (pending != null) {
+                pending.discard(event);
+            }
+            partitions.removePartition(key);
+        }
+    }
+
+    private void handleEvent(ITmfEvent event, DataDrivenRuntimeFsm runtimeFsm, IAnalysisDataContainer container) {
         boolean eventConsumed = false;
 
         // First handle the active scenarios
@@ -125,6 +276,19 @@ public class DataDrivenFsm extends DataDrivenFsmState {
         handlePendingScenario(event, eventConsumed, runtimeFsm, container);
     }
 
+    private boolean isEventHandled(ITmfEvent event, IAnalysisDataContainer container) {
+        Boolean handled = fHandledEventNames.get(event.getName());
+        if (handled == null) {
+            boolean mayTake = fInitial.mayTakeTransition(event, container);
+            for (DataDrivenFsmSimpleState state : fStates.values()) {
+                mayTake |= state.mayTakeTransition(event, container);
+            }
+            handled = mayTake;
+            fHandledEventNames.put(event.getName(), handled);
+        }
+        return handled;
+    }
+
     private void handlePendingScenario(ITmfEvent event, boolean eventConsumed, DataDrivenRuntimeFsm runtimeFsm, IAnalysisDataContainer container) {
         if (fConsuming && eventConsumed) {
             return;
@@ -176,6 +340,19 @@ public class DataDrivenFsm extends DataDrivenFsmState {
 
     }
 
+    /**
+     * Wait for the partitions to handle the events received so far
+     *
+     * @param executionData
+     *            The execution data
+     */
+    public void waitForPartitions(DataDrivenRuntimeData executionData) {
+        DataDrivenPartitionWorkers workers = executionData.getRuntimeForFsm(this).optWorkers();
+        if (workers != null) {
+            workers.waitForTasks();
+        }
+    }
+
     /**
      * Cancel all the still active scenarios
      *
@@ -183,7 +360,21 @@ public class DataDrivenFsm extends DataDrivenFsmState {
      *            The execution data
      */
     public void dispose(DataDrivenRuntimeData executionData) {
-        for (DataDrivenScenario scenario : executionData.getRuntimeForFsm(this).getActiveScenarios()) {
+        DataDrivenRuntimeFsm runtimeFsm = executionData.getRuntimeForFsm(this);
+        cancelActiveScenarios(runtimeFsm);
+        DataDrivenPartitionWorkers workers = runtimeFsm.optWorkers();
+        if (workers != null) {
+            workers.shutdown();
+            for (DataDrivenRuntimeFsm partitions : workers.getPartitions()) {
+                for (DataDrivenRuntimeFsm partition : partitions.getPartitions()) {
+                    cancelActiveScenarios(partition);
+                }
+            }
+        }
+    }
+
+    private static void cancelActiveScenarios(DataDrivenRuntimeFsm runtimeFsm) {
+        for (DataDrivenScenario scenario : runtimeFsm.getActiveScenarios()) {
             if (scenario.isActive()) {
                 scenario.cancel();
             }
@@ -204,7 +395,7 @@ public class DataDrivenFsm extends DataDrivenFsmState {
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), fInitial, fStates, fPrecondition, fConsuming, fMultipleInstances);
+        return Objects.hash(super.hashCode(), fInitial, fStates, fPrecondition, fConsuming, fMultipleInstances, fPartitionKey);
     }
 
     @Override
@@ -218,13 +409,14 @@ public class DataDrivenFsm extends DataDrivenFsmState {
                 Objects.equals(fPrecondition, other.fPrecondition) &&
                 Objects.equals(fConsuming, other.fConsuming) &&
                 Objects.equals(fMultipleInstances, other.fMultipleInstances) &&
+                Objects.equals(fPartitionKey, other.fPartitionKey) &&
                 Objects.equals(fStates, other.fStates);
     }
 
     @Override
     public String toString() {
         return "FSM " + getId() + ':' + fInitial + ' ' + fPrecondition + ' ' + fConsuming + ' ' + fMultipleInstances + //$NON-NLS-1$
-                ' ' + fStates;
+                ' ' + fStates + (fPartitionKey == null ? "" : " partitioned by " + fPartitionKey); //$NON-NLS-1$ //$NON-NLS-2$
     }
 
 }
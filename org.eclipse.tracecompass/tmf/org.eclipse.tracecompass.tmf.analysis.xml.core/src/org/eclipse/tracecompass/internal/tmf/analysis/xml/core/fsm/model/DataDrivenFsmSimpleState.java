@@ -11,9 +11,12 @@
 
 package org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime.DataDrivenScenarioInfo;
@@ -31,6 +34,12 @@ public class DataDrivenFsmSimpleState extends DataDrivenFsmState {
     private final List<DataDrivenFsmStateTransition> fTransitions;
     private final DataDrivenAction fOnEntry;
     private final DataDrivenAction fOnExit;
+    /**
+     * The transitions to test for the events of a name: those whose event
+     * condition is true for this name and those whose event condition depends
+     * on more than the name. It is filled as the events are handled.
+     */
+    private final Map<String, DataDrivenFsmStateTransition[]> fTransitionsByEventName = new ConcurrentHashMap<>();
 
     /**
      * Create a final state (ie without transitions or actions) with the given
@@ -65,8 +74,9 @@ public class DataDrivenFsmSimpleState extends DataDrivenFsmState {
 
     @Override
     public @Nullable DataDrivenFsmState takeTransition(ITmfEvent event, DataDrivenScenarioInfo scenarioInfo, IAnalysisDataContainer container) {
-        for (DataDrivenFsmStateTransition transition : fTransitions) {
-            if (transition.canTake(event, scenarioInfo, container)) {
+        for (DataDrivenFsmStateTransition transition : getTransitions(event, scenarioInfo, container)) {
+            boolean canTake = transition.isIndexedByEventName() ? transition.canTakeAcceptedEvent(event, scenarioInfo, container) : transition.canTake(event, scenarioInfo, container);
+            if (canTake) {
                 // We have a valid transition, start by executing the onExit actions
                 fOnExit.eventHandle(event, scenarioInfo, container);
                 // Take the transition and return the resulting state
@@ -80,6 +90,27 @@ public class DataDrivenFsmSimpleState extends DataDrivenFsmState {
         return null;
     }
 
+    @Override
+    public boolean mayTakeTransition(ITmfEvent event, IAnalysisDataContainer container) {
+        return getTransitions(event, DataDrivenScenarioInfo.DUMMY_SCENARIO, container).length > 0;
+    }
+
+    private DataDrivenFsmStateTransition[] getTransitions(ITmfEvent event, DataDrivenScenarioInfo scenarioInfo, IAnalysisDataContainer container) {
+        DataDrivenFsmStateTransition[] transitions = fTransitionsByEventName.get(event.getName());
+        if (transitions == null) {
+            List<DataDrivenFsmStateTransition> list = new ArrayList<>();
+            for (DataDrivenFsmStateTransition transition : fTransitions) {
+                /* The indexed event conditions only look at the event name */
+                if (!transition.isIndexedByEventName() || transition.acceptsEvent(event, scenarioInfo, container)) {
+                    list.add(transition);
+                }
+            }
+            transitions = list.toArray(new DataDrivenFsmStateTransition[list.size()]);
+            fTransitionsByEventName.put(event.getName(), transitions);
+        }
+        return transitions;
+    }
+
     @Override
     public boolean isFinal() {
         return fTransitions.isEmpty();
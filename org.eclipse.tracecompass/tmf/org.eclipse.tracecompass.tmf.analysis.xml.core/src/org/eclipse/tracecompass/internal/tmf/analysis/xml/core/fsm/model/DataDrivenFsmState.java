@@ -62,6 +62,20 @@ public class DataDrivenFsmState implements IDataDrivenRuntimeObject {
         return null;
     }
 
+    /**
+     * Get whether a transition out of this state may be taken for the event,
+     * without testing the conditions that depend on more than the event name
+     *
+     * @param event
+     *            The current event to handle
+     * @param container
+     *            The container
+     * @return <code>false</code> if no transition can be taken for the event
+     */
+    public boolean mayTakeTransition(ITmfEvent event, IAnalysisDataContainer container) {
+        return true;
+    }
+
     /**
      * Return whether this state is a final state, ie has no transitions from it
      *
@@ -31,6 +31,7 @@ public class DataDrivenFsmStateTransition implements IDataDrivenRuntimeObject {
     private final String fTarget;
     private final DataDrivenCondition fCondition;
     private final List<DataDrivenAction> fActions;
+    private final boolean fIndexedByEventName;
 
     /**
      * Constructor
@@ -49,6 +50,33 @@ public class DataDrivenFsmStateTransition implements IDataDrivenRuntimeObject {
         fCondition = dataDrivenCondition;
         fTarget = target;
         fActions = actions;
+        fIndexedByEventName = eventCondition.dependsOnEventNameOnly();
+    }
+
+    /**
+     * Get whether the event condition of this transition depends only on the
+     * event name, in which case the states index this transition by event
+     * name
+     *
+     * @return <code>true</code> if this transition is indexed by event name
+     */
+    public boolean isIndexedByEventName() {
+        return fIndexedByEventName;
+    }
+
+    /**
+     * Test the event condition of this transition
+     *
+     * @param event
+     *            The current event to handle
+     * @param scenarioInfo
+     *            The scenario info
+     * @param container
+     *            The container
+     * @return Whether the event matches the events of this transition
+     */
+    public boolean acceptsEvent(ITmfEvent event, DataDrivenScenarioInfo scenarioInfo, IAnalysisDataContainer container) {
+        return fEvents.test(event, scenarioInfo, container);
     }
 
     /**
@@ -67,6 +95,22 @@ public class DataDrivenFsmStateTransition implements IDataDrivenRuntimeObject {
         return fEvents.test(event, scenarioInfo, container) && fCondition.test(event, scenarioInfo, container);
     }
 
+    /**
+     * Get whether this transition can be taken for an event that is known to
+     * match the events of this transition
+     *
+     * @param event
+     *            The current event to handle
+     * @param scenarioInfo
+     *            The scenario info
+     * @param container
+     *            The container
+     * @return Whether the additional conditions of this transition are true
+     */
+    public boolean canTakeAcceptedEvent(ITmfEvent event, DataDrivenScenarioInfo scenarioInfo, IAnalysisDataContainer container) {
+        return fCondition.test(event, scenarioInfo, container);
+    }
+
     /**
      * Take this transition and return the next state
      *
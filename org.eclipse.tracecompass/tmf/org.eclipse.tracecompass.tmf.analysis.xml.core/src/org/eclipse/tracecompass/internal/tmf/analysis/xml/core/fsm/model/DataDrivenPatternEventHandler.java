@@ -59,6 +59,19 @@ public class DataDrivenPatternEventHandler implements IDataDrivenRuntimeObject {
         }
     }
 
+    /**
+     * Wait for the partitioned state machines to handle the events received so
+     * far
+     *
+     * @param executionData
+     *            The runtime data
+     */
+    public void waitForPartitions(DataDrivenRuntimeData executionData) {
+        for (DataDrivenFsm fsm : fFsms) {
+            fsm.waitForPartitions(executionData);
+        }
+    }
+
     /**
      * Handle the event
      *
@@ -84,7 +97,7 @@ public class DataDrivenPatternEventHandler implements IDataDrivenRuntimeObject {
         } else {
             List<DataDrivenFsm> fsmToStart = new ArrayList<>();
             for (DataDrivenFsm fsm : fFsms) {
-                if (fsm.isNewScenarioAllowed(runtimeData.getRuntimeForFsm(fsm))) {
+                if (fsm.isNewScenarioAllowed(event, runtimeData, container)) {
                     fsmToStart.add(fsm);
                 }
             }
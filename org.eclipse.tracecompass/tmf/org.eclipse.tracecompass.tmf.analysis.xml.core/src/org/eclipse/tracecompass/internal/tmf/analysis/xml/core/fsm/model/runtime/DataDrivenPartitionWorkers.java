@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.Activator;
+
+/**
+ * The threads that process the partitions of the scenarios of a partitioned
+ * FSM. Each partition key is assigned to one worker, which owns the runtime
+ * data of its partitions, so the scenarios of a partition are always
+ * processed by the same thread, in the order of the events.
+ *
+ * The workers write the history of their scenarios to the state system while
+ * the other handlers keep processing the following events, so the scenarios
+ * must only modify the attributes of their own partition.
+ */
+public class DataDrivenPartitionWorkers {
+
+    /** Number of tasks waiting for a worker before the events are blocked */
+    private static final int QUEUE_SIZE = 1024;
+    /** One processor is left to the thread that reads the events */
+    private static final int NB_WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    private static final PartitionTask STOP = (partitions, executionData) -> {
+        // Stops the worker
+    };
+
+    /**
+     * A task to run by the worker of a partition
+     */
+    @FunctionalInterface
+    public interface PartitionTask {
+
+        /**
+         * Run the task
+         *
+         * @param partitions
+         *            The runtime data holding the partitions of the worker
+         * @param executionData
+         *            The execution data to create the scenarios of the
+         *            worker with
+         */
+        void run(DataDrivenRuntimeFsm partitions, DataDrivenRuntimeData executionData);
+    }
+
+    private final List<Worker> fWorkers = new ArrayList<>();
+
+    /**
+     * Constructor, starts the workers
+     *
+     * @param name
+     *            The name of the threads
+     * @param historyBuilder
+     *            The history builder of the analysis execution
+     */
+    public DataDrivenPartitionWorkers(String name, DataDrivenScenarioHistoryBuilder historyBuilder) {
+        for (int i = 0; i < NB_WORKERS; i++) {
+            Worker worker = new Worker(name + ' ' + i, new DataDrivenRuntimeData(historyBuilder.createThreadBuilder()));
+            fWorkers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Run a task on the worker of a partition
+     *
+     * @param key
+     *            The partition key
+     * @param task
+     *            The task to run
+     */
+    public void execute(String key, PartitionTask task) {
+        fWorkers.get(Math.floorMod(key.hashCode(), fWorkers.size())).put(task);
+    }
+
+    /**
+     * Run a task on every worker
+     *
+     * @param task
+     *            The task to run
+     */
+    public void executeAll(PartitionTask task) {
+        for (Worker worker : fWorkers) {
+            worker.put(task);
+        }
+    }
+
+    /**
+     * Wait for the workers to run the tasks executed so far
+     */
+    public void waitForTasks() {
+        CountDownLatch latch = new CountDownLatch(fWorkers.size());
+        executeAll((partitions, executionData) -> latch.countDown());
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Run the remaining tasks and stop the workers. No task should be executed
+     * after this.
+     */
+    public void shutdown() {
+        for (Worker worker : fWorkers) {
+            worker.put(STOP);
+        }
+        for (Worker worker : fWorkers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get the runtime data of the partitions of each worker. It should only be
+     * read when the workers have no task to run.
+     *
+     * @return The runtime data of the partitions of the workers
+     */
+    public List<DataDrivenRuntimeFsm> getPartitions() {
+        List<DataDrivenRuntimeFsm> partitions = new ArrayList<>();
+        for (Worker worker : fWorkers) {
+            partitions.add(worker.fPartitions);
+        }
+        return partitions;
+    }
+
+    private static class Worker extends Thread {
+
+        private final BlockingQueue<PartitionTask> fTasks = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        private final DataDrivenRuntimeFsm fPartitions = new DataDrivenRuntimeFsm();
+        private final DataDrivenRuntimeData fExecutionData;
+
+        public Worker(String name, DataDrivenRuntimeData executionData) {
+            super(name);
+            setDaemon(true);
+            fExecutionData = executionData;
+        }
+
+        public void put(PartitionTask task) {
+            try {
+                fTasks.put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                PartitionTask task = fTasks.take();
+                while (task != STOP) {
+                    try {
+                        task.run(fPartitions, fExecutionData);
+                    } catch (RuntimeException e) {
+                        Activator.logError("Error processing the scenarios of a partition", e); //$NON-NLS-1$
+                    }
+                    task = fTasks.take();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -30,7 +30,24 @@ public class DataDrivenRuntimeData {
     public static final DataDrivenRuntimeData DEFAULT = new DataDrivenRuntimeData();
 
     private final Map<DataDrivenFsm, DataDrivenRuntimeFsm> fFsmRuntime = new HashMap<>();
-    private DataDrivenScenarioHistoryBuilder fHistoryBuilder = new DataDrivenScenarioHistoryBuilder();
+    private final DataDrivenScenarioHistoryBuilder fHistoryBuilder;
+
+    /**
+     * Constructor
+     */
+    public DataDrivenRuntimeData() {
+        this(new DataDrivenScenarioHistoryBuilder());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param historyBuilder
+     *            The scenario history builder of this execution
+     */
+    public DataDrivenRuntimeData(DataDrivenScenarioHistoryBuilder historyBuilder) {
+        fHistoryBuilder = historyBuilder;
+    }
 
     /**
      * Get the runtime FSM for a fsm. Creates one if necessary
@@ -12,7 +12,10 @@
 package org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -28,6 +31,11 @@ public class DataDrivenRuntimeFsm {
     private int fScenarioCount = 0;
     private @Nullable DataDrivenScenario fPendingScenario = null;
     private List<DataDrivenScenario> fActiveScenarios = new ArrayList<>();
+    /** Runtime data of each partition, for FSMs with a partition key */
+    private final Map<String, DataDrivenRuntimeFsm> fPartitions = new HashMap<>();
+    /** The threads processing the partitions, for FSMs with a partition key */
+    private @Nullable DataDrivenPartitionWorkers fWorkers = null;
+    private volatile boolean fStarted = false;
 
     /**
      * Get the number of active scenarios
@@ -84,6 +92,105 @@ public class DataDrivenRuntimeFsm {
         }
     }
 
+    /**
+     * Get the runtime data of a partition of the scenarios. Creates one if
+     * necessary
+     *
+     * @param key
+     *            The partition key
+     * @return The runtime data of this partition
+     */
+    public DataDrivenRuntimeFsm getPartition(String key) {
+        return fPartitions.computeIfAbsent(key, k -> new DataDrivenRuntimeFsm());
+    }
+
+    /**
+     * Get the runtime data of a partition of the scenarios, if it exists
+     *
+     * @param key
+     *            The partition key
+     * @return The runtime data of this partition, or <code>null</code> if no
+     *         scenario was created for this key
+     */
+    public @Nullable DataDrivenRuntimeFsm optPartition(String key) {
+        return fPartitions.get(key);
+    }
+
+    /**
+     * Remove the runtime data of a partition, once it has no scenario
+     *
+     * @param key
+     *            The partition key
+     */
+    public void removePartition(String key) {
+        fPartitions.remove(key);
+    }
+
+    /**
+     * Get the keys of the partitions
+     *
+     * @return The partition keys
+     */
+    public Collection<String> getPartitionKeys() {
+        return fPartitions.keySet();
+    }
+
+    /**
+     * Get the runtime data of all the partitions
+     *
+     * @return The runtime data of the partitions
+     */
+    public Collection<DataDrivenRuntimeFsm> getPartitions() {
+        return fPartitions.values();
+    }
+
+    /**
+     * Get the threads processing the partitions of the scenarios. Starts them
+     * if necessary
+     *
+     * @param name
+     *            The name of the threads
+     * @param historyBuilder
+     *            The history builder of the analysis execution
+     * @return The threads processing the partitions
+     */
+    public synchronized DataDrivenPartitionWorkers getWorkers(String name, DataDrivenScenarioHistoryBuilder historyBuilder) {
+        DataDrivenPartitionWorkers workers = fWorkers;
+        if (workers == null) {
+            workers = new DataDrivenPartitionWorkers(name, historyBuilder);
+            fWorkers = workers;
+        }
+        return workers;
+    }
+
+    /**
+     * Get the threads processing the partitions of the scenarios, if they
+     * were started
+     *
+     * @return The threads processing the partitions, or <code>null</code> if
+     *         no partitioned event was handled
+     */
+    public synchronized @Nullable DataDrivenPartitionWorkers optWorkers() {
+        return fWorkers;
+    }
+
+    /**
+     * Mark that this FSM was started, so that partitioned FSMs create the
+     * scenario of a partition when its first event comes
+     */
+    public void setStarted() {
+        fStarted = true;
+    }
+
+    /**
+     * Get whether this FSM was started
+     *
+     * @return <code>true</code> if a scenario was forced for this FSM
+     */
+    public boolean isStarted() {
+        return fStarted;
+    }
+
     /**
      * Active the pending scenario. There will be no pending scenario after this
      */
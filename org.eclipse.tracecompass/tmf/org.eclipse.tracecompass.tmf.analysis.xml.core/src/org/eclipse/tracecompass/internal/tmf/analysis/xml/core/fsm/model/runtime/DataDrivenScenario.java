@@ -69,6 +69,17 @@ public class DataDrivenScenario {
         }
     }
 
+    /**
+     * Discard this scenario while it is still pending. Its attributes are
+     * recycled without completing it.
+     *
+     * @param event
+     *            The current event
+     */
+    public void discard(ITmfEvent event) {
+        fHistoryBuilder.completeScenario(fContainer, fScenarioInfo, event);
+    }
+
     /**
      * Test if the scenario is active or not
      *
@@ -10,8 +10,11 @@
  ******************************************************************************/
 package org.eclipse.tracecompass.internal.tmf.analysis.xml.core.fsm.model.runtime;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.common.core.NonNullUtils;
@@ -51,7 +54,12 @@ public class DataDrivenScenarioHistoryBuilder {
     /** Error message */
     private static final String ERROR_MESSAGE = "The state system is null"; //$NON-NLS-1$
 
-    private final Map<String, TmfAttributePool> fFsmPools = new HashMap<>();
+    private final Map<String, TmfAttributePool> fFsmPools;
+    /**
+     * The scenario quarks recycled by the scenarios of this builder, by FSM,
+     * or <code>null</code> if the quarks are recycled in the pools
+     */
+    private final @Nullable Map<String, Deque<Integer>> fRecycledQuarks;
 
     /**
      * All possible types of status for a scenario
@@ -84,6 +92,30 @@ public class DataDrivenScenarioHistoryBuilder {
             ScenarioStatusType.MATCHED, TmfStateValue.newValueInt(2),
             ScenarioStatusType.ABANDONED, TmfStateValue.newValueInt(3));
 
+    /**
+     * Constructor
+     */
+    public DataDrivenScenarioHistoryBuilder() {
+        this(new ConcurrentHashMap<>(), null);
+    }
+
+    private DataDrivenScenarioHistoryBuilder(Map<String, TmfAttributePool> fsmPools, @Nullable Map<String, Deque<Integer>> recycledQuarks) {
+        fFsmPools = fsmPools;
+        fRecycledQuarks = recycledQuarks;
+    }
+
+    /**
+     * Create a history builder for the scenarios processed by another thread.
+     * It shares the scenario pools of this builder, but keeps the quarks its
+     * scenarios recycle, so that a quark is never reused by another thread at
+     * an earlier time than its last modification.
+     *
+     * @return The history builder
+     */
+    public DataDrivenScenarioHistoryBuilder createThreadBuilder() {
+        return new DataDrivenScenarioHistoryBuilder(fFsmPools, new HashMap<>());
+    }
+
     /**
      * Get the scenario matched process start time
      *
@@ -194,16 +226,12 @@ public class DataDrivenScenarioHistoryBuilder {
      * @return The attribute pool associated with this FSM
      */
     protected TmfAttributePool getPoolFor(IAnalysisDataContainer container, String fsmId) {
-        TmfAttributePool pool = fFsmPools.get(fsmId);
-        if (pool != null) {
-            return pool;
-        }
-        ITmfStateSystemBuilder ss = NonNullUtils.checkNotNull((ITmfStateSystemBuilder) container.getStateSystem());
-        String[] fsmPath = new String[] { TmfXmlStrings.SCENARIOS, fsmId };
-        int quark = getQuarkAbsoluteAndAdd(ss, fsmPath);
-        pool = new TmfAttributePool(ss, quark);
-        fFsmPools.put(fsmId, pool);
-        return pool;
+        return fFsmPools.computeIfAbsent(fsmId, id -> {
+            ITmfStateSystemBuilder ss = NonNullUtils.checkNotNull((ITmfStateSystemBuilder) container.getStateSystem());
+            String[] fsmPath = new String[] { TmfXmlStrings.SCENARIOS, id };
+            int quark = getQuarkAbsoluteAndAdd(ss, fsmPath);
+            return new TmfAttributePool(ss, quark);
+        });
     }
 
     /**
@@ -216,6 +244,13 @@ public class DataDrivenScenarioHistoryBuilder {
      * @return The scenario quark
      */
     public int assignScenarioQuark(IAnalysisDataContainer container, DataDrivenFsm fsm) {
+        Map<String, Deque<Integer>> recycledQuarks = fRecycledQuarks;
+        if (recycledQuarks != null) {
+            Integer quark = recycledQuarks.computeIfAbsent(fsm.getId(), id -> new ArrayDeque<>()).poll();
+            if (quark != null) {
+                return quark;
+            }
+        }
         TmfAttributePool pool = getPoolFor(container, fsm.getId());
         return pool.getAvailable();
     }
@@ -438,8 +473,15 @@ public class DataDrivenScenarioHistoryBuilder {
         if (fsm == null) {
             return;
         }
-        TmfAttributePool pool = getPoolFor(container, fsm.getId());
-        pool.recycle(info.getQuark(), ts);
+        Map<String, Deque<Integer>> recycledQuarks = fRecycledQuarks;
+        if (recycledQuarks != null) {
+            /* The quark stays in use in the pool, only this builder reuses it */
+            NonNullUtils.checkNotNull(ss).removeAttribute(ts, info.getQuark());
+            recycledQuarks.computeIfAbsent(fsm.getId(), id -> new ArrayDeque<>()).add(info.getQuark());
+        } else {
+            TmfAttributePool pool = getPoolFor(container, fsm.getId());
+            pool.recycle(info.getQuark(), ts);
+        }
         info.recycleAttributes(ts);
     }
 }
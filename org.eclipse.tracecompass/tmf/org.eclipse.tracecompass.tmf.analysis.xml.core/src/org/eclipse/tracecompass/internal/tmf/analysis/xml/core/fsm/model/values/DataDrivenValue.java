@@ -120,6 +120,16 @@ public abstract class DataDrivenValue implements IDataDrivenRuntimeObject {
         return resolvedValue;
     }
 
+    /**
+     * Get whether this value resolves only from the name of the event, so that
+     * it is the same for all the events of a given name
+     *
+     * @return <code>true</code> if this value depends only on the event name
+     */
+    public boolean dependsOnEventNameOnly() {
+        return false;
+    }
+
     @Override
     public String toString() {
         return "TmfXmlValue: " + getClass().getSimpleName(); //$NON-NLS-1$
@@ -33,6 +33,8 @@ import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
 public class DataDrivenValueEventField extends DataDrivenValue {
 
     private final String fFieldName;
+    /** The field name split as a path of sub-fields */
+    private final String[] fFieldPath;
 
     /**
      * Constructor
@@ -48,6 +50,7 @@ public class DataDrivenValueEventField extends DataDrivenValue {
     public DataDrivenValueEventField(@Nullable String mappingGroupId, ITmfStateValue.Type forcedType, String fieldName) {
         super(mappingGroupId, forcedType);
         fFieldName = fieldName;
+        fFieldPath = fieldName.split("\\."); //$NON-NLS-1$
     }
 
     @Override
@@ -63,7 +66,7 @@ public class DataDrivenValueEventField extends DataDrivenValue {
 
         /* If the field does not exist, see if it's a special case */
         if (field == null) {
-            final ITmfEventField splitFieldName = event.getContent().getField(fFieldName.split("\\.")); //$NON-NLS-1$
+            final ITmfEventField splitFieldName = event.getContent().getField(fFieldPath);
             if (splitFieldName != null) {
                 fieldValue = splitFieldName.getValue();
                 if (fieldValue != null) {
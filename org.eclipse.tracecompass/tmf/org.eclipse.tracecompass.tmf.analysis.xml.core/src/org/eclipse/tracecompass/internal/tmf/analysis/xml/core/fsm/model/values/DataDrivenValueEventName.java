@@ -24,6 +24,8 @@ import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
  */
 public final class DataDrivenValueEventName extends DataDrivenValue {
 
+    private final boolean fMapped;
+
     /**
      * Constructor
      *
@@ -33,6 +35,7 @@ public final class DataDrivenValueEventName extends DataDrivenValue {
      */
     public DataDrivenValueEventName(@Nullable String mappingGroupId) {
         super(mappingGroupId, ITmfStateValue.Type.STRING);
+        fMapped = mappingGroupId != null;
     }
 
     @Override
@@ -45,6 +48,12 @@ public final class DataDrivenValueEventName extends DataDrivenValue {
         return event.getName();
     }
 
+    @Override
+    public boolean dependsOnEventNameOnly() {
+        /* A mapping group may map the name using other values */
+        return !fMapped;
+    }
+
     @Override
     public String toString() {
         return "DataDrivenValueEventName"; //$NON-NLS-1$
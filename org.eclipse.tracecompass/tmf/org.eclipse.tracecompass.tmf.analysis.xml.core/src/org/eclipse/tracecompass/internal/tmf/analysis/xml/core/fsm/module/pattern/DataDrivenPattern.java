@@ -15,6 +15,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.script.ScriptEngine;
 
@@ -51,7 +52,7 @@ public class DataDrivenPattern extends AbstractTmfStateProvider implements IAnal
     private final String fId;
     private final Map<String, ScriptEngine> fScriptEngine = new HashMap<>();
     /** Map for attribute pools */
-    private final Map<Integer, TmfAttributePool> fAttributePools = new HashMap<>();
+    private final Map<Integer, TmfAttributePool> fAttributePools = new ConcurrentHashMap<>();
     private final ISegmentListener fListener;
     private final Map<String, String> fStoredFields;
 
@@ -138,9 +139,16 @@ public class DataDrivenPattern extends AbstractTmfStateProvider implements IAnal
         return false;
     }
 
+    @Override
+    public void done() {
+        // The state system is closed after this
+        fEventHandler.waitForPartitions(fExecutionData);
+    }
+
     @Override
     public void dispose() {
         waitForEmptyQueue();
+        fEventHandler.waitForPartitions(fExecutionData);
         fListener.onNewSegment(XmlPatternSegmentStoreModule.END_SEGMENT);
         fEventHandler.dispose(fExecutionData);
         super.dispose();
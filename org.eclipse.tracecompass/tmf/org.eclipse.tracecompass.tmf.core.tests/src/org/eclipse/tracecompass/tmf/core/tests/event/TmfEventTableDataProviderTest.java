@@ -50,6 +50,7 @@ import org.eclipse.tracecompass.tmf.core.tests.shared.TmfTestTrace;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestampFormat;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.tests.stubs.trace.TmfTraceStub;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -139,6 +140,7 @@ public class TmfEventTableDataProviderTest {
      */
     @AfterClass
     public static void tearDown() {
+        TmfTraceManager.deleteSupplementaryFiles(fTrace);
         fTrace.dispose();
     }
 
@@ -307,6 +309,48 @@ public class TmfEventTableDataProviderTest {
         assertEquals(expectedModel, currentModel);
     }
 
+    /**
+     * Check that the pages of a filtered query, and the index of an event, are
+     * the same once the ranks of the matching events are known, also for a new
+     * provider that reads them from the supplementary files
+     */
+    @Test
+    public void testDataProviderWithIndexedFilter() {
+        Long eventTypeColumnId = fColumns.get(EVENT_TYPE_COLUMN_NAME);
+        Long timestampColumnId = fColumns.get(TIMESTAMP_COLUMN_NAME);
+        assertNotNull(timestampColumnId);
+        assertNotNull(eventTypeColumnId);
+
+        Map<Long, String> tableFilter = new HashMap<>();
+        tableFilter.put(eventTypeColumnId, "1");
+        TmfEventTableFilterModel filterModel = new TmfEventTableFilterModel(tableFilter, null, false);
+        List<Long> expectedColumnsId = Arrays.asList(eventTypeColumnId, timestampColumnId);
+        List<EventTableLine> expectedData = Arrays.asList(
+                new EventTableLine(Arrays.asList(new VirtualTableCell(TYPE_1), new VirtualTableCell(lineTimestamp(16))), 2, TmfTimestamp.fromMillis(16), 15, 0),
+                new EventTableLine(Arrays.asList(new VirtualTableCell(TYPE_1), new VirtualTableCell(lineTimestamp(23))), 3, TmfTimestamp.fromMillis(23), 22, 0),
+                new EventTableLine(Arrays.asList(new VirtualTableCell(TYPE_1), new VirtualTableCell(lineTimestamp(30))), 4, TmfTimestamp.fromMillis(30), 29, 0));
+        ITmfVirtualTableModel<EventTableLine> expectedModel = new TmfVirtualTableModel<>(expectedColumnsId, expectedData, 2, 1429);
+
+        /* The first query reads the whole trace */
+        TmfEventTableDataProvider provider = new TmfEventTableDataProvider(fTrace);
+        VirtualTableQueryFilter queryFilter = new EventTableQueryFilter(expectedColumnsId, 0, 5, filterModel);
+        Map<String, Object> parameters = FetchParametersUtils.virtualTableQueryToMap(queryFilter);
+        parameters.put(TmfEventTableDataProvider.TABLE_FILTERS_KEY, filterModel);
+        provider.fetchLines(parameters, null);
+
+        for (TmfEventTableDataProvider currentProvider : Arrays.asList(provider, new TmfEventTableDataProvider(fTrace))) {
+            queryFilter = new EventTableQueryFilter(expectedColumnsId, 2, 3, filterModel);
+            parameters = FetchParametersUtils.virtualTableQueryToMap(queryFilter);
+            parameters.put(TmfEventTableDataProvider.TABLE_FILTERS_KEY, filterModel);
+            assertEquals(expectedModel, currentProvider.fetchLines(parameters, null).getModel());
+
+            Map<String, Object> indexParameters = new HashMap<>();
+            indexParameters.put(TmfEventTableDataProvider.TABLE_FILTERS_KEY, filterModel);
+            assertEquals(Collections.singletonList(3L), currentProvider.fetchIndex(indexParameters, 22, -1, null).getModel());
+            assertEquals(Collections.singletonList(4L), currentProvider.fetchIndex(indexParameters, 23, -1, null).getModel());
+        }
+    }
+
     /**
      * Given a start index, count and a list of desired columns, we check model
      * returned by the data provider. We also apply two filters on two columns
@@ -12,7 +12,9 @@
 package org.eclipse.tracecompass.tmf.core.tests.event.matching;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -27,6 +29,7 @@ import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
 import org.eclipse.tracecompass.tmf.core.event.matching.IEventMatchingKey;
 import org.eclipse.tracecompass.tmf.core.event.matching.ITmfMatchEventDefinition;
+import org.eclipse.tracecompass.tmf.core.event.matching.TcpEventKey;
 import org.eclipse.tracecompass.tmf.core.event.matching.TmfEventDependency.DependencyEvent;
 import org.eclipse.tracecompass.tmf.core.event.matching.TmfEventMatching;
 import org.eclipse.tracecompass.tmf.core.event.matching.TmfEventMatching.Direction;
@@ -50,6 +53,7 @@ import com.google.common.collect.Table;
 public class TmfEventMatchingTest {
 
     private static final @NonNull IProgressMonitor PROGRESS_MONITOR = new NullProgressMonitor();
+    private static final int TCP_KEY_OFFSET = 1 << 20;
     private TmfTraceStub fT1;
     private TmfTraceStub fT2;
     private @NonNull Collection<@NonNull ITmfTrace> fTraces = Collections.emptyList();
@@ -108,10 +112,14 @@ public class TmfEventMatchingTest {
                 return null;
             }
             int id = ((MatchEventStub) event).fId;
-            // Use a String key if the id is negative, otherwise use an int key
+            // Use a String key if the id is negative, a TCP key if it is large,
+            // otherwise use an int key
             if (id < 0) {
                 return new StringMatchingKey(String.valueOf(id));
             }
+            if (id >= TCP_KEY_OFFSET) {
+                return createTcpKey(id);
+            }
             return new IntMatchingKey(id);
         }
 
@@ -130,6 +138,10 @@ public class TmfEventMatchingTest {
 
     }
 
+    private static @NonNull TcpEventKey createTcpKey(int id) {
+        return new TcpEventKey(id, 2L * id, 0x5010L);
+    }
+
     private static class MatchEventStub extends TmfEvent {
 
         private final int fId;
@@ -409,4 +421,78 @@ public class TmfEventMatchingTest {
 
     }
 
+    /**
+     * Test event matching with TCP keys, and that the unmatched events older
+     * than the matching window are discarded
+     */
+    @Test
+    public void testTcpKeysAndWindow() {
+        Collection<@NonNull ITmfTrace> traces = fTraces;
+        assertNotNull(traces);
+        TmfEventMatchingStub matching = new TmfEventMatchingStub(traces);
+        matching.setMatchingWindow(1000L);
+        matching.initMatching();
+
+        TmfTraceStub trace = fT1;
+        assertNotNull(trace);
+
+        // Add unmatched causes
+        for (int i = 0; i < 500; i++) {
+            matching.matchEvent(new MatchEventStub(trace, TmfTimestamp.fromNanos(i), TCP_KEY_OFFSET + i, Direction.CAUSE), trace, PROGRESS_MONITOR);
+        }
+        assertEquals(500, matching.getUnmatchedOut().row(trace).size());
+        assertTrue(matching.getUnmatchedOut().row(trace).containsKey(createTcpKey(TCP_KEY_OFFSET + 10)));
+        assertEquals(500, matching.getMissCount());
+
+        // Match every other cause
+        for (int i = 0; i < 500; i += 2) {
+            matching.matchEvent(new MatchEventStub(trace, TmfTimestamp.fromNanos(500 + i / 2), TCP_KEY_OFFSET + i, Direction.EFFECT), trace, PROGRESS_MONITOR);
+        }
+        assertEquals(250, matching.getMatchCount());
+        assertEquals(250, matching.getUnmatchedOut().row(trace).size());
+        assertEquals(0, matching.getUnmatchedIn().row(trace).size());
+        assertEquals(0, matching.getExpiredCount());
+
+        // An event after the window discards the causes older than 300
+        matching.matchEvent(new MatchEventStub(trace, TmfTimestamp.fromNanos(1300L), -1, Direction.EFFECT), trace, PROGRESS_MONITOR);
+        assertEquals(150, matching.getExpiredCount());
+        assertEquals(100, matching.getUnmatchedOut().row(trace).size());
+        assertEquals(1, matching.getUnmatchedIn().row(trace).size());
+        for (int i = 301; i < 500; i += 2) {
+            assertTrue(matching.getUnmatchedOut().row(trace).containsKey(createTcpKey(TCP_KEY_OFFSET + i)));
+        }
+    }
+
+    /**
+     * Test that the unmatched events of a trace are only discarded with the
+     * time of the same trace, since the clocks of the traces may differ
+     */
+    @Test
+    public void testWindowPerTrace() {
+        Collection<@NonNull ITmfTrace> traces = fTraces;
+        assertNotNull(traces);
+        TmfEventMatchingStub matching = new TmfEventMatchingStub(traces);
+        matching.setMatchingWindow(1000L);
+        matching.initMatching();
+
+        TmfTraceStub t1 = fT1;
+        TmfTraceStub t2 = fT2;
+        assertNotNull(t1);
+        assertNotNull(t2);
+
+        matching.matchEvent(new MatchEventStub(t1, TmfTimestamp.fromNanos(100L), TCP_KEY_OFFSET + 1, Direction.CAUSE), t1, PROGRESS_MONITOR);
+
+        // The clock of t2 is far ahead, its events do not discard those of t1
+        matching.matchEvent(new MatchEventStub(t2, TmfTimestamp.fromNanos(1000000L), TCP_KEY_OFFSET + 2, Direction.CAUSE), t2, PROGRESS_MONITOR);
+        matching.matchEvent(new MatchEventStub(t2, TmfTimestamp.fromNanos(1002000L), TCP_KEY_OFFSET + 3, Direction.CAUSE), t2, PROGRESS_MONITOR);
+        assertEquals(1, matching.getUnmatchedOut().row(t1).size());
+        assertEquals(1, matching.getExpiredCount());
+        assertEquals(1, matching.getUnmatchedOut().row(t2).size());
+
+        // The time of t1 passes the window
+        matching.matchEvent(new MatchEventStub(t1, TmfTimestamp.fromNanos(1200L), TCP_KEY_OFFSET + 4, Direction.CAUSE), t1, PROGRESS_MONITOR);
+        assertEquals(2, matching.getExpiredCount());
+        assertFalse(matching.getUnmatchedOut().row(t1).containsKey(createTcpKey(TCP_KEY_OFFSET + 1)));
+        assertTrue(matching.getUnmatchedOut().row(t1).containsKey(createTcpKey(TCP_KEY_OFFSET + 4)));
+    }
 }
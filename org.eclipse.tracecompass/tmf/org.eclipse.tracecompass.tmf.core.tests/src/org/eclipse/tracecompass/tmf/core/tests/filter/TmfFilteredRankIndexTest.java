@@ -0,0 +1,143 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.tmf.core.tests.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.tracecompass.internal.tmf.core.filter.TmfFilteredRankIndex;
+import org.junit.Test;
+
+/**
+ * Test the {@link TmfFilteredRankIndex}
+ */
+public class TmfFilteredRankIndexTest {
+
+    private static final String FILTER = "root [Event type matches \"1\"]";
+
+    /**
+     * Create ranks with sparse and dense chunks
+     */
+    private static List<Long> createRanks() {
+        Random random = new Random(42);
+        List<Long> ranks = new ArrayList<>();
+        long rank = 0;
+        while (rank < 1000000) {
+            ranks.add(rank);
+            /* Dense between 200000 and 400000, sparse elsewhere */
+            rank += (rank > 200000 && rank < 400000) ? 1 + random.nextInt(3) : 1 + random.nextInt(500);
+        }
+        /* Skip a few chunks */
+        ranks.add(5000000L);
+        ranks.add(5000001L);
+        return ranks;
+    }
+
+    private static TmfFilteredRankIndex createIndex(List<Long> ranks) {
+        TmfFilteredRankIndex index = new TmfFilteredRankIndex();
+        for (long rank : ranks) {
+            index.add(rank);
+        }
+        return index;
+    }
+
+    private static void assertIndex(List<Long> ranks, TmfFilteredRankIndex index) {
+        assertEquals(ranks.size(), index.getCount());
+        for (int i = 0; i < ranks.size(); i++) {
+            long rank = ranks.get(i);
+            assertEquals(rank, index.getRank(i));
+            assertEquals(i, index.indexOf(rank));
+            assertTrue(index.contains(rank));
+            assertEquals(rank, index.nextRank(rank));
+            assertEquals(rank, index.previousRank(rank));
+            if (i > 0 && ranks.get(i - 1) < rank - 1) {
+                assertFalse(index.contains(rank - 1));
+                assertEquals(i, index.indexOf(rank - 1));
+                assertEquals(rank, index.nextRank(rank - 1));
+                assertEquals((long) ranks.get(i - 1), index.previousRank(rank - 1));
+            }
+        }
+        assertEquals(-1, index.getRank(-1));
+        assertEquals(-1, index.getRank(ranks.size()));
+        assertEquals(-1, index.nextRank(ranks.get(ranks.size() - 1) + 1));
+        assertEquals(ranks.size(), index.indexOf(Long.MAX_VALUE >>> 1));
+        assertEquals(0, index.indexOf(-1));
+        assertEquals(-1, index.previousRank(-1));
+    }
+
+    /**
+     * Test adding ranks and querying them
+     */
+    @Test
+    public void testIndex() {
+        List<Long> ranks = createRanks();
+        assertIndex(ranks, createIndex(ranks));
+
+        TmfFilteredRankIndex empty = new TmfFilteredRankIndex();
+        assertEquals(0, empty.getCount());
+        assertFalse(empty.contains(0));
+        assertEquals(0, empty.indexOf(10));
+        assertEquals(-1, empty.getRank(0));
+        assertEquals(-1, empty.nextRank(0));
+        assertEquals(-1, empty.previousRank(10));
+    }
+
+    /**
+     * Test that ranks must be added in increasing order
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddOutOfOrder() {
+        TmfFilteredRankIndex index = new TmfFilteredRankIndex();
+        index.add(10);
+        index.add(10);
+    }
+
+    /**
+     * Test saving an index and reading it back
+     *
+     * @throws IOException
+     *             If the file cannot be written or read
+     */
+    @Test
+    public void testSaveLoad() throws IOException {
+        List<Long> ranks = createRanks();
+        TmfFilteredRankIndex index = createIndex(ranks);
+        Path file = Files.createTempFile("filter", ".idx");
+        try {
+            index.save(file, FILTER, 6000000L);
+            TmfFilteredRankIndex loaded = TmfFilteredRankIndex.load(file, FILTER, 6000000L);
+            assertNotNull(loaded);
+            assertIndex(ranks, loaded);
+
+            /* Ranks can be added after the loaded ones */
+            loaded.add(6000000L);
+            assertEquals(ranks.size(), loaded.indexOf(6000000L));
+
+            /* The index is not read for another filter or trace size */
+            assertNull(TmfFilteredRankIndex.load(file, "root", 6000000L));
+            assertNull(TmfFilteredRankIndex.load(file, FILTER, 6000001L));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertNull(TmfFilteredRankIndex.load(file, FILTER, 6000000L));
+    }
+}
@@ -94,6 +94,55 @@ public class ElementResolverFilterTest {
         assertNotNull(cu);
         predicate = cu.generate();
         assertFalse(predicate.test(ELEMENT.getMetadata()));
+
+        // Operators are applied from left to right
+        cu = FilterCu.compile("fail || Label && absent");
+        assertNotNull(cu);
+        predicate = cu.generate();
+        assertFalse(predicate.test(ELEMENT.getMetadata()));
+
+        cu = FilterCu.compile("Label || absent && value");
+        assertNotNull(cu);
+        predicate = cu.generate();
+        assertTrue(predicate.test(ELEMENT.getMetadata()));
+    }
+
+    @Test
+    public void testNestedKey() {
+        Multimap<String, Object> data = ImmutableMultimap.of("> nested", 12L, "other", "value");
+        FilterCu cu = FilterCu.compile("nested == 12");
+        assertNotNull(cu);
+        assertTrue(cu.generate().test(data));
+
+        cu = FilterCu.compile("nested > 0xb");
+        assertNotNull(cu);
+        assertTrue(cu.generate().test(data));
+
+        cu = FilterCu.compile("other == 12");
+        assertNotNull(cu);
+        assertFalse(cu.generate().test(data));
+    }
+
+    @Test
+    public void testRepeatedStringValues() {
+        FilterCu cu = FilterCu.compile("size > 100");
+        assertNotNull(cu);
+        Predicate<Multimap<String, Object>> predicate = cu.generate();
+        // The same strings are parsed to the same numbers every time
+        for (int i = 0; i < 3; i++) {
+            assertTrue(predicate.test(ImmutableMultimap.of("size", "200")));
+            assertFalse(predicate.test(ImmutableMultimap.of("size", "50")));
+            assertTrue(predicate.test(ImmutableMultimap.of("size", "0x100")));
+            assertFalse(predicate.test(ImmutableMultimap.of("size", "0x10")));
+        }
+
+        cu = FilterCu.compile("size == 256");
+        assertNotNull(cu);
+        predicate = cu.generate();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(predicate.test(ImmutableMultimap.of("size", "0x100")));
+            assertFalse(predicate.test(ImmutableMultimap.of("size", "abc")));
+        }
     }
 
     @Test
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.tmf.core.tests.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.internal.tmf.core.request.TmfSharedEventScan;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.request.ITmfEventRequest;
+import org.eclipse.tracecompass.tmf.core.request.ITmfEventRequest.ExecutionType;
+import org.eclipse.tracecompass.tmf.core.signal.TmfSignalManager;
+import org.eclipse.tracecompass.tmf.core.tests.shared.TmfTestTrace;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimeRange;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
+import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
+import org.eclipse.tracecompass.tmf.tests.stubs.request.TmfEventRequestStub;
+import org.eclipse.tracecompass.tmf.tests.stubs.trace.TmfTraceStub;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+
+/**
+ * Test the requests that only handle some event types
+ */
+public class TmfEventTypeRequestTest {
+
+    /** Time-out tests after 1 minute */
+    @Rule
+    public TestRule globalTimeout = new Timeout(1, TimeUnit.MINUTES);
+
+    private static final TmfTestTrace TEST_TRACE = TmfTestTrace.A_TEST_10K;
+    private static final int NB_EVENTS = 10000;
+    private static final String TYPE = "Type-1";
+
+    private static TmfTraceStub fTrace = null;
+
+    /**
+     * Test class setup
+     */
+    @BeforeClass
+    public static void setUp() {
+        try {
+            fTrace = new TmfTraceStub(TEST_TRACE.getFullPath(), ITmfTrace.DEFAULT_TRACE_CACHE_SIZE, false, null);
+            TmfSignalManager.deregister(fTrace);
+            fTrace.indexTrace(true);
+        } catch (final TmfTraceException e) {
+            e.printStackTrace();
+            fail("Error setting up test trace");
+        }
+    }
+
+    /**
+     * Test class clean-up
+     */
+    @AfterClass
+    public static void tearDown() {
+        if (fTrace != null) {
+            fTrace.dispose();
+            fTrace = null;
+        }
+    }
+
+    /**
+     * Test that a request only handles the event types it declares
+     *
+     * @throws InterruptedException
+     *             The test timed out
+     */
+    @Test
+    public void testEventTypes() throws InterruptedException {
+        TypeCountingRequest all = new TypeCountingRequest(ExecutionType.FOREGROUND);
+        fTrace.sendRequest(all);
+        all.waitForCompletion();
+        assertEquals(NB_EVENTS, all.getNbRead());
+
+        TypeCountingRequest filtered = new TypeCountingRequest(ExecutionType.FOREGROUND);
+        filtered.setEventTypes(Collections.singleton(TYPE));
+        fTrace.sendRequest(filtered);
+        filtered.waitForCompletion();
+
+        Integer expected = all.fCounts.get(TYPE);
+        assertNotNull(expected);
+        assertEquals(Collections.singletonMap(TYPE, expected), filtered.fCounts);
+        assertEquals(expected.intValue(), filtered.getNbRead());
+    }
+
+    /**
+     * Test that coalesced requests are each handed their own event types
+     *
+     * @throws InterruptedException
+     *             The test timed out
+     */
+    @Test
+    public void testCoalescedEventTypes() throws InterruptedException {
+        TypeCountingRequest all = new TypeCountingRequest(ExecutionType.BACKGROUND);
+        TypeCountingRequest filtered = new TypeCountingRequest(ExecutionType.BACKGROUND);
+        filtered.setEventTypes(Collections.singleton(TYPE));
+
+        /* Hold the requests so that they are coalesced */
+        TmfSharedEventScan scan = TmfSharedEventScan.open(fTrace);
+        assertNotNull(scan);
+        try {
+            fTrace.sendRequest(all);
+            fTrace.sendRequest(filtered);
+        } finally {
+            scan.close();
+        }
+        all.waitForCompletion();
+        filtered.waitForCompletion();
+
+        assertEquals(NB_EVENTS, all.getNbRead());
+        assertTrue(all.fCounts.size() > 1);
+        assertEquals(Collections.singletonMap(TYPE, all.fCounts.get(TYPE)), filtered.fCounts);
+    }
+
+    /**
+     * Test that the event types of a request to an experiment are set on the
+     * contexts of its traces
+     *
+     * @throws InterruptedException
+     *             The test timed out
+     * @throws TmfTraceException
+     *             The traces could not be opened
+     */
+    @Test
+    public void testExperimentEventTypes() throws InterruptedException, TmfTraceException {
+        EventTypesTraceStub[] traces = new EventTypesTraceStub[] {
+                new EventTypesTraceStub(),
+                new EventTypesTraceStub()
+        };
+        TmfExperiment experiment = new TmfExperiment(ITmfEvent.class, "Experiment", traces, TmfExperiment.DEFAULT_INDEX_PAGE_SIZE, null);
+        try {
+            TypeCountingRequest filtered = new TypeCountingRequest(ExecutionType.FOREGROUND);
+            filtered.setEventTypes(Collections.singleton(TYPE));
+            experiment.sendRequest(filtered);
+            filtered.waitForCompletion();
+
+            int expected = countType();
+            assertEquals(Collections.singletonMap(TYPE, 2 * expected), filtered.fCounts);
+            for (EventTypesTraceStub trace : traces) {
+                assertEquals(Collections.singleton(TYPE), trace.fEventTypes);
+            }
+        } finally {
+            experiment.dispose();
+        }
+    }
+
+    private static int countType() throws InterruptedException {
+        TypeCountingRequest all = new TypeCountingRequest(ExecutionType.FOREGROUND);
+        fTrace.sendRequest(all);
+        all.waitForCompletion();
+        Integer count = all.fCounts.get(TYPE);
+        assertNotNull(count);
+        return count;
+    }
+
+    /**
+     * Trace whose contexts keep the event types they are set
+     */
+    private static class EventTypesTraceStub extends TmfTraceStub {
+
+        private @Nullable Set<String> fEventTypes = null;
+
+        public EventTypesTraceStub() throws TmfTraceException {
+            super(TEST_TRACE.getFullPath(), ITmfTrace.DEFAULT_TRACE_CACHE_SIZE, false, null);
+            TmfSignalManager.deregister(this);
+        }
+
+        @Override
+        public TmfContext seekEvent(ITmfLocation location) {
+            TmfContext context = super.seekEvent(location);
+            if (context == null) {
+                return null;
+            }
+            return new TmfContext(context) {
+                @Override
+                public void setEventTypes(@Nullable Set<String> eventTypes) {
+                    fEventTypes = eventTypes;
+                }
+            };
+        }
+    }
+
+    /**
+     * Request that counts the events it handles by type
+     */
+    private static class TypeCountingRequest extends TmfEventRequestStub {
+
+        private final Map<String, Integer> fCounts = new HashMap<>();
+
+        public TypeCountingRequest(ExecutionType execType) {
+            super(ITmfEvent.class, TmfTimeRange.ETERNITY, ITmfEventRequest.ALL_DATA, 0, execType, 0);
+        }
+
+        @Override
+        public void handleData(@NonNull ITmfEvent data) {
+            super.handleData(data);
+            fCounts.merge(data.getName(), 1, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.tmf.core.tests.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.internal.tmf.core.component.TmfEventThread;
+import org.eclipse.tracecompass.internal.tmf.core.request.TmfCoalescedEventRequest;
+import org.eclipse.tracecompass.internal.tmf.core.request.TmfRequestExecutor;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.request.ITmfEventRequest;
+import org.eclipse.tracecompass.tmf.core.request.ITmfEventRequest.ExecutionType;
+import org.eclipse.tracecompass.tmf.core.request.TmfEventRequest;
+import org.eclipse.tracecompass.tmf.core.signal.TmfSignalManager;
+import org.eclipse.tracecompass.tmf.core.tests.shared.TmfTestTrace;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimeRange;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.tests.stubs.request.TmfEventRequestStub;
+import org.eclipse.tracecompass.tmf.tests.stubs.trace.TmfTraceStub;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+
+/**
+ * Test the scheduling of requests by the {@link TmfRequestExecutor}
+ */
+public class TmfRequestExecutorTest {
+
+    /**
+     * The test should timeout after a few seconds, that would mean a deadlock
+     * may have happened
+     */
+    @Rule
+    public TestRule globalTimeout = new Timeout(1, TimeUnit.MINUTES);
+
+    private static final TmfTestTrace TEST_TRACE = TmfTestTrace.A_TEST_10K;
+    private static final int NB_EVENTS = 10000;
+
+    private static TmfTraceStub fTrace = null;
+
+    /**
+     * Test class setup
+     */
+    @BeforeClass
+    public static void setUp() {
+        try {
+            fTrace = new TmfTraceStub(TEST_TRACE.getFullPath(), ITmfTrace.DEFAULT_TRACE_CACHE_SIZE, false, null);
+            TmfSignalManager.deregister(fTrace);
+            fTrace.indexTrace(true);
+        } catch (final TmfTraceException e) {
+            e.printStackTrace();
+            fail("Error setting up test trace");
+        }
+    }
+
+    /**
+     * Test class clean-up
+     */
+    @AfterClass
+    public static void tearDown() {
+        if (fTrace != null) {
+            fTrace.dispose();
+            fTrace = null;
+        }
+    }
+
+    /**
+     * Test that two requests run at the same time when the executor has two
+     * slots, and that the metrics of both requests are recorded
+     *
+     * @throws InterruptedException
+     *             The test timed out
+     */
+    @Test
+    public void testConcurrentRequests() throws InterruptedException {
+        TmfRequestExecutor executor = new TmfRequestExecutor(2);
+        executor.init();
+        try {
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            TmfEventRequest request1 = new RendezVousRequest(ExecutionType.BACKGROUND, bothStarted);
+            TmfEventRequest request2 = new RendezVousRequest(ExecutionType.FOREGROUND, bothStarted);
+
+            executor.execute(new TmfEventThread(fTrace, request1));
+            executor.execute(new TmfEventThread(fTrace, request2));
+            request1.waitForCompletion();
+            request2.waitForCompletion();
+
+            assertEquals(NB_EVENTS, request1.getNbRead());
+            assertEquals(NB_EVENTS, request2.getNbRead());
+            assertEquals(0, bothStarted.getCount());
+
+            waitForIdle(executor);
+            assertEquals(2, executor.getCompletedCount());
+            assertTrue(executor.getTotalRunTime() > 0);
+        } finally {
+            executor.stop();
+        }
+    }
+
+    /**
+     * Test that a request is coalesced with a compatible request that waits
+     * in the queue
+     *
+     * @throws InterruptedException
+     *             The test timed out
+     */
+    @Test
+    public void testCoalesceQueuedRequests() throws InterruptedException {
+        // Do not init the executor, so that the active request is never
+        // suspended
+        TmfRequestExecutor executor = new TmfRequestExecutor(1);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            TmfEventRequest blocking = new TmfEventRequestStub(ITmfEvent.class, TmfTimeRange.ETERNITY, 1, 0, ExecutionType.FOREGROUND, 0) {
+                @Override
+                public void handleData(@NonNull ITmfEvent data) {
+                    super.handleData(data);
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            executor.execute(new TmfEventThread(fTrace, blocking));
+
+            TmfCoalescedEventRequest queued = new TmfCoalescedEventRequest(ITmfEvent.class, TmfTimeRange.ETERNITY, 0, ITmfEventRequest.ALL_DATA, ExecutionType.FOREGROUND, 0);
+            TmfEventRequest request1 = new TmfEventRequestStub(ITmfEvent.class);
+            request1.setProviderFilter(fTrace);
+            queued.addRequest(request1);
+            queued.setProviderFilter(fTrace);
+            executor.execute(new TmfEventThread(fTrace, queued));
+
+            TmfEventRequest request2 = new TmfEventRequestStub(ITmfEvent.class);
+            request2.setProviderFilter(fTrace);
+            executor.execute(new TmfEventThread(fTrace, request2));
+            assertEquals(1, executor.getQueuedCount());
+
+            release.countDown();
+            request1.waitForCompletion();
+            request2.waitForCompletion();
+            assertEquals(NB_EVENTS, request1.getNbRead());
+            assertEquals(NB_EVENTS, request2.getNbRead());
+
+            waitForIdle(executor);
+            assertEquals(2, executor.getCompletedCount());
+        } finally {
+            executor.stop();
+        }
+    }
+
+    private static void waitForIdle(TmfRequestExecutor executor) throws InterruptedException {
+        while (executor.getActiveCount() > 0 || executor.getQueuedCount() > 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Request that waits for all the requests sharing its latch to have read
+     * their first event
+     */
+    private static class RendezVousRequest extends TmfEventRequestStub {
+
+        private final CountDownLatch fLatch;
+        private boolean fFirst = true;
+
+        public RendezVousRequest(ExecutionType type, CountDownLatch latch) {
+            super(ITmfEvent.class, TmfTimeRange.ETERNITY, ITmfEventRequest.ALL_DATA, 0, type, 0);
+            fLatch = latch;
+        }
+
+        @Override
+        public void handleData(@NonNull ITmfEvent data) {
+            super.handleData(data);
+            if (fFirst) {
+                fFirst = false;
+                fLatch.countDown();
+                try {
+                    assertTrue(fLatch.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
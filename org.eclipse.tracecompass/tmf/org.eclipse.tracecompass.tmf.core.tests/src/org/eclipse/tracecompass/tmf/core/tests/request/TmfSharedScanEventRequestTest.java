@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.tmf.core.tests.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.internal.tmf.core.request.TmfSharedEventScan;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.request.ITmfEventRequest;
+import org.eclipse.tracecompass.tmf.core.request.ITmfEventRequest.ExecutionType;
+import org.eclipse.tracecompass.tmf.core.signal.TmfSignalManager;
+import org.eclipse.tracecompass.tmf.core.tests.shared.TmfTestTrace;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimeRange;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.tests.stubs.request.TmfEventRequestStub;
+import org.eclipse.tracecompass.tmf.tests.stubs.trace.TmfTraceStub;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+
+/**
+ * Test the sharing of a trace scan between background requests
+ */
+public class TmfSharedScanEventRequestTest {
+
+    /**
+     * The test should timeout after a few seconds, that would mean a deadlock
+     * may have happened
+     */
+    @Rule
+    public TestRule globalTimeout = new Timeout(1, TimeUnit.MINUTES);
+
+    private static final TmfTestTrace TEST_TRACE = TmfTestTrace.A_TEST_10K;
+    private static final int NB_EVENTS = 10000;
+
+    private static TmfTraceStub fTrace = null;
+
+    /**
+     * Test class setup
+     */
+    @BeforeClass
+    public static void setUp() {
+        try {
+            fTrace = new TmfTraceStub(TEST_TRACE.getFullPath(), ITmfTrace.DEFAULT_TRACE_CACHE_SIZE, false, null);
+            TmfSignalManager.deregister(fTrace);
+            fTrace.indexTrace(true);
+        } catch (final TmfTraceException e) {
+            e.printStackTrace();
+            fail("Error setting up test trace");
+        }
+    }
+
+    /**
+     * Test class clean-up
+     */
+    @AfterClass
+    public static void tearDown() {
+        if (fTrace != null) {
+            fTrace.dispose();
+            fTrace = null;
+        }
+    }
+
+    /**
+     * Test that the background requests sent while a shared scan is open are
+     * held until it is closed, then read all the events, each on its own thread
+     *
+     * @throws InterruptedException
+     *             The test timed out
+     */
+    @Test
+    public void testSharedScan() throws InterruptedException {
+        TmfSharedEventScan scan = TmfSharedEventScan.open(fTrace);
+        assertNotNull(scan);
+        assertNull(TmfSharedEventScan.open(fTrace));
+
+        ThreadRecordingRequest request1 = new ThreadRecordingRequest();
+        ThreadRecordingRequest request2 = new ThreadRecordingRequest();
+        try {
+            fTrace.sendRequest(request1);
+            fTrace.sendRequest(request2);
+            assertEquals(0, request1.getNbRead());
+            assertEquals(0, request2.getNbRead());
+        } finally {
+            scan.close();
+        }
+
+        request1.waitForCompletion();
+        request2.waitForCompletion();
+        assertEquals(NB_EVENTS, request1.getNbRead());
+        assertEquals(NB_EVENTS, request2.getNbRead());
+        assertNotNull(request1.fThread);
+        assertNotNull(request2.fThread);
+        assertNotSame(request1.fThread, request2.fThread);
+    }
+
+    /**
+     * Test that the requests are executed once the participants of the scan
+     * are released, without waiting for the timeout
+     *
+     * @throws InterruptedException
+     *             The test timed out
+     */
+    @Test
+    public void testParticipantRelease() throws InterruptedException {
+        Object participant = new Object();
+        TmfSharedEventScan scan = TmfSharedEventScan.open(fTrace);
+        assertNotNull(scan);
+        TmfSharedEventScan.join(fTrace, participant);
+        scan.close();
+
+        ThreadRecordingRequest request = new ThreadRecordingRequest();
+        fTrace.sendRequest(request);
+        assertEquals(0, request.getNbRead());
+
+        TmfSharedEventScan.release(participant);
+        request.waitForCompletion();
+        assertEquals(NB_EVENTS, request.getNbRead());
+    }
+
+    /**
+     * Background request that records the thread handling its events
+     */
+    private static class ThreadRecordingRequest extends TmfEventRequestStub {
+
+        private volatile Thread fThread = null;
+
+        public ThreadRecordingRequest() {
+            super(ITmfEvent.class, TmfTimeRange.ETERNITY, ITmfEventRequest.ALL_DATA, 0, ExecutionType.BACKGROUND, 0);
+        }
+
+        @Override
+        public void handleData(@NonNull ITmfEvent data) {
+            super.handleData(data);
+            if (fThread == null) {
+                fThread = Thread.currentThread();
+            } else if (fThread != Thread.currentThread()) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
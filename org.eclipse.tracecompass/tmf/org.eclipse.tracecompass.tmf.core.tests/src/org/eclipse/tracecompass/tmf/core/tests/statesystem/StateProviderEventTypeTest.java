@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.tmf.core.tests.statesystem;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventType;
+import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventType;
+import org.eclipse.tracecompass.tmf.core.statesystem.AbstractTmfStateProvider;
+import org.eclipse.tracecompass.tmf.core.statesystem.ITmfStateProvider;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.tests.stubs.trace.TmfTraceStub;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test the event type dispatch of the {@link AbstractTmfStateProvider}
+ */
+public class StateProviderEventTypeTest {
+
+    private final TmfTraceStub fTrace = new TmfTraceStub();
+    private final DispatchStateProvider fProvider = new DispatchStateProvider(fTrace);
+
+    /**
+     * Clean up
+     */
+    @After
+    public void tearDown() {
+        fTrace.dispose();
+    }
+
+    /**
+     * Test the IDs of registered event names and prefixes
+     */
+    @Test
+    public void testEventTypeIds() {
+        assertEquals(fProvider.fSwitchId, fProvider.getId(createEvent("sched_switch")));
+        assertEquals(fProvider.fSyscallId, fProvider.getId(createEvent("syscall_entry_open")));
+        assertEquals(fProvider.fSyscallId, fProvider.getId(createEvent("syscall_entry_close")));
+        assertEquals(DispatchStateProvider.UNKNOWN, fProvider.getId(createEvent("sched_wakeup")));
+        assertNotEquals(fProvider.fSwitchId, fProvider.fSyscallId);
+
+        /* Exact names take precedence over the prefixes */
+        assertEquals(fProvider.fSyscallSpecialId, fProvider.getId(createEvent("syscall_entry_special")));
+
+        /* Cached IDs are still right */
+        assertEquals(fProvider.fSwitchId, fProvider.getId(createEvent("sched_switch")));
+        assertEquals(fProvider.fSyscallSpecialId, fProvider.getId(createEvent("syscall_entry_special")));
+        assertEquals(DispatchStateProvider.UNKNOWN, fProvider.getId(createEvent("sched_wakeup")));
+    }
+
+    /**
+     * Test the IDs of events sharing their type
+     */
+    @Test
+    public void testSharedEventType() {
+        ITmfEventType switchType = createEvent("sched_switch").getType();
+        assertEquals(fProvider.fSwitchId, fProvider.getId(createEvent(switchType, "tid")));
+        assertEquals(fProvider.fSwitchId, fProvider.getId(createEvent(switchType, "tid")));
+        ITmfEventType wakeupType = createEvent("sched_wakeup").getType();
+        assertEquals(DispatchStateProvider.UNKNOWN, fProvider.getId(createEvent(wakeupType, "tid")));
+        assertEquals(fProvider.fSwitchId, fProvider.getId(createEvent(switchType, "tid")));
+    }
+
+    /**
+     * Test reading registered fields
+     */
+    @Test
+    public void testEventFields() {
+        ITmfEvent event = createEvent("sched_switch");
+        ITmfEventField field = fProvider.getField(event, fProvider.fTidField);
+        assertNotNull(field);
+        assertEquals(42L, field.getValue());
+        assertNull(fProvider.getField(event, fProvider.fPrioField));
+
+        /* The field is not read from the events of a type that does not declare it */
+        ITmfEventType type = createEvent("sched_wakeup", "prio").getType();
+        assertNull(fProvider.getField(createEvent(type, "tid"), fProvider.fTidField));
+        field = fProvider.getField(createEvent(type, "prio"), fProvider.fPrioField);
+        assertNotNull(field);
+        assertEquals(42L, field.getValue());
+
+        /* Any field is read from the events of a type without fields */
+        type = new TmfEventType("sched_waking", null);
+        field = fProvider.getField(createEvent(type, "tid"), fProvider.fTidField);
+        assertNotNull(field);
+        assertEquals(42L, field.getValue());
+    }
+
+    private ITmfEvent createEvent(String name) {
+        return createEvent(name, "tid");
+    }
+
+    private ITmfEvent createEvent(String name, String fieldName) {
+        return createEvent(new TmfEventType(name, createContent(fieldName)), fieldName);
+    }
+
+    private ITmfEvent createEvent(ITmfEventType type, String fieldName) {
+        return new TmfEvent(fTrace, ITmfContext.UNKNOWN_RANK, TmfTimestamp.fromNanos(1), type, createContent(fieldName));
+    }
+
+    private static ITmfEventField createContent(String fieldName) {
+        return new TmfEventField(ITmfEventField.ROOT_FIELD_ID, null,
+                new ITmfEventField[] { new TmfEventField(fieldName, 42L, null) });
+    }
+
+    private static class DispatchStateProvider extends AbstractTmfStateProvider {
+
+        public static final int UNKNOWN = UNKNOWN_EVENT_TYPE;
+
+        private final int fSwitchId;
+        private final int fSyscallId;
+        private final int fSyscallSpecialId;
+        private final int fTidField;
+        private final int fPrioField;
+
+        public DispatchStateProvider(TmfTraceStub trace) {
+            super(trace, "Dispatch test");
+            fSyscallId = registerEventTypePrefix("syscall_entry_");
+            fSwitchId = registerEventType("sched_switch");
+            fSyscallSpecialId = registerEventType("syscall_entry_special");
+            fTidField = registerEventField("tid");
+            fPrioField = registerEventField("prio");
+        }
+
+        public int getId(ITmfEvent event) {
+            return getEventTypeId(event);
+        }
+
+        public ITmfEventField getField(ITmfEvent event, int fieldId) {
+            return getEventField(event, fieldId);
+        }
+
+        @Override
+        public int getVersion() {
+            return 0;
+        }
+
+        @Override
+        public @NonNull ITmfStateProvider getNewInstance() {
+            return new DispatchStateProvider((TmfTraceStub) getTrace());
+        }
+
+        @Override
+        protected void eventHandle(@NonNull ITmfEvent event) {
+            // Nothing to do
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.tmf.core.tests.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.tmf.core.statistics.ITmfStatistics;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.statistics.TmfStatisticsBuckets;
+import org.eclipse.tracecompass.tmf.core.tests.shared.TmfTestTrace;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Test the {@link TmfStatisticsBuckets}
+ */
+@SuppressWarnings("nls")
+public class TmfStatisticsBucketsTest {
+
+    private static final long START = 1000;
+    private static final String SCHED = "sched_switch";
+    private static final String IRQ = "irq_handler_entry";
+    private static final String LOST = "Lost event";
+
+    /**
+     * Create buckets of 1 ns, with 3 events at each of 10 timestamps
+     */
+    private static TmfStatisticsBuckets createSmallBuckets() {
+        TmfStatisticsBuckets.Builder builder = new TmfStatisticsBuckets.Builder(START, START + 9);
+        for (long time = START; time < START + 10; time++) {
+            builder.addEvents(SCHED, time, 2, true);
+            builder.addEvents(IRQ, time, 1, true);
+        }
+        builder.addEvents(LOST, START + 5, 100, false);
+        return builder.build();
+    }
+
+    private static void assertSmallBuckets(TmfStatisticsBuckets buckets) {
+        assertEquals(1, buckets.getBucketDuration());
+        assertEquals(10, buckets.getNbBuckets());
+        assertEquals(START, buckets.getStartTime());
+        assertEquals(Arrays.asList(SCHED, IRQ, LOST), Arrays.asList(buckets.getEventTypes().toArray()));
+
+        /* The lost events are not in the total */
+        assertEquals(30, buckets.getEventsTotal());
+        assertEquals(ImmutableMap.of(SCHED, 20L, IRQ, 10L, LOST, 100L), buckets.getEventTypesTotal());
+        assertEquals(30, buckets.getEventsInRange(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(9, buckets.getEventsInRange(START + 2, START + 4));
+        assertEquals(3, buckets.getEventsInRange(START + 9, START + 20));
+        assertEquals(0, buckets.getEventsInRange(START + 4, START + 2));
+        assertEquals(0, buckets.getEventsInRange(0, START - 1));
+        assertEquals(ImmutableMap.of(SCHED, 4L, IRQ, 2L, LOST, 100L), buckets.getEventTypesInRange(START + 4, START + 5));
+        assertEquals(2, buckets.getBucketCount(SCHED, 3));
+        assertEquals(3, buckets.getBucketCount(null, 3));
+        assertEquals(0, buckets.getBucketCount("unknown", 3));
+        assertEquals(0, buckets.getBucketCount(null, 10));
+        assertEquals(Arrays.asList(3L, 6L, 6L, 15L), buckets.histogramQuery(new long[] { START, START + 2, START + 4, START + 9 }));
+    }
+
+    /**
+     * Test counting events and querying the buckets
+     */
+    @Test
+    public void testQueries() {
+        assertSmallBuckets(createSmallBuckets());
+
+        TmfStatisticsBuckets empty = new TmfStatisticsBuckets.Builder(START, START).build();
+        assertEquals(0, empty.getNbBuckets());
+        assertEquals(0, empty.getEventsTotal());
+        assertEquals(0, empty.getEventsInRange(START, START + 10));
+        assertEquals(Arrays.asList(0L, 0L), empty.histogramQuery(new long[] { START, START + 10 }));
+    }
+
+    /**
+     * Test that the buckets are merged when events come after the end time,
+     * and that the counts are rounded to the buckets
+     */
+    @Test
+    public void testMergeBuckets() {
+        Random random = new Random(42);
+        long[] counts = new long[TmfStatisticsBuckets.MAX_BUCKETS * 4];
+        /* The end time is not known */
+        TmfStatisticsBuckets.Builder builder = new TmfStatisticsBuckets.Builder(START, START);
+        for (int i = 0; i < 100000; i++) {
+            int time = random.nextInt(counts.length);
+            counts[time]++;
+            builder.addEvents(SCHED, START + time, 1, true);
+        }
+        TmfStatisticsBuckets buckets = builder.build();
+        assertEquals(4, buckets.getBucketDuration());
+        assertEquals(TmfStatisticsBuckets.MAX_BUCKETS, buckets.getNbBuckets());
+        assertEquals(100000, buckets.getEventsTotal());
+
+        for (int bucket = 0; bucket < buckets.getNbBuckets(); bucket += 97) {
+            long expected = counts[4 * bucket] + counts[4 * bucket + 1] + counts[4 * bucket + 2] + counts[4 * bucket + 3];
+            assertEquals(expected, buckets.getBucketCount(SCHED, bucket));
+        }
+        /*
+         * The events of a bucket are counted in the range that contains the
+         * end of the bucket: [401, 802] counts the events of [404, 803]
+         */
+        long expected = 0;
+        for (int time = 404; time < 804; time++) {
+            expected += counts[time];
+        }
+        assertEquals(expected, buckets.getEventsInRange(START + 401, START + 802));
+    }
+
+    /**
+     * Statistics that count the events up to a time like the statistics state
+     * system: the times are clamped to the range of the trace
+     */
+    private static class SortedEventsStatistics implements ITmfStatistics {
+
+        private final long[] fTimes;
+        private final long fStart;
+        private final long fEnd;
+        private int fNbQueries = 0;
+
+        public SortedEventsStatistics(long[] times, long start, long end) {
+            fTimes = times;
+            fStart = start;
+            fEnd = end;
+        }
+
+        private long countAt(long time) {
+            long clamped = Math.max(fStart, Math.min(fEnd, time));
+            int low = 0;
+            int high = fTimes.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (fTimes[mid] <= clamped) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        @Override
+        public List<@NonNull Long> histogramQuery(long[] timeRequested) {
+            fNbQueries++;
+            List<@NonNull Long> list = new ArrayList<>();
+            long prevTotal = (timeRequested[0] == fStart) ? 0 : countAt(timeRequested[0] - 1);
+            for (long time : timeRequested) {
+                long total = countAt(time);
+                list.add(total - prevTotal);
+                prevTotal = total;
+            }
+            return list;
+        }
+
+        @Override
+        public long getEventsTotal() {
+            return fTimes.length;
+        }
+
+        @Override
+        public Map<@NonNull String, @NonNull Long> getEventTypesTotal() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getEventsInRange(long start, long end) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<String, Long> getEventTypesInRange(long start, long end) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void dispose() {
+            // Nothing to dispose
+        }
+    }
+
+    /**
+     * Test that the histogram queries with the statistics give the exact
+     * counts of the statistics, and query the statistics only for the times
+     * that split the events of a bucket
+     */
+    @Test
+    public void testExactHistogramQuery() {
+        Random random = new Random(42);
+        long end = START + 100L * TmfStatisticsBuckets.MAX_BUCKETS;
+        /* Bursts of events, with gaps between them */
+        long[] times = new long[50000];
+        long time = START + 10;
+        for (int i = 0; i < times.length; i++) {
+            time += (random.nextInt(100) == 0) ? random.nextInt(20000) : random.nextInt(3);
+            times[i] = Math.min(time, end);
+        }
+        TmfStatisticsBuckets.Builder builder = new TmfStatisticsBuckets.Builder(START, end);
+        for (long eventTime : times) {
+            builder.addEvents(SCHED, eventTime, 1, true);
+        }
+        TmfStatisticsBuckets buckets = builder.build();
+        assertEquals(times.length, buckets.getEventsTotal());
+        assertEquals(0, buckets.getEventCountAt(START));
+        assertEquals(times.length, buckets.getEventCountAt(end));
+
+        SortedEventsStatistics statistics = new SortedEventsStatistics(times, START, end);
+        /* The counts known from the buckets are exact */
+        int known = 0;
+        for (long t = START; t <= end; t += 37) {
+            long count = buckets.getEventCountAt(t);
+            if (count >= 0) {
+                assertEquals(statistics.countAt(t), count);
+                known++;
+            }
+        }
+        assertTrue(known > 0);
+        for (int nb : new int[] { 1, 2, 10, 100, 1000 }) {
+            for (long first : new long[] { START, START + 10, times[times.length / 2], end - 1000 }) {
+                long[] requested = new long[nb];
+                for (int i = 0; i < nb; i++) {
+                    requested[i] = first + (end - first) * i / nb;
+                }
+                statistics.fNbQueries = 0;
+                List<@NonNull Long> expected = statistics.histogramQuery(requested);
+                statistics.fNbQueries = 0;
+                assertEquals(expected, buckets.histogramQuery(requested, statistics));
+                assertTrue(statistics.fNbQueries <= nb);
+            }
+        }
+        /* Times in the gaps between the bursts are known from the buckets */
+        long[] gaps = new long[] { START + 5, times[0] - 1, end };
+        statistics.fNbQueries = 0;
+        assertEquals(statistics.histogramQuery(gaps), buckets.histogramQuery(gaps, statistics));
+        assertEquals(1, statistics.fNbQueries);
+    }
+
+    /**
+     * Test that the counts per event type are exact, with ranges that split
+     * the events of the buckets
+     */
+    @Test
+    public void testExactEventTypesInRange() {
+        ITmfTrace trace = TmfTestTrace.A_TEST_10K.getTrace();
+        List<ITmfEvent> events = new ArrayList<>();
+        ITmfContext context = trace.seekEvent(0);
+        ITmfEvent event = trace.getNext(context);
+        while (event != null) {
+            events.add(event);
+            event = trace.getNext(context);
+        }
+        context.dispose();
+        long start = events.get(0).getTimestamp().toNanos();
+        long end = events.get(events.size() - 1).getTimestamp().toNanos();
+
+        /* Give a later end time, so the buckets hold many events */
+        TmfStatisticsBuckets.Builder builder = new TmfStatisticsBuckets.Builder(start, start + (end - start) * 1000);
+        for (ITmfEvent e : events) {
+            builder.addEvents(e.getName(), e.getTimestamp().toNanos(), 1, true);
+        }
+        TmfStatisticsBuckets buckets = builder.build();
+        assertTrue(buckets.getNbBuckets() < events.size() / 100);
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            long rangeStart = events.get(random.nextInt(events.size())).getTimestamp().toNanos() + random.nextInt(3) - 1;
+            long rangeEnd = events.get(random.nextInt(events.size())).getTimestamp().toNanos() + random.nextInt(3) - 1;
+            Map<String, Long> expected = new HashMap<>();
+            for (String eventType : buckets.getEventTypes()) {
+                expected.put(eventType, 0L);
+            }
+            for (ITmfEvent e : events) {
+                long time = e.getTimestamp().toNanos();
+                if (rangeStart <= time && time <= rangeEnd) {
+                    expected.merge(e.getName(), 1L, Long::sum);
+                }
+            }
+            if (rangeStart <= rangeEnd) {
+                assertEquals(expected, buckets.getEventTypesInRange(rangeStart, rangeEnd, trace));
+            } else {
+                assertTrue(buckets.getEventTypesInRange(rangeStart, rangeEnd, trace).isEmpty());
+            }
+        }
+        TmfTestTrace.A_TEST_10K.dispose();
+    }
+
+    /**
+     * Test saving buckets and reading them back memory-mapped
+     *
+     * @throws IOException
+     *             If the file cannot be written or read
+     */
+    @Test
+    public void testSaveLoad() throws IOException {
+        Path file = Files.createTempFile("statistics", ".buckets");
+        try {
+            createSmallBuckets().save(file);
+            TmfStatisticsBuckets loaded = TmfStatisticsBuckets.load(file);
+            assertNotNull(loaded);
+            assertSmallBuckets(loaded);
+
+            /* Not a file of buckets */
+            Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+            assertNull(TmfStatisticsBuckets.load(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertNull(TmfStatisticsBuckets.load(file));
+    }
+}
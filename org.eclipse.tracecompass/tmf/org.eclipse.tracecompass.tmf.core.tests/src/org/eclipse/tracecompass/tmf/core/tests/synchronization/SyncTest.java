@@ -25,9 +25,14 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.tracecompass.internal.tmf.core.synchronization.SyncAlgorithmFullyIncremental;
@@ -226,6 +231,71 @@ public class SyncTest {
         assertEquals("SyncAlgorithmFullyIncremental [Between t1 and t2 [ alpha 1 beta 2.5 ]]", syncAlgo.toString());
     }
 
+    /**
+     * Testing the fully incremental synchronization algorithm in streaming
+     * mode against the algorithm keeping all the points of the hulls
+     */
+    @Test
+    public void testStreaming() {
+        SynchronizationAlgorithm syncAlgo = SynchronizationAlgorithmFactory.getFullyIncrementalAlgorithm();
+        SynchronizationAlgorithm streamingAlgo = SynchronizationAlgorithmFactory.getStreamingAlgorithm();
+        syncAlgo.init(fTraces);
+        streamingAlgo.init(fTraces);
+
+        /* The clock of t2 drifts and is ahead of the clock of t1 */
+        Random random = new Random(7);
+        for (long time = 1000; time < 1000000; time += 1 + random.nextInt(100)) {
+            long latency = 10 + random.nextInt(50);
+            long time2 = time + time / 10000 + 500;
+            if (random.nextBoolean()) {
+                addSyncMatch(syncAlgo, t1, time, t2, time2 + latency);
+                addSyncMatch(streamingAlgo, t1, time, t2, time2 + latency);
+            } else {
+                addSyncMatch(syncAlgo, t2, time2, t1, time + latency);
+                addSyncMatch(streamingAlgo, t2, time2, t1, time + latency);
+            }
+            assertEquals(syncAlgo.getSynchronizationQuality(t1, t2), streamingAlgo.getSynchronizationQuality(t1, t2));
+            assertEquals(syncAlgo.toString(), streamingAlgo.toString());
+        }
+        assertEquals(SyncQuality.ACCURATE, streamingAlgo.getSynchronizationQuality(t1, t2));
+        assertEquals(syncAlgo.getTimestampTransform(t2), streamingAlgo.getTimestampTransform(t2));
+    }
+
+    /**
+     * Testing the publication of provisional transforms while the matches are
+     * processed
+     */
+    @Test
+    public void testProvisionalTransforms() {
+        SynchronizationAlgorithm syncAlgo = SynchronizationAlgorithmFactory.getStreamingAlgorithm();
+        syncAlgo.init(fTraces);
+        List<Map<String, ITmfTimestampTransform>> published = new ArrayList<>();
+        Consumer<Map<String, ITmfTimestampTransform>> listener = published::add;
+        syncAlgo.addProvisionalTransformListener(listener);
+
+        /* Published when the quality changes */
+        addSyncMatch(syncAlgo, t2, 1, t1, 1);
+        assertEquals(1, published.size());
+        addSyncMatch(syncAlgo, t1, 1, t2, 3);
+        assertEquals(1, published.size());
+        addSyncMatch(syncAlgo, t2, 2, t1, 3);
+        assertEquals(2, published.size());
+        addSyncMatch(syncAlgo, t1, 3, t2, 5);
+        assertEquals(3, published.size());
+        assertEquals(syncAlgo.getTimestampTransform(t2.getHostId()), published.get(2).get(t2.getHostId()));
+        assertEquals(TimestampTransformFactory.getDefaultTransform(), published.get(2).get(t1.getHostId()));
+
+        /* Published when the matching ends */
+        addSyncMatch(syncAlgo, t2, 4, t1, 5);
+        syncAlgo.matchingEnded();
+        assertEquals(4, published.size());
+        assertEquals(syncAlgo.getTimestampTransform(t2.getHostId()), published.get(3).get(t2.getHostId()));
+
+        syncAlgo.removeProvisionalTransformListener(listener);
+        syncAlgo.matchingEnded();
+        assertEquals(4, published.size());
+    }
+
     private static void addSyncMatch(SynchronizationAlgorithm algo, ITmfTrace sender, long sendTs, ITmfTrace receiver, long receiveTs) {
         algo.addMatch(
                 new TmfEventDependency(
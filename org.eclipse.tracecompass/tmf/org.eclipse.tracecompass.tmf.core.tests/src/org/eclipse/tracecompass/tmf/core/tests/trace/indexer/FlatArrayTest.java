@@ -15,6 +15,8 @@
 package org.eclipse.tracecompass.tmf.core.tests.trace.indexer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 
@@ -67,6 +69,31 @@ public class FlatArrayTest extends AbstractCheckpointCollectionTest {
         assertEquals(found, expectedCheckpoint);
     }
 
+    /**
+     * Test that the array keeps track of whether the checkpoints are inserted
+     * in increasing order, also after re-opening the file
+     */
+    @Test
+    public void testIsSorted() {
+        assertTrue(fFlatArray.isSorted());
+        for (long i = 0; i < 10; i++) {
+            fFlatArray.insert(new TmfCheckpoint(TmfTimestamp.fromSeconds(i), new TmfLongLocation(i), i));
+        }
+        assertTrue(fFlatArray.isSorted());
+        fFlatArray.dispose();
+
+        fFlatArray = createCollection();
+        assertTrue(fFlatArray.isSorted());
+        fFlatArray.insert(new TmfCheckpoint(TmfTimestamp.fromSeconds(5), new TmfLongLocation(10L), 10));
+        assertFalse(fFlatArray.isSorted());
+        assertEquals(11, fFlatArray.size());
+        fFlatArray.dispose();
+
+        fFlatArray = createCollection();
+        assertFalse(fFlatArray.isSorted());
+        assertEquals(new TmfCheckpoint(TmfTimestamp.fromSeconds(5), new TmfLongLocation(10L), 10), fFlatArray.get(10));
+    }
+
     /**
      * Test many checkpoint insertions. Make sure they can be found after
      * re-opening the file
@@ -11,6 +11,9 @@
 
 package org.eclipse.tracecompass.internal.provisional.tmf.core.model.events;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -34,7 +37,9 @@ import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.ITmfVi
 import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.ITmfVirtualTableModel;
 import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.TmfVirtualTableModel;
 import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.VirtualTableCell;
+import org.eclipse.tracecompass.internal.tmf.core.Activator;
 import org.eclipse.tracecompass.internal.tmf.core.filter.TmfCollapseFilter;
+import org.eclipse.tracecompass.internal.tmf.core.filter.TmfFilteredRankIndex;
 import org.eclipse.tracecompass.internal.tmf.core.model.AbstractTmfTableDataProvider;
 import org.eclipse.tracecompass.internal.tmf.core.model.filters.FetchParametersUtils;
 import org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils;
@@ -64,6 +69,7 @@ import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimeRange;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
 
 import com.google.common.collect.BiMap;
@@ -90,7 +96,18 @@ public class TmfEventTableDataProvider extends AbstractTmfTableDataProvider impl
      */
     public static final String ID = "org.eclipse.tracecompass.internal.provisional.tmf.core.model.events.TmfEventTableDataProvider"; //$NON-NLS-1$
 
-    private @Nullable ITmfFilter fFilter;
+    /**
+     * Expression of the filter of the last filtered query, with the collapse
+     * filter if it was present
+     */
+    private @Nullable String fFilterKey;
+
+    /**
+     * Ranks of the events matching the current filter, once the whole trace
+     * was read with that filter. It is only used without collapse filter,
+     * since the collapse filter depends on the previous events.
+     */
+    private @Nullable TmfFilteredRankIndex fRankIndex;
 
     /**
      * Maps used for the optimization of filtered query.
@@ -123,6 +140,9 @@ public class TmfEventTableDataProvider extends AbstractTmfTableDataProvider impl
      */
     private static final int INDEX_STORING_INTERVAL = 1000;
 
+    private static final String RANK_INDEX_FILE_PREFIX = "filter-"; //$NON-NLS-1$
+    private static final String RANK_INDEX_FILE_SUFFIX = ".idx"; //$NON-NLS-1$
+
     /**
      * Constructor
      *
@@ -224,10 +244,22 @@ public class TmfEventTableDataProvider extends AbstractTmfTableDataProvider impl
             } else {
                 predicate = e -> (filter.matches(e) && searchFilter.matches(e));
             }
-            if (direction == Direction.NEXT) {
-                event = getNextWrappedEventMatching(getTrace(), Math.abs(queryFilter.getIndex()), predicate, monitor);
+            long startRank = Math.abs(queryFilter.getIndex());
+            TmfFilteredRankIndex rankIndex = null;
+            if (filter != null && collapseFilter == null) {
+                applyFilter(filter, false);
+                rankIndex = fRankIndex;
+            }
+            if (rankIndex != null) {
+                /* Start the search at the closest event matching the filter */
+                startRank = (direction == Direction.PREVIOUS) ? rankIndex.previousRank(startRank) : rankIndex.nextRank(startRank);
+            }
+            if (startRank < 0) {
+                event = null;
+            } else if (direction == Direction.NEXT) {
+                event = getNextWrappedEventMatching(getTrace(), startRank, predicate, monitor);
             } else if (direction == Direction.PREVIOUS) {
-                event = getPreviousWrappedEventMatching(getTrace(), Math.abs(queryFilter.getIndex()), predicate, monitor);
+                event = getPreviousWrappedEventMatching(getTrace(), startRank, predicate, monitor);
             }
             List<EventTableLine> lines = new ArrayList<>();
             long rank = queryFilter.getIndex();
@@ -258,6 +290,24 @@ public class TmfEventTableDataProvider extends AbstractTmfTableDataProvider impl
          * running out of memory. TBD if the check and should be handled here or
          * in the calling methods.
          */
+        if (filter != null && collapseFilter == null) {
+            applyFilter(filter, false);
+            TmfFilteredRankIndex rankIndex = fRankIndex;
+            if (rankIndex != null) {
+                List<EventTableLine> lines;
+                try {
+                    lines = fetchIndexedLines(rankIndex, Math.abs(queryFilter.getCount()), queryFilter.getIndex(), aspects, searchFilter, monitor);
+                } catch (InterruptedException e) {
+                    return new TmfModelResponse<>(null, ITmfResponse.Status.FAILED, NonNullUtils.nullToEmptyString(e.getMessage()));
+                }
+                if (lines == null) {
+                    return new TmfModelResponse<>(null, ITmfResponse.Status.CANCELLED, CommonStatusMessage.TASK_CANCELLED);
+                }
+                TmfVirtualTableModel<EventTableLine> model = new TmfVirtualTableModel<>(columnsIds, lines, queryFilter.getIndex(), rankIndex.getCount());
+                return new TmfModelResponse<>(model, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+            }
+        }
+
         TableEventRequest request;
         if (filter != null) {
             request = filteredTableRequest(Math.abs(queryFilter.getCount()), queryFilter.getIndex(), aspects, filter, searchFilter, collapseFilter, monitor);
@@ -320,7 +370,11 @@ public class TmfEventTableDataProvider extends AbstractTmfTableDataProvider impl
         if (filter == null) {
             return new TmfModelResponse<>(Collections.singletonList(rank), ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
         }
-        applyFilter(filter);
+        applyFilter(filter, extractCollapseFilter(fetchParameters) != null);
+        TmfFilteredRankIndex rankIndex = fRankIndex;
+        if (rankIndex != null) {
+            return new TmfModelResponse<>(Collections.singletonList(rankIndex.indexOf(rank)), ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+        }
 
         Entry<Long, Long> nearestEntry = fRankToIndexMap.floorEntry(rank);
         long startingIndex = nearestEntry != null ? nearestEntry.getValue() : 0L;
@@ -417,16 +471,31 @@ public class TmfEventTableDataProvider extends AbstractTmfTableDataProvider impl
             @Nullable ITmfFilter collapseFilter,
             @Nullable IProgressMonitor monitor) {
 
-        applyFilter(filter);
+        applyFilter(filter, collapseFilter != null);
+        String filterKey = fFilterKey;
 
         Entry<Long, Long> nearestEntry = fIndexToRankMap.floorEntry(queryIndex);
         long startingRank = nearestEntry != null ? nearestEntry.getValue() : 0L;
         Long startingIndex = nearestEntry != null ? nearestEntry.getKey() : 0L;
 
+        /*
+         * Record the ranks of the matching events when the whole trace is read
+         * for this filter
+         */
+        @Nullable TmfFilteredRankIndex newRankIndex = (nearestEntry == null && collapseFilter == null) ? new TmfFilteredRankIndex() : null;
+
         return new TableEventRequest(startingRank) {
             private long currentIndex = startingIndex;
             private long rank = startingRank;
 
+            @Override
+            public void handleSuccess() {
+                super.handleSuccess();
+                if (newRankIndex != null && filterKey != null) {
+                    installRankIndex(filterKey, newRankIndex, rank);
+                }
+            }
+
             @Override
             public void handleData(@NonNull ITmfEvent event) {
                 super.handleData(event);
@@ -437,6 +506,9 @@ public class TmfEventTableDataProvider extends AbstractTmfTableDataProvider impl
 
                 List<EventTableLine> events = getEventLines();
                 if (filter.matches(event) && (collapseFilter == null || collapseFilter.matches(event))) {
+                    if (newRankIndex != null) {
+                        newRankIndex.add(rank);
+                    }
                     boolean matches = searchFilter != null && searchFilter.matches(event);
                     if (events.size() < queryCount && queryIndex <= currentIndex) {
                         events.add(buildEventTableLine(aspects, event, currentIndex, rank, matches));
@@ -572,20 +644,125 @@ public class TmfEventTableDataProvider extends AbstractTmfTableDataProvider impl
 
     /**
      * Apply a filter to this provider that will be used for future request. If
-     * the current filter is null or not equal to the provided filter, the
-     * IndexToRank and RankToIndex maps are cleared
+     * the current filter is null or does not have the same expression as the
+     * provided filter, the IndexToRank and RankToIndex maps are cleared and the
+     * index of the matching ranks saved for the new filter, if any, is read.
      *
      * @param filter
      *            Filter to apply
+     * @param collapse
+     *            Whether the collapse filter is applied after the filter
      */
-    private void applyFilter(ITmfFilter filter) {
-        // TODO: Verify if this works correctly.
-        if (!filter.equals(fFilter)) {
-            fFilter = filter;
+    private void applyFilter(ITmfFilter filter, boolean collapse) {
+        String key = getFilterKey(filter, collapse);
+        if (key == null || !key.equals(fFilterKey)) {
+            fFilterKey = key;
             fIndexToRankMap.clear();
             fRankToIndexMap.clear();
             fFilteredCount = -1L;
+            fRankIndex = (key != null && !collapse) ? loadRankIndex(key) : null;
+        }
+    }
+
+    private static @Nullable String getFilterKey(ITmfFilter filter, boolean collapse) {
+        if (!(filter instanceof ITmfFilterTreeNode)) {
+            return null;
+        }
+        String expression = ((ITmfFilterTreeNode) filter).toString(true);
+        return collapse ? expression + " collapse" : expression; //$NON-NLS-1$
+    }
+
+    private Path getRankIndexFile(String filterKey) {
+        String name = RANK_INDEX_FILE_PREFIX + Integer.toHexString(filterKey.hashCode()) + RANK_INDEX_FILE_SUFFIX;
+        return Paths.get(TmfTraceManager.getSupplementaryFileDir(getTrace()), name);
+    }
+
+    private @Nullable TmfFilteredRankIndex loadRankIndex(String filterKey) {
+        try {
+            return TmfFilteredRankIndex.load(getRankIndexFile(filterKey), filterKey, getTrace().getNbEvents());
+        } catch (IOException e) {
+            Activator.logWarning("Error reading the filtered events index of " + getTrace().getName(), e); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    /**
+     * Keep and save the index of the matching ranks built by a filtered
+     * request, if it read the whole trace and the filter did not change
+     */
+    private void installRankIndex(String filterKey, TmfFilteredRankIndex rankIndex, long nbRead) {
+        long nbEvents = getTrace().getNbEvents();
+        if (nbRead != nbEvents || !filterKey.equals(fFilterKey)) {
+            return;
+        }
+        fRankIndex = rankIndex;
+        try {
+            rankIndex.save(getRankIndexFile(filterKey), filterKey, nbEvents);
+        } catch (IOException e) {
+            Activator.logWarning("Error saving the filtered events index of " + getTrace().getName(), e); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Get the lines of the events matching the filter from their index among
+     * the matching events. Only the events at the matching ranks are read, a
+     * new request is sent when the next matching event is farther than the
+     * cache size of the trace.
+     *
+     * @return The lines, or null if the monitor was cancelled
+     */
+    private @Nullable List<EventTableLine> fetchIndexedLines(TmfFilteredRankIndex rankIndex,
+            int queryCount,
+            long queryIndex,
+            Map<Long, ITmfEventAspect<?>> aspects,
+            @Nullable ITmfFilter searchFilter,
+            @Nullable IProgressMonitor monitor) throws InterruptedException {
+        List<EventTableLine> lines = new ArrayList<>();
+        int maxGap = getTrace().getCacheSize();
+        long firstIndex = Math.max(0L, queryIndex);
+        long index = firstIndex;
+        long nextRank = rankIndex.getRank(index);
+        while (lines.size() < queryCount && nextRank >= 0) {
+            long startRank = nextRank;
+            long startIndex = index;
+            TmfEventRequest request = new TmfEventRequest(ITmfEvent.class, TmfTimeRange.ETERNITY, startRank, ITmfEventRequest.ALL_DATA, ExecutionType.FOREGROUND) {
+                private long fRank = startRank;
+                private long fIndex = startIndex;
+                private long fNextRank = startRank;
+
+                @Override
+                public void handleData(ITmfEvent event) {
+                    super.handleData(event);
+                    if (monitor != null && monitor.isCanceled()) {
+                        cancel();
+                        return;
+                    }
+                    if (fRank == fNextRank) {
+                        boolean matches = searchFilter != null && searchFilter.matches(event);
+                        lines.add(buildEventTableLine(aspects, event, fIndex, fRank, matches));
+                        fIndex++;
+                        fNextRank = rankIndex.getRank(fIndex);
+                        if (lines.size() >= queryCount || fNextRank < 0 || fNextRank - fRank > maxGap) {
+                            done();
+                            return;
+                        }
+                    }
+                    fRank++;
+                }
+            };
+            getTrace().sendRequest(request);
+            request.waitForCompletion();
+            if (request.isCancelled()) {
+                return null;
+            }
+            index = firstIndex + lines.size();
+            if (index == startIndex) {
+                /* The trace does not have the expected events */
+                break;
+            }
+            nextRank = rankIndex.getRank(index);
         }
+        return lines;
     }
 
     /**
@@ -24,7 +24,7 @@ import com.google.common.collect.Multimap;
  */
 public class FilterExpression implements Predicate<Multimap<String, Object>> {
 
-    private final List<Object> fElements;
+    private final Predicate<Multimap<String, Object>> fPredicate;
 
     /**
      * Constructor
@@ -34,43 +34,50 @@ public class FilterExpression implements Predicate<Multimap<String, Object>> {
      *
      */
     public FilterExpression(List<Object> elements) {
-        fElements = elements;
+        fPredicate = compile(elements);
     }
 
-    @Override
-    public boolean test(Multimap<String, Object> data) {
-        if (fElements.isEmpty()) {
-            return false;
+    /**
+     * Compile the elements to a predicate that evaluates the operands from
+     * left to right, and does not evaluate an operand once the result is
+     * known.
+     */
+    private static Predicate<Multimap<String, Object>> compile(List<Object> elements) {
+        Predicate<Multimap<String, Object>> result = data -> false;
+        if (elements.isEmpty()) {
+            return result;
         }
 
-        int index = 0;
-        boolean result = false;
         String operator = IFilterStrings.OR;
-        while (index < fElements.size()) {
-            Object element = fElements.get(index);
+        for (int index = 0; index < elements.size(); index++) {
+            Object element = elements.get(index);
 
             if (index % 2 == 0) {
+                Predicate<Multimap<String, Object>> operand;
                 if (element instanceof FilterSimpleExpression) {
-                    FilterSimpleExpression expression = (FilterSimpleExpression) element;
-                    result = handleOperator(result, operator, expression.test(data));
+                    operand = (FilterSimpleExpression) element;
                 } else if (element instanceof FilterExpression) {
-                    FilterExpression expression = (FilterExpression) element;
-                    result = handleOperator(result, operator, expression.test(data));
+                    operand = (FilterExpression) element;
                 } else {
-                    return false;
+                    return data -> false;
+                }
+                if (index == 0) {
+                    result = operand;
+                } else {
+                    result = operator.equals(IFilterStrings.OR) ? result.or(operand) : result.and(operand);
                 }
             } else {
                 if (!(element instanceof String)) {
-                    return false;
+                    return data -> false;
                 }
                 operator = (String) element;
             }
-            index++;
         }
         return result;
     }
 
-    private static boolean handleOperator(boolean left, String operator, boolean right) {
-        return operator.equals(IFilterStrings.OR) ? (left || right) : (left && right);
+    @Override
+    public boolean test(Multimap<String, Object> data) {
+        return fPredicate.test(data);
     }
 }
@@ -10,7 +10,6 @@
 *******************************************************************************/
 package org.eclipse.tracecompass.internal.provisional.tmf.core.model.filter.parser;
 
-import java.util.Objects;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 
@@ -29,9 +28,11 @@ import com.google.common.collect.Multimap;
 public class FilterSimpleExpression implements Predicate<Multimap<String, Object>> {
 
     private final String fField;
+    private final String fNestedField;
+    private final boolean fIsWildcard;
     private final BiPredicate<Object, Object> fOperator;
     private final @Nullable String fOriginalValue;
-    private final @Nullable Object fValue;
+    private final Predicate<Object> fValuePredicate;
 
     /**
      * Constructor
@@ -45,18 +46,20 @@ public class FilterSimpleExpression implements Predicate<Multimap<String, Object
      */
     public FilterSimpleExpression(String field, ConditionOperator operator, @Nullable String value) {
         fField = field;
+        fNestedField = "> " + field; //$NON-NLS-1$
+        fIsWildcard = field.equals(IFilterStrings.WILDCARD);
         fOperator = operator;
         fOriginalValue = value;
-        fValue = ConditionOperator.prepareValue(operator, value);
+        fValuePredicate = operator.compile(ConditionOperator.prepareValue(operator, value));
     }
 
     @Override
     public boolean test(Multimap<String, Object> data) {
-        Object value = fValue;
-        return Iterables.any(data.entries(), entry -> (fField.equals("*") ||  //$NON-NLS-1$
-                Objects.requireNonNull(entry.getKey()).equals(fField) ||
-                Objects.requireNonNull(entry.getKey()).equals("> " + fField)) &&  //$NON-NLS-1$
-                (value == null || fOperator.test(entry.getValue(), value)));
+        if (fIsWildcard) {
+            return Iterables.any(data.values(), fValuePredicate::test);
+        }
+        return Iterables.any(data.get(fField), fValuePredicate::test) ||
+                Iterables.any(data.get(fNestedField), fValuePredicate::test);
     }
 
     @Override
@@ -15,8 +15,12 @@ import java.text.NumberFormat;
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -39,6 +43,9 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.util.Pair;
 import org.eclipse.tracecompass.tmf.filter.parser.FilterParserParser;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * Compilation unit for a simple filter expression
  *
@@ -48,6 +55,8 @@ import org.eclipse.tracecompass.tmf.filter.parser.FilterParserParser;
 public class FilterSimpleExpressionCu implements IFilterCu {
 
     private static final Format DECIMAL_FORMAT = new DecimalUnitFormat();
+    /* Number of strings whose parsed number is kept by a compiled operator */
+    private static final int PARSED_CACHE_SIZE = 1024;
 
     private final String fField;
     private final String fOperator;
@@ -354,6 +363,123 @@ public class FilterSimpleExpressionCu implements IFilterCu {
             return Objects.requireNonNull(fCmpFunction.apply(arg0, arg1));
         }
 
+        /**
+         * Compile this operator with the value to compare to, so that the
+         * conversions of the value, its string representation, number and
+         * pattern, are done once and not for every tested object. The numbers
+         * parsed from the string values tested by the predicate are cached.
+         * The compiled predicate returns the same result as
+         * {@link #test(Object, Object)}.
+         *
+         * @param value
+         *            The value prepared by {@link #prepareValue}, or null if
+         *            the operator has no value
+         * @return The predicate testing an internal value against the value
+         */
+        public Predicate<Object> compile(@Nullable Object value) {
+            if (value == null) {
+                return i -> true;
+            }
+            switch (this) {
+            case EQ:
+                return equalsPredicate(value);
+            case NE:
+                return equalsPredicate(value).negate();
+            case MATCHES:
+                Pattern pattern = null;
+                Object matchValue = value;
+                if (value instanceof Pair) {
+                    Pair<?, ?> pair = (Pair<?, ?>) value;
+                    if (pair.getFirst() instanceof Pattern) {
+                        pattern = (Pattern) pair.getFirst();
+                    }
+                    matchValue = pair.getSecond();
+                }
+                Predicate<Object> equals = (matchValue instanceof Number) ? equalsPredicate(matchValue) : i -> false;
+                if (pattern == null) {
+                    return equals;
+                }
+                Pattern filterPattern = pattern;
+                return equals.or(i -> filterPattern.matcher(String.valueOf(i)).find());
+            case CONTAINS:
+                String string = String.valueOf(value);
+                return i -> String.valueOf(i).contains(string);
+            case LT:
+                return comparePredicate(value, compare -> compare < 0);
+            case GT:
+                return comparePredicate(value, compare -> compare > 0);
+            case PRESENT:
+                return i -> true;
+            default:
+                return i -> test(i, value);
+            }
+        }
+
+        /**
+         * Get a conversion of the internal values to numbers that keeps the
+         * numbers parsed from the recent strings, since a field often has the
+         * same values for many elements
+         */
+        private static Function<Object, @Nullable Number> cachedToNumber() {
+            Cache<String, Optional<Number>> parsed = CacheBuilder.newBuilder().maximumSize(PARSED_CACHE_SIZE).build();
+            return i -> {
+                if (i instanceof Number) {
+                    return (Number) i;
+                }
+                String val = String.valueOf(i);
+                Optional<Number> number = parsed.getIfPresent(val);
+                if (number == null) {
+                    number = Optional.ofNullable(toNumber(val));
+                    parsed.put(val, number);
+                }
+                return number.orElse(null);
+            };
+        }
+
+        private static Predicate<Object> equalsPredicate(Object j) {
+            String string = String.valueOf(j);
+            Number number2 = toNumber(j);
+            boolean isFloat2 = number2 instanceof Double || number2 instanceof Float;
+            Function<Object, @Nullable Number> toNumber = cachedToNumber();
+            return i -> {
+                if (Objects.equals(i, j) || string.equals(String.valueOf(i))) {
+                    return true;
+                }
+                // Only convert the internal value if the value is a number
+                if (number2 == null) {
+                    return false;
+                }
+                Number number1 = toNumber.apply(i);
+                if (number1 == null) {
+                    return false;
+                }
+                if (isFloat2 || number1 instanceof Double || number1 instanceof Float) {
+                    return number1.doubleValue() == number2.doubleValue();
+                }
+                return number1.longValue() == number2.longValue();
+            };
+        }
+
+        private static Predicate<Object> comparePredicate(Object j, IntPredicate result) {
+            String string = String.valueOf(j);
+            Number number2 = toNumber(j);
+            boolean isFloat2 = number2 instanceof Double || number2 instanceof Float;
+            Function<Object, @Nullable Number> toNumber = cachedToNumber();
+            return i -> {
+                Number number1 = (number2 == null) ? null : toNumber.apply(i);
+                int compare;
+                if (number2 == null || number1 == null) {
+                    // Compare their string representation
+                    compare = String.valueOf(i).compareTo(string);
+                } else if (isFloat2 || number1 instanceof Double || number1 instanceof Float) {
+                    compare = Double.compare(number1.doubleValue(), number2.doubleValue());
+                } else {
+                    compare = Long.compare(number1.longValue(), number2.longValue());
+                }
+                return result.test(compare);
+            };
+        }
+
         /**
          * Convert a human-readable string value to its machine representation.
          * For example, duration strings such as "200ms" can be converted to the
@@ -17,10 +17,12 @@
 package org.eclipse.tracecompass.internal.tmf.core.component;
 
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 
 import org.eclipse.tracecompass.internal.tmf.core.Activator;
 import org.eclipse.tracecompass.internal.tmf.core.TmfCoreTracer;
+import org.eclipse.tracecompass.internal.tmf.core.request.TmfCoalescedEventRequest;
 import org.eclipse.tracecompass.tmf.core.component.ITmfEventProvider;
 import org.eclipse.tracecompass.tmf.core.component.TmfEventProvider;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
@@ -171,6 +173,11 @@ public class TmfEventThread implements Runnable {
         fRequest.start();
         int nbRequested = fRequest.getNbRequested();
         int nbRead = 0;
+        /*
+         * Coalesced requests count every event read and filter the event types
+         * of each sub-request themselves
+         */
+        Set<String> eventTypes = (fRequest instanceof TmfCoalescedEventRequest) ? null : fRequest.getEventTypes();
 
         ITmfContext context = null;
         try {
@@ -189,7 +196,7 @@ public class TmfEventThread implements Runnable {
             while (event != null && !fProvider.isCompleted(fRequest, event, nbRead)) {
 
                 TmfCoreTracer.traceEvent(fProvider, fRequest, event);
-                if (fRequest.getDataType().isInstance(event)) {
+                if (fRequest.getDataType().isInstance(event) && (eventTypes == null || eventTypes.contains(event.getName()))) {
                     fRequest.handleData(event);
                 }
 
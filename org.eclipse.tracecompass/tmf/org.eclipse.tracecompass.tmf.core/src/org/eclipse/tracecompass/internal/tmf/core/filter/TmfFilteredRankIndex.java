@@ -0,0 +1,413 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.internal.tmf.core.filter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Compressed bitmap of the ranks of the events of a trace that match a
+ * filter. The ranks are split in chunks of 65536 ranks, each stored as a
+ * sorted array of the low bits of its ranks when it has few of them, or as a
+ * bitmap otherwise, like a roaring bitmap.
+ *
+ * Each chunk also stores the number of ranks of the previous chunks, so the
+ * index in the filtered events of a rank, and the rank of an index, are found
+ * with a binary search on the chunks.
+ *
+ * Ranks are added in increasing order, as the events are read.
+ */
+public final class TmfFilteredRankIndex {
+
+    private static final int MAGIC = 0x46524958; // "FRIX"
+    private static final int VERSION = 1;
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    /** Above this number of ranks, a bitmap is smaller than an array */
+    private static final int ARRAY_MAX_SIZE = 4096;
+    private static final int BITMAP_LENGTH = CHUNK_SIZE / Long.SIZE;
+
+    private final List<Chunk> fChunks = new ArrayList<>();
+    private long fCount = 0;
+    private long fLastRank = -1;
+
+    /**
+     * Add a rank to the index
+     *
+     * @param rank
+     *            The rank of a matching event, greater than the last rank
+     *            added
+     * @throws IllegalArgumentException
+     *             If the rank is not greater than the last rank added
+     */
+    public void add(long rank) {
+        if (rank <= fLastRank) {
+            throw new IllegalArgumentException("Ranks must be added in increasing order: " + rank + " after " + fLastRank); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        long key = rank >>> CHUNK_BITS;
+        Chunk chunk = fChunks.isEmpty() ? null : fChunks.get(fChunks.size() - 1);
+        if (chunk == null || chunk.fKey != key) {
+            chunk = new Chunk(key, fCount);
+            fChunks.add(chunk);
+        }
+        chunk.add((int) (rank & CHUNK_MASK));
+        fCount++;
+        fLastRank = rank;
+    }
+
+    /**
+     * Get the number of ranks of the index
+     *
+     * @return The number of matching events
+     */
+    public long getCount() {
+        return fCount;
+    }
+
+    /**
+     * Check if a rank is in the index
+     *
+     * @param rank
+     *            The rank of an event
+     * @return <code>true</code> if the event matches
+     */
+    public boolean contains(long rank) {
+        int pos = findChunk(rank >>> CHUNK_BITS);
+        return pos >= 0 && fChunks.get(pos).contains((int) (rank & CHUNK_MASK));
+    }
+
+    /**
+     * Get the number of ranks of the index that are smaller than a rank, which
+     * is the index of the event at that rank among the matching events
+     *
+     * @param rank
+     *            The rank of an event
+     * @return The number of matching events before that rank
+     */
+    public long indexOf(long rank) {
+        if (rank < 0) {
+            return 0;
+        }
+        int pos = findChunk(rank >>> CHUNK_BITS);
+        if (pos >= 0) {
+            Chunk chunk = fChunks.get(pos);
+            return chunk.fOffset + chunk.countBefore((int) (rank & CHUNK_MASK));
+        }
+        /* Insertion point: all the ranks of the previous chunks are smaller */
+        int next = -pos - 1;
+        return next < fChunks.size() ? fChunks.get(next).fOffset : fCount;
+    }
+
+    /**
+     * Get the rank of a matching event from its index among the matching
+     * events
+     *
+     * @param index
+     *            The index of the matching event
+     * @return The rank of the event, or -1 if the index is out of range
+     */
+    public long getRank(long index) {
+        if (index < 0 || index >= fCount) {
+            return -1;
+        }
+        int low = 0;
+        int high = fChunks.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (fChunks.get(mid).fOffset <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        Chunk chunk = fChunks.get(low);
+        return (chunk.fKey << CHUNK_BITS) | chunk.select((int) (index - chunk.fOffset));
+    }
+
+    /**
+     * Get the first rank of the index that is greater than or equal to a rank
+     *
+     * @param rank
+     *            The rank of an event
+     * @return The rank of the next matching event, or -1 if there is none
+     */
+    public long nextRank(long rank) {
+        long index = indexOf(rank);
+        return getRank(index);
+    }
+
+    /**
+     * Get the last rank of the index that is smaller than or equal to a rank
+     *
+     * @param rank
+     *            The rank of an event
+     * @return The rank of the previous matching event, or -1 if there is none
+     */
+    public long previousRank(long rank) {
+        if (rank < 0) {
+            return -1;
+        }
+        return getRank(indexOf(rank + 1) - 1);
+    }
+
+    private int findChunk(long key) {
+        int low = 0;
+        int high = fChunks.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = fChunks.get(mid).fKey;
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Read an index saved by {@link #save(Path, String, long)}
+     *
+     * @param file
+     *            The file of the index
+     * @param filter
+     *            The filter expression of the index
+     * @param nbEvents
+     *            The number of events of the trace
+     * @return The index, or <code>null</code> if the file does not exist or
+     *         was saved for another filter or another number of events
+     * @throws IOException
+     *             If the file cannot be read
+     */
+    public static @Nullable TmfFilteredRankIndex load(Path file, String filter, long nbEvents) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (InputStream stream = Files.newInputStream(file);
+                DataInputStream input = new DataInputStream(new BufferedInputStream(stream))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION || input.readLong() != nbEvents) {
+                return null;
+            }
+            byte[] filterBytes = new byte[input.readInt()];
+            input.readFully(filterBytes);
+            if (!filter.equals(new String(filterBytes, StandardCharsets.UTF_8))) {
+                return null;
+            }
+            TmfFilteredRankIndex index = new TmfFilteredRankIndex();
+            int nbChunks = input.readInt();
+            for (int i = 0; i < nbChunks; i++) {
+                Chunk chunk = Chunk.read(input, index.fCount);
+                if (chunk == null || (!index.fChunks.isEmpty() && chunk.fKey <= index.fChunks.get(index.fChunks.size() - 1).fKey)) {
+                    return null;
+                }
+                index.fChunks.add(chunk);
+                index.fCount += chunk.fCardinality;
+            }
+            index.fLastRank = index.getRank(index.fCount - 1);
+            return index;
+        }
+    }
+
+    /**
+     * Save the index to a file
+     *
+     * @param file
+     *            The file of the index
+     * @param filter
+     *            The filter expression of the index
+     * @param nbEvents
+     *            The number of events of the trace
+     * @throws IOException
+     *             If the file cannot be written
+     */
+    public void save(Path file, String filter, long nbEvents) throws IOException {
+        /* Write to a temporary file, so a partial index is never read */
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+        try (OutputStream stream = Files.newOutputStream(tmp);
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(nbEvents);
+            byte[] filterBytes = filter.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(filterBytes.length);
+            output.write(filterBytes);
+            output.writeInt(fChunks.size());
+            for (Chunk chunk : fChunks) {
+                chunk.write(output);
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * The ranks of a chunk of 65536 ranks, as a sorted array of their low bits
+     * or as a bitmap
+     */
+    private static final class Chunk {
+        private final long fKey;
+        /** Number of ranks in the previous chunks */
+        private final long fOffset;
+        private int fCardinality = 0;
+        private char @Nullable [] fArray = new char[16];
+        private long @Nullable [] fBitmap = null;
+
+        private Chunk(long key, long offset) {
+            fKey = key;
+            fOffset = offset;
+        }
+
+        private void add(int low) {
+            long[] bitmap = fBitmap;
+            if (bitmap != null) {
+                bitmap[low >>> 6] |= 1L << low;
+                fCardinality++;
+                return;
+            }
+            char[] array = fArray;
+            if (array == null) {
+                throw new IllegalStateException();
+            }
+            if (fCardinality == ARRAY_MAX_SIZE) {
+                /* Convert to a bitmap */
+                bitmap = new long[BITMAP_LENGTH];
+                for (int i = 0; i < fCardinality; i++) {
+                    bitmap[array[i] >>> 6] |= 1L << array[i];
+                }
+                bitmap[low >>> 6] |= 1L << low;
+                fBitmap = bitmap;
+                fArray = null;
+                fCardinality++;
+                return;
+            }
+            if (fCardinality == array.length) {
+                array = Arrays.copyOf(array, Math.min(array.length * 2, ARRAY_MAX_SIZE));
+                fArray = array;
+            }
+            array[fCardinality++] = (char) low;
+        }
+
+        private boolean contains(int low) {
+            long[] bitmap = fBitmap;
+            if (bitmap != null) {
+                return (bitmap[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(fArray, 0, fCardinality, (char) low) >= 0;
+        }
+
+        /** Number of ranks of the chunk that are smaller than low */
+        private int countBefore(int low) {
+            long[] bitmap = fBitmap;
+            if (bitmap != null) {
+                int word = low >>> 6;
+                int count = 0;
+                for (int i = 0; i < word; i++) {
+                    count += Long.bitCount(bitmap[i]);
+                }
+                return count + Long.bitCount(bitmap[word] & ((1L << low) - 1));
+            }
+            int pos = Arrays.binarySearch(fArray, 0, fCardinality, (char) low);
+            return pos >= 0 ? pos : -pos - 1;
+        }
+
+        /** Low bits of the rank at an index of the chunk */
+        private int select(int index) {
+            long[] bitmap = fBitmap;
+            if (bitmap == null) {
+                char[] array = fArray;
+                if (array == null) {
+                    throw new IllegalStateException();
+                }
+                return array[index];
+            }
+            int remaining = index;
+            for (int i = 0; i < bitmap.length; i++) {
+                int count = Long.bitCount(bitmap[i]);
+                if (remaining < count) {
+                    long word = bitmap[i];
+                    for (int j = 0; j < remaining; j++) {
+                        /* Clear the lowest bits */
+                        word &= word - 1;
+                    }
+                    return (i << 6) + Long.numberOfTrailingZeros(word);
+                }
+                remaining -= count;
+            }
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+
+        private void write(DataOutputStream output) throws IOException {
+            output.writeLong(fKey);
+            output.writeInt(fCardinality);
+            long[] bitmap = fBitmap;
+            if (bitmap != null) {
+                for (long word : bitmap) {
+                    output.writeLong(word);
+                }
+            } else {
+                char[] array = fArray;
+                for (int i = 0; array != null && i < fCardinality; i++) {
+                    output.writeChar(array[i]);
+                }
+            }
+        }
+
+        private static @Nullable Chunk read(DataInputStream input, long offset) throws IOException {
+            Chunk chunk = new Chunk(input.readLong(), offset);
+            int cardinality = input.readInt();
+            if (cardinality <= 0 || cardinality > CHUNK_SIZE) {
+                return null;
+            }
+            if (cardinality > ARRAY_MAX_SIZE) {
+                long[] bitmap = new long[BITMAP_LENGTH];
+                int count = 0;
+                for (int i = 0; i < bitmap.length; i++) {
+                    bitmap[i] = input.readLong();
+                    count += Long.bitCount(bitmap[i]);
+                }
+                if (count != cardinality) {
+                    return null;
+                }
+                chunk.fBitmap = bitmap;
+                chunk.fArray = null;
+            } else {
+                char[] array = new char[cardinality];
+                for (int i = 0; i < cardinality; i++) {
+                    array[i] = input.readChar();
+                    if (i > 0 && array[i] <= array[i - 1]) {
+                        return null;
+                    }
+                }
+                chunk.fArray = array;
+            }
+            chunk.fCardinality = cardinality;
+            return chunk;
+        }
+    }
+}
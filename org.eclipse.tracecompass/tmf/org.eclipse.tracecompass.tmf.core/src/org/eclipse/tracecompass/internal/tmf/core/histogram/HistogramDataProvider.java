@@ -44,6 +44,7 @@ import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
 import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
 import org.eclipse.tracecompass.tmf.core.statistics.ITmfStatistics;
 import org.eclipse.tracecompass.tmf.core.statistics.TmfStateStatistics.Attributes;
+import org.eclipse.tracecompass.tmf.core.statistics.TmfStatisticsBuckets;
 import org.eclipse.tracecompass.tmf.core.statistics.TmfStatisticsEventTypesModule;
 import org.eclipse.tracecompass.tmf.core.statistics.TmfStatisticsModule;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
@@ -125,7 +126,9 @@ public class HistogramDataProvider extends AbstractTmfTraceDataProvider implemen
 
         final ITmfStatistics stats = Objects.requireNonNull(fModule.getStatistics());
         if (selected.contains(fTotalId)) {
-            List<Long> values = stats.histogramQuery(filter.getTimesRequested());
+            /* Use the bucketed counts once the statistics are built */
+            TmfStatisticsBuckets buckets = fModule.getBuckets();
+            List<Long> values = (buckets != null) ? buckets.histogramQuery(filter.getTimesRequested(), stats) : stats.histogramQuery(filter.getTimesRequested());
 
             double[] y = new double[n];
             Arrays.setAll(y, values::get);
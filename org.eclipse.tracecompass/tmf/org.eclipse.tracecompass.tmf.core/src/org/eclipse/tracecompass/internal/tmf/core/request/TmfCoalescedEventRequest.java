@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.internal.tmf.core.Activator;
 import org.eclipse.tracecompass.internal.tmf.core.TmfCoreTracer;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
@@ -235,27 +236,67 @@ public class TmfCoalescedEventRequest extends TmfEventRequest {
             if (!request.isCompleted() && index >= start && request.getNbRead() < request.getNbRequested()) {
                 ITmfTimestamp ts = data.getTimestamp();
                 if (request.getRange().contains(ts)) {
-                    if (request.getDataType().isInstance(data)) {
-                        try {
-                            request.handleData(data);
-                        } catch (Exception e) {
-                            /*
-                             * We don't usually catch all exception, but here it
-                             * is important because this will cause the request
-                             * thread to hang forever and the other requests to
-                             * be stopped. This should properly cancel the
-                             * request with the exception and let the rest
-                             * continue.
-                             */
-                            Activator.logError("An uncaught exception happened on request " + request + ": " + e.getMessage());  //$NON-NLS-1$//$NON-NLS-2$
-                            request.fail(e);
-                        }
+                    if (request.getDataType().isInstance(data) && isOfRequestedType(request, data)) {
+                        dispatchEvent(request, data);
                     }
                 }
             }
         }
     }
 
+    private static boolean isOfRequestedType(ITmfEventRequest request, ITmfEvent data) {
+        Set<String> eventTypes = request.getEventTypes();
+        return eventTypes == null || eventTypes.contains(data.getName());
+    }
+
+    /**
+     * Hand an event to one of the coalesced requests. The event is in the
+     * range of the request and of the requested type.
+     *
+     * @param request
+     *            The coalesced request
+     * @param data
+     *            The event to handle
+     */
+    protected void dispatchEvent(ITmfEventRequest request, ITmfEvent data) {
+        try {
+            request.handleData(data);
+        } catch (Exception e) {
+            /*
+             * We don't usually catch all exception, but here it is important
+             * because this will cause the request thread to hang forever and
+             * the other requests to be stopped. This should properly cancel
+             * the request with the exception and let the rest continue.
+             */
+            Activator.logError("An uncaught exception happened on request " + request + ": " + e.getMessage());  //$NON-NLS-1$//$NON-NLS-2$
+            request.fail(e);
+        }
+    }
+
+    /**
+     * @return The requests coalesced in this one
+     */
+    protected List<ITmfEventRequest> getRequests() {
+        return fRequests;
+    }
+
+    /**
+     * The coalesced request reads the union of the event types of its
+     * sub-requests, or all the events if one of them does.
+     */
+    @Override
+    public synchronized @Nullable Set<String> getEventTypes() {
+        Set<String> eventTypes = new HashSet<>();
+        for (ITmfEventRequest request : fRequests) {
+            Set<String> requestTypes = request.getEventTypes();
+            if (requestTypes == null) {
+                return null;
+            }
+            eventTypes.addAll(requestTypes);
+        }
+        return eventTypes;
+    }
+
     @Override
     public synchronized void start() {
         for (ITmfEventRequest request : fRequests) {
@@ -18,36 +18,53 @@ package org.eclipse.tracecompass.internal.tmf.core.request;
 
 import static org.eclipse.tracecompass.common.core.NonNullUtils.checkNotNull;
 
-import java.util.Queue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.common.core.log.TraceCompassLog;
 import org.eclipse.tracecompass.common.core.log.TraceCompassLogUtils;
 import org.eclipse.tracecompass.common.core.log.TraceCompassLogUtils.FlowScopeLog;
 import org.eclipse.tracecompass.common.core.log.TraceCompassLogUtils.FlowScopeLogBuilder;
 import org.eclipse.tracecompass.internal.tmf.core.TmfCoreTracer;
 import org.eclipse.tracecompass.internal.tmf.core.component.TmfEventThread;
+import org.eclipse.tracecompass.tmf.core.request.ITmfEventRequest;
 import org.eclipse.tracecompass.tmf.core.request.ITmfEventRequest.ExecutionType;
 
 /**
- * The request scheduler works with 5 slots with a specific time. It has 4 slots
- * for foreground requests and 1 slot for background requests, and it passes
- * through all the slots (foreground first and background after).
+ * The request scheduler runs up to a configurable number of requests
+ * concurrently. Requests wait in two priority lanes: the foreground lane (UI
+ * and data provider fetches) and the background lane (analysis builds). Each
+ * time a slot is freed, the scheduler takes 4 foreground requests for every
+ * background request, so background requests are never starved.
+ *
+ * When more requests are waiting than there are slots, the active requests are
+ * time-sliced: at each period, active requests are suspended and put back in
+ * their lane, background requests first, to let the waiting ones run.
+ *
+ * Requests that were not started yet are coalesced with compatible requests
+ * sent later for the same trace window, so that they read the trace only once.
+ *
+ * The time each request spent waiting in its lane and running is logged when
+ * it completes, and the totals are available from this executor.
  *
  * Example: if we have one foreground and one background request, the foreground
  * request will be executed four times more often than the background request.
  *
  * @author Francois Chouinard
  * @author Simon Delisle
- * @version 1.1
+ * @version 1.2
  */
 public class TmfRequestExecutor implements Executor {
 
@@ -58,6 +75,13 @@ public class TmfRequestExecutor implements Executor {
     // Constants
     // ------------------------------------------------------------------------
 
+    /**
+     * System property to set the number of requests that may run concurrently
+     */
+    public static final String PARALLELISM_PROPERTY = "org.eclipse.tracecompass.tmf.core.request.parallelism"; //$NON-NLS-1$
+
+    private static final int DEFAULT_PARALLELISM = Math.max(1, Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors() / 2));
+
     private static final long REQUEST_TIME = 100;
     private static final int FOREGROUND_SLOT = 4;
 
@@ -69,26 +93,50 @@ public class TmfRequestExecutor implements Executor {
     private final ExecutorService fExecutor = Executors.newCachedThreadPool();
     private final String fExecutorName;
 
+    // The maximum number of requests running at the same time
+    private final int fParallelism;
+
     // The request queues
-    private final Queue<TmfEventThread> fForegroundTasks = new ArrayBlockingQueue<>(10);
-    private final Queue<TmfEventThread> fBackgroundTasks = new ArrayBlockingQueue<>(10);
+    private final Deque<RequestTask> fForegroundTasks = new ArrayDeque<>();
+    private final Deque<RequestTask> fBackgroundTasks = new ArrayDeque<>();
 
     // The tasks
-    private TmfEventThread fActiveTask;
+    private final List<RequestTask> fActiveTasks = new ArrayList<>();
 
     private Timer fTimer;
     private TimerTask fTimerTask;
 
     private int fForegroundCycle = 0;
 
+    // The metrics of the completed requests
+    private long fCompletedCount = 0;
+    private long fTotalQueueWait = 0;
+    private long fTotalRunTime = 0;
+    private long fMaxQueueWait = 0;
+
     // ------------------------------------------------------------------------
     // Constructors
     // ------------------------------------------------------------------------
 
     /**
-     * Default constructor
+     * Default constructor, the degree of parallelism is half the available
+     * processors, unless set by the {@link #PARALLELISM_PROPERTY} property.
      */
     public TmfRequestExecutor() {
+        this(DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param parallelism
+     *            The maximum number of requests that can run at the same time
+     */
+    public TmfRequestExecutor(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1: " + parallelism); //$NON-NLS-1$
+        }
+        fParallelism = parallelism;
         // We know the canonical name is not null because we use ExecutorService
         // only
         String canonicalName = checkNotNull(fExecutor.getClass().getCanonicalName());
@@ -116,6 +164,59 @@ public class TmfRequestExecutor implements Executor {
         return fExecutor.isTerminated();
     }
 
+    /**
+     * @return the maximum number of requests running at the same time
+     */
+    public int getParallelism() {
+        return fParallelism;
+    }
+
+    /**
+     * @return the number of requests currently running
+     */
+    public synchronized int getActiveCount() {
+        return fActiveTasks.size();
+    }
+
+    /**
+     * @return the number of requests waiting in the foreground and background
+     *         lanes
+     */
+    public synchronized int getQueuedCount() {
+        return fForegroundTasks.size() + fBackgroundTasks.size();
+    }
+
+    /**
+     * @return the number of requests that completed on this executor
+     */
+    public synchronized long getCompletedCount() {
+        return fCompletedCount;
+    }
+
+    /**
+     * @return the total time, in nanoseconds, the completed requests spent
+     *         waiting in a lane
+     */
+    public synchronized long getTotalQueueWaitTime() {
+        return fTotalQueueWait;
+    }
+
+    /**
+     * @return the longest time, in nanoseconds, a completed request spent
+     *         waiting in a lane
+     */
+    public synchronized long getMaxQueueWaitTime() {
+        return fMaxQueueWait;
+    }
+
+    /**
+     * @return the total time, in nanoseconds, the completed requests spent
+     *         running
+     */
+    public synchronized long getTotalRunTime() {
+        return fTotalRunTime;
+    }
+
     // ------------------------------------------------------------------------
     // Operations
     // ------------------------------------------------------------------------
@@ -143,31 +244,21 @@ public class TmfRequestExecutor implements Executor {
         }
 
         try (FlowScopeLog scope = new FlowScopeLogBuilder(LOGGER, Level.FINE, "RequestExecutor:CreatingThread").setCategory(LOG_CATEGORY).build()) { //$NON-NLS-1$
-            // Wrap the thread in a MyThread
             TmfEventThread thread = (TmfEventThread) command;
-            TmfEventThread wrapper = new TmfEventThread(thread) {
-                @Override
-                public void run() {
-                    try (FlowScopeLog log = new FlowScopeLogBuilder(LOGGER, Level.FINE, "RequestExecutor:RunningRequest", "thread", thread.getThread(), "execution type", thread.getExecType()).setParentScope(scope).build()) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-                        thread.run();
-                    } finally {
-                        scheduleNext();
-                    }
-                }
-            };
+            Deque<RequestTask> lane = (thread.getExecType() == ExecutionType.FOREGROUND) ? fForegroundTasks : fBackgroundTasks;
 
-            // Add the thread to the appropriate queue
-            ExecutionType priority = thread.getExecType();
-
-            if (priority == ExecutionType.FOREGROUND) {
-                if (!fForegroundTasks.offer(wrapper)) {
-                    wrapper.cancel();
-                }
-            } else {
-                if (!fBackgroundTasks.offer(wrapper)) {
-                    wrapper.cancel();
-                }
+            // Try to piggyback on a request that still waits for the same window
+            if (coalesceWithQueued(lane, thread.getRequest())) {
+                return;
             }
+
+            // Wrap the thread in a RequestTask and add it to the appropriate
+            // queue
+            RequestTask wrapper = new RequestTask(thread, scope);
+            lane.addLast(wrapper);
+
+            // Start it right away if a slot is free
+            fillSlots();
         }
     }
 
@@ -186,43 +277,29 @@ public class TmfRequestExecutor implements Executor {
     }
 
     /**
-     * Executes the next pending request, if applicable.
+     * Executes the next pending requests, if applicable. If requests are
+     * waiting and all the slots are taken, some active requests are suspended
+     * to let the waiting ones run.
      */
     protected synchronized void scheduleNext() {
-        if (!isShutdown()) {
-            if (fActiveTask == null) {
-                schedule();
-            } else if (fActiveTask.getExecType() == ExecutionType.FOREGROUND) {
-                if (fActiveTask.getThread().isCompleted()) {
-                    fActiveTask = null;
-                    schedule();
-                } else {
-                    if (hasTasks()) {
-                        fActiveTask.getThread().suspend();
-                        if (!fForegroundTasks.offer(fActiveTask)) {
-                            fActiveTask.cancel();
-                            fActiveTask = null;
-                        }
-                        schedule();
-                    }
-                }
-
-            } else if (fActiveTask.getExecType() == ExecutionType.BACKGROUND) {
-                if (fActiveTask.getThread().isCompleted()) {
-                    fActiveTask = null;
-                    schedule();
-                } else {
-                    if (hasTasks()) {
-                        fActiveTask.getThread().suspend();
-                        if (!fBackgroundTasks.offer(fActiveTask)) {
-                            fActiveTask.cancel();
-                            fActiveTask = null;
-                        }
-                        schedule();
-                    }
-                }
+        if (isShutdown()) {
+            return;
+        }
+        fillSlots();
+        int waiting = fForegroundTasks.size() + fBackgroundTasks.size();
+        if (waiting == 0) {
+            return;
+        }
+        // Time-slice: put back in their lane as many requests as are waiting
+        int toPreempt = Math.min(waiting, fActiveTasks.size());
+        for (int i = 0; i < toPreempt; i++) {
+            RequestTask victim = selectVictim();
+            if (victim == null) {
+                break;
             }
+            suspend(victim);
         }
+        fillSlots();
     }
 
     /**
@@ -237,15 +314,17 @@ public class TmfRequestExecutor implements Executor {
             fTimer.cancel();
         }
 
-        if (fActiveTask != null) {
-            fActiveTask.cancel();
+        for (RequestTask task : fActiveTasks) {
+            task.cancel();
         }
+        fActiveTasks.clear();
 
-        while ((fActiveTask = fForegroundTasks.poll()) != null) {
-            fActiveTask.cancel();
+        RequestTask task;
+        while ((task = fForegroundTasks.poll()) != null) {
+            task.cancel();
         }
-        while ((fActiveTask = fBackgroundTasks.poll()) != null) {
-            fActiveTask.cancel();
+        while ((task = fBackgroundTasks.poll()) != null) {
+            task.cancel();
         }
 
         fExecutor.shutdown();
@@ -259,58 +338,162 @@ public class TmfRequestExecutor implements Executor {
     // ------------------------------------------------------------------------
 
     /**
-     * Determine which type of request (foreground or background) we schedule
-     * next
+     * Add the request to a compatible coalesced request that has not been
+     * dispatched yet.
      */
-    private void schedule() {
-        if (!fForegroundTasks.isEmpty()) {
-            scheduleNextForeground();
-        } else {
-            scheduleNextBackground();
+    private static boolean coalesceWithQueued(Deque<RequestTask> lane, ITmfEventRequest request) {
+        for (RequestTask queued : lane) {
+            ITmfEventRequest queuedRequest = queued.getRequest();
+            if (!queued.fDispatched && queuedRequest instanceof TmfCoalescedEventRequest) {
+                TmfCoalescedEventRequest coalescedRequest = (TmfCoalescedEventRequest) queuedRequest;
+                if (coalescedRequest.isCompatible(request)) {
+                    coalescedRequest.addRequest(request);
+                    if (TmfCoreTracer.isRequestTraced()) {
+                        TmfCoreTracer.traceRequest(request.getRequestId(), "COALESCED with queued " + coalescedRequest.getRequestId()); //$NON-NLS-1$
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Start waiting requests until all the slots are taken
+     */
+    private void fillSlots() {
+        while (fActiveTasks.size() < fParallelism) {
+            RequestTask next = pollNext();
+            if (next == null) {
+                return;
+            }
+            executeTask(next);
         }
     }
 
     /**
-     * Schedule the next foreground request
+     * Determine which type of request (foreground or background) we schedule
+     * next and remove it from its lane
      */
-    private void scheduleNextForeground() {
-        if (fForegroundCycle < FOREGROUND_SLOT || fBackgroundTasks.isEmpty()) {
+    private @Nullable RequestTask pollNext() {
+        if (!fForegroundTasks.isEmpty() && (fForegroundCycle < FOREGROUND_SLOT || fBackgroundTasks.isEmpty())) {
             ++fForegroundCycle;
-            fActiveTask = fForegroundTasks.poll();
-            executefActiveTask();
+            return fForegroundTasks.poll();
+        }
+        fForegroundCycle = 0;
+        return fBackgroundTasks.poll();
+    }
+
+    /**
+     * Select the active request to suspend: background requests go first, then
+     * the request that ran the longest since it was last scheduled.
+     */
+    private @Nullable RequestTask selectVictim() {
+        RequestTask victim = null;
+        for (RequestTask task : fActiveTasks) {
+            if (victim == null) {
+                victim = task;
+            } else if (task.getExecType() != victim.getExecType()) {
+                if (task.getExecType() == ExecutionType.BACKGROUND) {
+                    victim = task;
+                }
+            } else if (task.fSliceStart < victim.fSliceStart) {
+                victim = task;
+            }
+        }
+        return victim;
+    }
+
+    /**
+     * Suspend an active request and put it back at the end of its lane
+     */
+    private void suspend(RequestTask task) {
+        long now = System.nanoTime();
+        fActiveTasks.remove(task);
+        task.getThread().suspend();
+        task.fRunTime += now - task.fSliceStart;
+        task.fQueuedTime = now;
+        if (task.getExecType() == ExecutionType.FOREGROUND) {
+            fForegroundTasks.addLast(task);
         } else {
-            fActiveTask = null;
-            scheduleNextBackground();
+            fBackgroundTasks.addLast(task);
         }
     }
 
     /**
-     * Schedule the next background request
+     * Execute or resume a task
      */
-    private void scheduleNextBackground() {
-        fForegroundCycle = 0;
-        if (!fBackgroundTasks.isEmpty()) {
-            fActiveTask = fBackgroundTasks.poll();
-            executefActiveTask();
+    private void executeTask(RequestTask task) {
+        long now = System.nanoTime();
+        task.fQueueWait += now - task.fQueuedTime;
+        task.fSliceStart = now;
+        fActiveTasks.add(task);
+        if (task.getThread().isPaused()) {
+            task.getThread().resume();
+        } else if (!task.fDispatched) {
+            task.fDispatched = true;
+            fExecutor.execute(task);
         }
     }
 
     /**
-     * Execute or resume the active task
+     * Record the metrics of a completed task and give its slot to the next one
      */
-    private void executefActiveTask() {
-        if (fActiveTask.getThread().isPaused()) {
-            fActiveTask.getThread().resume();
+    private synchronized void taskCompleted(RequestTask task) {
+        long now = System.nanoTime();
+        if (fActiveTasks.remove(task)) {
+            task.fRunTime += now - task.fSliceStart;
         } else {
-            fExecutor.execute(fActiveTask);
+            // The task completed while it was being suspended
+            fForegroundTasks.remove(task);
+            fBackgroundTasks.remove(task);
+            task.fQueueWait += now - task.fQueuedTime;
+        }
+        fCompletedCount++;
+        fTotalQueueWait += task.fQueueWait;
+        fTotalRunTime += task.fRunTime;
+        fMaxQueueWait = Math.max(fMaxQueueWait, task.fQueueWait);
+        TraceCompassLogUtils.traceInstant(LOGGER, Level.FINE, "RequestExecutor:RequestCompleted", //$NON-NLS-1$
+                "request", task.getRequest().getRequestId(), //$NON-NLS-1$
+                "execution type", task.getExecType(), //$NON-NLS-1$
+                "queueWaitMs", TimeUnit.NANOSECONDS.toMillis(task.fQueueWait), //$NON-NLS-1$
+                "runTimeMs", TimeUnit.NANOSECONDS.toMillis(task.fRunTime)); //$NON-NLS-1$
+        if (!isShutdown()) {
+            fillSlots();
         }
     }
 
+    // ------------------------------------------------------------------------
+    // Request task
+    // ------------------------------------------------------------------------
+
     /**
-     * Check if the scheduler has tasks
+     * Wrapper of the event thread that keeps the scheduling state and metrics
+     * of the request. All fields are protected by the executor's lock.
      */
-    private boolean hasTasks() {
-        return !(fForegroundTasks.isEmpty() && fBackgroundTasks.isEmpty());
+    private class RequestTask extends TmfEventThread {
+
+        private final FlowScopeLog fScope;
+
+        private boolean fDispatched = false;
+        private long fQueuedTime = System.nanoTime();
+        private long fSliceStart = 0;
+        private long fQueueWait = 0;
+        private long fRunTime = 0;
+
+        RequestTask(TmfEventThread thread, FlowScopeLog scope) {
+            super(thread);
+            fScope = scope;
+        }
+
+        @Override
+        public void run() {
+            try (FlowScopeLog log = new FlowScopeLogBuilder(LOGGER, Level.FINE, "RequestExecutor:RunningRequest", "thread", getThread(), "execution type", getExecType()).setParentScope(fScope).build()) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                getThread().run();
+            } finally {
+                taskCompleted(this);
+            }
+        }
     }
 
     // ------------------------------------------------------------------------
@@ -319,7 +502,7 @@ public class TmfRequestExecutor implements Executor {
 
     @Override
     public String toString() {
-        return "[TmfRequestExecutor(" + fExecutorName + ")]"; //$NON-NLS-1$ //$NON-NLS-2$
+        return "[TmfRequestExecutor(" + fExecutorName + ", parallelism=" + fParallelism + ")]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
     }
 
 }
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.internal.tmf.core.request;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.internal.tmf.core.TmfCoreTracer;
+import org.eclipse.tracecompass.tmf.core.component.TmfEventProvider;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+
+/**
+ * A shared scan makes the analyses that are scheduled together on a trace read
+ * it only once. While the scan is open, every analysis scheduled on the trace
+ * joins it, and the background requests sent to the trace are held and
+ * coalesced. Once the scan is closed, the requests are executed as soon as all
+ * the participants have sent theirs.
+ *
+ * A participant is released from the scan when its thread sends a request,
+ * when it waits for another analysis, or when it completes. In case a
+ * participant never does, the requests are executed after a timeout.
+ */
+public final class TmfSharedEventScan {
+
+    /** Maximum time the requests are held, in milliseconds */
+    private static final long TIMEOUT = 5000;
+
+    private static final Map<TmfEventProvider, TmfSharedEventScan> SCANS = new HashMap<>();
+    private static final ThreadLocal<@Nullable Object> CURRENT_PARTICIPANT = new ThreadLocal<>();
+    private static @Nullable Timer fTimer = null;
+
+    private final TmfEventProvider fProvider;
+    private final Set<Object> fParticipants = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean fCollecting = true;
+    private boolean fFinished = false;
+    private final TimerTask fTimeoutTask = new TimerTask() {
+        @Override
+        public void run() {
+            finish();
+        }
+    };
+
+    private TmfSharedEventScan(TmfEventProvider provider) {
+        fProvider = provider;
+    }
+
+    /**
+     * Open a shared scan on a trace. The analyses scheduled until the scan is
+     * closed will share the reading of the trace.
+     *
+     * @param trace
+     *            The trace to scan
+     * @return The scan to close once the analyses are scheduled, or
+     *         <code>null</code> if a scan is already open on this trace or the
+     *         trace does not support it
+     */
+    public static @Nullable TmfSharedEventScan open(ITmfTrace trace) {
+        if (!(trace instanceof TmfEventProvider)) {
+            return null;
+        }
+        TmfEventProvider provider = (TmfEventProvider) trace;
+        TmfSharedEventScan scan;
+        synchronized (SCANS) {
+            if (SCANS.containsKey(provider)) {
+                return null;
+            }
+            scan = new TmfSharedEventScan(provider);
+            SCANS.put(provider, scan);
+            Timer timer = fTimer;
+            if (timer == null) {
+                timer = new Timer("Shared event scan timeout", true); //$NON-NLS-1$
+                fTimer = timer;
+            }
+            timer.schedule(scan.fTimeoutTask, TIMEOUT);
+        }
+        provider.notifyPendingBackgroundRequest(true);
+        if (TmfCoreTracer.isRequestTraced()) {
+            TmfCoreTracer.trace("Shared scan opened on " + trace.getName()); //$NON-NLS-1$
+        }
+        return scan;
+    }
+
+    /**
+     * Stop collecting participants. The requests are executed as soon as the
+     * participants have all been released.
+     */
+    public void close() {
+        synchronized (SCANS) {
+            fCollecting = false;
+            if (!fParticipants.isEmpty()) {
+                return;
+            }
+        }
+        finish();
+    }
+
+    /**
+     * Add a participant to the scan open on a trace, if any
+     *
+     * @param trace
+     *            The trace the participant reads
+     * @param participant
+     *            The participant, usually an analysis module
+     */
+    public static void join(ITmfTrace trace, Object participant) {
+        synchronized (SCANS) {
+            TmfSharedEventScan scan = SCANS.get(trace);
+            if (scan != null && scan.fCollecting) {
+                scan.fParticipants.add(participant);
+            }
+        }
+    }
+
+    /**
+     * Associate a participant with the current thread, so that it is released
+     * when the thread sends a request or waits for another analysis
+     *
+     * @param participant
+     *            The participant running on this thread, or <code>null</code>
+     *            to clear it
+     */
+    public static void setCurrentParticipant(@Nullable Object participant) {
+        if (participant == null) {
+            CURRENT_PARTICIPANT.remove();
+        } else {
+            CURRENT_PARTICIPANT.set(participant);
+        }
+    }
+
+    /**
+     * Release the participant associated with the current thread, if any
+     */
+    public static void releaseCurrentParticipant() {
+        Object participant = CURRENT_PARTICIPANT.get();
+        if (participant != null) {
+            release(participant);
+        }
+    }
+
+    /**
+     * Release a participant from the scan it joined. If it was the last one
+     * and the scan is closed, the held requests are executed.
+     *
+     * @param participant
+     *            The participant to release
+     */
+    public static void release(Object participant) {
+        TmfSharedEventScan toFinish = null;
+        synchronized (SCANS) {
+            for (TmfSharedEventScan scan : SCANS.values()) {
+                if (scan.fParticipants.remove(participant) && scan.fParticipants.isEmpty() && !scan.fCollecting) {
+                    toFinish = scan;
+                    break;
+                }
+            }
+        }
+        if (toFinish != null) {
+            toFinish.finish();
+        }
+    }
+
+    /**
+     * Let the held requests run, only once
+     */
+    private void finish() {
+        synchronized (SCANS) {
+            if (fFinished) {
+                return;
+            }
+            fFinished = true;
+            fCollecting = false;
+            fParticipants.clear();
+            fTimeoutTask.cancel();
+            SCANS.remove(fProvider);
+        }
+        fProvider.notifyPendingBackgroundRequest(false);
+        if (TmfCoreTracer.isRequestTraced()) {
+            TmfCoreTracer.trace("Shared scan released on " + fProvider.getName()); //$NON-NLS-1$
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.internal.tmf.core.request;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.tracecompass.common.core.collect.BufferedBlockingQueue;
+import org.eclipse.tracecompass.internal.tmf.core.Activator;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
+import org.eclipse.tracecompass.tmf.core.request.ITmfEventRequest;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimeRange;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+
+/**
+ * A coalesced request that reads the trace once for all its sub-requests, but
+ * hands the events to each of them on its own thread. Each sub-request gets a
+ * bounded queue, filled by the request thread and emptied by the sub-request's
+ * thread, so the work of the analyses runs on separate cores while the
+ * slowest one throttles the trace reading.
+ *
+ * Only the sub-requests that read all the data get their own thread, the
+ * others are handled in the request thread, like in a
+ * {@link TmfCoalescedEventRequest}.
+ */
+public class TmfSharedScanEventRequest extends TmfCoalescedEventRequest {
+
+    private static final int QUEUE_SIZE = 127;
+    private static final int CHUNK_SIZE = 127;
+
+    /** Fake event indicating the scan is over and the lane should stop */
+    private static final ITmfEvent END_EVENT = new TmfEvent(null, ITmfContext.UNKNOWN_RANK, null, null, null);
+
+    private final Map<ITmfEventRequest, Lane> fLanes = new IdentityHashMap<>();
+    private final List<Lane> fLaneList = new ArrayList<>();
+    private volatile Thread fProducer = null;
+
+    /**
+     * Constructor
+     *
+     * @param dataType
+     *            The requested data type
+     * @param range
+     *            The range of the request
+     * @param index
+     *            The index of the first event to retrieve
+     * @param nbRequested
+     *            The number of events requested
+     * @param priority
+     *            The requested execution priority
+     * @param dependencyLevel
+     *            The dependency level
+     */
+    public TmfSharedScanEventRequest(Class<? extends ITmfEvent> dataType,
+            TmfTimeRange range,
+            long index,
+            int nbRequested,
+            ExecutionType priority,
+            int dependencyLevel) {
+        super(dataType, range, index, nbRequested, priority, dependencyLevel);
+    }
+
+    // ------------------------------------------------------------------------
+    // Dispatching
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected void dispatchEvent(ITmfEventRequest request, ITmfEvent data) {
+        Lane lane = fLanes.get(request);
+        if (lane == null) {
+            super.dispatchEvent(request, data);
+            return;
+        }
+        lane.fQueue.put(data);
+    }
+
+    /**
+     * @return The number of sub-requests that are handled on their own thread
+     */
+    public synchronized int getNbLanes() {
+        return fLaneList.size();
+    }
+
+    // ------------------------------------------------------------------------
+    // ITmfEventRequest
+    // ------------------------------------------------------------------------
+
+    @Override
+    public synchronized void start() {
+        fProducer = Thread.currentThread();
+        List<ITmfEventRequest> requests = getRequests();
+        if (requests.size() > 1) {
+            for (ITmfEventRequest request : requests) {
+                if (request.getNbRequested() == ALL_DATA && !fLanes.containsKey(request)) {
+                    Lane lane = new Lane(request);
+                    fLanes.put(request, lane);
+                    fLaneList.add(lane);
+                    lane.fThread.start();
+                }
+            }
+        }
+        super.start();
+    }
+
+    @Override
+    public void done() {
+        closeLanes();
+        super.done();
+    }
+
+    @Override
+    public void fail(Exception e) {
+        closeLanes();
+        super.fail(e);
+    }
+
+    @Override
+    public void cancel() {
+        closeLanes();
+        super.cancel();
+    }
+
+    /**
+     * Stop the lanes once they have handled all their events. Only the request
+     * thread can do so, as it is the only one filling the queues. When the
+     * request is cancelled from another thread, the request thread will call
+     * cancel() again when it stops reading.
+     */
+    private void closeLanes() {
+        if (Thread.currentThread() != fProducer) {
+            return;
+        }
+        List<Lane> lanes;
+        synchronized (this) {
+            lanes = new ArrayList<>(fLaneList);
+            fLaneList.clear();
+        }
+        for (Lane lane : lanes) {
+            lane.fQueue.put(END_EVENT);
+            lane.fQueue.flushInputBuffer();
+        }
+        for (Lane lane : lanes) {
+            try {
+                lane.fThread.join();
+            } catch (InterruptedException e) {
+                Activator.logError("Interrupted while waiting for request " + lane.fRequest, e); //$NON-NLS-1$
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Lane
+    // ------------------------------------------------------------------------
+
+    /**
+     * The queue and thread of one sub-request
+     */
+    private final class Lane implements Runnable {
+
+        private final ITmfEventRequest fRequest;
+        private final BufferedBlockingQueue<ITmfEvent> fQueue = new BufferedBlockingQueue<>(QUEUE_SIZE, CHUNK_SIZE);
+        private final Thread fThread;
+
+        public Lane(ITmfEventRequest request) {
+            fRequest = request;
+            fThread = new Thread(this, "Shared scan " + getRequestId() + " for request " + request.getRequestId()); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        @Override
+        public void run() {
+            ITmfEvent event = fQueue.take();
+            while (event != END_EVENT) {
+                /*
+                 * Keep emptying the queue after a failure so that the request
+                 * thread is never blocked on a full queue
+                 */
+                if (!fRequest.isCompleted()) {
+                    try {
+                        TmfSharedScanEventRequest.super.dispatchEvent(fRequest, event);
+                    } catch (Error e) {
+                        /* Exceptions are already handled by the dispatch */
+                        Activator.logError("An uncaught error happened on request " + fRequest, e); //$NON-NLS-1$
+                        fRequest.fail(new RuntimeException(e));
+                    }
+                }
+                event = fQueue.take();
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -48,6 +49,13 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
  * private class, while this public class manages the synchronization between
  * all traces.
  *
+ * In streaming mode, the points of the hulls that come before the origin of
+ * the lines, except the one right before, are discarded as the matches are
+ * processed, so the memory used does not grow with the length of the traces.
+ * These points could only be used again if the origin of the line and the
+ * point before it were both removed from the hull, so the result is an
+ * approximation of the result with all the points, which is usually the same.
+ *
  * @author Geneviève Bastien
  */
 public class SyncAlgorithmFullyIncremental extends SynchronizationAlgorithm {
@@ -59,16 +67,36 @@ public class SyncAlgorithmFullyIncremental extends SynchronizationAlgorithm {
 
     private static final MathContext fMc = MathContext.DECIMAL128;
 
+    /** Number of matches between two publications of provisional transforms */
+    private static final int PUBLISH_INTERVAL = 1000;
+
     /** @Serial */
     private final List<ConvexHull> fSyncs;
 
+    /** @Serial */
+    private final boolean fStreaming;
+
     private transient SyncSpanningTree fTree = null;
 
+    private transient int fUnpublishedMatches = 0;
+
     /**
      * Initialization of the attributes
      */
     public SyncAlgorithmFullyIncremental() {
+        this(false);
+    }
+
+    /**
+     * Initialization of the attributes
+     *
+     * @param streaming
+     *            Whether to discard the points of the hulls that cannot
+     *            affect the bounds anymore
+     */
+    public SyncAlgorithmFullyIncremental(boolean streaming) {
         fSyncs = new LinkedList<>();
+        fStreaming = streaming;
     }
 
     /**
@@ -79,6 +107,9 @@ public class SyncAlgorithmFullyIncremental extends SynchronizationAlgorithm {
     @Override
     public void matchingEnded() {
         getStats();
+        if (hasProvisionalTransformListeners()) {
+            publishTransforms();
+        }
     }
 
     @Override
@@ -121,8 +152,31 @@ public class SyncAlgorithmFullyIncremental extends SynchronizationAlgorithm {
             algo = new ConvexHull(trace1, trace2);
             fSyncs.add(algo);
         }
+        SyncQuality quality = algo.getQuality();
         algo.processMatch(match);
         invalidateSyncGraph();
+
+        /*
+         * Publish the transforms regularly, and as soon as the quality of a
+         * pair of hosts changes
+         */
+        fUnpublishedMatches++;
+        if (hasProvisionalTransformListeners() && (fUnpublishedMatches >= PUBLISH_INTERVAL || algo.getQuality() != quality)) {
+            publishTransforms();
+        }
+    }
+
+    private void publishTransforms() {
+        fUnpublishedMatches = 0;
+        Map<String, ITmfTimestampTransform> transforms = new LinkedHashMap<>();
+        for (ConvexHull traceSync : fSyncs) {
+            for (String host : new String[] { traceSync.getReferenceHost(), traceSync.getOtherHost() }) {
+                if (!transforms.containsKey(host)) {
+                    transforms.put(host, getTimestampTransform(host));
+                }
+            }
+        }
+        publishProvisionalTransforms(Collections.unmodifiableMap(transforms));
     }
 
     private void invalidateSyncGraph() {
@@ -336,6 +390,26 @@ public class SyncAlgorithmFullyIncremental extends SynchronizationAlgorithm {
                 approximateSync();
             }
 
+            if (fStreaming) {
+                /* The origin of fLmax is on the upper hull, fLmin's on the lower */
+                discardPointsBefore(fLmax[0], fUpperBoundList);
+                discardPointsBefore(fLmin[0], fLowerBoundList);
+            }
+
+        }
+
+        /*
+         * Discard the points of a hull before the origin of a line, keeping the
+         * one right before it in case the origin is removed from the hull
+         */
+        private void discardPointsBefore(SyncPoint origin, LinkedList<SyncPoint> boundList) {
+            if (origin == null) {
+                return;
+            }
+            int index = boundList.indexOf(origin);
+            for (int i = 1; i < index; i++) {
+                boundList.removeFirst();
+            }
         }
 
         /**
@@ -18,8 +18,10 @@ package org.eclipse.tracecompass.internal.tmf.core.trace.experiment;
 
 import java.util.Arrays;
 import java.util.PriorityQueue;
+import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.TmfContext;
@@ -135,6 +137,18 @@ public final class TmfExperimentContext extends TmfContext {
         super.dispose();
     }
 
+    /**
+     * The event types are set on the contexts of all the traces
+     */
+    @Override
+    public void setEventTypes(@Nullable Set<String> eventTypes) {
+        for (ITmfContext context : fContexts) {
+            if (context != null) {
+                context.setEventTypes(eventTypes);
+            }
+        }
+    }
+
     // ------------------------------------------------------------------------
     // Accessors
     // ------------------------------------------------------------------------
@@ -16,8 +16,13 @@ package org.eclipse.tracecompass.internal.tmf.core.trace.indexer;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.tracecompass.internal.tmf.core.Activator;
 import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
@@ -31,6 +36,11 @@ import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
  * An array of checkpoints stored on disk. It is very efficient for searching
  * checkpoints by rank (O(1))
  *
+ * The checkpoints are fixed-width records, read through memory-mapped regions
+ * of the file, so a search only touches the pages of the records it compares.
+ * The array also keeps track of whether the checkpoints were inserted in
+ * increasing order, in which case a binary search by time stamp is valid.
+ *
  * @author Marc-Andre Laperle
  */
 public class FlatArray extends AbstractFileCheckpointCollection {
@@ -38,10 +48,74 @@ public class FlatArray extends AbstractFileCheckpointCollection {
      * Typical FlatArray file name
      */
     public static final String INDEX_FILE_NAME = "checkpoint_flatarray.idx"; //$NON-NLS-1$
+    private static final int SUB_VERSION = 1;
+
+    /**
+     * Size of a memory-mapped region of the file
+     */
+    private static final int REGION_SIZE = 1 << 26;
+
+    private FlatArrayHeader fFlatArrayHeader;
 
     // Cached values
     private int fCheckpointSize = 0;
     private ByteBuffer fByteBuffer;
+    private final int fRegionNumCheckpoints;
+    private final List<MappedByteBuffer> fRegions = new ArrayList<>();
+    private ITmfCheckpoint fLastCheckpoint;
+
+    private class FlatArrayHeader extends CheckpointCollectionFileHeader {
+        private static final int SIZE = INT_SIZE + INT_SIZE;
+        private boolean fSorted = true;
+        private final int fSubVersion;
+
+        private FlatArrayHeader(int version, int subVersion) {
+            super(version);
+            fSubVersion = subVersion;
+        }
+
+        private FlatArrayHeader(RandomAccessFile randomAccessFile) throws IOException {
+            super(randomAccessFile);
+
+            fSorted = randomAccessFile.readInt() != 0;
+            fSubVersion = randomAccessFile.readInt();
+        }
+
+        @Override
+        public int getSubVersion() {
+            return fSubVersion;
+        }
+
+        @Override
+        public int getSize() {
+            return SIZE + super.getSize();
+        }
+
+        @Override
+        public void serialize(RandomAccessFile randomAccessFile) throws IOException {
+            super.serialize(randomAccessFile);
+
+            randomAccessFile.writeInt(fSorted ? 1 : 0);
+            randomAccessFile.writeInt(fSubVersion);
+        }
+    }
+
+    @Override
+    protected CheckpointCollectionFileHeader createHeader() {
+        fFlatArrayHeader = new FlatArrayHeader(getVersion(), SUB_VERSION);
+        return fFlatArrayHeader;
+    }
+
+    @Override
+    protected CheckpointCollectionFileHeader createHeader(RandomAccessFile randomAccessFile) throws IOException {
+        fFlatArrayHeader = new FlatArrayHeader(randomAccessFile);
+        return fFlatArrayHeader;
+    }
+
+    @Override
+    protected int getSubVersion() {
+        return SUB_VERSION;
+    }
 
     /**
      * Constructs a FlatArray for a given trace from scratch or from an existing
@@ -59,6 +133,7 @@ public class FlatArray extends AbstractFileCheckpointCollection {
         fCheckpointSize = getTrace().getCheckpointSize();
         fByteBuffer = ByteBuffer.allocate(fCheckpointSize);
         fByteBuffer.clear();
+        fRegionNumCheckpoints = Math.max(1, REGION_SIZE / fCheckpointSize);
     }
 
     /**
@@ -72,16 +147,39 @@ public class FlatArray extends AbstractFileCheckpointCollection {
         markDirty();
         try {
             CheckpointCollectionFileHeader header = getHeader();
-            ++header.fSize;
+            ITmfCheckpoint last = getLastCheckpoint();
+            if (last != null && checkpoint.compareTo(last) <= 0) {
+                fFlatArrayHeader.fSorted = false;
+            }
             getRandomAccessFile().seek(getRandomAccessFile().length());
             fByteBuffer.clear();
             checkpoint.serialize(fByteBuffer);
             getRandomAccessFile().write(fByteBuffer.array());
+            ++header.fSize;
+            fLastCheckpoint = checkpoint;
         } catch (IOException e) {
             Activator.logError(MessageFormat.format(Messages.FlatArray_IOErrorWriting, getFile()), e);
         }
     }
 
+    private ITmfCheckpoint getLastCheckpoint() {
+        if (fLastCheckpoint == null && size() > 0) {
+            fLastCheckpoint = get(size() - 1);
+        }
+        return fLastCheckpoint;
+    }
+
+    /**
+     * Get whether the checkpoints were inserted in strictly increasing order,
+     * which means that {@link #binarySearch} can be used to search them by
+     * time stamp
+     *
+     * @return true if the checkpoints are sorted, false otherwise
+     */
+    public boolean isSorted() {
+        return fFlatArrayHeader.fSorted;
+    }
+
     /**
      * Get a checkpoint from a rank
      *
@@ -90,18 +188,15 @@ public class FlatArray extends AbstractFileCheckpointCollection {
      * @return the checkpoint that has been found or null if not found
      */
     public ITmfCheckpoint get(long rank) {
+        if (getRandomAccessFile() == null || rank < 0 || rank >= size()) {
+            return null;
+        }
         ITmfCheckpoint checkpoint = null;
         try {
-            long pos = getHeader().getSize() + fCheckpointSize * rank;
-            if (getRandomAccessFile() == null) {
-                return null;
-            }
-            getRandomAccessFile().seek(pos);
-            fByteBuffer.clear();
-            getRandomAccessFile().read(fByteBuffer.array());
-            ITmfLocation location = getTrace().restoreLocation(fByteBuffer);
-            ITmfTimestamp timeStamp = TmfTimestamp.create(fByteBuffer);
-            checkpoint = new TmfCheckpoint(timeStamp, location, fByteBuffer);
+            ByteBuffer record = getRecord(rank);
+            ITmfLocation location = getTrace().restoreLocation(record);
+            ITmfTimestamp timeStamp = TmfTimestamp.create(record);
+            checkpoint = new TmfCheckpoint(timeStamp, location, record);
         } catch (IOException e) {
             Activator.logError(MessageFormat.format(Messages.FlatArray_IOErrorReading, getFile()), e);
         }
@@ -109,7 +204,34 @@ public class FlatArray extends AbstractFileCheckpointCollection {
     }
 
     /**
-     * Search for a checkpoint and return the rank.
+     * Get a view of the record of a checkpoint, in the memory-mapped region
+     * that contains it. The last region is mapped again when the checkpoints
+     * inserted since it was mapped are read.
+     */
+    private ByteBuffer getRecord(long rank) throws IOException {
+        int region = (int) (rank / fRegionNumCheckpoints);
+        int offset = (int) (rank % fRegionNumCheckpoints) * fCheckpointSize;
+        MappedByteBuffer buffer = region < fRegions.size() ? fRegions.get(region) : null;
+        if (buffer == null || buffer.capacity() < offset + fCheckpointSize) {
+            long first = (long) region * fRegionNumCheckpoints;
+            long count = Math.min(fRegionNumCheckpoints, size() - first);
+            long position = getHeader().getSize() + first * fCheckpointSize;
+            buffer = getRandomAccessFile().getChannel().map(MapMode.READ_ONLY, position, count * fCheckpointSize);
+            while (fRegions.size() <= region) {
+                fRegions.add(null);
+            }
+            fRegions.set(region, buffer);
+            incCacheMisses();
+        }
+        ByteBuffer record = buffer.duplicate();
+        record.position(offset);
+        record.limit(offset + fCheckpointSize);
+        return record.slice();
+    }
+
+    /**
+     * Search for a checkpoint and return the rank. The result is only valid if
+     * the checkpoints are sorted, see {@link #isSorted()}.
      *
      * @param checkpoint
      *            the checkpoint to search
@@ -118,30 +240,40 @@ public class FlatArray extends AbstractFileCheckpointCollection {
      */
     @Override
     public long binarySearch(ITmfCheckpoint checkpoint) {
-        if (getHeader().fSize == 1) {
-            return 0;
-        }
-
         long lower = 0;
-        long upper = getHeader().fSize - 1;
-        long lastMiddle = -1;
-        long middle = 0;
-        while (lower <= upper && lastMiddle != middle) {
-            lastMiddle = middle;
-            middle = (lower + upper) / 2;
+        long upper = size() - 1L;
+        while (lower <= upper) {
+            long middle = (lower + upper) >>> 1;
             ITmfCheckpoint found = get(middle);
-            incCacheMisses();
+            if (found == null) {
+                break;
+            }
             int compare = checkpoint.compareTo(found);
             if (compare == 0) {
                 return middle;
             }
 
             if (compare < 0) {
-                upper = middle;
+                upper = middle - 1;
             } else {
                 lower = middle + 1;
             }
         }
         return -(lower) - 1;
     }
+
+    @Override
+    public void delete() {
+        /* Can be called by the super constructor, before the fields are set */
+        if (fRegions != null) {
+            fRegions.clear();
+        }
+        super.delete();
+    }
+
+    @Override
+    public void dispose() {
+        fRegions.clear();
+        super.dispose();
+    }
 }
@@ -44,6 +44,7 @@ import org.eclipse.tracecompass.common.core.log.TraceCompassLogUtils.FlowScopeLo
 import org.eclipse.tracecompass.common.core.log.TraceCompassLogUtils.FlowScopeLogBuilder;
 import org.eclipse.tracecompass.internal.tmf.core.Activator;
 import org.eclipse.tracecompass.internal.tmf.core.TmfCoreTracer;
+import org.eclipse.tracecompass.internal.tmf.core.request.TmfSharedEventScan;
 import org.eclipse.tracecompass.tmf.core.analysis.requirements.TmfAbstractAnalysisRequirement;
 import org.eclipse.tracecompass.tmf.core.component.TmfComponent;
 import org.eclipse.tracecompass.tmf.core.exceptions.TmfAnalysisException;
@@ -364,6 +365,12 @@ public abstract class TmfAbstractAnalysisModule extends TmfComponent
                 fFailureCause = null;
             }
 
+            /*
+             * If other analyses are scheduled at the same time, make sure the
+             * trace is read once for all
+             */
+            TmfSharedEventScan.join(trace, this);
+
             /*
              * Execute dependent analyses before creating the job for this one
              */
@@ -388,6 +395,7 @@ public abstract class TmfAbstractAnalysisModule extends TmfComponent
                 protected @Nullable IStatus run(final @Nullable IProgressMonitor monitor) {
                     try (FlowScopeLog jobLog = new FlowScopeLogBuilder(LOGGER, Level.FINE, "TmfAbstractAnalysis:executing").setParentScope(analysisLog).build()) { //$NON-NLS-1$
                         IProgressMonitor mon = SubMonitor.convert(monitor);
+                        TmfSharedEventScan.setCurrentParticipant(TmfAbstractAnalysisModule.this);
                         try {
                             broadcast(new TmfStartAnalysisSignal(TmfAbstractAnalysisModule.this, TmfAbstractAnalysisModule.this));
                             TmfCoreTracer.traceAnalysis(TmfAbstractAnalysisModule.this.getId(), TmfAbstractAnalysisModule.this.getTrace(), "started"); //$NON-NLS-1$
@@ -407,6 +415,8 @@ public abstract class TmfAbstractAnalysisModule extends TmfComponent
                             resetAnalysis();
                             return new Status(IStatus.ERROR, Activator.PLUGIN_ID, IStatus.OK, "Exception executing analysis", e); //$NON-NLS-1$
                         } finally {
+                            TmfSharedEventScan.release(TmfAbstractAnalysisModule.this);
+                            TmfSharedEventScan.setCurrentParticipant(null);
                             synchronized (syncObj) {
                                 setAnalysisCompleted();
                             }
@@ -424,6 +434,7 @@ public abstract class TmfAbstractAnalysisModule extends TmfComponent
                 @Override
                 protected void canceling() {
                     TmfCoreTracer.traceAnalysis(getId(), getTrace(), "job cancelled"); //$NON-NLS-1$
+                    TmfSharedEventScan.release(TmfAbstractAnalysisModule.this);
                     TmfAbstractAnalysisModule.this.canceling();
                 }
 
@@ -460,6 +471,8 @@ public abstract class TmfAbstractAnalysisModule extends TmfComponent
 
     @Override
     public boolean waitForCompletion() {
+        /* An analysis waiting for this one should not hold a shared scan */
+        TmfSharedEventScan.releaseCurrentParticipant();
         CountDownLatch finishedLatch;
         boolean started;
         synchronized (syncObj) {
@@ -478,6 +491,8 @@ public abstract class TmfAbstractAnalysisModule extends TmfComponent
 
     @Override
     public boolean waitForCompletion(IProgressMonitor monitor) {
+        /* An analysis waiting for this one should not hold a shared scan */
+        TmfSharedEventScan.releaseCurrentParticipant();
         try {
             while (!fFinishedLatch.await(500, TimeUnit.MILLISECONDS)) {
                 if (fAnalysisCancelled || monitor.isCanceled()) {
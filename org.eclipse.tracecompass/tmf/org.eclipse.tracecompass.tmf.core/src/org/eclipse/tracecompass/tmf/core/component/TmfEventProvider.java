@@ -34,6 +34,8 @@ import org.eclipse.tracecompass.internal.tmf.core.component.TmfEventThread;
 import org.eclipse.tracecompass.internal.tmf.core.component.TmfProviderManager;
 import org.eclipse.tracecompass.internal.tmf.core.request.TmfCoalescedEventRequest;
 import org.eclipse.tracecompass.internal.tmf.core.request.TmfRequestExecutor;
+import org.eclipse.tracecompass.internal.tmf.core.request.TmfSharedEventScan;
+import org.eclipse.tracecompass.internal.tmf.core.request.TmfSharedScanEventRequest;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.filter.ITmfFilter;
 import org.eclipse.tracecompass.tmf.core.request.ITmfEventRequest;
@@ -83,6 +85,8 @@ public abstract class TmfEventProvider extends TmfComponent implements ITmfEvent
 
     private int fRequestPendingCounter = 0;
 
+    private int fBackgroundPendingCounter = 0;
+
     private Timer fTimer;
 
     /** Current timer task */
@@ -190,6 +194,18 @@ public abstract class TmfEventProvider extends TmfComponent implements ITmfEvent
 
     @Override
     public void sendRequest(final ITmfEventRequest request) {
+        try {
+            coalesceOrQueueRequest(request);
+        } finally {
+            /*
+             * If an analysis sharing a scan sent this request, the scan
+             * doesn't need to wait for it anymore
+             */
+            TmfSharedEventScan.releaseCurrentParticipant();
+        }
+    }
+
+    private void coalesceOrQueueRequest(final ITmfEventRequest request) {
         synchronized (fLock) {
 
             if (TmfCoreTracer.isRequestTraced()) {
@@ -240,7 +256,7 @@ public abstract class TmfEventProvider extends TmfComponent implements ITmfEvent
 
     private void fireRequest(boolean isTimeout) {
         synchronized (fLock) {
-            if (fRequestPendingCounter > 0) {
+            if (fRequestPendingCounter > 0 || (isTimeout && fBackgroundPendingCounter > 0)) {
                 return;
             }
 
@@ -286,6 +302,35 @@ public abstract class TmfEventProvider extends TmfComponent implements ITmfEvent
         }
     }
 
+    /**
+     * Increments/decrements the pending background requests counter and fires
+     * the background requests if necessary (counter == 0). While the counter is
+     * positive, background requests are coalesced but not executed, so that
+     * analyses that start together read the trace only once. Foreground
+     * requests are not affected.
+     *
+     * @param isIncrement
+     *            Should we increment (true) or decrement (false) the pending
+     *            counter
+     * @since 8.3
+     */
+    public void notifyPendingBackgroundRequest(boolean isIncrement) {
+        synchronized (fLock) {
+            if (isIncrement) {
+                fBackgroundPendingCounter++;
+            } else {
+                if (fBackgroundPendingCounter > 0) {
+                    fBackgroundPendingCounter--;
+                }
+
+                // fire requests if all pending requests are received
+                if (fBackgroundPendingCounter == 0) {
+                    fireRequest(true);
+                }
+            }
+        }
+    }
+
     // ------------------------------------------------------------------------
     // Coalescing
     // ------------------------------------------------------------------------
@@ -299,13 +344,28 @@ public abstract class TmfEventProvider extends TmfComponent implements ITmfEvent
      */
     protected void newCoalescedEventRequest(ITmfEventRequest request) {
         synchronized (fLock) {
-            TmfCoalescedEventRequest coalescedRequest = new TmfCoalescedEventRequest(
-                    request.getDataType(),
-                    request.getRange(),
-                    request.getIndex(),
-                    request.getNbRequested(),
-                    request.getExecType(),
-                    request.getDependencyLevel());
+            TmfCoalescedEventRequest coalescedRequest;
+            if (request.getExecType() == ExecutionType.BACKGROUND) {
+                /*
+                 * Background requests are mostly analyses reading the whole
+                 * trace, each of them handles the events on its own thread
+                 */
+                coalescedRequest = new TmfSharedScanEventRequest(
+                        request.getDataType(),
+                        request.getRange(),
+                        request.getIndex(),
+                        request.getNbRequested(),
+                        request.getExecType(),
+                        request.getDependencyLevel());
+            } else {
+                coalescedRequest = new TmfCoalescedEventRequest(
+                        request.getDataType(),
+                        request.getRange(),
+                        request.getIndex(),
+                        request.getNbRequested(),
+                        request.getExecType(),
+                        request.getDependencyLevel());
+            }
             coalescedRequest.addRequest(request);
             coalescedRequest.setProviderFilter(this);
             if (TmfCoreTracer.isRequestTraced()) {
@@ -14,14 +14,9 @@
 
 package org.eclipse.tracecompass.tmf.core.event.matching;
 
-import static org.eclipse.tracecompass.common.core.NonNullUtils.checkNotNull;
-
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
-import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hashing;
-
 /**
  * Traces can be matched using TCP network packets. To uniquely match a TCP
  * packet from a trace with one from another trace, the three following fields
@@ -36,7 +31,6 @@ import com.google.common.hash.Hashing;
 @NonNullByDefault
 public class TcpEventKey implements IEventMatchingKey {
 
-    private static final HashFunction HF = checkNotNull(Hashing.goodFastHash(32));
     private final long fSeq;
     private final long fAckseq;
     private final long fFlags;
@@ -58,12 +52,24 @@ public class TcpEventKey implements IEventMatchingKey {
         fFlags = flags;
     }
 
+    long getSequence() {
+        return fSeq;
+    }
+
+    long getAcknowledgment() {
+        return fAckseq;
+    }
+
+    long getFlags() {
+        return fFlags;
+    }
+
     @Override
     public int hashCode() {
-        return HF.newHasher()
-                .putLong(fSeq)
-                .putLong(fAckseq)
-                .putLong(fFlags).hash().asInt();
+        /* Mix the fields without allocating a hasher for each key */
+        long hash = (fSeq * 31 + fAckseq) * 31 + fFlags;
+        hash *= 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
     }
 
     @Override
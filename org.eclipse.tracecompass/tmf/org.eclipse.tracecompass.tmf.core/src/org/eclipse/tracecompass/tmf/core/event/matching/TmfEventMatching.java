@@ -14,11 +14,9 @@
 
 package org.eclipse.tracecompass.tmf.core.event.matching;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -74,14 +72,29 @@ public class TmfEventMatching implements ITmfEventMatching {
     private final Multimap<ITmfTrace, ITmfMatchEventDefinition> fMatchMap = HashMultimap.create();
 
     /**
-     * Hashtables for unmatches incoming events
+     * Unmatched incoming events, by trace
      */
-    private final Table<ITmfTrace, IEventMatchingKey, DependencyEvent> fUnmatchedIn = HashBasedTable.create();
+    private final Map<ITmfTrace, UnmatchedEvents> fUnmatchedIn = new HashMap<>();
 
     /**
-     * Hashtables for unmatches outgoing events
+     * Unmatched outgoing events, by trace
      */
-    private final Table<ITmfTrace, IEventMatchingKey, DependencyEvent> fUnmatchedOut = HashBasedTable.create();
+    private final Map<ITmfTrace, UnmatchedEvents> fUnmatchedOut = new HashMap<>();
+
+    /**
+     * Duration of trace time after which an unmatched event is discarded
+     */
+    private long fMatchingWindow = Long.MAX_VALUE;
+
+    /**
+     * Time of the next expiry of the unmatched events, by trace, in the time of
+     * the trace
+     */
+    private final Map<ITmfTrace, Long> fNextExpiry = new HashMap<>();
+
+    private long fMatchCount = 0;
+    private long fMissCount = 0;
+    private long fExpiredCount = 0;
 
     /**
      * Hash tables matching the latest match between 2 hosts (sender, receiver) by
@@ -193,6 +206,10 @@ public class TmfEventMatching implements ITmfEventMatching {
         // Initialize the matching infrastructure (unmatched event lists)
         fUnmatchedIn.clear();
         fUnmatchedOut.clear();
+        fNextExpiry.clear();
+        fMatchCount = 0;
+        fMissCount = 0;
+        fExpiredCount = 0;
 
         fMatches.init(fTraces);
         for (ITmfTrace trace : getIndividualTraces()) {
@@ -224,9 +241,10 @@ public class TmfEventMatching implements ITmfEventMatching {
         int i = 0;
         for (ITmfTrace trace : getIndividualTraces()) {
             b.append("Trace " + i++ + ":" + cr + //$NON-NLS-1$ //$NON-NLS-2$
-                    "  " + fUnmatchedIn.row(trace).size() + " unmatched incoming events" + cr + //$NON-NLS-1$ //$NON-NLS-2$
-                    "  " + fUnmatchedOut.row(trace).size() + " unmatched outgoing events" + cr); //$NON-NLS-1$ //$NON-NLS-2$
+                    "  " + getUnmatched(fUnmatchedIn, trace).size() + " unmatched incoming events" + cr + //$NON-NLS-1$ //$NON-NLS-2$
+                    "  " + getUnmatched(fUnmatchedOut, trace).size() + " unmatched outgoing events" + cr); //$NON-NLS-1$ //$NON-NLS-2$
         }
+        b.append(fMatchCount + " matches, " + fMissCount + " events without match, " + fExpiredCount + " expired events" + cr); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
         return b.toString();
     }
@@ -266,7 +284,9 @@ public class TmfEventMatching implements ITmfEventMatching {
             return;
         }
 
-        Table<ITmfTrace, IEventMatchingKey, DependencyEvent> unmatchedTbl, companionTbl;
+        expireUnmatched(event.getTrace(), event.getTimestamp().toNanos());
+
+        Map<ITmfTrace, UnmatchedEvents> unmatchedTbl, companionTbl;
 
         /* Point to the appropriate table */
         switch (evType) {
@@ -286,8 +306,9 @@ public class TmfEventMatching implements ITmfEventMatching {
         DependencyEvent depEvent = new DependencyEvent(event);
         /* Search for the event in the companion table */
         for (ITmfTrace mTrace : getIndividualTraces()) {
-            if (companionTbl.contains(mTrace, eventKey)) {
-                DependencyEvent companionEvent = companionTbl.remove(mTrace, eventKey);
+            UnmatchedEvents companions = companionTbl.get(mTrace);
+            DependencyEvent companionEvent = companions == null ? null : companions.remove(eventKey);
+            if (companions != null && companionEvent != null) {
 
                 /* Create the dependency object */
                 switch (evType) {
@@ -311,7 +332,7 @@ public class TmfEventMatching implements ITmfEventMatching {
                     if (!companionEvent.getTrace().getHostId().equals(depEvent.getTrace().getHostId())) {
                         dep = new TmfEventDependency(depEvent, companionEvent);
                     } else {
-                        companionTbl.put(mTrace,  eventKey, companionEvent);
+                        companions.put(eventKey, companionEvent);
                     }
                     break;
                 default:
@@ -326,6 +347,7 @@ public class TmfEventMatching implements ITmfEventMatching {
          * lists
          */
         if (dep != null) {
+            fMatchCount++;
             processDependency(eventKey, dep);
             monitor.subTask(NLS.bind(Messages.TmfEventMatching_MatchesFound, getProcessingUnit().countMatches()));
         } else {
@@ -340,8 +362,10 @@ public class TmfEventMatching implements ITmfEventMatching {
              * events as value for the unmatched table. Not necessary right now
              * though
              */
-            if (!unmatchedTbl.contains(event.getTrace(), eventKey)) {
-                unmatchedTbl.put(event.getTrace(), eventKey, depEvent);
+            UnmatchedEvents unmatched = getUnmatched(unmatchedTbl, event.getTrace());
+            if (!unmatched.contains(eventKey)) {
+                unmatched.put(eventKey, depEvent);
+                fMissCount++;
             }
         }
     }
@@ -362,7 +386,37 @@ public class TmfEventMatching implements ITmfEventMatching {
         return fLastMatches.computeIfAbsent(eventKey.getClass(), k -> HashBasedTable.create());
     }
 
-    private void cleanupList(@NonNull IEventMatchingKey eventKey, Map<String, TmfEventDependency> lastMatches, DependencyEvent lastDep, ToLongFunction<TmfEventDependency> mapToTime, Table<ITmfTrace, IEventMatchingKey, DependencyEvent> toClean) {
+    private static UnmatchedEvents getUnmatched(Map<ITmfTrace, UnmatchedEvents> unmatched, ITmfTrace trace) {
+        return unmatched.computeIfAbsent(trace, t -> new UnmatchedEvents());
+    }
+
+    /**
+     * Discard the unmatched events of a trace that are older than the matching
+     * window, once per matching window of trace time. The traces are not
+     * synchronized yet, so the events of a trace are only compared with the
+     * time of the same trace.
+     */
+    private void expireUnmatched(ITmfTrace trace, long time) {
+        if (fMatchingWindow == Long.MAX_VALUE) {
+            return;
+        }
+        Long nextExpiry = fNextExpiry.get(trace);
+        if (nextExpiry != null && time < nextExpiry) {
+            return;
+        }
+        long cutoff = time - fMatchingWindow;
+        UnmatchedEvents unmatched = fUnmatchedIn.get(trace);
+        if (unmatched != null) {
+            fExpiredCount += unmatched.removeOlderThan(cutoff, null);
+        }
+        unmatched = fUnmatchedOut.get(trace);
+        if (unmatched != null) {
+            fExpiredCount += unmatched.removeOlderThan(cutoff, null);
+        }
+        fNextExpiry.put(trace, (time > Long.MAX_VALUE - fMatchingWindow) ? Long.MAX_VALUE : time + fMatchingWindow);
+    }
+
+    private void cleanupList(@NonNull IEventMatchingKey eventKey, Map<String, TmfEventDependency> lastMatches, DependencyEvent lastDep, ToLongFunction<TmfEventDependency> mapToTime, Map<ITmfTrace, UnmatchedEvents> toClean) {
      // Is there a match with all other hosts
         long otherHosts = lastMatches.keySet().stream().filter(s -> !s.equals(lastDep.getTrace().getHostId())).count();
         if (otherHosts == fDistinctHosts.size() - 1) {
@@ -371,14 +425,9 @@ public class TmfEventMatching implements ITmfEventMatching {
                     .mapToLong(mapToTime)
                     .min()
                     .orElse(0L);
-            if (earliest > 0) {
-                List<IEventMatchingKey> toRemove = new ArrayList<>();
-                for (Entry<IEventMatchingKey, DependencyEvent> entry : toClean.row(lastDep.getTrace()).entrySet()) {
-                    if (entry.getValue().getTimestamp().toNanos() < earliest && entry.getKey().getClass().isAssignableFrom(eventKey.getClass())) {
-                        toRemove.add(entry.getKey());
-                    }
-                }
-                toRemove.forEach(m -> toClean.remove(lastDep.getTrace(), m));
+            UnmatchedEvents unmatched = toClean.get(lastDep.getTrace());
+            if (earliest > 0 && unmatched != null) {
+                unmatched.removeOlderThan(earliest, eventKey.getClass());
             }
         }
     }
@@ -462,26 +511,89 @@ public class TmfEventMatching implements ITmfEventMatching {
         MATCH_DEFINITIONS.add(match);
     }
 
+    /**
+     * Set the matching window: an event that is not matched within this
+     * duration of trace time is discarded. This bounds the memory used by the
+     * events without match, for example the packets sent to hosts that are
+     * not traced. The duration is measured with the timestamps of the trace of
+     * the event, which may not be synchronized with the other traces, so the
+     * window should also cover the offset between the clocks of the traces.
+     *
+     * @param window
+     *            The duration, in nanoseconds, or {@link Long#MAX_VALUE} to
+     *            keep the unmatched events until the end of the matching, which
+     *            is the default
+     * @since 8.3
+     */
+    public void setMatchingWindow(long window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("The matching window must be positive: " + window); //$NON-NLS-1$
+        }
+        fMatchingWindow = window;
+    }
+
+    /**
+     * Get the number of matches found
+     *
+     * @return The number of matches
+     * @since 8.3
+     */
+    public long getMatchCount() {
+        return fMatchCount;
+    }
+
+    /**
+     * Get the number of events that were not matched when they were read, and
+     * that were kept to wait for a match
+     *
+     * @return The number of events without match when read
+     * @since 8.3
+     */
+    public long getMissCount() {
+        return fMissCount;
+    }
+
+    /**
+     * Get the number of unmatched events that were discarded because they were
+     * older than the matching window
+     *
+     * @return The number of expired events
+     * @since 8.3
+     */
+    public long getExpiredCount() {
+        return fExpiredCount;
+    }
+
     /**
      * Get the table of unmatched effect events (incoming)
      *
-     * @return The table of unmatched incoming events
+     * @return A copy of the table of unmatched incoming events
      * @since 3.3
      */
     @VisibleForTesting
     protected Table<ITmfTrace, IEventMatchingKey, DependencyEvent> getUnmatchedIn() {
-        return fUnmatchedIn;
+        return toTable(fUnmatchedIn);
     }
 
     /**
      * Get the table of unmatched cause events (outgoing)
      *
-     * @return The table of unmatched outgoing events
+     * @return A copy of the table of unmatched outgoing events
      * @since 3.3
      */
     @VisibleForTesting
     protected Table<ITmfTrace, IEventMatchingKey, DependencyEvent> getUnmatchedOut() {
-        return fUnmatchedOut;
+        return toTable(fUnmatchedOut);
+    }
+
+    private static Table<ITmfTrace, IEventMatchingKey, DependencyEvent> toTable(Map<ITmfTrace, UnmatchedEvents> unmatched) {
+        Table<ITmfTrace, IEventMatchingKey, DependencyEvent> table = HashBasedTable.create();
+        for (Entry<ITmfTrace, UnmatchedEvents> entry : unmatched.entrySet()) {
+            for (Entry<@NonNull IEventMatchingKey, @NonNull DependencyEvent> event : entry.getValue().toMap().entrySet()) {
+                table.put(entry.getKey(), event.getKey(), event.getValue());
+            }
+        }
+        return table;
     }
 
 }
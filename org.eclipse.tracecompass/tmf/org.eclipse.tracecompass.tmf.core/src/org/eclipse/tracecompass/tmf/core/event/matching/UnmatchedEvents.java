@@ -0,0 +1,257 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.tmf.core.event.matching;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.event.matching.TmfEventDependency.DependencyEvent;
+
+/**
+ * Events of one trace and one direction that wait for a match, by key.
+ *
+ * The fields of the TCP keys fit in 128 bits, so these keys are not kept:
+ * their fields are stored in arrays of primitives, in an open addressing hash
+ * table with linear probing. The other keys are stored in a hash map.
+ */
+final class UnmatchedEvents {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long UNSIGNED_INT_MASK = 0xffffffffL;
+    private static final long UNSIGNED_SHORT_MASK = 0xffffL;
+
+    /** Sequence and acknowledgment numbers of the TCP keys */
+    private long[] fHigh = new long[INITIAL_CAPACITY];
+    /** Flags of the TCP keys */
+    private long[] fLow = new long[INITIAL_CAPACITY];
+    /** Events of the TCP keys, null for an empty slot */
+    private @Nullable DependencyEvent[] fTcpEvents = new DependencyEvent[INITIAL_CAPACITY];
+    private int fTcpSize = 0;
+
+    private final Map<IEventMatchingKey, DependencyEvent> fOthers = new HashMap<>();
+
+    /**
+     * Whether the key is stored in the primitive arrays: only TCP keys whose
+     * fields have the size of the TCP header fields
+     */
+    private static boolean isPrimitive(IEventMatchingKey key) {
+        if (key.getClass() != TcpEventKey.class) {
+            return false;
+        }
+        TcpEventKey tcpKey = (TcpEventKey) key;
+        return (tcpKey.getSequence() & ~UNSIGNED_INT_MASK) == 0 &&
+                (tcpKey.getAcknowledgment() & ~UNSIGNED_INT_MASK) == 0 &&
+                (tcpKey.getFlags() & ~UNSIGNED_SHORT_MASK) == 0;
+    }
+
+    private static long high(IEventMatchingKey key) {
+        TcpEventKey tcpKey = (TcpEventKey) key;
+        return (tcpKey.getSequence() << 32) | tcpKey.getAcknowledgment();
+    }
+
+    private static long low(IEventMatchingKey key) {
+        return ((TcpEventKey) key).getFlags();
+    }
+
+    private int slot(long high, long low) {
+        long hash = (high ^ Long.rotateLeft(low, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (fTcpEvents.length - 1);
+    }
+
+    /** Find the slot of a key, or the empty slot where it would be inserted */
+    private int find(long high, long low) {
+        int mask = fTcpEvents.length - 1;
+        int slot = slot(high, low);
+        while (fTcpEvents[slot] != null && (fHigh[slot] != high || fLow[slot] != low)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Get the number of events
+     *
+     * @return The number of events waiting for a match
+     */
+    public int size() {
+        return fTcpSize + fOthers.size();
+    }
+
+    /**
+     * Check if there is an event for a key
+     *
+     * @param key
+     *            The key
+     * @return Whether an event waits for a match with this key
+     */
+    public boolean contains(IEventMatchingKey key) {
+        if (isPrimitive(key)) {
+            return fTcpEvents[find(high(key), low(key))] != null;
+        }
+        return fOthers.containsKey(key);
+    }
+
+    /**
+     * Set the event of a key
+     *
+     * @param key
+     *            The key
+     * @param event
+     *            The event waiting for a match
+     */
+    public void put(IEventMatchingKey key, DependencyEvent event) {
+        if (!isPrimitive(key)) {
+            fOthers.put(key, event);
+            return;
+        }
+        long high = high(key);
+        long low = low(key);
+        int slot = find(high, low);
+        if (fTcpEvents[slot] == null) {
+            /* Keep the load factor under 1/2 */
+            if (2 * (fTcpSize + 1) > fTcpEvents.length) {
+                resize(2 * fTcpEvents.length);
+                slot = find(high, low);
+            }
+            fHigh[slot] = high;
+            fLow[slot] = low;
+            fTcpSize++;
+        }
+        fTcpEvents[slot] = event;
+    }
+
+    /**
+     * Remove the event of a key
+     *
+     * @param key
+     *            The key
+     * @return The event that was waiting for a match, or <code>null</code>
+     */
+    public @Nullable DependencyEvent remove(IEventMatchingKey key) {
+        if (!isPrimitive(key)) {
+            return fOthers.remove(key);
+        }
+        int slot = find(high(key), low(key));
+        DependencyEvent event = fTcpEvents[slot];
+        if (event != null) {
+            removeSlot(slot);
+        }
+        return event;
+    }
+
+    /**
+     * Remove the events older than a time
+     *
+     * @param time
+     *            The time, in nanoseconds
+     * @param keyClass
+     *            If not null, only remove the events of keys of a class that is
+     *            this class or one of its super classes
+     * @return The number of events removed
+     */
+    public int removeOlderThan(long time, @Nullable Class<?> keyClass) {
+        int removed = 0;
+        if (keyClass == null || TcpEventKey.class.isAssignableFrom(keyClass)) {
+            int slot = 0;
+            while (slot < fTcpEvents.length) {
+                DependencyEvent event = fTcpEvents[slot];
+                if (event != null && event.getTimestamp().toNanos() < time) {
+                    /* Another entry may be moved to this slot, check it again */
+                    removeSlot(slot);
+                    removed++;
+                } else {
+                    slot++;
+                }
+            }
+        }
+        Iterator<Entry<IEventMatchingKey, DependencyEvent>> iterator = fOthers.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<IEventMatchingKey, DependencyEvent> entry = iterator.next();
+            if (entry.getValue().getTimestamp().toNanos() < time && (keyClass == null || entry.getKey().getClass().isAssignableFrom(keyClass))) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Remove all the events
+     */
+    public void clear() {
+        fHigh = new long[INITIAL_CAPACITY];
+        fLow = new long[INITIAL_CAPACITY];
+        fTcpEvents = new DependencyEvent[INITIAL_CAPACITY];
+        fTcpSize = 0;
+        fOthers.clear();
+    }
+
+    /**
+     * Get the events by key
+     *
+     * @return A new map of the events by key
+     */
+    public Map<@NonNull IEventMatchingKey, @NonNull DependencyEvent> toMap() {
+        Map<@NonNull IEventMatchingKey, @NonNull DependencyEvent> map = new HashMap<>(fOthers);
+        for (int slot = 0; slot < fTcpEvents.length; slot++) {
+            DependencyEvent event = fTcpEvents[slot];
+            if (event != null) {
+                map.put(new TcpEventKey(fHigh[slot] >>> 32, fHigh[slot] & UNSIGNED_INT_MASK, fLow[slot]), event);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Remove the entry of a slot, moving back the following entries of the
+     * probe sequence so that no empty slot is left in it
+     */
+    private void removeSlot(int removedSlot) {
+        int mask = fTcpEvents.length - 1;
+        int hole = removedSlot;
+        int slot = (hole + 1) & mask;
+        while (fTcpEvents[slot] != null) {
+            int home = slot(fHigh[slot], fLow[slot]);
+            /* Move the entry if the hole is between its home and its slot */
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                fHigh[hole] = fHigh[slot];
+                fLow[hole] = fLow[slot];
+                fTcpEvents[hole] = fTcpEvents[slot];
+                hole = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        fTcpEvents[hole] = null;
+        fTcpSize--;
+    }
+
+    private void resize(int capacity) {
+        long[] high = fHigh;
+        long[] low = fLow;
+        DependencyEvent[] events = fTcpEvents;
+        fHigh = new long[capacity];
+        fLow = new long[capacity];
+        fTcpEvents = new DependencyEvent[capacity];
+        for (int i = 0; i < events.length; i++) {
+            if (events[i] != null) {
+                int slot = find(high[i], low[i]);
+                fHigh[slot] = high[i];
+                fLow[slot] = low[i];
+                fTcpEvents[slot] = events[i];
+            }
+        }
+    }
+}
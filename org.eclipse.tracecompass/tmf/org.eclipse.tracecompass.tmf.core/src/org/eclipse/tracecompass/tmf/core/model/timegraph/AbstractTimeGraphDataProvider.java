@@ -11,9 +11,12 @@
 
 package org.eclipse.tracecompass.tmf.core.model.timegraph;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -27,6 +30,7 @@ import org.eclipse.tracecompass.statesystem.core.exceptions.TimeRangeException;
 import org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils;
 import org.eclipse.tracecompass.tmf.core.model.CommonStatusMessage;
 import org.eclipse.tracecompass.tmf.core.model.tree.AbstractTreeDataProvider;
+import org.eclipse.tracecompass.tmf.core.model.tree.TmfTreeModel;
 import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
 import org.eclipse.tracecompass.tmf.core.response.ITmfResponse.Status;
 import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
@@ -52,6 +56,9 @@ import com.google.common.collect.Multimap;
 public abstract class AbstractTimeGraphDataProvider<A extends TmfStateSystemAnalysisModule, M extends ITimeGraphEntryModel>
     extends AbstractTreeDataProvider<A, M> implements ITimeGraphDataProvider<M> {
 
+    /* Number of entries whose rows are computed and streamed at once */
+    private static final int ROW_BATCH_SIZE = 64;
+
     /**
      * Constructor
      *
@@ -103,6 +110,75 @@ public abstract class AbstractTimeGraphDataProvider<A extends TmfStateSystemAnal
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Waits for the state system once, then queries it for a batch of entries
+     * at a time and passes the rows of each batch to the consumer as soon as
+     * they are computed. When no items are requested, the rows of all the
+     * entries of the tree are fetched.
+     *
+     * @since 8.3
+     */
+    @Override
+    public ITmfResponse fetchRowModel(Map<String, Object> parameters, Consumer<ITimeGraphRowModel> rowConsumer, @Nullable IProgressMonitor monitor) {
+        A module = getAnalysisModule();
+        if (!module.waitForInitialization()) {
+            return new TmfModelResponse<>(null, ITmfResponse.Status.FAILED, CommonStatusMessage.ANALYSIS_INITIALIZATION_FAILED);
+        }
+
+        ITmfStateSystem ss = module.getStateSystem();
+        if (ss == null) {
+            return new TmfModelResponse<>(null, ITmfResponse.Status.FAILED, CommonStatusMessage.STATE_SYSTEM_FAILED);
+        }
+
+        long currentEnd = ss.getCurrentEndTime();
+        Object times = parameters.get(DataProviderParameterUtils.REQUESTED_TIME_KEY);
+        if (!(times instanceof List<?>) || ((List<?>) times).isEmpty()) {
+            return new TmfModelResponse<>(null, Status.FAILED, CommonStatusMessage.INCORRECT_QUERY_PARAMETERS);
+        }
+        Object end = Iterables.getLast(((List<?>) times));
+        if (!(end instanceof Number)) {
+            return new TmfModelResponse<>(null, Status.FAILED, CommonStatusMessage.INCORRECT_QUERY_PARAMETERS);
+        }
+        boolean complete = ss.waitUntilBuilt(0) || ((Number) end).longValue() <= currentEnd;
+
+        Object requested = parameters.get(DataProviderParameterUtils.REQUESTED_ITEMS_KEY);
+        List<Long> items = new ArrayList<>();
+        if (requested == null) {
+            TmfTreeModel<M> tree = fetchTree(parameters, monitor).getModel();
+            if (tree == null) {
+                return new TmfModelResponse<>(null, Status.FAILED, CommonStatusMessage.STATE_SYSTEM_FAILED);
+            }
+            tree.getEntries().forEach(entry -> items.add(entry.getId()));
+        } else {
+            List<Long> selected = DataProviderParameterUtils.extractSelectedItems(parameters);
+            if (selected == null) {
+                return new TmfModelResponse<>(null, Status.FAILED, CommonStatusMessage.INCORRECT_QUERY_PARAMETERS);
+            }
+            items.addAll(selected);
+        }
+
+        try (FlowScopeLog scope = new FlowScopeLogBuilder(LOGGER, Level.FINE, "AbstractTimeGraphDataProvider#fetchRowModel") //$NON-NLS-1$
+                .setCategory(getClass().getSimpleName()).build()) {
+
+            Map<String, Object> batchParameters = new HashMap<>(parameters);
+            for (int i = 0; i < items.size(); i += ROW_BATCH_SIZE) {
+                batchParameters.put(DataProviderParameterUtils.REQUESTED_ITEMS_KEY, items.subList(i, Math.min(items.size(), i + ROW_BATCH_SIZE)));
+                TimeGraphModel models = getRowModel(ss, batchParameters, monitor);
+                if (models == null || (monitor != null && monitor.isCanceled())) {
+                    // getRowModel returns null if the query was cancelled.
+                    return new TmfModelResponse<>(null, ITmfResponse.Status.CANCELLED, CommonStatusMessage.TASK_CANCELLED);
+                }
+                models.getRows().forEach(rowConsumer);
+            }
+            return complete ? new TmfModelResponse<>(null, Status.COMPLETED, CommonStatusMessage.COMPLETED)
+                    : new TmfModelResponse<>(null, Status.RUNNING, CommonStatusMessage.RUNNING);
+        } catch (StateSystemDisposedException | TimeRangeException | IndexOutOfBoundsException e) {
+            return new TmfModelResponse<>(null, Status.FAILED, String.valueOf(e.getMessage()));
+        }
+    }
+
     @Override
     public @NonNull Multimap<@NonNull String, @NonNull Object> getFilterData(long entryId, long time, @Nullable IProgressMonitor monitor) {
         return ITimeGraphStateFilter.mergeMultimaps(ITimeGraphDataProvider.super.getFilterData(entryId, time, monitor),
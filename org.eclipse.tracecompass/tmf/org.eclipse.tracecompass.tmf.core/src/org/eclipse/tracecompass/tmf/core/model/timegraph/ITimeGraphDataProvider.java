@@ -11,12 +11,20 @@
 
 package org.eclipse.tracecompass.tmf.core.model.timegraph;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils;
+import org.eclipse.tracecompass.tmf.core.model.CommonStatusMessage;
 import org.eclipse.tracecompass.tmf.core.model.tree.ITmfTreeDataProvider;
+import org.eclipse.tracecompass.tmf.core.model.tree.TmfTreeModel;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse.Status;
 import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
 
 /**
@@ -58,6 +66,69 @@ public interface ITimeGraphDataProvider<M extends ITimeGraphEntryModel> extends
      */
     TmfModelResponse<TimeGraphModel> fetchRowModel(Map<String, Object> fetchParameters, @Nullable IProgressMonitor monitor);
 
+    /**
+     * Computes the time graph row models and passes them to a consumer as they
+     * are computed, instead of returning them all in one {@link TimeGraphModel}.
+     * This lets the caller write the rows out while the next ones are being
+     * computed and keeps only part of the rows in memory.
+     *
+     * The default implementation fetches the requested items by batches with
+     * {@link #fetchRowModel(Map, IProgressMonitor)}. When no items are
+     * requested, the rows of all the entries of {@link #fetchTree} are fetched
+     * by batches. Implementations that can compute the rows one by one may
+     * override it.
+     *
+     * @param fetchParameters
+     *            Time graph query parameters, specifies which IDs to return and
+     *            the sampling rate.
+     * @param rowConsumer
+     *            The consumer of the rows, in the order they are computed
+     * @param monitor
+     *            Progress monitor
+     * @return The status of the query. If it is not
+     *         {@link Status#COMPLETED} or {@link Status#RUNNING}, the rows
+     *         passed to the consumer so far are partial.
+     * @since 8.3
+     */
+    default ITmfResponse fetchRowModel(Map<String, Object> fetchParameters, Consumer<ITimeGraphRowModel> rowConsumer, @Nullable IProgressMonitor monitor) {
+        /* Number of entries whose rows are fetched at once */
+        final int batchSize = 256;
+        List<Long> items = DataProviderParameterUtils.extractSelectedItems(fetchParameters);
+        boolean allItems = false;
+        if (items == null) {
+            /* Split the query of all the entries too */
+            TmfTreeModel<M> tree = fetchTree(fetchParameters, monitor).getModel();
+            if (tree != null) {
+                items = new ArrayList<>();
+                for (M entry : tree.getEntries()) {
+                    items.add(entry.getId());
+                }
+                allItems = true;
+            }
+        }
+        int nbBatches = (items == null || items.isEmpty()) ? 1 : (items.size() + batchSize - 1) / batchSize;
+        boolean complete = true;
+        for (int i = 0; i < nbBatches; i++) {
+            Map<String, Object> parameters = fetchParameters;
+            if (items != null && (nbBatches > 1 || allItems)) {
+                parameters = new HashMap<>(fetchParameters);
+                parameters.put(DataProviderParameterUtils.REQUESTED_ITEMS_KEY, items.subList(i * batchSize, Math.min(items.size(), (i + 1) * batchSize)));
+            }
+            TmfModelResponse<TimeGraphModel> response = fetchRowModel(parameters, monitor);
+            TimeGraphModel model = response.getModel();
+            if (model == null || response.getStatus() == Status.FAILED || response.getStatus() == Status.CANCELLED) {
+                return response;
+            }
+            model.getRows().forEach(rowConsumer);
+            complete &= response.getStatus() == Status.COMPLETED;
+            if (monitor != null && monitor.isCanceled()) {
+                return new TmfModelResponse<>(null, Status.CANCELLED, CommonStatusMessage.TASK_CANCELLED);
+            }
+        }
+        return complete ? new TmfModelResponse<>(null, Status.COMPLETED, CommonStatusMessage.COMPLETED)
+                : new TmfModelResponse<>(null, Status.RUNNING, CommonStatusMessage.RUNNING);
+    }
+
     /**
      * Computes a list of time graph arrows.
      *
@@ -17,6 +17,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.NonNull;
@@ -133,6 +134,26 @@ extends TmfTreeCompositeDataProvider<M, P> implements ITimeGraphDataProvider<M>,
         return new TmfModelResponse<>(new TimeGraphModel(series.build()), ITmfResponse.Status.RUNNING, CommonStatusMessage.RUNNING);
     }
 
+    /**
+     * @since 8.3
+     */
+    @Override
+    public ITmfResponse fetchRowModel(Map<String, Object> fetchParameters, Consumer<ITimeGraphRowModel> rowConsumer, @Nullable IProgressMonitor monitor) {
+        boolean isComplete = true;
+        for (P dataProvider : getProviders()) {
+            ITmfResponse response = dataProvider.fetchRowModel(fetchParameters, rowConsumer, monitor);
+            isComplete &= response.getStatus() == ITmfResponse.Status.COMPLETED;
+
+            if (monitor != null && monitor.isCanceled()) {
+                return new TmfModelResponse<>(null, ITmfResponse.Status.CANCELLED, CommonStatusMessage.TASK_CANCELLED);
+            }
+        }
+        if (isComplete) {
+            return new TmfModelResponse<>(null, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+        }
+        return new TmfModelResponse<>(null, ITmfResponse.Status.RUNNING, CommonStatusMessage.RUNNING);
+    }
+
     @Override
     public TmfModelResponse<List<ITimeGraphArrow>> fetchArrows(Map<String, Object> fetchParameters, @Nullable IProgressMonitor monitor) {
         boolean isComplete = true;
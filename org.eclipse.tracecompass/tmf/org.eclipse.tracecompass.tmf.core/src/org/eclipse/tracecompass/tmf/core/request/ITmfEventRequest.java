@@ -15,6 +15,8 @@
 
 package org.eclipse.tracecompass.tmf.core.request;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
@@ -116,6 +118,19 @@ public interface ITmfEventRequest {
      */
     void setProviderFilter(ITmfFilter filter);
 
+    /**
+     * Gets the names of the event types this request is interested in. The
+     * events of the other types are not handled by the request, and the trace
+     * may skip decoding them.
+     *
+     * @return the names of the event types to handle, or <code>null</code> to
+     *         handle all the events
+     * @since 8.3
+     */
+    default @Nullable Set<String> getEventTypes() {
+        return null;
+    }
+
     // ------------------------------------------------------------------------
     // Request state predicates
     // ------------------------------------------------------------------------
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.tmf.core.signal;
+
+import java.util.Map;
+
+import org.eclipse.tracecompass.tmf.core.synchronization.ITmfTimestampTransform;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+
+/**
+ * Signal indicating that a synchronization of traces is in progress and has
+ * provisional timestamp transforms. The transforms are computed from the
+ * events matched so far and may change until the
+ * {@link TmfTraceSynchronizedSignal} is sent.
+ *
+ * @since 8.3
+ */
+public class TmfTraceSynchronizationUpdatedSignal extends TmfSignal {
+
+    private final ITmfTrace fTrace;
+    private final Map<String, ITmfTimestampTransform> fTransforms;
+
+    /**
+     * Constructor
+     *
+     * @param source
+     *            Object sending this signal
+     * @param trace
+     *            The trace being synchronized, usually an experiment
+     * @param transforms
+     *            The provisional timestamp transforms, by host ID
+     */
+    public TmfTraceSynchronizationUpdatedSignal(Object source, ITmfTrace trace, Map<String, ITmfTimestampTransform> transforms) {
+        super(source);
+        fTrace = trace;
+        fTransforms = transforms;
+    }
+
+    /**
+     * @return The trace being synchronized
+     */
+    public ITmfTrace getTrace() {
+        return fTrace;
+    }
+
+    /**
+     * @return The provisional timestamp transforms, by host ID
+     */
+    public Map<String, ITmfTimestampTransform> getTransforms() {
+        return fTransforms;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + getClass().getSimpleName() + " (" + fTrace.toString() + ", " + fTransforms.size() + " hosts)]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    }
+}
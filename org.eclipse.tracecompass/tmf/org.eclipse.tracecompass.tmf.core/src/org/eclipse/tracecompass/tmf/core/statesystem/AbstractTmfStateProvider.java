@@ -14,7 +14,13 @@
 
 package org.eclipse.tracecompass.tmf.core.statesystem;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.logging.Level;
@@ -31,6 +37,8 @@ import org.eclipse.tracecompass.internal.tmf.core.Activator;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventType;
 import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
@@ -49,12 +57,47 @@ import com.google.common.annotations.VisibleForTesting;
  * {@link #eventHandle(ITmfEvent)}, so that all the multi-thread logic is
  * abstracted away.
  *
+ * Providers that handle many event types can register the names of these
+ * types with {@link #registerEventType(String)}, and the payload fields they
+ * read with {@link #registerEventField(String...)}. Each event type is then
+ * resolved to a small integer ID only once, so that
+ * {@link #eventHandle(ITmfEvent)} can switch on {@link #getEventTypeId(ITmfEvent)}
+ * instead of comparing strings for every event, and the fields that a type
+ * does not declare are not looked up in its events.
+ *
  * @author Alexandre Montplaisir
  */
 public abstract class AbstractTmfStateProvider implements ITmfStateProvider {
 
+    /**
+     * ID of the event types that were not registered with
+     * {@link #registerEventType(String)}
+     *
+     * @since 8.3
+     */
+    protected static final int UNKNOWN_EVENT_TYPE = -1;
+
     private static final Logger LOGGER = TraceCompassLog.getLogger(AbstractTmfStateProvider.class);
 
+    /*
+     * Maximum number of event types and names whose ID is cached. Types that
+     * are not shared between the events would otherwise fill the cache.
+     */
+    private static final int MAX_CACHED_EVENT_TYPES = 1024;
+
+    private static final boolean[] NO_MISSING_FIELDS = new boolean[0];
+
+    /* The ID of an event type, and the registered fields it does not declare */
+    private static final class EventTypeEntry {
+        private final int fId;
+        private final boolean[] fMissingFields;
+
+        public EventTypeEntry(int id, boolean[] missingFields) {
+            fId = id;
+            fMissingFields = missingFields;
+        }
+    }
+
     private static final class FutureEvent {
         private final long fTime;
         private final @Nullable Object fValue;
@@ -100,6 +143,20 @@ public abstract class AbstractTmfStateProvider implements ITmfStateProvider {
 
     private final Queue<FutureEvent> fFutureEvents = new PriorityQueue<>(Comparator.comparingLong(FutureEvent::getTime));
 
+    /* Registered event type names and prefixes, and the fields' paths */
+    private final Map<String, Integer> fEventTypeNames = new HashMap<>();
+    private final List<String> fEventTypePrefixes = new ArrayList<>();
+    private final List<Integer> fEventTypePrefixIds = new ArrayList<>();
+    private final List<String[]> fEventFields = new ArrayList<>();
+    private int fNbEventTypes = 0;
+
+    /*
+     * Event types already resolved. The events of a type usually share the
+     * same type instance, so the identity map is checked before the names.
+     */
+    private final Map<ITmfEventType, EventTypeEntry> fEventTypes = new IdentityHashMap<>();
+    private final Map<String, Integer> fResolvedEventNames = new HashMap<>();
+
     /**
      * Instantiate a new state provider.
      *
@@ -431,6 +488,146 @@ public abstract class AbstractTmfStateProvider implements ITmfStateProvider {
         fFutureEvents.add(new FutureEvent(time, futureValue, attribute, type));
     }
 
+    // ------------------------------------------------------------------------
+    // Event type dispatch
+    // ------------------------------------------------------------------------
+
+    /**
+     * Register the name of an event type handled by this provider. This should
+     * be called before the events are processed, typically in the
+     * constructor.
+     *
+     * @param eventName
+     *            The name of the event type
+     * @return The ID of this event type, the same ID is returned if the name
+     *         is already registered
+     * @since 8.3
+     */
+    protected final int registerEventType(String eventName) {
+        Integer id = fEventTypeNames.get(eventName);
+        if (id == null) {
+            id = fNbEventTypes++;
+            fEventTypeNames.put(eventName, id);
+        }
+        return id;
+    }
+
+    /**
+     * Register a prefix of the names of event types handled by this provider.
+     * Event types whose name was registered with
+     * {@link #registerEventType(String)} take precedence, then the prefixes
+     * are checked in the order they were registered.
+     *
+     * @param prefix
+     *            The prefix of the event type names
+     * @return The ID of the event types starting with this prefix
+     * @since 8.3
+     */
+    protected final int registerEventTypePrefix(String prefix) {
+        int id = fNbEventTypes++;
+        fEventTypePrefixes.add(prefix);
+        fEventTypePrefixIds.add(id);
+        return id;
+    }
+
+    /**
+     * Get the ID of the type of an event. The type is resolved once, further
+     * calls for the events of the same type are a map lookup.
+     *
+     * @param event
+     *            The event
+     * @return The ID returned when registering the event's type or prefix, or
+     *         {@link #UNKNOWN_EVENT_TYPE} if it was not registered
+     * @since 8.3
+     */
+    protected final int getEventTypeId(ITmfEvent event) {
+        return getEventTypeEntry(event).fId;
+    }
+
+    /**
+     * Register the path of a payload field read by this provider. This should
+     * be called before the events are processed, typically in the
+     * constructor.
+     *
+     * @param path
+     *            The path of the field in the event's content
+     * @return The ID of the field, to use with
+     *         {@link #getEventField(ITmfEvent, int)}
+     * @since 8.3
+     */
+    protected final int registerEventField(String... path) {
+        fEventFields.add(path);
+        return fEventFields.size() - 1;
+    }
+
+    /**
+     * Get a payload field of an event. When the event's type declares its
+     * fields, the events of a type that does not declare this field are not
+     * looked up, so their content is not read.
+     *
+     * @param event
+     *            The event
+     * @param fieldId
+     *            The ID returned when registering the field
+     * @return The field, or <code>null</code> if the event does not have it
+     * @since 8.3
+     */
+    protected final @Nullable ITmfEventField getEventField(ITmfEvent event, int fieldId) {
+        boolean[] missingFields = getEventTypeEntry(event).fMissingFields;
+        if (fieldId < missingFields.length && missingFields[fieldId]) {
+            return null;
+        }
+        return event.getContent().getField(fEventFields.get(fieldId));
+    }
+
+    private EventTypeEntry getEventTypeEntry(ITmfEvent event) {
+        ITmfEventType type = event.getType();
+        EventTypeEntry entry = fEventTypes.get(type);
+        if (entry != null) {
+            return entry;
+        }
+        String name = event.getName();
+        Integer id = fResolvedEventNames.get(name);
+        if (id == null) {
+            id = resolveEventType(name);
+            if (fResolvedEventNames.size() < MAX_CACHED_EVENT_TYPES) {
+                fResolvedEventNames.put(name, id);
+            }
+        }
+        entry = new EventTypeEntry(id, getMissingFields(type));
+        if (type != null && fEventTypes.size() < MAX_CACHED_EVENT_TYPES) {
+            fEventTypes.put(type, entry);
+        }
+        return entry;
+    }
+
+    private boolean[] getMissingFields(@Nullable ITmfEventType type) {
+        /* Types that do not declare their fields may have any field */
+        Collection<String> fieldNames = (type == null) ? null : type.getFieldNames();
+        if (fieldNames == null || fieldNames.isEmpty() || fEventFields.isEmpty()) {
+            return NO_MISSING_FIELDS;
+        }
+        boolean[] missingFields = new boolean[fEventFields.size()];
+        for (int i = 0; i < missingFields.length; i++) {
+            String[] path = fEventFields.get(i);
+            missingFields[i] = path.length > 0 && !fieldNames.contains(path[0]);
+        }
+        return missingFields;
+    }
+
+    private int resolveEventType(String name) {
+        Integer id = fEventTypeNames.get(name);
+        if (id != null) {
+            return id;
+        }
+        for (int i = 0; i < fEventTypePrefixes.size(); i++) {
+            if (name.startsWith(fEventTypePrefixes.get(i))) {
+                return fEventTypePrefixIds.get(i);
+            }
+        }
+        return UNKNOWN_EVENT_TYPE;
+    }
+
     // ------------------------------------------------------------------------
     // Abstract methods
     // ------------------------------------------------------------------------
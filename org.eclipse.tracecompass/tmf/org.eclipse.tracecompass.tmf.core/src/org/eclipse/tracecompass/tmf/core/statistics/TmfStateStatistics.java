@@ -20,12 +20,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
 import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
 import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 
 /**
  * Implementation of ITmfStatistics which uses a state history for storing its
@@ -52,6 +54,9 @@ public class TmfStateStatistics implements ITmfStatistics {
     /** The state system for event types */
     private final ITmfStateSystem fTypesStats;
 
+    /** The module counting the event types in buckets, if any */
+    private final @Nullable TmfStatisticsEventTypesModule fTypesModule;
+
     // ------------------------------------------------------------------------
     // Constructors
     // ------------------------------------------------------------------------
@@ -67,6 +72,25 @@ public class TmfStateStatistics implements ITmfStatistics {
     public TmfStateStatistics(@NonNull ITmfStateSystem totals, @NonNull ITmfStateSystem eventTypes) {
         fTotalsStats = totals;
         fTypesStats = eventTypes;
+        fTypesModule = null;
+    }
+
+    /**
+     * Constructor, for the event types counted in the buckets of a
+     * {@link TmfStatisticsEventTypesModule}, whose state system only contains
+     * the lost events
+     *
+     * @param totals
+     *            The state system containing the "totals" information
+     * @param eventTypes
+     *            The module of the "event types" state system, which must be
+     *            initialized
+     * @since 8.3
+     */
+    public TmfStateStatistics(@NonNull ITmfStateSystem totals, @NonNull TmfStatisticsEventTypesModule eventTypes) {
+        fTotalsStats = totals;
+        fTypesStats = Objects.requireNonNull(eventTypes.getStateSystem());
+        fTypesModule = eventTypes;
     }
 
     /**
@@ -132,6 +156,11 @@ public class TmfStateStatistics implements ITmfStatistics {
 
     @Override
     public Map<@NonNull String, @NonNull Long> getEventTypesTotal() {
+        TmfStatisticsEventTypesModule typesModule = fTypesModule;
+        if (typesModule != null) {
+            TmfStatisticsBuckets buckets = typesModule.getCurrentBuckets();
+            return (buckets == null) ? Collections.emptyMap() : buckets.getEventTypesTotal();
+        }
 
         int quark = fTypesStats.optQuarkAbsolute(Attributes.EVENT_TYPES);
         if (quark == ITmfStateSystem.INVALID_ATTRIBUTE) {
@@ -179,6 +208,16 @@ public class TmfStateStatistics implements ITmfStatistics {
 
     @Override
     public Map<String, Long> getEventTypesInRange(long start, long end) {
+        TmfStatisticsEventTypesModule typesModule = fTypesModule;
+        if (typesModule != null) {
+            /* The exact counts are read from the trace around the boundaries */
+            TmfStatisticsBuckets buckets = typesModule.getCurrentBuckets();
+            ITmfTrace trace = typesModule.getTrace();
+            if (buckets == null || trace == null) {
+                return Collections.emptyMap();
+            }
+            return new HashMap<>(buckets.getEventTypesInRange(start, end, trace));
+        }
 
         /*
          * Make sure the start/end times are within the state history, so we don't get
@@ -0,0 +1,669 @@
+/**********************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.tmf.core.statistics;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.ITmfLostEvent;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+
+/**
+ * Event counts of a trace in fixed time buckets, per event type.
+ *
+ * The counts of each event type, and the total of events, are stored as a
+ * column of prefix sums: the value at index i is the number of events in the
+ * buckets before bucket i. The number of events between two times is then the
+ * difference of two values of the column, whatever the length of the range.
+ *
+ * The duration of the buckets is a power of two nanoseconds, chosen so that a
+ * trace has at most {@link #MAX_BUCKETS} buckets. The counts are rounded to
+ * the buckets: the count at a time includes all the events of the bucket
+ * containing this time.
+ *
+ * The times of the first and last events of each bucket are also kept, so the
+ * exact number of events up to a time is known when this time does not split
+ * the events of its bucket, see {@link #getEventCountAt(long)}. The exact
+ * counts per event type are given by
+ * {@link #getEventTypesInRange(long, long, ITmfTrace)}, which reads from the
+ * trace the events of the buckets that the range splits.
+ *
+ * The columns can be saved to a file and read back memory-mapped, so that they
+ * are not kept on the heap.
+ *
+ * @since 8.3
+ */
+public final class TmfStatisticsBuckets {
+
+    /** Maximum number of buckets */
+    public static final int MAX_BUCKETS = 1 << 14;
+
+    private static final int MAGIC = 0x53544243;
+    private static final int VERSION = 3;
+
+    private final long fStartTime;
+    private final int fShift;
+    private final int fNbBuckets;
+    /** Column of each event type, the column 0 is the total */
+    private final Map<String, Integer> fColumns;
+    /**
+     * The prefix sums of each column, followed by the times of the first
+     * events and the times of the last events of the buckets
+     */
+    private final LongBuffer fData;
+    private final int fTimesOffset;
+
+    private TmfStatisticsBuckets(long startTime, int shift, int nbBuckets, Map<String, Integer> columns, LongBuffer prefixSums) {
+        fStartTime = startTime;
+        fShift = shift;
+        fNbBuckets = nbBuckets;
+        fColumns = columns;
+        fData = prefixSums;
+        fTimesOffset = (columns.size() + 1) * (nbBuckets + 1);
+    }
+
+    // ------------------------------------------------------------------------
+    // Accessors
+    // ------------------------------------------------------------------------
+
+    /**
+     * Get the start time of the first bucket
+     *
+     * @return The start time, in nanoseconds
+     */
+    public long getStartTime() {
+        return fStartTime;
+    }
+
+    /**
+     * Get the duration of the buckets
+     *
+     * @return The duration of a bucket, in nanoseconds
+     */
+    public long getBucketDuration() {
+        return 1L << fShift;
+    }
+
+    /**
+     * Get the number of buckets
+     *
+     * @return The number of buckets
+     */
+    public int getNbBuckets() {
+        return fNbBuckets;
+    }
+
+    /**
+     * Get the event types
+     *
+     * @return The names of the event types
+     */
+    public Collection<@NonNull String> getEventTypes() {
+        return Collections.unmodifiableSet(fColumns.keySet());
+    }
+
+    // ------------------------------------------------------------------------
+    // Queries
+    // ------------------------------------------------------------------------
+
+    /**
+     * Get the number of events of a type in a bucket
+     *
+     * @param eventType
+     *            The event type, or <code>null</code> for all the events
+     * @param bucket
+     *            The index of the bucket
+     * @return The number of events
+     */
+    public long getBucketCount(@Nullable String eventType, int bucket) {
+        int column = getColumn(eventType);
+        if (column < 0 || bucket < 0 || bucket >= fNbBuckets) {
+            return 0;
+        }
+        return prefixSum(column, bucket + 1) - prefixSum(column, bucket);
+    }
+
+    /**
+     * Get the total number of events
+     *
+     * @return The total number of events
+     */
+    public long getEventsTotal() {
+        return prefixSum(0, fNbBuckets);
+    }
+
+    /**
+     * Get the total number of events, per event type
+     *
+     * @return The map of event type to number of events
+     */
+    public Map<@NonNull String, @NonNull Long> getEventTypesTotal() {
+        Map<@NonNull String, @NonNull Long> map = new HashMap<>();
+        for (Entry<String, Integer> entry : fColumns.entrySet()) {
+            map.put(entry.getKey(), prefixSum(entry.getValue(), fNbBuckets));
+        }
+        return map;
+    }
+
+    /**
+     * Get the number of events in a time range, rounded to the buckets
+     *
+     * @param start
+     *            The start time of the range
+     * @param end
+     *            The end time of the range
+     * @return The number of events
+     */
+    public long getEventsInRange(long start, long end) {
+        return Math.max(0, countAt(0, end) - countBefore(0, start));
+    }
+
+    /**
+     * Get the number of events in a time range per event type, rounded to the
+     * buckets
+     *
+     * @param start
+     *            The start time of the range
+     * @param end
+     *            The end time of the range
+     * @return The map of event type to number of events
+     */
+    public Map<@NonNull String, @NonNull Long> getEventTypesInRange(long start, long end) {
+        Map<@NonNull String, @NonNull Long> map = new HashMap<>();
+        for (Entry<String, Integer> entry : fColumns.entrySet()) {
+            int column = entry.getValue();
+            map.put(entry.getKey(), Math.max(0, countAt(column, end) - countBefore(column, start)));
+        }
+        return map;
+    }
+
+    /**
+     * Get the exact number of events in a time range per event type. The
+     * counts are taken from the buckets, and only the events of the buckets
+     * split by the start or the end of the range are read from the trace.
+     *
+     * @param start
+     *            The start time of the range
+     * @param end
+     *            The end time of the range
+     * @param trace
+     *            The trace whose events are counted in the buckets
+     * @return The map of event type to number of events
+     */
+    public Map<@NonNull String, @NonNull Long> getEventTypesInRange(long start, long end, ITmfTrace trace) {
+        Map<@NonNull String, @NonNull Long> map = new HashMap<>();
+        if (end < start || end < fStartTime) {
+            return map;
+        }
+        long[] endCounts = countsAt(end, trace);
+        long[] startCounts = (start <= fStartTime) ? new long[endCounts.length] : countsAt(start - 1, trace);
+        for (Entry<String, Integer> entry : fColumns.entrySet()) {
+            int column = entry.getValue();
+            map.put(entry.getKey(), endCounts[column] - startCounts[column]);
+        }
+        return map;
+    }
+
+    /**
+     * Get the exact number of events up to a time, if the buckets can tell it:
+     * the events of the bucket containing this time must all be before or all
+     * be after this time.
+     *
+     * @param time
+     *            The time, in nanoseconds
+     * @return The number of events up to this time included, or -1 if this
+     *         time splits the events of its bucket
+     */
+    public long getEventCountAt(long time) {
+        if (time < fStartTime) {
+            return 0;
+        }
+        long bucket = (time - fStartTime) >>> fShift;
+        if (bucket >= fNbBuckets) {
+            return getEventsTotal();
+        }
+        int index = (int) bucket;
+        if (time >= fData.get(fTimesOffset + fNbBuckets + index)) {
+            return prefixSum(0, index + 1);
+        }
+        if (time < fData.get(fTimesOffset + index)) {
+            return prefixSum(0, index);
+        }
+        return -1;
+    }
+
+    /**
+     * Get the number of events in a series of time ranges, rounded to the
+     * buckets, like {@link ITmfStatistics#histogramQuery(long[])}
+     *
+     * @param timeRequested
+     *            The end times of the ranges, the first range contains only
+     *            the first time
+     * @return The number of events in each range
+     */
+    public List<@NonNull Long> histogramQuery(long[] timeRequested) {
+        List<@NonNull Long> list = new ArrayList<>(timeRequested.length);
+        if (timeRequested.length == 0) {
+            return list;
+        }
+        long prevTotal = countBefore(0, timeRequested[0]);
+        for (long time : timeRequested) {
+            long curTotal = countAt(0, time);
+            list.add(curTotal - prevTotal);
+            prevTotal = curTotal;
+        }
+        return list;
+    }
+
+    /**
+     * Get the exact number of events in a series of time ranges, like
+     * {@link ITmfStatistics#histogramQuery(long[])}. The counts are taken from
+     * the buckets, and the statistics are queried only for the ranges whose
+     * ends split the events of a bucket.
+     *
+     * @param timeRequested
+     *            The end times of the ranges, the first range contains only
+     *            the first time
+     * @param statistics
+     *            The statistics of the same events, for the exact counts that
+     *            the buckets cannot tell
+     * @return The number of events in each range
+     */
+    public List<@NonNull Long> histogramQuery(long[] timeRequested, ITmfStatistics statistics) {
+        int n = timeRequested.length;
+        List<@NonNull Long> list = new ArrayList<>(n);
+        long[] counts = new long[n + 1];
+        /* counts[i + 1] is the number of events up to timeRequested[i] */
+        counts[0] = (n > 0 && timeRequested[0] > fStartTime) ? exactCountAt(timeRequested[0] - 1) : -1;
+        for (int i = 0; i < n; i++) {
+            counts[i + 1] = exactCountAt(timeRequested[i]);
+        }
+        int i = 0;
+        while (i < n) {
+            if (counts[i] >= 0 && counts[i + 1] >= 0) {
+                list.add(counts[i + 1] - counts[i]);
+                i++;
+                continue;
+            }
+            /* Query the statistics for the following ranges that are not known */
+            int end = i + 1;
+            while (end < n && (counts[end] < 0 || counts[end + 1] < 0)) {
+                end++;
+            }
+            List<@NonNull Long> values = (i == 0) ? statistics.histogramQuery(Arrays.copyOfRange(timeRequested, 0, end)) :
+                    statistics.histogramQuery(Arrays.copyOfRange(timeRequested, i - 1, end));
+            int offset = (i == 0) ? 0 : 1;
+            for (int j = i; j < end; j++) {
+                /* The statistics may be disposed in the meantime */
+                list.add((values.size() == end - i + offset) ? values.get(j - i + offset) : 0L);
+            }
+            i = end;
+        }
+        return list;
+    }
+
+    /**
+     * Get the exact number of events up to a time, or -1 if it is not known
+     * from the buckets. The statistics state systems count the events at the
+     * start of the trace for the times before it, so these times are not
+     * known.
+     */
+    private long exactCountAt(long time) {
+        return (time < fStartTime) ? -1 : getEventCountAt(time);
+    }
+
+    /**
+     * Get the exact number of events of each column up to a time. The events
+     * of the bucket containing this time are read from the trace if this time
+     * splits them.
+     */
+    private long[] countsAt(long time, ITmfTrace trace) {
+        long[] counts = new long[fColumns.size() + 1];
+        if (time < fStartTime) {
+            return counts;
+        }
+        long bucket = (time - fStartTime) >>> fShift;
+        int index;
+        long firstTime = Long.MAX_VALUE;
+        if (bucket >= fNbBuckets) {
+            index = fNbBuckets;
+        } else if (time >= fData.get(fTimesOffset + fNbBuckets + (int) bucket)) {
+            index = (int) bucket + 1;
+        } else {
+            index = (int) bucket;
+            firstTime = fData.get(fTimesOffset + index);
+        }
+        for (int column = 0; column < counts.length; column++) {
+            counts[column] = prefixSum(column, index);
+        }
+        if (time >= firstTime) {
+            countEvents(trace, firstTime, time, counts);
+        }
+        return counts;
+    }
+
+    /**
+     * Add to the counts of each column the events of a trace between two
+     * times, inclusively
+     */
+    private void countEvents(ITmfTrace trace, long start, long end, long[] counts) {
+        ITmfContext context = trace.seekEvent(TmfTimestamp.fromNanos(start));
+        try {
+            ITmfEvent event = trace.getNext(context);
+            while (event != null && event.getTimestamp().toNanos() <= end) {
+                Integer column = fColumns.get(event.getName());
+                if (event instanceof ITmfLostEvent) {
+                    if (column != null) {
+                        counts[column] += ((ITmfLostEvent) event).getNbLostEvents();
+                    }
+                } else {
+                    counts[0]++;
+                    if (column != null) {
+                        counts[column]++;
+                    }
+                }
+                event = trace.getNext(context);
+            }
+        } finally {
+            context.dispose();
+        }
+    }
+
+    private int getColumn(@Nullable String eventType) {
+        if (eventType == null) {
+            return 0;
+        }
+        Integer column = fColumns.get(eventType);
+        return column == null ? -1 : column;
+    }
+
+    private long prefixSum(int column, int index) {
+        return fData.get(column * (fNbBuckets + 1) + index);
+    }
+
+    /**
+     * Get the number of events counted before a time, up to the end of the
+     * bucket containing the previous nanosecond
+     */
+    private long countBefore(int column, long time) {
+        return (time <= fStartTime) ? 0 : countAt(column, time - 1);
+    }
+
+    /**
+     * Get the number of events up to the end of the bucket containing a time
+     */
+    private long countAt(int column, long time) {
+        if (time < fStartTime) {
+            return 0;
+        }
+        long bucket = (time - fStartTime) >>> fShift;
+        return prefixSum(column, (int) Math.min(bucket + 1, fNbBuckets));
+    }
+
+    // ------------------------------------------------------------------------
+    // Persistence
+    // ------------------------------------------------------------------------
+
+    /**
+     * Read the buckets saved by {@link #save(Path)}. The counts are
+     * memory-mapped and not read on the heap.
+     *
+     * @param file
+     *            The file of the buckets
+     * @return The buckets, or <code>null</code> if the file does not exist or
+     *         is not a valid file of buckets
+     * @throws IOException
+     *             If the file cannot be read
+     */
+    public static @Nullable TmfStatisticsBuckets load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            /* The mapping stays valid when the channel is closed */
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            long startTime = buffer.getLong();
+            int shift = buffer.getInt();
+            int nbBuckets = buffer.getInt();
+            int nbTypes = buffer.getInt();
+            if (shift < 0 || shift > 62 || nbBuckets < 0 || nbBuckets > MAX_BUCKETS || nbTypes < 0) {
+                return null;
+            }
+            Map<String, Integer> columns = new LinkedHashMap<>();
+            for (int i = 0; i < nbTypes; i++) {
+                byte[] name = new byte[buffer.getInt()];
+                buffer.get(name);
+                columns.put(new String(name, StandardCharsets.UTF_8), i + 1);
+            }
+            buffer.position(align(buffer.position()));
+            LongBuffer prefixSums = buffer.slice().asLongBuffer();
+            if (prefixSums.capacity() != (long) (nbTypes + 1) * (nbBuckets + 1) + 2L * nbBuckets) {
+                return null;
+            }
+            return new TmfStatisticsBuckets(startTime, shift, nbBuckets, columns, prefixSums);
+        } catch (BufferUnderflowException | NegativeArraySizeException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Save the buckets to a file
+     *
+     * @param file
+     *            The file of the buckets
+     * @throws IOException
+     *             If the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        /* Write to a temporary file, so partial buckets are never read */
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+        try (OutputStream stream = Files.newOutputStream(tmp);
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(fStartTime);
+            output.writeInt(fShift);
+            output.writeInt(fNbBuckets);
+            output.writeInt(fColumns.size());
+            for (String eventType : fColumns.keySet()) {
+                byte[] name = eventType.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(name.length);
+                output.write(name);
+            }
+            /* Align the counts, so they can be mapped as longs */
+            while (output.size() != align(output.size())) {
+                output.writeByte(0);
+            }
+            for (int i = 0; i < fData.capacity(); i++) {
+                output.writeLong(fData.get(i));
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static int align(int position) {
+        return (position + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    // ------------------------------------------------------------------------
+    // Builder
+    // ------------------------------------------------------------------------
+
+    /**
+     * Builder of the buckets, which counts the events as they are read. The
+     * buckets of the events counted so far can be built from another thread.
+     */
+    public static class Builder {
+
+        private final long fStartTime;
+        private int fShift;
+        private int fNbBuckets = 0;
+        private long[] fTotals = new long[16];
+        private long[] fFirstTimes = newTimes(16, Long.MAX_VALUE);
+        private long[] fLastTimes = newTimes(16, Long.MIN_VALUE);
+        private final Map<String, long[]> fCounts = new LinkedHashMap<>();
+
+        /**
+         * Constructor
+         *
+         * @param startTime
+         *            The start time of the trace, in nanoseconds
+         * @param endTime
+         *            The end time of the trace, in nanoseconds, if known. It is
+         *            used to choose the initial duration of the buckets, the
+         *            buckets are merged if events come after this time.
+         */
+        public Builder(long startTime, long endTime) {
+            fStartTime = startTime;
+            long duration = endTime - startTime;
+            int shift = 0;
+            while (shift < 62 && duration > 0 && (duration >>> shift) >= MAX_BUCKETS) {
+                shift++;
+            }
+            fShift = shift;
+        }
+
+        /**
+         * Count events
+         *
+         * @param eventType
+         *            The event type
+         * @param timestamp
+         *            The time of the events, in nanoseconds
+         * @param count
+         *            The number of events
+         * @param inTotal
+         *            Whether the events count in the total of events
+         */
+        public synchronized void addEvents(String eventType, long timestamp, long count, boolean inTotal) {
+            long offset = Math.max(0, timestamp - fStartTime);
+            while ((offset >>> fShift) >= MAX_BUCKETS) {
+                mergeBuckets();
+            }
+            int bucket = (int) (offset >>> fShift);
+            if (bucket >= fTotals.length) {
+                int capacity = Math.min(MAX_BUCKETS, Math.max(bucket + 1, 2 * fTotals.length));
+                fTotals = Arrays.copyOf(fTotals, capacity);
+                fFirstTimes = copyTimes(fFirstTimes, capacity, Long.MAX_VALUE);
+                fLastTimes = copyTimes(fLastTimes, capacity, Long.MIN_VALUE);
+                for (Entry<String, long[]> entry : fCounts.entrySet()) {
+                    entry.setValue(Arrays.copyOf(entry.getValue(), capacity));
+                }
+            }
+            fNbBuckets = Math.max(fNbBuckets, bucket + 1);
+            fCounts.computeIfAbsent(eventType, type -> new long[fTotals.length])[bucket] += count;
+            if (inTotal) {
+                fTotals[bucket] += count;
+            }
+            fFirstTimes[bucket] = Math.min(fFirstTimes[bucket], timestamp);
+            fLastTimes[bucket] = Math.max(fLastTimes[bucket], timestamp);
+        }
+
+        private static long[] newTimes(int capacity, long empty) {
+            long[] times = new long[capacity];
+            Arrays.fill(times, empty);
+            return times;
+        }
+
+        private static long[] copyTimes(long[] times, int capacity, long empty) {
+            long[] copy = Arrays.copyOf(times, capacity);
+            Arrays.fill(copy, times.length, capacity, empty);
+            return copy;
+        }
+
+        /**
+         * Double the duration of the buckets
+         */
+        private void mergeBuckets() {
+            merge(fTotals);
+            for (long[] counts : fCounts.values()) {
+                merge(counts);
+            }
+            for (int i = 0; i < fFirstTimes.length / 2; i++) {
+                fFirstTimes[i] = Math.min(fFirstTimes[2 * i], fFirstTimes[2 * i + 1]);
+                fLastTimes[i] = Math.max(fLastTimes[2 * i], fLastTimes[2 * i + 1]);
+            }
+            Arrays.fill(fFirstTimes, fFirstTimes.length / 2, fFirstTimes.length, Long.MAX_VALUE);
+            Arrays.fill(fLastTimes, fLastTimes.length / 2, fLastTimes.length, Long.MIN_VALUE);
+            fNbBuckets = (fNbBuckets + 1) / 2;
+            fShift++;
+        }
+
+        private static void merge(long[] counts) {
+            for (int i = 0; i < counts.length / 2; i++) {
+                counts[i] = counts[2 * i] + counts[2 * i + 1];
+            }
+            Arrays.fill(counts, counts.length / 2, counts.length, 0);
+        }
+
+        /**
+         * Build the buckets of the events counted so far
+         *
+         * @return The buckets
+         */
+        public synchronized TmfStatisticsBuckets build() {
+            Map<String, Integer> columns = new LinkedHashMap<>();
+            int timesOffset = (fCounts.size() + 1) * (fNbBuckets + 1);
+            long[] prefixSums = new long[timesOffset + 2 * fNbBuckets];
+            fillPrefixSums(fTotals, prefixSums, 0);
+            int column = 1;
+            for (Entry<String, long[]> entry : fCounts.entrySet()) {
+                columns.put(entry.getKey(), column);
+                fillPrefixSums(entry.getValue(), prefixSums, column * (fNbBuckets + 1));
+                column++;
+            }
+            System.arraycopy(fFirstTimes, 0, prefixSums, timesOffset, fNbBuckets);
+            System.arraycopy(fLastTimes, 0, prefixSums, timesOffset + fNbBuckets, fNbBuckets);
+            return new TmfStatisticsBuckets(fStartTime, fShift, fNbBuckets, columns, LongBuffer.wrap(prefixSums));
+        }
+
+        private void fillPrefixSums(long[] counts, long[] prefixSums, int offset) {
+            long sum = 0;
+            for (int i = 0; i < fNbBuckets; i++) {
+                prefixSums[offset + i] = sum;
+                sum += counts[i];
+            }
+            prefixSums[offset + fNbBuckets] = sum;
+        }
+    }
+}
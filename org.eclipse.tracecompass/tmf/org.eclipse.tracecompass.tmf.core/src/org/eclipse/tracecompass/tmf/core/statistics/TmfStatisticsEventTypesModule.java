@@ -17,9 +17,16 @@ package org.eclipse.tracecompass.tmf.core.statistics;
 
 import static org.eclipse.tracecompass.common.core.NonNullUtils.checkNotNull;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.internal.tmf.core.Activator;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
-import org.eclipse.tracecompass.statesystem.core.StateSystemBuilderUtils;
 import org.eclipse.tracecompass.statesystem.core.statevalue.ITmfStateValue;
 import org.eclipse.tracecompass.statesystem.core.statevalue.TmfStateValue;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
@@ -33,6 +40,9 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 /**
  * The analysis module building the "event types" statistics state system.
  *
+ * The number of events per type are counted in {@link TmfStatisticsBuckets},
+ * the state system only keeps the lost events.
+ *
  * It is not in the extension point (and as such, not registered in the
  * TmfAnalysisManager), as it is being handled by the TmfStatisticsModule.
  *
@@ -47,6 +57,14 @@ public class TmfStatisticsEventTypesModule extends TmfStateSystemAnalysisModule
 
     private static final @NonNull String NAME = "TMF Statistics, events per type"; //$NON-NLS-1$
 
+    private static final @NonNull String BUCKETS_FILE_NAME = "statistics-types.buckets"; //$NON-NLS-1$
+
+    /** The buckets being counted by the state provider */
+    private volatile TmfStatisticsBuckets.@Nullable Builder fBucketsBuilder = null;
+    /** The buckets counted by the state provider, until they are saved */
+    private volatile @Nullable TmfStatisticsBuckets fBuiltBuckets = null;
+    private volatile @Nullable TmfStatisticsBuckets fBuckets = null;
+
     /**
      * Constructor
      */
@@ -66,26 +84,100 @@ public class TmfStatisticsEventTypesModule extends TmfStateSystemAnalysisModule
         return "statistics-types.ht"; //$NON-NLS-1$
     }
 
+    /**
+     * Get the event counts per type in fixed time buckets, which are counted
+     * by the state provider. They are available once the analysis is
+     * completed.
+     *
+     * @return The buckets, or <code>null</code> if they are not available
+     * @since 8.3
+     */
+    public @Nullable TmfStatisticsBuckets getBuckets() {
+        return fBuckets;
+    }
+
+    /**
+     * Get the event counts per type in fixed time buckets, or the counts of
+     * the events read so far if the analysis is still running.
+     *
+     * @return The buckets, or <code>null</code> if no event was counted yet
+     * @since 8.3
+     */
+    public @Nullable TmfStatisticsBuckets getCurrentBuckets() {
+        TmfStatisticsBuckets buckets = fBuckets;
+        if (buckets != null) {
+            return buckets;
+        }
+        TmfStatisticsBuckets.Builder builder = fBucketsBuilder;
+        return (builder == null) ? null : builder.build();
+    }
+
+    private @Nullable Path getBucketsFile() {
+        File htFile = getSsFile();
+        return htFile == null ? null : htFile.toPath().resolveSibling(BUCKETS_FILE_NAME);
+    }
+
+    @Override
+    protected boolean executeAnalysis(@Nullable IProgressMonitor monitor) {
+        boolean success = super.executeAnalysis(monitor);
+        Path file = getBucketsFile();
+        if (success && fBuckets == null && file != null) {
+            /* The state system was read from an existing file */
+            try {
+                fBuckets = TmfStatisticsBuckets.load(file);
+            } catch (IOException e) {
+                Activator.logWarning("Error reading the statistics buckets " + file, e); //$NON-NLS-1$
+            }
+        }
+        return success;
+    }
+
+    @Override
+    protected void completingBuild(boolean deleteFiles) {
+        TmfStatisticsBuckets buckets = fBuiltBuckets;
+        fBuiltBuckets = null;
+        Path file = getBucketsFile();
+        try {
+            if (deleteFiles) {
+                if (file != null) {
+                    Files.deleteIfExists(file);
+                }
+                return;
+            }
+            if (buckets == null || file == null) {
+                fBuckets = buckets;
+                return;
+            }
+            buckets.save(file);
+            /* Use the memory-mapped buckets rather than the ones on the heap */
+            TmfStatisticsBuckets mapped = TmfStatisticsBuckets.load(file);
+            fBuckets = (mapped != null) ? mapped : buckets;
+        } catch (IOException e) {
+            Activator.logWarning("Error writing the statistics buckets " + file, e); //$NON-NLS-1$
+            fBuckets = buckets;
+        } finally {
+            fBucketsBuilder = null;
+        }
+    }
+
 
     /**
      * The state provider for traces statistics that use TmfStateStatistics. It
      * should work with any trace type for which we can use the state system.
      *
-     * It will store number of events seen, per event types. The resulting
-     * attribute tree will look like this:
+     * It will count the events of each type in {@link TmfStatisticsBuckets},
+     * and store the lost events in the state system. The resulting attribute
+     * tree will look like this:
      *
      * <pre>
      * (root)
      *   |-- event_types
-     *   |    |-- (event name 1)
-     *   |    |-- (event name 2)
-     *   |    |-- (event name 3)
-     *   |   ...
+     *   |    \-- (lost event name)
      *   \-- lost_events
      * </pre>
      *
-     * Each (event name)'s value will be an integer, representing how many times
-     * this particular event type has been seen in the trace so far.
+     * The (lost event name)'s value will be an integer, representing how many
+     * events were lost in the trace so far.
      *
      * The value of the lost_events attribute will be a long, representing the
      * latest end time of any current or previous lost event time range, in
@@ -101,7 +193,9 @@ public class TmfStatisticsEventTypesModule extends TmfStateSystemAnalysisModule
          * Version number of this input handler. Please bump this if you modify the
          * contents of the generated state history in some way.
          */
-        private static final int VERSION = 3;
+        private static final int VERSION = 4;
+
+        private TmfStatisticsBuckets.@Nullable Builder fBucketsBuilder = null;
 
         /**
          * Constructor
@@ -123,6 +217,29 @@ public class TmfStatisticsEventTypesModule extends TmfStateSystemAnalysisModule
             return new StatsProviderEventTypes(this.getTrace());
         }
 
+        @Override
+        public void done() {
+            TmfStatisticsBuckets.Builder builder = fBucketsBuilder;
+            if (builder != null) {
+                fBuiltBuckets = builder.build();
+            }
+        }
+
+        private TmfStatisticsBuckets.Builder getBucketsBuilder(long ts) {
+            TmfStatisticsBuckets.Builder builder = fBucketsBuilder;
+            if (builder == null) {
+                /*
+                 * The first event is at the start of the trace, and the end of
+                 * the trace may not be known yet
+                 */
+                long end = getTrace().getEndTime().toNanos();
+                builder = new TmfStatisticsBuckets.Builder(ts, (end == Long.MAX_VALUE) ? ts : end);
+                fBucketsBuilder = builder;
+                TmfStatisticsEventTypesModule.this.fBucketsBuilder = builder;
+            }
+            return builder;
+        }
+
         @Override
         protected void eventHandle(ITmfEvent event) {
             ITmfStateSystemBuilder ss = checkNotNull(getStateSystemBuilder());
@@ -145,6 +262,7 @@ public class TmfStatisticsEventTypesModule extends TmfStateSystemAnalysisModule
                 }
 
                 ss.modifyAttribute(ts, (int) (curVal + le.getNbLostEvents()), quark);
+                getBucketsBuilder(ts).addEvents(eventName, ts, le.getNbLostEvents(), false);
 
                 long lostEventsStartTime = le.getTimeRange().getStartTime().toNanos();
                 long lostEventsEndTime = le.getTimeRange().getEndTime().toNanos();
@@ -159,8 +277,7 @@ public class TmfStatisticsEventTypesModule extends TmfStateSystemAnalysisModule
             }
 
             /* Number of events of each type, globally */
-            quark = ss.getQuarkAbsoluteAndAdd(Attributes.EVENT_TYPES, eventName);
-            StateSystemBuilderUtils.incrementAttributeInt(ss, ts, quark, 1);
+            getBucketsBuilder(ts).addEvents(eventName, ts, 1, true);
         }
     }
 }
@@ -45,7 +45,7 @@ public class TmfStatisticsModule extends TmfAbstractAnalysisModule
     private boolean fInitializationSucceeded;
 
     private final TmfStateSystemAnalysisModule totalsModule = new TmfStatisticsTotalsModule();
-    private final TmfStateSystemAnalysisModule eventTypesModule = new TmfStatisticsEventTypesModule();
+    private final TmfStatisticsEventTypesModule eventTypesModule = new TmfStatisticsEventTypesModule();
 
     private final CountDownLatch fInitialized = new CountDownLatch(1);
 
@@ -66,6 +66,18 @@ public class TmfStatisticsModule extends TmfAbstractAnalysisModule
         return fStatistics;
     }
 
+    /**
+     * Get the event counts per type in fixed time buckets, which answer the
+     * queries at the resolution of the buckets without querying the state
+     * systems.
+     *
+     * @return The buckets, or <code>null</code> if they are not available yet
+     * @since 8.3
+     */
+    public @Nullable TmfStatisticsBuckets getBuckets() {
+        return eventTypesModule.getBuckets();
+    }
+
     /**
      * Wait until the analyses/state systems underneath are ready to be queried.
      * @since 2.0
@@ -144,7 +156,7 @@ public class TmfStatisticsModule extends TmfAbstractAnalysisModule
             throw new IllegalStateException("TmfStatisticsModule : Sub-modules initialization succeeded but there is a null state system."); //$NON-NLS-1$
         }
 
-        fStatistics = new TmfStateStatistics(totalsSS, eventTypesSS);
+        fStatistics = new TmfStateStatistics(totalsSS, eventTypesModule);
 
         /* fStatistics is now set, consider this module initialized */
         analysisReady(true);
@@ -15,7 +15,10 @@
 package org.eclipse.tracecompass.tmf.core.synchronization;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import org.eclipse.tracecompass.tmf.core.event.matching.TmfEventDependency;
 import org.eclipse.tracecompass.tmf.core.event.matching.TmfEventMatches;
@@ -32,6 +35,8 @@ public abstract class SynchronizationAlgorithm extends TmfEventMatches implement
 
     private String fRootNode;
 
+    private transient List<Consumer<Map<String, ITmfTimestampTransform>>> fProvisionalTransformListeners;
+
     /**
      * Quality of the result obtained by the synchronization algorithm
      */
@@ -122,6 +127,69 @@ public abstract class SynchronizationAlgorithm extends TmfEventMatches implement
      */
     public abstract boolean isTraceSynced(String hostId);
 
+    /**
+     * Adds a listener of the provisional timestamp transforms. While the
+     * matches are processed, the algorithm may publish the transforms computed
+     * from the matches received so far, by host ID, so that they can be used
+     * before the synchronization is complete. These transforms may change
+     * until the matching ends.
+     *
+     * @param listener
+     *            The listener receiving the transforms by host ID
+     * @since 8.3
+     */
+    public synchronized void addProvisionalTransformListener(Consumer<Map<String, ITmfTimestampTransform>> listener) {
+        List<Consumer<Map<String, ITmfTimestampTransform>>> listeners = fProvisionalTransformListeners;
+        if (listeners == null) {
+            /* The field is not initialized by deserialization */
+            listeners = new CopyOnWriteArrayList<>();
+            fProvisionalTransformListeners = listeners;
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener of the provisional timestamp transforms
+     *
+     * @param listener
+     *            The listener to remove
+     * @since 8.3
+     */
+    public synchronized void removeProvisionalTransformListener(Consumer<Map<String, ITmfTimestampTransform>> listener) {
+        List<Consumer<Map<String, ITmfTimestampTransform>>> listeners = fProvisionalTransformListeners;
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Returns whether provisional timestamp transforms are listened to, so
+     * that algorithms compute them only when needed
+     *
+     * @return true if there is at least one listener
+     * @since 8.3
+     */
+    protected boolean hasProvisionalTransformListeners() {
+        List<Consumer<Map<String, ITmfTimestampTransform>>> listeners = fProvisionalTransformListeners;
+        return listeners != null && !listeners.isEmpty();
+    }
+
+    /**
+     * Publishes provisional timestamp transforms to the listeners
+     *
+     * @param transforms
+     *            The timestamp transforms by host ID
+     * @since 8.3
+     */
+    protected void publishProvisionalTransforms(Map<String, ITmfTimestampTransform> transforms) {
+        List<Consumer<Map<String, ITmfTimestampTransform>>> listeners = fProvisionalTransformListeners;
+        if (listeners != null) {
+            for (Consumer<Map<String, ITmfTimestampTransform>> listener : listeners) {
+                listener.accept(transforms);
+            }
+        }
+    }
+
     /**
      * Sets the root node.
      *
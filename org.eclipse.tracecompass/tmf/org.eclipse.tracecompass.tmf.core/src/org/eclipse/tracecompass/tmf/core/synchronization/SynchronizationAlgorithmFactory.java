@@ -23,18 +23,28 @@ import org.eclipse.tracecompass.internal.tmf.core.synchronization.SyncAlgorithmF
  */
 public final class SynchronizationAlgorithmFactory {
 
+    /**
+     * System property to synchronize the traces with the streaming algorithm
+     * by default, see {@link #getStreamingAlgorithm()}
+     *
+     * @since 8.3
+     */
+    public static final String STREAMING_PROPERTY = "org.eclipse.tracecompass.tmf.core.synchronization.streaming"; //$NON-NLS-1$
+
     private SynchronizationAlgorithmFactory() {
 
     }
 
     /**
      * Returns the system's default trace synchronization algorithm, ie the
-     * fully incremental convex hull synchronization algorithm.
+     * fully incremental convex hull synchronization algorithm. It is in
+     * streaming mode if the {@link #STREAMING_PROPERTY} system property is
+     * true.
      *
      * @return The default trace synchronization algorithm
      */
     public static SynchronizationAlgorithm getDefaultAlgorithm() {
-        return new SyncAlgorithmFullyIncremental();
+        return new SyncAlgorithmFullyIncremental(Boolean.getBoolean(STREAMING_PROPERTY));
     }
 
     /**
@@ -50,4 +60,21 @@ public final class SynchronizationAlgorithmFactory {
     public static SynchronizationAlgorithm getFullyIncrementalAlgorithm() {
         return new SyncAlgorithmFullyIncremental();
     }
+
+    /**
+     * Returns the fully incremental convex hull synchronization algorithm in
+     * streaming mode, which keeps in memory only the points of the hulls that
+     * can still affect the bounds of the synchronization. It is meant for long
+     * traces or live traces, where the hulls can grow large. Provisional
+     * transforms are published to the listeners of the algorithm while the
+     * matches are processed.
+     *
+     * @return The {@link SynchronizationAlgorithm} implementing the fully
+     *         incremental convex hull synchronization algorithm in streaming
+     *         mode
+     * @since 8.3
+     */
+    public static SynchronizationAlgorithm getStreamingAlgorithm() {
+        return new SyncAlgorithmFullyIncremental(true);
+    }
 }
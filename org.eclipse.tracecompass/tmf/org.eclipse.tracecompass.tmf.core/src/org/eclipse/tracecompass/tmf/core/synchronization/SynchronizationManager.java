@@ -21,7 +21,6 @@ import java.util.Collection;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.tracecompass.internal.tmf.core.Activator;
 import org.eclipse.tracecompass.tmf.core.component.TmfComponent;
-import org.eclipse.tracecompass.tmf.core.event.matching.ITmfEventMatching;
 import org.eclipse.tracecompass.tmf.core.event.matching.TmfEventMatching;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 
@@ -33,6 +32,16 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
  */
 public abstract class SynchronizationManager extends TmfComponent {
 
+    /**
+     * System property to set the matching window of the synchronization, in
+     * nanoseconds, see {@link TmfEventMatching#setMatchingWindow(long)}. By
+     * default, or with a value of 0 or less, the unmatched events are kept
+     * until the end of the matching.
+     *
+     * @since 8.3
+     */
+    public static final String MATCHING_WINDOW_PROPERTY = "org.eclipse.tracecompass.tmf.core.synchronization.matchingWindow"; //$NON-NLS-1$
+
     /**
      * Function called to synchronize traces using the fully incremental
      * synchronization algorithm
@@ -102,6 +111,40 @@ public abstract class SynchronizationManager extends TmfComponent {
         return syncAlgo;
     }
 
+    /**
+     * Function called to synchronize traces with a specific synchronization
+     * algorithm and a matching window. The unmatched events that are older
+     * than the window are discarded, which bounds the memory used to match
+     * the events of traces with many packets to hosts that are not traced.
+     * The window must cover the network latencies and the offsets between the
+     * clocks of the traced hosts, or some matches are lost.
+     *
+     * @param syncFile
+     *            The target name of the synchronization file. If it exists, it
+     *            will be opened, otherwise it will be created and data from
+     *            this synchro run will be saved there
+     * @param traces
+     *            The list of traces to synchronize
+     * @param algo
+     *            A synchronization algorithm object to determine the algorithm
+     *            used to synchronization.
+     * @param doSync
+     *            Whether to actually synchronize or just try opening a sync
+     *            file
+     * @param matchingWindow
+     *            The matching window, in nanoseconds, or {@link Long#MAX_VALUE}
+     *            to keep the unmatched events until the end of the matching
+     * @return The synchronization object
+     * @since 8.3
+     */
+    public static SynchronizationAlgorithm synchronizeTraces(final File syncFile,
+            final Collection<@NonNull ITmfTrace> traces, SynchronizationAlgorithm algo, boolean doSync, long matchingWindow) {
+        if (doSync) {
+            return synchronize(syncFile, traces, algo, matchingWindow);
+        }
+        return synchronizeTraces(syncFile, traces, algo, false);
+    }
+
     private static SynchronizationAlgorithm openExisting(final File syncFile) {
         if ((syncFile != null) && syncFile.exists()) {
             /* Load an existing history */
@@ -123,8 +166,19 @@ public abstract class SynchronizationManager extends TmfComponent {
 
     private static SynchronizationAlgorithm synchronize(final File syncFile,
             final Collection<@NonNull ITmfTrace> traces, SynchronizationAlgorithm syncAlgo) {
-        ITmfEventMatching matching = new TmfEventMatching(traces, syncAlgo);
+        long window = Long.getLong(MATCHING_WINDOW_PROPERTY, Long.MAX_VALUE);
+        return synchronize(syncFile, traces, syncAlgo, window > 0 ? window : Long.MAX_VALUE);
+    }
+
+    private static SynchronizationAlgorithm synchronize(final File syncFile,
+            final Collection<@NonNull ITmfTrace> traces, SynchronizationAlgorithm syncAlgo, long matchingWindow) {
+        TmfEventMatching matching = new TmfEventMatching(traces, syncAlgo);
+        matching.setMatchingWindow(matchingWindow);
         matching.matchEvents();
+        long expired = matching.getExpiredCount();
+        if (expired > 0) {
+            Activator.logWarning(expired + " unmatched events were discarded by the synchronization, after a matching window of " + matchingWindow + " ns"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
 
         SynchronizationBackend syncBackend;
         try {
@@ -132,7 +132,8 @@ public final class TimestampTransformFactory {
      * @return the transform
      */
     public static ITmfTimestampTransform createLinear(BigDecimal factor, BigDecimal offset) {
-        if (factor.equals(BigDecimal.ONE)) {
+        /* A fractional offset, as in a provisional transform, is kept */
+        if (factor.equals(BigDecimal.ONE) && offset.stripTrailingZeros().scale() <= 0) {
             return createWithOffset(offset.longValueExact());
         }
         return new TmfTimestampTransformLinearFast(factor, offset);
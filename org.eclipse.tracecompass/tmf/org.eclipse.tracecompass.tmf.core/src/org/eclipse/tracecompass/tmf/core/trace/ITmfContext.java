@@ -16,6 +16,9 @@
 
 package org.eclipse.tracecompass.tmf.core.trace;
 
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 
 /**
@@ -85,4 +88,18 @@ public interface ITmfContext {
      */
     void dispose();
 
+    /**
+     * Sets the names of the event types read completely from this context.
+     * The trace may skip decoding the fields of the other events, which are
+     * still read in order. Contexts that cannot skip events ignore it.
+     *
+     * @param eventTypes
+     *            the names of the event types, or <code>null</code> to read
+     *            all the events completely
+     * @since 8.3
+     */
+    default void setEventTypes(@Nullable Set<String> eventTypes) {
+        // Do nothing
+    }
+
 }
@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IAdaptable;
@@ -35,6 +36,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.internal.tmf.core.Activator;
+import org.eclipse.tracecompass.internal.tmf.core.request.TmfSharedEventScan;
 import org.eclipse.tracecompass.internal.util.ByteBufferTracker;
 import org.eclipse.tracecompass.tmf.core.analysis.IAnalysisModule;
 import org.eclipse.tracecompass.tmf.core.analysis.IAnalysisModuleHelper;
@@ -304,10 +306,20 @@ public abstract class TmfTrace extends TmfEventProvider implements ITmfTrace, IT
             }
         }
 
-        /* Once all modules are initialized, automatic modules are executed */
-        for (IAnalysisModule module : getAnalysisModules()) {
-            if (module.isAutomatic()) {
-                status.add(module.schedule());
+        /*
+         * Once all modules are initialized, automatic modules are executed.
+         * They share a scan so that their requests read the trace once.
+         */
+        TmfSharedEventScan scan = TmfSharedEventScan.open(this);
+        try {
+            for (IAnalysisModule module : getAnalysisModules()) {
+                if (module.isAutomatic()) {
+                    status.add(module.schedule());
+                }
+            }
+        } finally {
+            if (scan != null) {
+                scan.close();
             }
         }
         return status;
@@ -608,14 +620,19 @@ public abstract class TmfTrace extends TmfEventProvider implements ITmfTrace, IT
         if (executorIsShutdown()) {
             return null;
         }
+        ITmfContext context;
         if (!TmfTimestamp.BIG_BANG.equals(request.getRange().getStartTime())
                 && (request.getIndex() == 0)) {
-            final ITmfContext context = seekEvent(request.getRange().getStartTime());
+            context = seekEvent(request.getRange().getStartTime());
             request.setStartIndex((int) context.getRank());
-            return context;
-
+        } else {
+            context = seekEvent(request.getIndex());
         }
-        return seekEvent(request.getIndex());
+        Set<String> eventTypes = request.getEventTypes();
+        if (eventTypes != null && context != null) {
+            context.setEventTypes(eventTypes);
+        }
+        return context;
     }
 
     // ------------------------------------------------------------------------
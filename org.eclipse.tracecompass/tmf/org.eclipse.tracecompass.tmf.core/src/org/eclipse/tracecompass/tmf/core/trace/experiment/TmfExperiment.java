@@ -28,8 +28,11 @@ import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -58,9 +61,11 @@ import org.eclipse.tracecompass.tmf.core.request.ITmfEventRequest;
 import org.eclipse.tracecompass.tmf.core.signal.TmfSignalHandler;
 import org.eclipse.tracecompass.tmf.core.signal.TmfTraceOpenedSignal;
 import org.eclipse.tracecompass.tmf.core.signal.TmfTraceRangeUpdatedSignal;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceSynchronizationUpdatedSignal;
 import org.eclipse.tracecompass.tmf.core.signal.TmfTraceSynchronizedSignal;
 import org.eclipse.tracecompass.tmf.core.synchronization.ITmfTimestampTransform;
 import org.eclipse.tracecompass.tmf.core.synchronization.SynchronizationAlgorithm;
+import org.eclipse.tracecompass.tmf.core.synchronization.SynchronizationAlgorithmFactory;
 import org.eclipse.tracecompass.tmf.core.synchronization.SynchronizationManager;
 import org.eclipse.tracecompass.tmf.core.synchronization.TimestampTransformFactory;
 import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
@@ -409,15 +414,19 @@ public class TmfExperiment extends TmfTrace implements ITmfPersistentlyIndexable
             return null;
         }
 
+        ITmfContext context;
         if (!TmfTimestamp.BIG_BANG.equals(request.getRange().getStartTime())
                 && request.getIndex() == 0) {
-            final ITmfContext context = seekEvent(request.getRange().getStartTime());
+            context = seekEvent(request.getRange().getStartTime());
             request.setStartIndex((int) context.getRank());
-            return context;
-
+        } else {
+            context = seekEvent(request.getIndex());
         }
-
-        return seekEvent(request.getIndex());
+        Set<String> eventTypes = request.getEventTypes();
+        if (eventTypes != null && context != null) {
+            context.setEventTypes(eventTypes);
+        }
+        return context;
     }
 
     // ------------------------------------------------------------------------
@@ -683,7 +692,9 @@ public class TmfExperiment extends TmfTrace implements ITmfPersistentlyIndexable
     }
 
     /**
-     * Synchronizes the traces of an experiment.
+     * Synchronizes the traces of an experiment. While the traces are
+     * synchronized, the provisional timestamp transforms of the algorithm are
+     * broadcast with {@link TmfTraceSynchronizationUpdatedSignal}.
      *
      * @param doSync
      *            Whether to actually synchronize or just try opening a sync
@@ -698,7 +709,15 @@ public class TmfExperiment extends TmfTrace implements ITmfPersistentlyIndexable
 
             final File syncFile = (syncDirectory != null) ? new File(syncDirectory + File.separator + SYNCHRONIZATION_FILE_NAME) : null;
 
-            final SynchronizationAlgorithm syncAlgo = SynchronizationManager.synchronizeTraces(syncFile, Collections.singleton(this), doSync);
+            final SynchronizationAlgorithm algo = SynchronizationAlgorithmFactory.getDefaultAlgorithm();
+            Consumer<Map<String, ITmfTimestampTransform>> listener = transforms -> broadcastAsync(new TmfTraceSynchronizationUpdatedSignal(this, this, transforms));
+            algo.addProvisionalTransformListener(listener);
+            final SynchronizationAlgorithm syncAlgo;
+            try {
+                syncAlgo = SynchronizationManager.synchronizeTraces(syncFile, Collections.singleton(this), algo, doSync);
+            } finally {
+                algo.removeProvisionalTransformListener(listener);
+            }
 
             final TmfTraceSynchronizedSignal signal = new TmfTraceSynchronizedSignal(this, syncAlgo);
 
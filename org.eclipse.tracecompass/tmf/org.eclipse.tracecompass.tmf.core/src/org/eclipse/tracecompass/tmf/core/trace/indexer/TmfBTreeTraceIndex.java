@@ -25,10 +25,12 @@ import org.eclipse.tracecompass.tmf.core.trace.indexer.checkpoint.ITmfCheckpoint
 import org.eclipse.tracecompass.tmf.core.trace.indexer.checkpoint.ITmfCheckpointIndex;
 
 /**
- * A checkpoint index that uses a BTree to store and search checkpoints by time stamps.
- * It's possible to have the checkpoints time stamps in a different order than their checkpoint ranks.
- * Because of that, we use a separate structure FlatArray that is better suited for searching
- * by checkpoint rank (O(1)).
+ * A checkpoint index that stores the checkpoints in a FlatArray, which is
+ * searched by checkpoint rank in O(1) and, as long as the checkpoints time
+ * stamps are in the same order as their checkpoint ranks, by time stamp with a
+ * binary search. It's possible to have the checkpoints time stamps in a
+ * different order than their checkpoint ranks. In that case, the checkpoints
+ * are also stored in a BTree that is used to search them by time stamps.
  *
  * @author Marc-Andre Laperle
  */
@@ -48,8 +50,10 @@ public class TmfBTreeTraceIndex implements ITmfCheckpointIndex {
         BTree bTree = createBTree(trace);
         FlatArray flatArray = createFlatArray(trace);
 
-        // If one of the files is created from scratch, make sure we rebuild the other one too
-        if (bTree.isCreatedFromScratch() != flatArray.isCreatedFromScratch()) {
+        // If one of the files is created from scratch, make sure we rebuild the other one too.
+        // The BTree is only populated if the checkpoints are not sorted.
+        if (bTree.isCreatedFromScratch() != flatArray.isCreatedFromScratch() ||
+                flatArray.isSorted() == (bTree.size() > 0)) {
             bTree.delete();
             flatArray.delete();
             bTree = createBTree(trace);
@@ -81,8 +85,18 @@ public class TmfBTreeTraceIndex implements ITmfCheckpointIndex {
 
     @Override
     public void insert(ITmfCheckpoint checkpoint) {
-        fCheckpoints.insert(checkpoint);
+        boolean wasSorted = fCheckpointRanks.isSorted();
         fCheckpointRanks.insert(checkpoint);
+        if (fCheckpointRanks.isSorted()) {
+            return;
+        }
+        if (wasSorted) {
+            // First checkpoint out of order, add the previous ones to the BTree
+            for (long rank = 0; rank < fCheckpointRanks.size() - 1; rank++) {
+                fCheckpoints.insert(fCheckpointRanks.get(rank));
+            }
+        }
+        fCheckpoints.insert(checkpoint);
     }
 
     @Override
@@ -92,6 +106,9 @@ public class TmfBTreeTraceIndex implements ITmfCheckpointIndex {
 
     @Override
     public long binarySearch(ITmfCheckpoint checkpoint) {
+        if (fCheckpointRanks.isSorted()) {
+            return fCheckpointRanks.binarySearch(checkpoint);
+        }
         return fCheckpoints.binarySearch(checkpoint);
     }
 
@@ -102,31 +119,31 @@ public class TmfBTreeTraceIndex implements ITmfCheckpointIndex {
 
     @Override
     public int size() {
-        return fCheckpoints.size();
+        return fCheckpointRanks.size();
     }
 
     @Override
     public boolean isCreatedFromScratch() {
-        return fCheckpoints.isCreatedFromScratch();
+        return fCheckpointRanks.isCreatedFromScratch();
     }
 
     @Override
     public void setTimeRange(TmfTimeRange timeRange) {
-        fCheckpoints.setTimeRange(timeRange);
+        fCheckpointRanks.setTimeRange(timeRange);
     }
 
     @Override
     public void setNbEvents(long nbEvents) {
-        fCheckpoints.setNbEvents(nbEvents);
+        fCheckpointRanks.setNbEvents(nbEvents);
     }
 
     @Override
     public TmfTimeRange getTimeRange() {
-        return fCheckpoints.getTimeRange();
+        return fCheckpointRanks.getTimeRange();
     }
 
     @Override
     public long getNbEvents() {
-        return fCheckpoints.getNbEvents();
+        return fCheckpointRanks.getNbEvents();
     }
 }
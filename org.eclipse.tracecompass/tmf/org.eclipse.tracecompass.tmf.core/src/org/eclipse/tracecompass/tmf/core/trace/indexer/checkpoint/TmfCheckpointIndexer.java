@@ -90,6 +90,11 @@ public class TmfCheckpointIndexer implements ITmfTraceIndexer {
      */
     private ITmfEventRequest fIndexingRequest = null;
 
+    /**
+     * The job building the checkpoints before the indexing request
+     */
+    private Job fCheckpointJob = null;
+
     /** Whether or not the index was built once */
     private boolean fBuiltOnce;
 
@@ -137,6 +142,9 @@ public class TmfCheckpointIndexer implements ITmfTraceIndexer {
 
     @Override
     public void dispose() {
+        if (fCheckpointJob != null) {
+            fCheckpointJob.cancel();
+        }
         if ((fIndexingRequest != null) && !fIndexingRequest.isCompleted()) {
             fIndexingRequest.cancel();
         }
@@ -189,8 +197,55 @@ public class TmfCheckpointIndexer implements ITmfTraceIndexer {
         fBuiltOnce = true;
         job.schedule();
 
-        // Build a background request for all the trace data. The index is
-        // updated as we go by readNextEvent().
+        if (indexingOffset == 0 && fTraceIndex.isEmpty() && canBuildCheckpoints()) {
+            // Build the checkpoints first, the request then only reads the
+            // events after the last checkpoint
+            final TmfTimeRange requestTimeRange = indexingTimeRange;
+            Job checkpointJob = new Job("Building checkpoints of " + fTrace.getName()) { //$NON-NLS-1$
+                @Override
+                protected IStatus run(IProgressMonitor monitor) {
+                    boolean built = buildCheckpoints(monitor);
+                    if (monitor.isCanceled()) {
+                        job.cancel();
+                        fIsIndexing = false;
+                        return Status.CANCEL_STATUS;
+                    }
+                    long requestOffset = (built && !fTraceIndex.isEmpty()) ? (fTraceIndex.size() - 1) * (long) fCheckpointInterval : 0;
+                    TmfCoreTracer.traceIndexer("Checkpoints built: " + built + ", request offset: " + requestOffset); //$NON-NLS-1$ //$NON-NLS-2$
+                    sendIndexingRequest(requestOffset, requestTimeRange, job);
+                    return Status.OK_STATUS;
+                }
+            };
+            checkpointJob.setSystem(true);
+            fCheckpointJob = checkpointJob;
+            checkpointJob.schedule();
+            if (waitForCompletion) {
+                try {
+                    checkpointJob.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        } else {
+            sendIndexingRequest(indexingOffset, indexingTimeRange, job);
+        }
+
+        // Wait for completion if required
+        ITmfEventRequest request = fIndexingRequest;
+        if (waitForCompletion && request != null) {
+            try {
+                request.waitForCompletion();
+            } catch (final InterruptedException e) {
+            }
+        }
+    }
+
+    /**
+     * Build a background request for the trace data, starting at the given
+     * rank, and submit it. The index is updated as we go by readNextEvent().
+     */
+    private void sendIndexingRequest(long indexingOffset, TmfTimeRange indexingTimeRange, TmfIndexingJob job) {
         fIndexingRequest = new TmfEventRequest(ITmfEvent.class,
                 indexingTimeRange, indexingOffset, ITmfEventRequest.ALL_DATA,
                 ITmfEventRequest.ExecutionType.BACKGROUND) {
@@ -231,14 +286,39 @@ public class TmfCheckpointIndexer implements ITmfTraceIndexer {
             }
         };
 
-        // Submit the request and wait for completion if required
+        // Submit the request
         fTrace.sendRequest(fIndexingRequest);
-        if (waitForCompletion) {
-            try {
-                fIndexingRequest.waitForCompletion();
-            } catch (final InterruptedException e) {
-            }
-        }
+    }
+
+    /**
+     * Whether this indexer can build the checkpoints of the whole trace with
+     * {@link #buildCheckpoints(IProgressMonitor)}, instead of reading all the
+     * events with the indexing request. Indexers of traces with independently
+     * seekable regions can override this to index the regions in parallel.
+     *
+     * @return true if the checkpoints can be built, false otherwise
+     * @since 8.3
+     */
+    protected boolean canBuildCheckpoints() {
+        return false;
+    }
+
+    /**
+     * Build the checkpoints of the whole trace and insert them in the trace
+     * index, at checkpoint ranks that are multiples of the checkpoint
+     * interval. This is called in a background job when an empty index is
+     * built, if {@link #canBuildCheckpoints()} returns true. The indexing
+     * request then reads the events after the last checkpoint, to update the
+     * trace attributes. No checkpoint must be inserted if the method fails.
+     *
+     * @param monitor
+     *            the progress monitor, canceled if the indexer is disposed
+     * @return true if the checkpoints were built, false if the indexing
+     *         request must read the whole trace
+     * @since 8.3
+     */
+    protected boolean buildCheckpoints(IProgressMonitor monitor) {
+        return false;
     }
 
     /**
@@ -356,6 +436,14 @@ public class TmfCheckpointIndexer implements ITmfTraceIndexer {
         return fTraceIndex;
     }
 
+    /**
+     * @return the number of events between checkpoints
+     * @since 8.3
+     */
+    protected int getCheckpointInterval() {
+        return fCheckpointInterval;
+    }
+
     private final class TmfIndexingJob extends Job {
         private Exception fException = null;
         private final ITmfTraceKnownSize fTraceWithSize;